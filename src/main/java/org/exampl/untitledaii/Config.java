@@ -7,6 +7,7 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.config.ModConfigEvent;
 import net.minecraftforge.registries.ForgeRegistries;
+import org.exampl.untitledaii.industrial.pipe.PipeTier;
 
 import java.util.Collections;
 import java.util.List;
@@ -28,12 +29,23 @@ public class Config {
     // a list of strings that are treated as resource locations for items
     private static final ForgeConfigSpec.ConfigValue<List<? extends String>> ITEM_STRINGS = BUILDER.comment("A list of items to log on common setup.").defineListAllowEmpty("items", List.of("minecraft:iron_ingot"), Config::validateItemName);
 
+    // item pipe transfer tiers: items moved per operation and ticks between operations
+    private static final ForgeConfigSpec.IntValue BASIC_PIPE_ITEMS = BUILDER.comment("Items moved per operation by basic item pipes").defineInRange("pipes.basic.itemsPerOperation", 16, 1, 4096);
+    private static final ForgeConfigSpec.IntValue BASIC_PIPE_INTERVAL = BUILDER.comment("Ticks between operations for basic item pipes").defineInRange("pipes.basic.operationInterval", 10, 1, 1200);
+    private static final ForgeConfigSpec.IntValue ADVANCED_PIPE_ITEMS = BUILDER.comment("Items moved per operation by advanced item pipes").defineInRange("pipes.advanced.itemsPerOperation", 32, 1, 4096);
+    private static final ForgeConfigSpec.IntValue ADVANCED_PIPE_INTERVAL = BUILDER.comment("Ticks between operations for advanced item pipes").defineInRange("pipes.advanced.operationInterval", 5, 1, 1200);
+    private static final ForgeConfigSpec.IntValue ELITE_PIPE_ITEMS = BUILDER.comment("Items moved per operation by elite item pipes").defineInRange("pipes.elite.itemsPerOperation", 64, 1, 4096);
+    private static final ForgeConfigSpec.IntValue ELITE_PIPE_INTERVAL = BUILDER.comment("Ticks between operations for elite item pipes").defineInRange("pipes.elite.operationInterval", 2, 1, 1200);
+
+    private static final ForgeConfigSpec.BooleanValue VIRTUAL_CONVEYOR_ITEMS = BUILDER.comment("Whether conveyor belts carry items as data in belt lanes instead of as item entities. Off by default: virtual items are not entities, so players cannot pick them up and hoppers, magnets and other mods no longer see items on belts").define("conveyors.virtualItems", false);
+
     static final ForgeConfigSpec SPEC = BUILDER.build();
 
     public static boolean logDirtBlock;
     public static int magicNumber;
     public static String magicNumberIntroduction;
     public static Set<Item> items;
+    public static boolean virtualConveyorItems = false;
 
     private static boolean validateItemName(final Object obj) {
         return obj instanceof final String itemName && ForgeRegistries.ITEMS.containsKey(new ResourceLocation(itemName));
@@ -47,5 +59,11 @@ public class Config {
 
         // convert the list of strings into a set of items
         items = ITEM_STRINGS.get().stream().map(itemName -> ForgeRegistries.ITEMS.getValue(new ResourceLocation(itemName))).collect(Collectors.toSet());
+
+        virtualConveyorItems = VIRTUAL_CONVEYOR_ITEMS.get();
+
+        PipeTier.BASIC.configure(BASIC_PIPE_ITEMS.get(), BASIC_PIPE_INTERVAL.get());
+        PipeTier.ADVANCED.configure(ADVANCED_PIPE_ITEMS.get(), ADVANCED_PIPE_INTERVAL.get());
+        PipeTier.ELITE.configure(ELITE_PIPE_ITEMS.get(), ELITE_PIPE_INTERVAL.get());
     }
 }
@@ -24,6 +24,7 @@ import org.exampl.untitledaii.industrial.ModBlocks;
 import org.exampl.untitledaii.industrial.ModContainers;
 import org.exampl.untitledaii.industrial.ModItems;
 import org.exampl.untitledaii.industrial.machine.recipes.MachineRecipeType;
+import org.exampl.untitledaii.network.ModNetwork;
 import org.slf4j.Logger;
 
 /**
@@ -81,6 +82,7 @@ public class Untitledaii {
     }
 
     private void commonSetup(final FMLCommonSetupEvent event) {
+        ModNetwork.register();
         LOGGER.info("AVA Industrial Mod loaded successfully!");
         LOGGER.info("Energy system: Forge Energy API (FE)");
     }
@@ -6,9 +6,12 @@ import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.registries.RegistryObject;
 import org.exampl.untitledaii.Untitledaii;
 import org.exampl.untitledaii.industrial.conveyor.ConveyorBeltBlockEntity;
-import org.exampl.untitledaii.industrial.energy.EnergyCableBlockEntity;
 import org.exampl.untitledaii.industrial.machine.CrusherBlockEntity;
+import org.exampl.untitledaii.industrial.machine.array.CrusherArrayControllerBlockEntity;
+import org.exampl.untitledaii.industrial.machine.array.CrusherArrayPortBlockEntity;
+import org.exampl.untitledaii.industrial.pipe.ItemExtractorPipeBlockEntity;
 import org.exampl.untitledaii.industrial.pipe.ItemPipeBlockEntity;
+import org.exampl.untitledaii.industrial.storage.MassStorageBlockEntity;
 
 /**
  * Block entity registry for industrial mod.
@@ -21,13 +24,6 @@ public class ModBlockEntities {
     public static final DeferredRegister<BlockEntityType<?>> BLOCK_ENTITIES = 
         DeferredRegister.create(ForgeRegistries.BLOCK_ENTITY_TYPES, Untitledaii.MODID);
 
-    public static final RegistryObject<BlockEntityType<EnergyCableBlockEntity>> ENERGY_CABLE = 
-        BLOCK_ENTITIES.register("energy_cable",
-            () -> BlockEntityType.Builder.of(
-                EnergyCableBlockEntity::new,
-                ModBlocks.ENERGY_CABLE.get()
-            ).build(null));
-
     public static final RegistryObject<BlockEntityType<CrusherBlockEntity>> CRUSHER = 
         BLOCK_ENTITIES.register("crusher",
             () -> BlockEntityType.Builder.of(
@@ -35,6 +31,29 @@ public class ModBlockEntities {
                 ModBlocks.CRUSHER.get()
             ).build(null));
 
+    public static final RegistryObject<BlockEntityType<CrusherArrayControllerBlockEntity>> CRUSHER_ARRAY_CONTROLLER = 
+        BLOCK_ENTITIES.register("crusher_array_controller",
+            () -> BlockEntityType.Builder.of(
+                CrusherArrayControllerBlockEntity::new,
+                ModBlocks.CRUSHER_ARRAY_CONTROLLER.get()
+            ).build(null));
+
+    public static final RegistryObject<BlockEntityType<CrusherArrayPortBlockEntity>> CRUSHER_ARRAY_PORT = 
+        BLOCK_ENTITIES.register("crusher_array_port",
+            () -> BlockEntityType.Builder.of(
+                CrusherArrayPortBlockEntity::new,
+                ModBlocks.CRUSHER_ARRAY_INPUT_PORT.get(),
+                ModBlocks.CRUSHER_ARRAY_OUTPUT_PORT.get(),
+                ModBlocks.CRUSHER_ARRAY_ENERGY_PORT.get()
+            ).build(null));
+
+    public static final RegistryObject<BlockEntityType<MassStorageBlockEntity>> MASS_STORAGE = 
+        BLOCK_ENTITIES.register("mass_storage",
+            () -> BlockEntityType.Builder.of(
+                MassStorageBlockEntity::new,
+                ModBlocks.MASS_STORAGE.get()
+            ).build(null));
+
     public static final RegistryObject<BlockEntityType<ConveyorBeltBlockEntity>> CONVEYOR_BELT = 
         BLOCK_ENTITIES.register("conveyor_belt",
             () -> BlockEntityType.Builder.of(
@@ -46,6 +65,15 @@ public class ModBlockEntities {
         BLOCK_ENTITIES.register("item_pipe",
             () -> BlockEntityType.Builder.of(
                 ItemPipeBlockEntity::new,
-                ModBlocks.ITEM_PIPE.get()
+                ModBlocks.ITEM_PIPE.get(),
+                ModBlocks.ADVANCED_ITEM_PIPE.get(),
+                ModBlocks.ELITE_ITEM_PIPE.get()
+            ).build(null));
+
+    public static final RegistryObject<BlockEntityType<ItemExtractorPipeBlockEntity>> ITEM_EXTRACTOR_PIPE = 
+        BLOCK_ENTITIES.register("item_extractor_pipe",
+            () -> BlockEntityType.Builder.of(
+                ItemExtractorPipeBlockEntity::new,
+                ModBlocks.ITEM_EXTRACTOR_PIPE.get()
             ).build(null));
 }
@@ -10,8 +10,17 @@ import net.minecraftforge.registries.RegistryObject;
 import org.exampl.untitledaii.Untitledaii;
 import org.exampl.untitledaii.industrial.conveyor.ConveyorBeltBlock;
 import org.exampl.untitledaii.industrial.machine.CrusherBlock;
+import org.exampl.untitledaii.industrial.machine.array.CrusherArrayControllerBlock;
+import org.exampl.untitledaii.industrial.machine.array.CrusherArrayPartBlock;
 import org.exampl.untitledaii.industrial.energy.EnergyCableBlock;
+import org.exampl.untitledaii.industrial.pipe.FluidPipeBlock;
+import org.exampl.untitledaii.industrial.pipe.FluidPipeTier;
+import org.exampl.untitledaii.industrial.pipe.GasPipeBlock;
+import org.exampl.untitledaii.industrial.pipe.GasPipeTier;
+import org.exampl.untitledaii.industrial.pipe.ItemExtractorPipeBlock;
 import org.exampl.untitledaii.industrial.pipe.ItemPipeBlock;
+import org.exampl.untitledaii.industrial.pipe.PipeTier;
+import org.exampl.untitledaii.industrial.storage.MassStorageBlock;
 
 /**
  * Block registry for industrial mod.
@@ -30,9 +39,54 @@ public class ModBlocks {
     public static final RegistryObject<Block> CRUSHER = BLOCKS.register("crusher",
         () -> new CrusherBlock());
 
+    public static final RegistryObject<Block> CRUSHER_ARRAY_CONTROLLER = BLOCKS.register("crusher_array_controller",
+        () -> new CrusherArrayControllerBlock());
+
+    public static final RegistryObject<Block> CRUSHER_ARRAY_CASING = BLOCKS.register("crusher_array_casing",
+        () -> new CrusherArrayPartBlock(CrusherArrayPartBlock.PartType.CASING));
+
+    public static final RegistryObject<Block> CRUSHER_ARRAY_INPUT_PORT = BLOCKS.register("crusher_array_input_port",
+        () -> new CrusherArrayPartBlock(CrusherArrayPartBlock.PartType.INPUT_PORT));
+
+    public static final RegistryObject<Block> CRUSHER_ARRAY_OUTPUT_PORT = BLOCKS.register("crusher_array_output_port",
+        () -> new CrusherArrayPartBlock(CrusherArrayPartBlock.PartType.OUTPUT_PORT));
+
+    public static final RegistryObject<Block> CRUSHER_ARRAY_ENERGY_PORT = BLOCKS.register("crusher_array_energy_port",
+        () -> new CrusherArrayPartBlock(CrusherArrayPartBlock.PartType.ENERGY_PORT));
+
+    public static final RegistryObject<Block> MASS_STORAGE = BLOCKS.register("mass_storage",
+        () -> new MassStorageBlock());
+
     public static final RegistryObject<Block> CONVEYOR_BELT = BLOCKS.register("conveyor_belt",
         () -> new ConveyorBeltBlock());
 
     public static final RegistryObject<Block> ITEM_PIPE = BLOCKS.register("item_pipe",
-        () -> new ItemPipeBlock());
+        () -> new ItemPipeBlock(PipeTier.BASIC));
+
+    public static final RegistryObject<Block> ADVANCED_ITEM_PIPE = BLOCKS.register("advanced_item_pipe",
+        () -> new ItemPipeBlock(PipeTier.ADVANCED));
+
+    public static final RegistryObject<Block> ELITE_ITEM_PIPE = BLOCKS.register("elite_item_pipe",
+        () -> new ItemPipeBlock(PipeTier.ELITE));
+
+    public static final RegistryObject<Block> ITEM_EXTRACTOR_PIPE = BLOCKS.register("item_extractor_pipe",
+        () -> new ItemExtractorPipeBlock(PipeTier.BASIC));
+
+    public static final RegistryObject<Block> FLUID_PIPE = BLOCKS.register("fluid_pipe",
+        () -> new FluidPipeBlock(FluidPipeTier.BASIC));
+
+    public static final RegistryObject<Block> ADVANCED_FLUID_PIPE = BLOCKS.register("advanced_fluid_pipe",
+        () -> new FluidPipeBlock(FluidPipeTier.ADVANCED));
+
+    public static final RegistryObject<Block> ELITE_FLUID_PIPE = BLOCKS.register("elite_fluid_pipe",
+        () -> new FluidPipeBlock(FluidPipeTier.ELITE));
+
+    public static final RegistryObject<Block> GAS_PIPE = BLOCKS.register("gas_pipe",
+        () -> new GasPipeBlock(GasPipeTier.BASIC));
+
+    public static final RegistryObject<Block> ADVANCED_GAS_PIPE = BLOCKS.register("advanced_gas_pipe",
+        () -> new GasPipeBlock(GasPipeTier.ADVANCED));
+
+    public static final RegistryObject<Block> ELITE_GAS_PIPE = BLOCKS.register("elite_gas_pipe",
+        () -> new GasPipeBlock(GasPipeTier.ELITE));
 }
@@ -1,5 +1,6 @@
 package org.exampl.untitledaii.industrial;
 
+import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.registries.DeferredRegister;
@@ -25,12 +26,57 @@ public class ModItems {
     public static final RegistryObject<Item> CRUSHER = ITEMS.register("crusher",
         () -> new Item(new Item.Properties().stacksTo(1)));
 
+    public static final RegistryObject<Item> CRUSHER_ARRAY_CONTROLLER = ITEMS.register("crusher_array_controller",
+        () -> new BlockItem(ModBlocks.CRUSHER_ARRAY_CONTROLLER.get(), new Item.Properties().stacksTo(1)));
+
+    public static final RegistryObject<Item> CRUSHER_ARRAY_CASING = ITEMS.register("crusher_array_casing",
+        () -> new BlockItem(ModBlocks.CRUSHER_ARRAY_CASING.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> CRUSHER_ARRAY_INPUT_PORT = ITEMS.register("crusher_array_input_port",
+        () -> new BlockItem(ModBlocks.CRUSHER_ARRAY_INPUT_PORT.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> CRUSHER_ARRAY_OUTPUT_PORT = ITEMS.register("crusher_array_output_port",
+        () -> new BlockItem(ModBlocks.CRUSHER_ARRAY_OUTPUT_PORT.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> CRUSHER_ARRAY_ENERGY_PORT = ITEMS.register("crusher_array_energy_port",
+        () -> new BlockItem(ModBlocks.CRUSHER_ARRAY_ENERGY_PORT.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> MASS_STORAGE = ITEMS.register("mass_storage",
+        () -> new BlockItem(ModBlocks.MASS_STORAGE.get(), new Item.Properties()));
+
     public static final RegistryObject<Item> CONVEYOR_BELT = ITEMS.register("conveyor_belt",
         () -> new Item(new Item.Properties()));
 
     public static final RegistryObject<Item> ITEM_PIPE = ITEMS.register("item_pipe",
         () -> new Item(new Item.Properties()));
 
+    public static final RegistryObject<Item> ADVANCED_ITEM_PIPE = ITEMS.register("advanced_item_pipe",
+        () -> new BlockItem(ModBlocks.ADVANCED_ITEM_PIPE.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> ELITE_ITEM_PIPE = ITEMS.register("elite_item_pipe",
+        () -> new BlockItem(ModBlocks.ELITE_ITEM_PIPE.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> ITEM_EXTRACTOR_PIPE = ITEMS.register("item_extractor_pipe",
+        () -> new BlockItem(ModBlocks.ITEM_EXTRACTOR_PIPE.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> FLUID_PIPE = ITEMS.register("fluid_pipe",
+        () -> new BlockItem(ModBlocks.FLUID_PIPE.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> ADVANCED_FLUID_PIPE = ITEMS.register("advanced_fluid_pipe",
+        () -> new BlockItem(ModBlocks.ADVANCED_FLUID_PIPE.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> ELITE_FLUID_PIPE = ITEMS.register("elite_fluid_pipe",
+        () -> new BlockItem(ModBlocks.ELITE_FLUID_PIPE.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> GAS_PIPE = ITEMS.register("gas_pipe",
+        () -> new BlockItem(ModBlocks.GAS_PIPE.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> ADVANCED_GAS_PIPE = ITEMS.register("advanced_gas_pipe",
+        () -> new BlockItem(ModBlocks.ADVANCED_GAS_PIPE.get(), new Item.Properties()));
+
+    public static final RegistryObject<Item> ELITE_GAS_PIPE = ITEMS.register("elite_gas_pipe",
+        () -> new BlockItem(ModBlocks.ELITE_GAS_PIPE.get(), new Item.Properties()));
+
     public static final RegistryObject<Item> SPEED_UPGRADE = ITEMS.register("speed_upgrade",
         () -> new MachineUpgrade(new Item.Properties(), MachineUpgrade.UpgradeType.SPEED_UPGRADE));
 
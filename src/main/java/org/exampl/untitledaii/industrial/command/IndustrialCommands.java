@@ -0,0 +1,322 @@
+package org.exampl.untitledaii.industrial.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.commands.CommandBuildContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.commands.arguments.ResourceLocationArgument;
+import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.commands.arguments.item.ItemArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.exampl.untitledaii.Untitledaii;
+import org.exampl.untitledaii.industrial.energy.EnergyCableBlock;
+import org.exampl.untitledaii.industrial.machine.BaseMachineBlockEntity;
+import org.exampl.untitledaii.industrial.machine.MachineAutoEject;
+import org.exampl.untitledaii.industrial.machine.pipeline.ProcessingChainLoader;
+import org.exampl.untitledaii.industrial.machine.pipeline.ProcessingPipeline;
+import org.exampl.untitledaii.industrial.machine.pipeline.ProcessingPipelineManager;
+import org.exampl.untitledaii.industrial.machine.planner.FactoryPlan;
+import org.exampl.untitledaii.industrial.machine.planner.PipelineAnalysis;
+import org.exampl.untitledaii.industrial.machine.planner.ThroughputPlanner;
+import org.exampl.untitledaii.industrial.machine.upgrades.MachineUpgrade;
+import org.exampl.untitledaii.industrial.pipe.ItemFilter;
+import org.exampl.untitledaii.industrial.pipe.ItemPipeBlockEntity;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * The {@code /untitledaii} command.
+ *
+ * <p>Subcommands:</p>
+ * <ul>
+ *   <li>{@code pipeline bind <chain> <pos>} binds a processing chain to the machines connected to
+ *       {@code pos}</li>
+ *   <li>{@code pipeline unbind <pos>} unbinds the pipeline of a machine, dropping buffered items</li>
+ *   <li>{@code pipeline info <pos>} shows buffers and throughput counters per stage</li>
+ *   <li>{@code plan <item> <rate> [<upgrade> <count>]} plans machines, energy and transport to
+ *       produce {@code rate} items per minute, with the given upgrades in every machine</li>
+ *   <li>{@code plan network <pos>} reports where the pipeline of a machine loses throughput</li>
+ *   <li>{@code eject <pos> off|stacks <sides>|blocked <sides>|interval <ticks> <sides>} configures
+ *       auto-eject of a machine, e.g. {@code eject ~ ~ ~ stacks down east}</li>
+ *   <li>{@code filter <pos> <side> show|clear|whitelist|blacklist|add <entry>|remove <entry>}
+ *       edits the item filter on one side of an item pipe; entries are item ids, {@code #tags} or
+ *       {@code @modids}</li>
+ * </ul>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public class IndustrialCommands {
+
+    private IndustrialCommands() {
+    }
+
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        register(event.getDispatcher(), event.getBuildContext());
+    }
+
+    private static void register(CommandDispatcher<CommandSourceStack> dispatcher, CommandBuildContext buildContext) {
+        dispatcher.register(Commands.literal(Untitledaii.MODID)
+            .requires(source -> source.hasPermission(2))
+            .then(Commands.literal("pipeline")
+                .then(Commands.literal("bind")
+                    .then(Commands.argument("chain", ResourceLocationArgument.id())
+                        .suggests((context, builder) ->
+                            SharedSuggestionProvider.suggestResource(ProcessingChainLoader.getChains().keySet(), builder))
+                        .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                            .executes(IndustrialCommands::bindPipeline))))
+                .then(Commands.literal("unbind")
+                    .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                        .executes(IndustrialCommands::unbindPipeline)))
+                .then(Commands.literal("info")
+                    .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                        .executes(IndustrialCommands::pipelineInfo))))
+            .then(Commands.literal("plan")
+                .then(Commands.literal("network")
+                    .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                        .executes(IndustrialCommands::analyzeNetwork)))
+                .then(Commands.argument("item", ItemArgument.item(buildContext))
+                    .then(Commands.argument("rate", DoubleArgumentType.doubleArg(0.01))
+                        .executes(context -> plan(context, ItemStack.EMPTY))
+                        .then(Commands.argument("upgrade", ItemArgument.item(buildContext))
+                            .then(Commands.argument("count", IntegerArgumentType.integer(1, 64))
+                                .executes(context -> plan(context, ItemArgument.getItem(context, "upgrade")
+                                    .createItemStack(IntegerArgumentType.getInteger(context, "count"), false))))))))
+            .then(Commands.literal("eject")
+                .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                    .then(Commands.literal("off")
+                        .executes(context -> configureEject(context, 0, MachineAutoEject.Mode.STACKS, 0)))
+                    .then(Commands.literal("stacks")
+                        .then(Commands.argument("sides", StringArgumentType.greedyString())
+                            .executes(context -> configureEject(context, MachineAutoEject.Mode.STACKS, 0))))
+                    .then(Commands.literal("blocked")
+                        .then(Commands.argument("sides", StringArgumentType.greedyString())
+                            .executes(context -> configureEject(context, MachineAutoEject.Mode.BLOCKED, 0))))
+                    .then(Commands.literal("interval")
+                        .then(Commands.argument("ticks", IntegerArgumentType.integer(1, 1200))
+                            .then(Commands.argument("sides", StringArgumentType.greedyString())
+                                .executes(context -> configureEject(context, MachineAutoEject.Mode.INTERVAL,
+                                    IntegerArgumentType.getInteger(context, "ticks"))))))))
+            .then(Commands.literal("filter")
+                .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                    .then(Commands.argument("side", StringArgumentType.word())
+                        .suggests((context, builder) -> SharedSuggestionProvider.suggest(
+                            Arrays.stream(Direction.values()).map(Direction::getName), builder))
+                        .then(Commands.literal("show")
+                            .executes(context -> editFilter(context, filter -> filter)))
+                        .then(Commands.literal("clear")
+                            .executes(context -> editFilter(context, filter -> null)))
+                        .then(Commands.literal("whitelist")
+                            .executes(context -> editFilter(context, filter -> orEmpty(filter).withBlacklist(false))))
+                        .then(Commands.literal("blacklist")
+                            .executes(context -> editFilter(context, filter -> orEmpty(filter).withBlacklist(true))))
+                        .then(Commands.literal("add")
+                            .then(Commands.argument("entry", StringArgumentType.greedyString())
+                                .executes(context -> editFilter(context, filter -> orEmpty(filter)
+                                    .withEntry(StringArgumentType.getString(context, "entry"))))))
+                        .then(Commands.literal("remove")
+                            .then(Commands.argument("entry", StringArgumentType.greedyString())
+                                .executes(context -> editFilter(context, filter -> filter == null ? null
+                                    : filter.withoutEntry(StringArgumentType.getString(context, "entry"))))))))));
+    }
+
+    private static ItemFilter orEmpty(@Nullable ItemFilter filter) {
+        return filter != null ? filter : new ItemFilter(false);
+    }
+
+    private static int editFilter(CommandContext<CommandSourceStack> context, UnaryOperator<ItemFilter> edit)
+        throws CommandSyntaxException {
+        BlockPos pos = BlockPosArgument.getLoadedBlockPos(context, "pos");
+        CommandSourceStack source = context.getSource();
+        String sideName = StringArgumentType.getString(context, "side");
+        Direction side = Direction.byName(sideName);
+        if (side == null) {
+            source.sendFailure(Component.literal("Unknown side '" + sideName + "'"));
+            return 0;
+        }
+        if (!(source.getLevel().getBlockEntity(pos) instanceof ItemPipeBlockEntity pipe)) {
+            source.sendFailure(Component.literal("No item pipe at " + pos.toShortString()));
+            return 0;
+        }
+        ItemFilter filter = edit.apply(pipe.getFilter(side));
+        pipe.setFilter(side, filter);
+        source.sendSuccess(() -> Component.literal(filter == null ? "No filter on " + side.getName()
+            : (filter.isBlacklist() ? "Blacklist" : "Whitelist") + " on " + side.getName() + ": "
+                + (filter.getEntries().isEmpty() ? "(empty)" : String.join(", ", filter.getEntries()))), false);
+        return 1;
+    }
+
+    private static int configureEject(CommandContext<CommandSourceStack> context, MachineAutoEject.Mode mode,
+                                      int interval) throws CommandSyntaxException {
+        int sides = 0;
+        for (String name : StringArgumentType.getString(context, "sides").split("[\\s,]+")) {
+            Direction side = Direction.byName(name);
+            if (side == null) {
+                context.getSource().sendFailure(Component.literal("Unknown side '" + name + "'"));
+                return 0;
+            }
+            sides |= 1 << side.get3DDataValue();
+        }
+        return configureEject(context, sides, mode, interval);
+    }
+
+    private static int configureEject(CommandContext<CommandSourceStack> context, int sides,
+                                      MachineAutoEject.Mode mode, int interval) throws CommandSyntaxException {
+        BlockPos pos = BlockPosArgument.getLoadedBlockPos(context, "pos");
+        CommandSourceStack source = context.getSource();
+        if (!(source.getLevel().getBlockEntity(pos) instanceof BaseMachineBlockEntity machine)) {
+            source.sendFailure(Component.literal("No machine at " + pos.toShortString()));
+            return 0;
+        }
+        machine.getAutoEject().configure(sides, mode, interval);
+        machine.setChanged();
+        source.sendSuccess(() -> Component.literal(sides == 0 ? "Auto-eject off"
+            : "Auto-eject " + mode.getId() + (mode == MachineAutoEject.Mode.INTERVAL ? " every " + interval + " ticks" : "")),
+            true);
+        return 1;
+    }
+
+    private static int bindPipeline(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ResourceLocation chainId = ResourceLocationArgument.getId(context, "chain");
+        BlockPos pos = BlockPosArgument.getLoadedBlockPos(context, "pos");
+        CommandSourceStack source = context.getSource();
+        List<String> problems = new ArrayList<>();
+        ProcessingPipeline pipeline = ProcessingPipelineManager.get(source.getLevel()).bind(chainId, pos, problems);
+        if (pipeline == null) {
+            source.sendFailure(Component.literal("Cannot bind " + chainId + ": " + String.join("; ", problems)));
+            return 0;
+        }
+        int machines = 0;
+        for (ProcessingPipeline.Stage stage : pipeline.getStages()) {
+            machines += stage.getMachineCount();
+        }
+        int bound = machines;
+        source.sendSuccess(() -> Component.literal("Bound " + chainId + " to " + bound + " machines in "
+            + pipeline.getStages().size() + " stages"), true);
+        return bound;
+    }
+
+    private static int unbindPipeline(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        BlockPos pos = BlockPosArgument.getLoadedBlockPos(context, "pos");
+        CommandSourceStack source = context.getSource();
+        if (!ProcessingPipelineManager.get(source.getLevel()).unbind(pos)) {
+            source.sendFailure(Component.literal("No pipeline at " + pos.toShortString()));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Unbound pipeline at " + pos.toShortString()), true);
+        return 1;
+    }
+
+    private static int plan(CommandContext<CommandSourceStack> context, ItemStack upgrades)
+        throws CommandSyntaxException {
+        CommandSourceStack source = context.getSource();
+        if (!upgrades.isEmpty() && !(upgrades.getItem() instanceof MachineUpgrade)) {
+            source.sendFailure(Component.literal(name(upgrades.getItem()) + " is not a machine upgrade"));
+            return 0;
+        }
+        Item target = ItemArgument.getItem(context, "item").getItem();
+        double rate = DoubleArgumentType.getDouble(context, "rate");
+        FactoryPlan plan = ThroughputPlanner.plan(source.getServer(), target, rate, upgrades);
+
+        send(source, String.format("Plan for %.1f %s/min%s:", rate, name(target),
+            upgrades.isEmpty() ? "" : " with " + upgrades.getCount() + " " + name(upgrades.getItem())));
+        if (plan.steps().isEmpty()) {
+            send(source, "  No recipe produces " + name(target));
+        }
+        for (FactoryPlan.Step step : plan.steps()) {
+            send(source, String.format("  %s (%s): %d machines at %d t/craft, %.0f%% busy, %.1f FE/t, "
+                    + "%.1f %s/min via %s pipe",
+                step.stage(), step.recipe(), step.machines(), step.ticksPerCraft(), step.utilization() * 100,
+                step.getEnergyPerTick(), step.outputRate(), name(step.output()),
+                step.pipeTier() != null ? step.pipeTier().getId() : "no single"));
+        }
+        for (FactoryPlan.RawInput input : plan.rawInputs()) {
+            send(source, String.format("  Raw input: %.1f %s/min", input.rate(), name(input.item())));
+        }
+        send(source, String.format("  Energy: %.1f FE/t average, %.1f FE/t peak, %d cable feed(s) of %d FE/t",
+            plan.energyPerTick(), plan.peakEnergyPerTick(), plan.cableFeeds(), EnergyCableBlock.TRANSFER_RATE));
+        if (plan.bottleneck() != null) {
+            send(source, String.format("  Bottleneck: %s, the planned machines sustain up to %.1f/min",
+                plan.bottleneck().stage(), plan.maxRate()));
+        }
+        return plan.steps().size();
+    }
+
+    private static int analyzeNetwork(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        BlockPos pos = BlockPosArgument.getLoadedBlockPos(context, "pos");
+        CommandSourceStack source = context.getSource();
+        ProcessingPipeline pipeline = ProcessingPipelineManager.get(source.getLevel()).getPipeline(pos);
+        if (pipeline == null) {
+            source.sendFailure(Component.literal("No pipeline at " + pos.toShortString()));
+            return 0;
+        }
+        PipelineAnalysis analysis = ThroughputPlanner.analyze(source.getLevel(), pipeline);
+        send(source, "Analysis of pipeline " + analysis.chain() + ":");
+        for (PipelineAnalysis.StageReport stage : analysis.stages()) {
+            send(source, String.format("  %s: %d/%d active, capacity %.1f crafts/min, %s",
+                stage.name(), stage.active(), stage.machines(), stage.capacity(),
+                stage.observed() < 0 ? "rate pending" : stage.observed() + " items/min out"));
+        }
+        for (String finding : analysis.findings()) {
+            send(source, "  " + finding);
+        }
+        if (analysis.findings().isEmpty()) {
+            send(source, "  No throughput losses found");
+        }
+        if (analysis.bottleneck() != null) {
+            send(source, "  Bottleneck: " + analysis.bottleneck().name());
+        }
+        return analysis.findings().size();
+    }
+
+    private static void send(CommandSourceStack source, String line) {
+        source.sendSuccess(() -> Component.literal(line), false);
+    }
+
+    private static String name(Item item) {
+        return String.valueOf(ForgeRegistries.ITEMS.getKey(item));
+    }
+
+    private static int pipelineInfo(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        BlockPos pos = BlockPosArgument.getLoadedBlockPos(context, "pos");
+        CommandSourceStack source = context.getSource();
+        ProcessingPipeline pipeline = ProcessingPipelineManager.get(source.getLevel()).getPipeline(pos);
+        if (pipeline == null) {
+            source.sendFailure(Component.literal("No pipeline at " + pos.toShortString()));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Pipeline " + pipeline.getChainId()
+            + (pipeline.getChain() == null ? " (idle, chain not loaded)" : "")), false);
+        for (ProcessingPipeline.Stage stage : pipeline.getStages()) {
+            long window = stage.getLastWindowOut();
+            String line = String.format("  %s: %d x %s, buffer %d/%d, in %d, out %d, %s, blocked %.0f%%, starved %.0f%%",
+                stage.getName(), stage.getMachineCount(), ForgeRegistries.BLOCKS.getKey(stage.getMachine()),
+                stage.getBuffer().getCount(), stage.getBuffer().getCapacity(), stage.getItemsIn(),
+                stage.getItemsOut(), window < 0 ? "rate pending" : window + " items/min",
+                stage.getBlockedFraction() * 100, stage.getStarvedFraction() * 100);
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+        return pipeline.getStages().size();
+    }
+}
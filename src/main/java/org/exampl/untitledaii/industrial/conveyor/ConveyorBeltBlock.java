@@ -2,31 +2,34 @@ package org.exampl.untitledaii.industrial.conveyor;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.EntityBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.DirectionProperty;
 import net.minecraft.world.level.block.state.StateDefinition;
-import net.minecraft.world.phys.shapes.BooleanOp;
 import net.minecraft.world.phys.shapes.CollisionContext;
-import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraft.world.phys.shapes.VoxelShape;
 
 /**
  * Conveyor belt block for transporting items.
  *
+ * <p>Belts face horizontally. Contiguous belts are grouped into {@link ConveyorLine}s by the
+ * level's {@link ConveyorLineManager}, which moves the items; belts themselves never tick.</p>
+ *
  * @author AVA Industrial Team
  * @since 1.0.0
  */
-public class ConveyorBeltBlock extends Block {
+public class ConveyorBeltBlock extends Block implements EntityBlock {
 
-    public static final DirectionProperty FACING = DirectionProperty.create("facing");
+    public static final DirectionProperty FACING = DirectionProperty.create("facing", Direction.Plane.HORIZONTAL);
 
-    private static final VoxelShape SHAPE = Shapes.box(0, 0, 0, 16, 2, 16);
+    private static final VoxelShape SHAPE = Block.box(0, 0, 0, 16, 2, 16);
 
     public ConveyorBeltBlock() {
         super(BlockBehaviour.Properties.of()
@@ -36,6 +39,7 @@ public class ConveyorBeltBlock extends Block {
             .isValidSpawn((state, level, pos, type) -> false));
     }
 
+    @Override
     protected void createBlockStateDefinition(StateDefinition.Builder<Block, BlockState> builder) {
         builder.add(FACING);
     }
@@ -45,6 +49,11 @@ public class ConveyorBeltBlock extends Block {
         return new ConveyorBeltBlockEntity(pos, state);
     }
 
+    @Override
+    public BlockState getStateForPlacement(BlockPlaceContext context) {
+        return defaultBlockState().setValue(FACING, context.getHorizontalDirection());
+    }
+
     @Override
     public VoxelShape getShape(BlockState state, BlockGetter level, BlockPos pos, CollisionContext context) {
         return SHAPE;
@@ -53,16 +62,12 @@ public class ConveyorBeltBlock extends Block {
     @Override
     public void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean isMoving) {
         super.onPlace(state, level, pos, oldState, isMoving);
-        if (!level.isClientSide) {
+        if (level instanceof ServerLevel serverLevel && oldState.is(this)
+            && oldState.getValue(FACING) != state.getValue(FACING)) {
+            // Rotated in place: the block entity stays, so re-register with the new facing
+            ConveyorLineManager.get(serverLevel).addBelt(pos, state.getValue(FACING));
+        } else if (!level.isClientSide) {
             level.updateNeighborsAt(pos, this);
         }
     }
-
-    @Override
-    public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
-        if (!state.is(newState.getBlock())) {
-            BlockEntity blockEntity = level.getBlockEntity(pos);
-        }
-        super.onRemove(state, level, pos, newState, isMoving);
-    }
 }
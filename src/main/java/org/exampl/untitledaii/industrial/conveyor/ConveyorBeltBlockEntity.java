@@ -2,71 +2,138 @@ package org.exampl.untitledaii.industrial.conveyor;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.item.ItemEntity;
-import net.minecraft.world.level.Level;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.Vec3;
-import org.exampl.untitledaii.industrial.ModBlocks;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.items.IItemHandler;
 import org.exampl.untitledaii.industrial.ModBlockEntities;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Conveyor belt block entity for transporting items.
  *
+ * <p>Belts do not tick; the block entity only registers the belt with the level's
+ * {@link ConveyorLineManager} while its chunk is loaded, and the line it ends up in moves the items.
+ * Virtual items that are on this belt when the chunk is saved are stored here and handed back to the
+ * manager on load. On the client, loaded belts are counted for {@link ConveyorClientMotion}.</p>
+ *
+ * <p>The belt exposes an insert-only item handler per side, so hoppers, pipes and machines can load
+ * items onto it; see {@link ConveyorLineManager#insertAt} for where each side puts them.</p>
+ *
  * @author AVA Industrial Team
  * @since 1.0.0
  */
 public class ConveyorBeltBlockEntity extends BlockEntity {
 
-    private static final float SPEED = 0.1f;
-    private static final float OFFSET_Y = 0.1f;
+    private List<ConveyorLine.BeltItem> loadedItems;
+    private boolean unloading;
+    private final LazyOptional<IItemHandler>[] itemHandlerCaps;
 
+    @SuppressWarnings("unchecked")
     public ConveyorBeltBlockEntity(BlockPos pos, BlockState state) {
         super(ModBlockEntities.CONVEYOR_BELT.get(), pos, state);
+        this.loadedItems = List.of();
+        this.itemHandlerCaps = new LazyOptional[Direction.values().length + 1];
+        for (int i = 0; i < itemHandlerCaps.length; i++) {
+            Direction side = i < Direction.values().length ? Direction.from3DDataValue(i) : null;
+            IItemHandler handler = new SideLoader(side);
+            itemHandlerCaps[i] = LazyOptional.of(() -> handler);
+        }
     }
 
-    public void tick() {
-        if (level == null || level.isClientSide) {
-            return;
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level instanceof ServerLevel serverLevel) {
+            ConveyorLineManager.get(serverLevel).addBelt(getBlockPos(), getFacing(), loadedItems);
+            loadedItems = List.of();
+        } else if (level != null && level.isClientSide) {
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ConveyorClientMotion.addBelt(getBlockPos()));
         }
+    }
 
-        // Get belt direction
-        Direction facing = getBlockState().getValue(ConveyorBeltBlock.FACING);
-        Vec3 movement = Vec3.atLowerCornerOf(facing.getNormal()).scale(SPEED);
-
-        // Find items above belt
-        List<Entity> entities = level.getEntitiesOfClass(
-            ItemEntity.class,
-            new AABB(getBlockPos()).inflate(0.5).move(0, OFFSET_Y, 0)
-        );
-
-        for (Entity entity : entities) {
-            // Move entity in belt direction
-            double newX = entity.getX() + movement.x;
-            double newZ = entity.getZ() + movement.z;
-            double newY = entity.getY();
-
-            // Keep entity on top of belt
-            BlockPos entityPos = BlockPos.containing(entity.getX(), entity.getY(), entity.getZ());
-            if (entityPos.equals(getBlockPos())) {
-                newY = getBlockPos().getY() + OFFSET_Y;
-            }
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        unloading = true;
+    }
 
-            entity.setPos(newX, newY, newZ);
+    @Override
+    public void setRemoved() {
+        if (level instanceof ServerLevel serverLevel) {
+            ConveyorLineManager manager = ConveyorLineManager.get(serverLevel);
+            if (unloading) {
+                manager.unloadBelt(getBlockPos());
+            } else {
+                manager.removeBelt(getBlockPos());
+            }
+        } else if (level != null && level.isClientSide) {
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ConveyorClientMotion.removeBelt(getBlockPos()));
+        }
+        super.setRemoved();
+    }
 
-            // Transfer to next belt if exists
-            BlockPos nextPos = getBlockPos().relative(facing);
-            BlockState nextBlock = level.getBlockState(nextPos);
-            if (nextBlock.is(ModBlocks.CONVEYOR_BELT.get())) {
-                // Item continues on next belt
+    @Override
+    protected void saveAdditional(CompoundTag tag) {
+        super.saveAdditional(tag);
+        if (level instanceof ServerLevel serverLevel) {
+            ListTag items = ConveyorLineManager.get(serverLevel).saveBelt(getBlockPos());
+            if (!items.isEmpty()) {
+                tag.put("Items", items);
             }
         }
     }
 
+    @Override
+    public void load(CompoundTag tag) {
+        super.load(tag);
+        ListTag items = tag.getList("Items", Tag.TAG_COMPOUND);
+        loadedItems = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            loadedItems.add(ConveyorLine.BeltItem.load(items.getCompound(i)));
+        }
+    }
+
+    @NotNull
+    @Override
+    public <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side) {
+        if (cap == ForgeCapabilities.ITEM_HANDLER) {
+            return itemHandlerCaps[side == null ? Direction.values().length : side.get3DDataValue()].cast();
+        }
+        return super.getCapability(cap, side);
+    }
+
+    @Override
+    public void invalidateCaps() {
+        for (LazyOptional<IItemHandler> cap : itemHandlerCaps) {
+            cap.invalidate();
+        }
+        super.invalidateCaps();
+    }
+
+    /**
+     * Gets the line this belt belongs to.
+     *
+     * @return The conveyor line, or null on the client or before the line is built
+     */
+    @Nullable
+    public ConveyorLine getLine() {
+        return level instanceof ServerLevel serverLevel ? ConveyorLineManager.get(serverLevel).getLine(getBlockPos()) : null;
+    }
+
     /**
      * Gets movement direction of this conveyor belt.
      *
@@ -79,4 +146,53 @@ public class ConveyorBeltBlockEntity extends BlockEntity {
         }
         return Direction.NORTH;
     }
+
+    /**
+     * Insert-only view of the belt from one side. It has a single, always empty slot.
+     */
+    private class SideLoader implements IItemHandler {
+
+        @Nullable
+        private final Direction side;
+
+        private SideLoader(@Nullable Direction side) {
+            this.side = side;
+        }
+
+        @Override
+        public int getSlots() {
+            return 1;
+        }
+
+        @NotNull
+        @Override
+        public ItemStack getStackInSlot(int slot) {
+            return ItemStack.EMPTY;
+        }
+
+        @NotNull
+        @Override
+        public ItemStack insertItem(int slot, @NotNull ItemStack stack, boolean simulate) {
+            if (level instanceof ServerLevel serverLevel && !isRemoved()) {
+                return ConveyorLineManager.get(serverLevel).insertAt(getBlockPos(), side, stack, simulate);
+            }
+            return stack;
+        }
+
+        @NotNull
+        @Override
+        public ItemStack extractItem(int slot, int amount, boolean simulate) {
+            return ItemStack.EMPTY;
+        }
+
+        @Override
+        public int getSlotLimit(int slot) {
+            return 64;
+        }
+
+        @Override
+        public boolean isItemValid(int slot, @NotNull ItemStack stack) {
+            return true;
+        }
+    }
 }
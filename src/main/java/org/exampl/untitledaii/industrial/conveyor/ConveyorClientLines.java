@@ -0,0 +1,131 @@
+package org.exampl.untitledaii.industrial.conveyor;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.LevelRenderer;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.entity.ItemRenderer;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.item.ItemDisplayContext;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RenderLevelStageEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+import org.joml.Vector3d;
+
+/**
+ * Client-side mirror of the conveyor lines near the player.
+ *
+ * <p>Lines arrive as {@link ConveyorLinePacket}s and their lanes as {@link ConveyorLanePacket}
+ * snapshots. Between snapshots the lanes are advanced locally with the same {@link ConveyorLane}
+ * logic the server uses, so items keep moving smoothly without per-item packets; the next snapshot
+ * simply replaces the local copy.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID, value = Dist.CLIENT)
+public class ConveyorClientLines {
+
+    private static final double RENDER_DISTANCE_SQR = 64 * 64;
+    private static final float ITEM_SCALE = 0.5f;
+
+    private static final Int2ObjectOpenHashMap<ConveyorLine> LINES = new Int2ObjectOpenHashMap<>();
+
+    static void setLine(int id, long[] belts, Direction[] facings) {
+        ConveyorLine line = new ConveyorLine(id, LongArrayList.wrap(belts), facings);
+        ConveyorLine previous = LINES.put(id, line);
+        if (previous != null && previous.size() == line.size()) {
+            for (int lane = 0; lane < ConveyorLine.LANES; lane++) {
+                line.setLane(lane, previous.getLane(lane));
+            }
+        }
+    }
+
+    static void setLanes(int id, ConveyorLane[] lanes) {
+        ConveyorLine line = LINES.get(id);
+        if (line != null && lanes[0].getLength() == line.size() * ConveyorLane.UNITS_PER_BELT) {
+            for (int lane = 0; lane < lanes.length; lane++) {
+                line.setLane(lane, lanes[lane]);
+            }
+        }
+    }
+
+    static void remove(int id) {
+        LINES.remove(id);
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || LINES.isEmpty() || Minecraft.getInstance().isPaused()) {
+            return;
+        }
+        for (ConveyorLine line : LINES.values()) {
+            for (int lane = 0; lane < ConveyorLine.LANES; lane++) {
+                // The front item waits at the end until the server says it has left
+                line.getLane(lane).advance(ConveyorLane.SPEED);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onRenderLevel(RenderLevelStageEvent event) {
+        if (event.getStage() != RenderLevelStageEvent.Stage.AFTER_ENTITIES || LINES.isEmpty()) {
+            return;
+        }
+        Minecraft minecraft = Minecraft.getInstance();
+        ClientLevel level = minecraft.level;
+        if (level == null) {
+            return;
+        }
+
+        Vec3 camera = event.getCamera().getPosition();
+        PoseStack poseStack = event.getPoseStack();
+        MultiBufferSource.BufferSource buffers = minecraft.renderBuffers().bufferSource();
+        ItemRenderer itemRenderer = minecraft.getItemRenderer();
+        float partialTick = event.getPartialTick();
+        Vector3d pos = new Vector3d();
+        BlockPos.MutableBlockPos lightPos = new BlockPos.MutableBlockPos();
+
+        for (ConveyorLine line : LINES.values()) {
+            if (line.getBounds().distanceToSqr(camera) > RENDER_DISTANCE_SQR) {
+                continue;
+            }
+            for (int lane = 0; lane < ConveyorLine.LANES; lane++) {
+                ConveyorLane contents = line.getLane(lane);
+                if (contents.isEmpty()) {
+                    continue;
+                }
+                int laneIndex = lane;
+                double step = contents.peekStep(ConveyorLane.SPEED) * (double) partialTick;
+                contents.forEach((stack, distance, moving) -> {
+                    line.locate(laneIndex, moving ? distance - step : distance, pos);
+                    poseStack.pushPose();
+                    poseStack.translate(pos.x - camera.x, pos.y - camera.y, pos.z - camera.z);
+                    poseStack.scale(ITEM_SCALE, ITEM_SCALE, ITEM_SCALE);
+                    int light = LevelRenderer.getLightColor(level, lightPos.set(pos.x, pos.y, pos.z));
+                    itemRenderer.renderStatic(stack, ItemDisplayContext.GROUND, light, OverlayTexture.NO_OVERLAY,
+                        poseStack, buffers, level, 0);
+                    poseStack.popPose();
+                });
+            }
+        }
+        buffers.endBatch();
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel().isClientSide()) {
+            LINES.clear();
+        }
+    }
+}
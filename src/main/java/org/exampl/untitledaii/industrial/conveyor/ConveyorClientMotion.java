@@ -0,0 +1,101 @@
+package org.exampl.untitledaii.industrial.conveyor;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+
+/**
+ * Client-side extrapolation of item entities riding entity-mode conveyor belts.
+ *
+ * <p>The server gives items on a belt the belt's velocity and only syncs it when it changes. Item
+ * friction would slow the client copy down between syncs, so each client tick the belt velocity is
+ * restored here exactly as the server does. Items the server has stopped (e.g. at a full inventory)
+ * arrive with no horizontal velocity and are left alone until the server moves them again.</p>
+ *
+ * <p>Belt block entities count themselves per chunk section while loaded on the client, and only
+ * item entities in those sections are looked at, so nothing is scanned while no belt is loaded.
+ * In virtual mode items on belts are not entities, so the lookups come back empty.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID, value = Dist.CLIENT)
+public class ConveyorClientMotion {
+
+    private static final double MIN_MOTION_SQR = 1.0E-7;
+
+    /**
+     * Loaded belts per packed section position.
+     */
+    private static final Long2IntOpenHashMap BELT_SECTIONS = new Long2IntOpenHashMap();
+
+    static void addBelt(BlockPos pos) {
+        BELT_SECTIONS.addTo(SectionPos.asLong(pos), 1);
+    }
+
+    static void removeBelt(BlockPos pos) {
+        long section = SectionPos.asLong(pos);
+        if (BELT_SECTIONS.addTo(section, -1) <= 1) {
+            BELT_SECTIONS.remove(section);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        Minecraft minecraft = Minecraft.getInstance();
+        ClientLevel level = minecraft.level;
+        if (event.phase != TickEvent.Phase.END || BELT_SECTIONS.isEmpty() || level == null || minecraft.isPaused()) {
+            return;
+        }
+        // Only items in sections holding a belt can be riding one
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        LongIterator sections = BELT_SECTIONS.keySet().iterator();
+        while (sections.hasNext()) {
+            long section = sections.nextLong();
+            AABB bounds = new AABB(SectionPos.sectionToBlockCoord(SectionPos.x(section)),
+                SectionPos.sectionToBlockCoord(SectionPos.y(section)),
+                SectionPos.sectionToBlockCoord(SectionPos.z(section)),
+                SectionPos.sectionToBlockCoord(SectionPos.x(section) + 1),
+                SectionPos.sectionToBlockCoord(SectionPos.y(section) + 1),
+                SectionPos.sectionToBlockCoord(SectionPos.z(section) + 1));
+            for (ItemEntity item : level.getEntitiesOfClass(ItemEntity.class, bounds)) {
+                Vec3 motion = item.getDeltaMovement();
+                if (motion.x * motion.x + motion.z * motion.z < MIN_MOTION_SQR) {
+                    continue;
+                }
+                pos.set(item.getX(), item.getY(), item.getZ());
+                if (SectionPos.asLong(pos) != section) {
+                    // Seen from a neighboring section's query; handled there
+                    continue;
+                }
+                BlockState state = level.getBlockState(pos);
+                if (state.getBlock() instanceof ConveyorBeltBlock) {
+                    Direction facing = state.getValue(ConveyorBeltBlock.FACING);
+                    item.setDeltaMovement(facing.getStepX() * ConveyorLineManager.SPEED, motion.y,
+                        facing.getStepZ() * ConveyorLineManager.SPEED);
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel().isClientSide()) {
+            BELT_SECTIONS.clear();
+        }
+    }
+}
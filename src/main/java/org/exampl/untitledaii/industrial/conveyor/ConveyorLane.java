@@ -0,0 +1,421 @@
+package org.exampl.untitledaii.industrial.conveyor;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One lane of virtual items on a {@link ConveyorLine}, stored as data instead of item entities.
+ *
+ * <p>Positions are measured in fixed-point units as the distance from the end of the line, so the
+ * item about to leave is at distance 0 and a new item enters at {@link #getLength()}. Items are kept
+ * front to back in runs: a run is a group of identical stacks packed exactly {@link #ITEM_SPACING}
+ * apart, and each run only stores its gap to the run in front of it (or to the end of the line).</p>
+ *
+ * <p>Because positions are gap-encoded, advancing the lane only shrinks the gap of the first run that
+ * still has room to move; every item behind it moves along implicitly. Runs that have closed up
+ * against a blocked front are skipped by a cursor, so a lane costs O(1) per tick whether it is
+ * empty, flowing or backed up along its whole length.</p>
+ *
+ * <p>An item that would overlap an identical item already on the lane is coalesced into it, up to
+ * the stack size limit, so a burst of single items (e.g. mined ore) collapses into a few counted
+ * entries. A counted entry leaving the lane is split again by {@link #setFront(ItemStack)} when the
+ * destination takes only part of it.</p>
+ *
+ * <p>The same class is used on the client to extrapolate synced lanes between snapshots.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ConveyorLane {
+
+    /**
+     * Length of one belt in lane units.
+     */
+    public static final int UNITS_PER_BELT = 240;
+
+    /**
+     * Minimum distance between two items, giving four items per belt per lane.
+     */
+    public static final int ITEM_SPACING = UNITS_PER_BELT / 4;
+
+    /**
+     * Units moved per tick, matching the 0.1 blocks per tick of entity-mode belts.
+     */
+    public static final int SPEED = UNITS_PER_BELT / 10;
+
+    private final int length;
+    private final List<Run> runs;
+    private int moving;
+    private int tail;
+    private int itemCount;
+
+    public ConveyorLane(int length) {
+        this.length = length;
+        this.runs = new ArrayList<>();
+        this.moving = 0;
+        this.tail = 0;
+        this.itemCount = 0;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return runs.isEmpty();
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Moves the lane forward.
+     *
+     * @param speed Units to move
+     * @return Units the moving part of the lane advanced, 0 if the lane is empty or fully backed up
+     */
+    public int advance(int speed) {
+        while (moving < runs.size()) {
+            Run run = runs.get(moving);
+            int minGap = moving == 0 ? 0 : ITEM_SPACING;
+            int slack = run.gap - minGap;
+            if (slack > 0) {
+                int step = Math.min(speed, slack);
+                run.gap -= step;
+                tail -= step;
+                if (run.gap == minGap && moving > 0) {
+                    // A run that closes up behind an identical one joins it
+                    tryMerge(moving);
+                }
+                return step;
+            }
+            moving++;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the step the next {@link #advance(int)} would take, for client-side interpolation.
+     *
+     * @param speed Units per tick
+     * @return Units the moving part of the lane will advance
+     */
+    public int peekStep(int speed) {
+        for (int i = moving; i < runs.size(); i++) {
+            int slack = runs.get(i).gap - (i == 0 ? 0 : ITEM_SPACING);
+            if (slack > 0) {
+                return Math.min(speed, slack);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Checks whether the front item has reached the end of the line.
+     *
+     * @return True if an item is waiting to leave
+     */
+    public boolean isFrontReady() {
+        return !runs.isEmpty() && runs.get(0).gap == 0;
+    }
+
+    /**
+     * Gets the item waiting to leave the lane.
+     *
+     * @return The front stack, or {@link ItemStack#EMPTY} if no item is at the end; must not be modified
+     */
+    public ItemStack peekFront() {
+        return isFrontReady() ? runs.get(0).stack : ItemStack.EMPTY;
+    }
+
+    /**
+     * Removes the item waiting to leave the lane.
+     *
+     * @return The removed stack, or {@link ItemStack#EMPTY} if no item is at the end
+     */
+    public ItemStack pollFront() {
+        if (!isFrontReady()) {
+            return ItemStack.EMPTY;
+        }
+        Run front = runs.get(0);
+        ItemStack removed = front.stack.copy();
+        if (--front.count > 0) {
+            front.gap = ITEM_SPACING;
+        } else {
+            // The next run was measured from the removed item, which sat at distance 0
+            runs.remove(0);
+        }
+        itemCount--;
+        if (runs.isEmpty()) {
+            tail = 0;
+        }
+        moving = 0;
+        return removed;
+    }
+
+    /**
+     * Checks whether an item can enter at the start of the lane.
+     *
+     * @return True if the entrance is clear
+     */
+    public boolean canInsertAtEntrance() {
+        return runs.isEmpty() || tail <= length - ITEM_SPACING;
+    }
+
+    /**
+     * Inserts an item at the start of the lane.
+     *
+     * @param stack The item; the lane keeps a copy
+     * @return The part of the item that did not fit, empty if all of it was inserted
+     */
+    public ItemStack insertAtEntrance(ItemStack stack) {
+        return insert(stack, length, false);
+    }
+
+    /**
+     * Inserts an item at a distance from the end of the line.
+     *
+     * <p>If the spot overlaps an identical item, as much as fits is merged into that item
+     * instead.</p>
+     *
+     * @param stack The item; the lane keeps a copy
+     * @param distance Distance from the end of the line in units, clamped to the lane
+     * @param simulate If true, the lane is not modified
+     * @return The part of the item that did not fit, empty if all of it was inserted
+     */
+    public ItemStack insert(ItemStack stack, int distance, boolean simulate) {
+        if (stack.isEmpty()) {
+            return ItemStack.EMPTY;
+        }
+        distance = Math.max(0, Math.min(length, distance));
+
+        // Fast path: behind everything else
+        if (runs.isEmpty() || distance >= tail + ITEM_SPACING) {
+            if (!simulate) {
+                runs.add(new Run(stack.copy(), runs.isEmpty() ? distance : distance - tail));
+                tail = distance;
+                itemCount++;
+                moving = Math.min(moving, runs.size() - 1);
+                tryMerge(runs.size() - 1);
+            }
+            return ItemStack.EMPTY;
+        }
+
+        int previous = -ITEM_SPACING;
+        int base = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            Run run = runs.get(i);
+            int start = base + run.gap;
+            if (distance < start) {
+                boolean frontClear = distance - previous >= ITEM_SPACING;
+                boolean backClear = start - distance >= ITEM_SPACING;
+                if (frontClear && backClear) {
+                    if (!simulate) {
+                        runs.add(i, new Run(stack.copy(), distance - base));
+                        run.gap = start - distance;
+                        itemCount++;
+                        moving = Math.min(moving, Math.max(0, i - 1));
+                        tryMerge(i + 1);
+                        tryMerge(i);
+                    }
+                    return ItemStack.EMPTY;
+                }
+                // Prefer the item in front, which the stack would catch up with first
+                int merged = frontClear ? 0 : coalesce(i - 1, runs.get(i - 1).count - 1, stack, simulate);
+                if (merged == 0 && !backClear) {
+                    merged = coalesce(i, 0, stack, simulate);
+                }
+                return stack.copyWithCount(stack.getCount() - merged);
+            }
+            int end = start + (run.count - 1) * ITEM_SPACING;
+            if (distance <= end) {
+                int item = (distance - start + ITEM_SPACING / 2) / ITEM_SPACING;
+                return stack.copyWithCount(stack.getCount() - coalesce(i, item, stack, simulate));
+            }
+            previous = end;
+            base = end;
+        }
+        // Just behind the last item, but too close to it
+        Run last = runs.get(runs.size() - 1);
+        return stack.copyWithCount(stack.getCount() - coalesce(runs.size() - 1, last.count - 1, stack, simulate));
+    }
+
+    /**
+     * Merges as much of a stack as fits into one item of a run, splitting the run around it.
+     *
+     * @param index Run index
+     * @param item Index of the item within the run
+     * @return Number of items merged
+     */
+    private int coalesce(int index, int item, ItemStack stack, boolean simulate) {
+        Run run = runs.get(index);
+        if (!ItemStack.isSameItemSameTags(run.stack, stack)) {
+            return 0;
+        }
+        int merged = Math.min(run.stack.getMaxStackSize() - run.stack.getCount(), stack.getCount());
+        if (merged <= 0 || simulate) {
+            return Math.max(0, merged);
+        }
+
+        ItemStack grown = run.stack.copyWithCount(run.stack.getCount() + merged);
+        int behind = run.count - item - 1;
+        runs.remove(index);
+        int at = index;
+        if (item > 0) {
+            Run head = new Run(run.stack, run.gap);
+            head.count = item;
+            runs.add(at++, head);
+        }
+        runs.add(at, new Run(grown, item > 0 ? ITEM_SPACING : run.gap));
+        if (behind > 0) {
+            Run rest = new Run(run.stack, ITEM_SPACING);
+            rest.count = behind;
+            runs.add(at + 1, rest);
+        }
+        // Splitting keeps every gap, so only the cursor position has to be made safe again
+        moving = Math.min(moving, index);
+        tryMerge(at + 1);
+        tryMerge(at);
+        return merged;
+    }
+
+    /**
+     * Replaces the item waiting to leave the lane, e.g. with what is left after a partial insertion.
+     *
+     * @param stack The new front item; must not be empty
+     */
+    public void setFront(ItemStack stack) {
+        if (!isFrontReady()) {
+            return;
+        }
+        Run front = runs.get(0);
+        if (front.count > 1) {
+            // Split the front item off its run
+            front.count--;
+            front.gap = ITEM_SPACING;
+            runs.add(0, new Run(stack.copy(), 0));
+        } else {
+            runs.set(0, new Run(stack.copy(), 0));
+        }
+    }
+
+    private boolean tryMerge(int index) {
+        if (index <= 0 || index >= runs.size()) {
+            return false;
+        }
+        Run front = runs.get(index - 1);
+        Run back = runs.get(index);
+        if (back.gap != ITEM_SPACING || !canMerge(front.stack, back.stack)) {
+            return false;
+        }
+        front.count += back.count;
+        runs.remove(index);
+        if (moving > index) {
+            moving--;
+        }
+        return true;
+    }
+
+    private static boolean canMerge(ItemStack a, ItemStack b) {
+        return a.getCount() == b.getCount() && ItemStack.isSameItemSameTags(a, b);
+    }
+
+    /**
+     * Visits every item on the lane, front to back.
+     *
+     * @param visitor Receives each stack with its distance from the end of the line
+     */
+    public void forEach(ItemVisitor visitor) {
+        int base = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            Run run = runs.get(i);
+            int distance = base + run.gap;
+            boolean movingItem = i >= moving;
+            for (int n = 0; n < run.count; n++) {
+                visitor.visit(run.stack, distance, movingItem);
+                distance += ITEM_SPACING;
+            }
+            base = distance - ITEM_SPACING;
+        }
+    }
+
+    /**
+     * Removes every item from the lane.
+     */
+    public void clear() {
+        runs.clear();
+        moving = 0;
+        tail = 0;
+        itemCount = 0;
+    }
+
+    /**
+     * Writes a snapshot of the lane for client sync.
+     *
+     * @param buf Target buffer
+     */
+    public void write(FriendlyByteBuf buf) {
+        buf.writeVarInt(runs.size());
+        for (Run run : runs) {
+            buf.writeItem(run.stack);
+            buf.writeVarInt(run.count);
+            buf.writeVarInt(run.gap);
+        }
+    }
+
+    /**
+     * Reads a lane snapshot.
+     *
+     * @param buf Source buffer
+     * @param length Length of the lane in units
+     * @return The lane
+     */
+    public static ConveyorLane read(FriendlyByteBuf buf, int length) {
+        ConveyorLane lane = new ConveyorLane(length);
+        int size = buf.readVarInt();
+        int base = 0;
+        for (int i = 0; i < size; i++) {
+            Run run = new Run(buf.readItem(), 0);
+            run.count = buf.readVarInt();
+            run.gap = buf.readVarInt();
+            lane.runs.add(run);
+            lane.itemCount += run.count;
+            base += run.gap + (run.count - 1) * ITEM_SPACING;
+        }
+        lane.tail = base;
+        return lane;
+    }
+
+    /**
+     * Receives the items of a lane.
+     */
+    @FunctionalInterface
+    public interface ItemVisitor {
+        /**
+         * @param stack The item; must not be modified
+         * @param distance Distance from the end of the line in units
+         * @param moving True if the item moves on the next advance
+         */
+        void visit(ItemStack stack, int distance, boolean moving);
+    }
+
+    private static final class Run {
+        private final ItemStack stack;
+        private int count;
+        private int gap;
+
+        private Run(ItemStack stack, int gap) {
+            this.stack = stack;
+            this.count = 1;
+            this.gap = gap;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.exampl.untitledaii.industrial.conveyor;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Server to client: a snapshot of the lanes of a {@link ConveyorLine}.
+ *
+ * <p>Sent when items enter or leave the line, plus a periodic resync; in between the client
+ * advances its copy of the lanes itself.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ConveyorLanePacket {
+
+    private final int id;
+    private final int length;
+    private final byte[] lanes;
+
+    public ConveyorLanePacket(ConveyorLine line) {
+        this.id = line.getId();
+        this.length = line.size() * ConveyorLane.UNITS_PER_BELT;
+        // Serialized once and reused for every receiving player
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        for (int lane = 0; lane < ConveyorLine.LANES; lane++) {
+            line.getLane(lane).write(buf);
+        }
+        this.lanes = new byte[buf.readableBytes()];
+        buf.readBytes(lanes);
+    }
+
+    public ConveyorLanePacket(FriendlyByteBuf buf) {
+        this.id = buf.readVarInt();
+        this.length = buf.readVarInt();
+        this.lanes = buf.readByteArray();
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(id);
+        buf.writeVarInt(length);
+        buf.writeByteArray(lanes);
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(lanes));
+        ConveyorLane[] contents = new ConveyorLane[ConveyorLine.LANES];
+        for (int lane = 0; lane < contents.length; lane++) {
+            contents[lane] = ConveyorLane.read(buf, length);
+        }
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ConveyorClientLines.setLanes(id, contents));
+    }
+}
@@ -0,0 +1,315 @@
+package org.exampl.untitledaii.industrial.conveyor;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.items.IItemHandler;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3d;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * A run of contiguous conveyor belts, each feeding the next, with no merges along the way.
+ *
+ * <p>A line is the unit of conveyor work: it is ticked once per level tick with a single entity
+ * query over its bounding box, and skipped entirely while nothing is on it.</p>
+ *
+ * <p>In virtual mode the items on a line are not entities but entries in its two
+ * {@link ConveyorLane}s (left and right of the direction of travel). Lines are mirrored on the
+ * client by id, where the lanes are extrapolated between snapshots and rendered.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ConveyorLine {
+
+    public static final int LANES = 2;
+
+    private static final double LANE_OFFSET = 0.25;
+    private static final double ITEM_Y = 0.125;
+
+    private final int id;
+    private final long[] belts;
+    private final Direction[] facings;
+    private final Long2IntOpenHashMap indices;
+    private final long[] chunks;
+    private final AABB bounds;
+    private final ConveyorLane[] lanes;
+    int itemCount;
+    int wakeTicks;
+    boolean contentsChanged;
+    LazyOptional<IItemHandler> exitHandler;
+    @Nullable
+    BlockEntity exitBlockEntity;
+
+    ConveyorLine(int id, LongList belts, Direction[] facings) {
+        this.id = id;
+        this.belts = belts.toLongArray();
+        this.facings = facings;
+        this.indices = new Long2IntOpenHashMap(this.belts.length);
+        this.indices.defaultReturnValue(-1);
+        this.exitHandler = LazyOptional.empty();
+
+        LongOpenHashSet chunkSet = new LongOpenHashSet();
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < this.belts.length; i++) {
+            long belt = this.belts[i];
+            indices.put(belt, i);
+            int x = BlockPos.getX(belt), y = BlockPos.getY(belt), z = BlockPos.getZ(belt);
+            chunkSet.add(ChunkPos.asLong(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z)));
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            minZ = Math.min(minZ, z);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            maxZ = Math.max(maxZ, z);
+        }
+        this.chunks = chunkSet.toLongArray();
+        this.bounds = new AABB(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1);
+
+        this.lanes = new ConveyorLane[LANES];
+        for (int lane = 0; lane < LANES; lane++) {
+            lanes[lane] = new ConveyorLane(this.belts.length * ConveyorLane.UNITS_PER_BELT);
+        }
+    }
+
+    /**
+     * Gets the id the line is mirrored under on clients.
+     *
+     * @return Line id, unique per level session
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the position of a belt along the line, 0 being the first belt items enter.
+     *
+     * @param index Belt index
+     * @return Packed belt position
+     */
+    public long getBelt(int index) {
+        return belts[index];
+    }
+
+    public Direction getFacing(int index) {
+        return facings[index];
+    }
+
+    /**
+     * Gets the index of a belt in this line.
+     *
+     * @param pos Packed belt position
+     * @return Belt index, or -1 if the belt is not part of this line
+     */
+    public int indexOf(long pos) {
+        return indices.get(pos);
+    }
+
+    public int size() {
+        return belts.length;
+    }
+
+    /**
+     * Gets the position just past the end of the line, where items leave it.
+     *
+     * @return Packed position in front of the last belt
+     */
+    public long getExit() {
+        int last = belts.length - 1;
+        return BlockPos.offset(belts[last], facings[last]);
+    }
+
+    public AABB getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Gets the chunks the line passes through.
+     *
+     * @return Packed chunk positions; must not be modified
+     */
+    public long[] getChunks() {
+        return chunks;
+    }
+
+    public ConveyorLane getLane(int lane) {
+        return lanes[lane];
+    }
+
+    void setLane(int lane, ConveyorLane contents) {
+        lanes[lane] = contents;
+    }
+
+    /**
+     * Gets the number of items on the line as of its last tick.
+     *
+     * @return Item count
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Checks whether the line has to look for item entities this tick.
+     *
+     * @return True if items were on it last tick or it was woken recently
+     */
+    public boolean isActive() {
+        return itemCount > 0 || wakeTicks > 0;
+    }
+
+    /**
+     * Checks whether any lane holds virtual items.
+     *
+     * @return True if a lane is not empty
+     */
+    public boolean hasVirtualItems() {
+        for (ConveyorLane lane : lanes) {
+            if (!lane.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the lane a point above a belt falls into.
+     *
+     * @param index Belt index
+     * @param x World x
+     * @param z World z
+     * @return 0 for the left lane, 1 for the right lane
+     */
+    public int laneAt(int index, double x, double z) {
+        Direction right = facings[index].getClockWise();
+        double lateral = (x - BlockPos.getX(belts[index]) - 0.5) * right.getStepX()
+            + (z - BlockPos.getZ(belts[index]) - 0.5) * right.getStepZ();
+        return lateral > 0 ? 1 : 0;
+    }
+
+    /**
+     * Gets the lane distance of a point above a belt.
+     *
+     * @param index Belt index
+     * @param x World x
+     * @param z World z
+     * @return Distance from the end of the line in lane units
+     */
+    public int distanceAt(int index, double x, double z) {
+        Direction facing = facings[index];
+        double along = (x - BlockPos.getX(belts[index]) - 0.5) * facing.getStepX()
+            + (z - BlockPos.getZ(belts[index]) - 0.5) * facing.getStepZ();
+        int entered = index * ConveyorLane.UNITS_PER_BELT + (int) ((along + 0.5) * ConveyorLane.UNITS_PER_BELT);
+        return belts.length * ConveyorLane.UNITS_PER_BELT - entered;
+    }
+
+    /**
+     * Gets the belt an item at a lane distance is on.
+     *
+     * @param distance Distance from the end of the line in lane units
+     * @return Belt index
+     */
+    public int beltAt(int distance) {
+        int entered = belts.length * ConveyorLane.UNITS_PER_BELT - distance;
+        return Math.max(0, Math.min(belts.length - 1, entered / ConveyorLane.UNITS_PER_BELT));
+    }
+
+    /**
+     * Gets the world position of an item on a lane.
+     *
+     * @param lane Lane index
+     * @param distance Distance from the end of the line in lane units, may be fractional
+     * @param out Receives the position
+     * @return The same vector
+     */
+    public Vector3d locate(int lane, double distance, Vector3d out) {
+        double entered = belts.length * ConveyorLane.UNITS_PER_BELT - distance;
+        int index = Math.max(0, Math.min(belts.length - 1, (int) (entered / ConveyorLane.UNITS_PER_BELT)));
+        double along = entered / ConveyorLane.UNITS_PER_BELT - index - 0.5;
+        Direction facing = facings[index];
+        Direction right = facing.getClockWise();
+        double lateral = lane == 0 ? -LANE_OFFSET : LANE_OFFSET;
+        long belt = belts[index];
+        return out.set(
+            BlockPos.getX(belt) + 0.5 + facing.getStepX() * along + right.getStepX() * lateral,
+            BlockPos.getY(belt) + ITEM_Y,
+            BlockPos.getZ(belt) + 0.5 + facing.getStepZ() * along + right.getStepZ() * lateral);
+    }
+
+    /**
+     * Collects the virtual items on the line, grouped by the belt they are on.
+     *
+     * @param target Gives the list to add the items of a belt index to, or null to skip that belt
+     */
+    public void collectItems(IntFunction<List<BeltItem>> target) {
+        int length = belts.length * ConveyorLane.UNITS_PER_BELT;
+        for (int lane = 0; lane < LANES; lane++) {
+            int laneIndex = lane;
+            lanes[lane].forEach((stack, distance, moving) -> {
+                int index = beltAt(distance);
+                List<BeltItem> items = target.apply(index);
+                if (items != null) {
+                    int offset = length - distance - index * ConveyorLane.UNITS_PER_BELT;
+                    items.add(new BeltItem(laneIndex, offset, stack.copy()));
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the lane distance of the middle of a belt.
+     *
+     * @param index Belt index
+     * @return Distance from the end of the line in lane units
+     */
+    public int middleOf(int index) {
+        return (belts.length - index) * ConveyorLane.UNITS_PER_BELT - ConveyorLane.UNITS_PER_BELT / 2;
+    }
+
+    /**
+     * Places an item on a belt of this line.
+     *
+     * @param index Belt index
+     * @param item The item and its position on the belt
+     * @return The part of the item that did not fit, empty if all of it was placed
+     */
+    public ItemStack insert(int index, BeltItem item) {
+        int distance = (belts.length - index) * ConveyorLane.UNITS_PER_BELT - item.offset();
+        return lanes[item.lane() % LANES].insert(item.stack(), distance, false);
+    }
+
+    /**
+     * A virtual item relative to the belt it is on, used to carry lane contents across line rebuilds
+     * and to save them with the belt.
+     *
+     * @param lane Lane index
+     * @param offset Units travelled since entering the belt
+     * @param stack The item
+     */
+    public record BeltItem(int lane, int offset, ItemStack stack) {
+
+        public CompoundTag save() {
+            CompoundTag tag = stack.save(new CompoundTag());
+            tag.putByte("Lane", (byte) lane);
+            tag.putShort("Offset", (short) offset);
+            return tag;
+        }
+
+        public static BeltItem load(CompoundTag tag) {
+            return new BeltItem(tag.getByte("Lane"), tag.getShort("Offset"), ItemStack.of(tag));
+        }
+    }
+}
@@ -0,0 +1,845 @@
+package org.exampl.untitledaii.industrial.conveyor;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.level.ChunkWatchEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+import org.exampl.untitledaii.Config;
+import org.exampl.untitledaii.Untitledaii;
+import org.exampl.untitledaii.network.ModNetwork;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3d;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-level registry grouping conveyor belts into {@link ConveyorLine}s.
+ *
+ * <p>Belts do not tick on their own. Lines run in one of two modes, chosen by
+ * {@link Config#virtualConveyorItems} when the level is loaded. Entity mode is the default; virtual
+ * mode is opt-in, since items on belts stop being entities that players, hoppers and other mods
+ * can interact with:</p>
+ * <ul>
+ *   <li><b>Virtual</b>: item entities landing on a line are absorbed into its {@link ConveyorLane}s
+ *       and removed from the world. Lanes advance as data, hand items on to the next line, and are
+ *       synced to watching clients as snapshots, so belts add no entities at all.</li>
+ *   <li><b>Entity</b>: every active line runs one entity query over its bounding box and gives each
+ *       item the velocity of the belt underneath, which the item's own physics then applies. Clients
+ *       extrapolate the same velocity ({@link ConveyorClientMotion}), so motion packets are only
+ *       forced when an item turns, stops, or drifts from where the belt should have taken it. An
+ *       item is only handled by the line owning the belt it is on, and at most once per tick, so
+ *       overlapping bounds never double-move. Identical items sharing a lane segment are merged
+ *       into one entity.</li>
+ * </ul>
+ *
+ * <p>A line ending at a block with an item handler inserts into it directly; whatever does not fit
+ * stays at the end of the line, which backs up behind it rather than dropping anything. Belts in
+ * turn accept items from inventories and pipes through {@link #insertAt}, so a line can sit between
+ * machines as a transport stage without hoppers.</p>
+ *
+ * <p>Lines only query for entities while woken: for a short while after an item entity joins the
+ * level nearby, after the line is (re)built, and (in entity mode) while items are on it or leave the
+ * line before it.</p>
+ *
+ * <p>Virtual items survive line rebuilds by being parked per belt until the new line is built, and
+ * are saved with the belt they are on by {@link ConveyorBeltBlockEntity}.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public class ConveyorLineManager {
+
+    private static final Map<LevelAccessor, ConveyorLineManager> MANAGERS = new WeakHashMap<>();
+
+    /**
+     * Blocks per tick items move on a belt in entity mode.
+     */
+    static final double SPEED = 0.1;
+
+    private static final double OFFSET_Y = 0.1;
+
+    /**
+     * Half the width of an item entity; an item this close to the end of a belt touches the exit.
+     */
+    private static final double ITEM_RADIUS = 0.125;
+
+    /**
+     * Squared difference between the expected and actual movement of an item entity past which the
+     * client is sent a correction.
+     */
+    private static final double DRIFT_THRESHOLD_SQR = 0.02 * 0.02;
+
+    /**
+     * Ticks a line keeps querying after being woken without finding anything.
+     */
+    private static final int WAKE_TICKS = 40;
+
+    /**
+     * Ticks between full lane resyncs of a non-empty line, to correct client drift.
+     */
+    private static final int RESYNC_INTERVAL = 100;
+
+    /**
+     * Item entities a belt accepts from side-loading in entity mode, matching a lane's capacity.
+     */
+    private static final int MAX_ENTITIES_PER_BELT = 4;
+
+    private final ServerLevel level;
+    private final boolean virtualItems;
+    private final Long2ByteOpenHashMap facings;
+    private final Long2ObjectOpenHashMap<ConveyorLine> lineByBelt;
+    private final ReferenceLinkedOpenHashSet<ConveyorLine> lines;
+    private final Long2ObjectOpenHashMap<List<ConveyorLine>> linesByChunk;
+    private final LongOpenHashSet unassigned;
+    private final Long2ObjectOpenHashMap<List<ConveyorLine.BeltItem>> parked;
+    private final ReferenceOpenHashSet<ItemEntity> moved;
+    private final Long2ObjectOpenHashMap<ItemEntity> segments;
+    private final Vector3d scratch;
+    private int nextLineId;
+
+    private ConveyorLineManager(ServerLevel level) {
+        this.level = level;
+        this.virtualItems = Config.virtualConveyorItems;
+        this.facings = new Long2ByteOpenHashMap();
+        this.facings.defaultReturnValue((byte) -1);
+        this.lineByBelt = new Long2ObjectOpenHashMap<>();
+        this.lines = new ReferenceLinkedOpenHashSet<>();
+        this.linesByChunk = new Long2ObjectOpenHashMap<>();
+        this.unassigned = new LongOpenHashSet();
+        this.parked = new Long2ObjectOpenHashMap<>();
+        this.moved = new ReferenceOpenHashSet<>();
+        this.segments = new Long2ObjectOpenHashMap<>();
+        this.scratch = new Vector3d();
+    }
+
+    /**
+     * Gets the conveyor line manager for a level.
+     *
+     * @param level The server level
+     * @return The level's conveyor line manager
+     */
+    public static ConveyorLineManager get(ServerLevel level) {
+        return MANAGERS.computeIfAbsent(level, key -> new ConveyorLineManager(level));
+    }
+
+    /**
+     * Registers a belt, or updates its facing if it is already registered.
+     *
+     * @param pos Belt position
+     * @param facing Direction items move on the belt
+     */
+    public void addBelt(BlockPos pos, Direction facing) {
+        addBelt(pos, facing, List.of());
+    }
+
+    /**
+     * Registers a belt together with the virtual items saved on it.
+     *
+     * @param pos Belt position
+     * @param facing Direction items move on the belt
+     * @param items Items to place on the belt once its line is built
+     */
+    public void addBelt(BlockPos pos, Direction facing, List<ConveyorLine.BeltItem> items) {
+        long packed = pos.asLong();
+        facings.put(packed, (byte) facing.get3DDataValue());
+        dissolveAround(packed);
+        unassigned.add(packed);
+        if (!items.isEmpty()) {
+            parked.computeIfAbsent(packed, key -> new ArrayList<>()).addAll(items);
+        }
+    }
+
+    /**
+     * Unregisters a belt that was broken. Virtual items on it are dropped.
+     *
+     * @param pos Belt position
+     */
+    public void removeBelt(BlockPos pos) {
+        List<ConveyorLine.BeltItem> items = unregister(pos.asLong());
+        if (items != null) {
+            for (ConveyorLine.BeltItem item : items) {
+                spawnItem(item.stack(), pos.getX() + 0.5, pos.getY() + OFFSET_Y, pos.getZ() + 0.5, 0, 0);
+            }
+        }
+    }
+
+    /**
+     * Unregisters a belt whose chunk is unloading. Virtual items on it were saved with the chunk.
+     *
+     * @param pos Belt position
+     */
+    public void unloadBelt(BlockPos pos) {
+        unregister(pos.asLong());
+    }
+
+    @Nullable
+    private List<ConveyorLine.BeltItem> unregister(long packed) {
+        if (facings.remove(packed) < 0) {
+            return null;
+        }
+        dissolveAround(packed);
+        unassigned.remove(packed);
+        return parked.remove(packed);
+    }
+
+    /**
+     * Gets the line a belt belongs to.
+     *
+     * @param pos Belt position
+     * @return The line, or null if the belt is not registered or its line is not built yet
+     */
+    @Nullable
+    public ConveyorLine getLine(BlockPos pos) {
+        return lineByBelt.get(pos.asLong());
+    }
+
+    public int getLineCount() {
+        return lines.size();
+    }
+
+    public boolean isVirtual() {
+        return virtualItems;
+    }
+
+    /**
+     * Saves the virtual items currently on a belt.
+     *
+     * @param pos Belt position
+     * @return Saved items
+     */
+    public ListTag saveBelt(BlockPos pos) {
+        long packed = pos.asLong();
+        List<ConveyorLine.BeltItem> items = new ArrayList<>();
+        ConveyorLine line = lineByBelt.get(packed);
+        if (line != null) {
+            int index = line.indexOf(packed);
+            line.collectItems(belt -> belt == index ? items : null);
+        } else if (parked.containsKey(packed)) {
+            items.addAll(parked.get(packed));
+        }
+        ListTag list = new ListTag();
+        for (ConveyorLine.BeltItem item : items) {
+            list.add(item.save());
+        }
+        return list;
+    }
+
+    /**
+     * Puts an item onto a belt from an adjacent inventory or pipe.
+     *
+     * <p>Items from the left or right side go onto that side's lane at the middle of the belt, items
+     * from behind enter at the start of the belt, and items from above take whichever lane has room.
+     * The front of a belt does not accept items.</p>
+     *
+     * @param pos Belt position
+     * @param side Side of the belt the item comes from, or null for no particular side
+     * @param stack The item
+     * @param simulate If true, the belt is not modified
+     * @return The part of the stack that was not accepted
+     */
+    public ItemStack insertAt(BlockPos pos, @Nullable Direction side, ItemStack stack, boolean simulate) {
+        long packed = pos.asLong();
+        byte facingValue = facings.get(packed);
+        if (stack.isEmpty() || facingValue < 0) {
+            return stack;
+        }
+        Direction facing = Direction.from3DDataValue(facingValue);
+        if (side == facing) {
+            return stack;
+        }
+
+        if (!virtualItems) {
+            if (level.getEntitiesOfClass(ItemEntity.class, new AABB(pos)).size() >= MAX_ENTITIES_PER_BELT) {
+                return stack;
+            }
+            if (!simulate) {
+                Direction from = side == null || side == Direction.DOWN ? Direction.UP : side;
+                spawnItem(stack, pos.getX() + 0.5 + from.getStepX() * 0.25, pos.getY() + OFFSET_Y,
+                    pos.getZ() + 0.5 + from.getStepZ() * 0.25, 0, 0);
+                wake(lineByBelt.get(packed));
+            }
+            return ItemStack.EMPTY;
+        }
+
+        ConveyorLine line = lineByBelt.get(packed);
+        if (line == null) {
+            return stack;
+        }
+        int index = line.indexOf(packed);
+        int distance = side == facing.getOpposite()
+            ? (line.size() - index) * ConveyorLane.UNITS_PER_BELT
+            : line.middleOf(index);
+        int first = side == facing.getClockWise() ? 1 : 0;
+        int lanes = side == facing.getClockWise() || side == facing.getCounterClockWise() ? 1 : ConveyorLine.LANES;
+        ItemStack remainder = stack;
+        for (int i = 0; i < lanes && !remainder.isEmpty(); i++) {
+            remainder = line.getLane((first + i) % ConveyorLine.LANES).insert(remainder, distance, simulate);
+        }
+        if (!simulate && remainder.getCount() != stack.getCount()) {
+            line.contentsChanged = true;
+        }
+        return remainder;
+    }
+
+    private void dissolveAround(long pos) {
+        dissolve(lineByBelt.get(pos));
+        for (Direction direction : Direction.Plane.HORIZONTAL) {
+            dissolve(lineByBelt.get(BlockPos.offset(pos, direction)));
+        }
+    }
+
+    private void dissolve(@Nullable ConveyorLine line) {
+        if (line == null || !lines.remove(line)) {
+            return;
+        }
+        if (line.hasVirtualItems()) {
+            // Park the items on their belts until the replacement lines are built
+            line.collectItems(index -> parked.computeIfAbsent(line.getBelt(index), key -> new ArrayList<>()));
+        }
+        sendToWatchers(line, () -> ConveyorLinePacket.removal(line.getId()));
+        for (int i = 0; i < line.size(); i++) {
+            long belt = line.getBelt(i);
+            lineByBelt.remove(belt);
+            if (facings.containsKey(belt)) {
+                unassigned.add(belt);
+            }
+        }
+        for (long chunk : line.getChunks()) {
+            List<ConveyorLine> chunkLines = linesByChunk.get(chunk);
+            if (chunkLines != null) {
+                chunkLines.remove(line);
+                if (chunkLines.isEmpty()) {
+                    linesByChunk.remove(chunk);
+                }
+            }
+        }
+    }
+
+    private void buildLines() {
+        long[] pending = unassigned.toLongArray();
+        for (long start : pending) {
+            if (!unassigned.contains(start)) {
+                continue;
+            }
+            // Walk back to the first belt of the run; the step bound stops on loops
+            long head = start;
+            for (int steps = unassigned.size(); steps > 0; steps--) {
+                long previous = getFeeder(head);
+                if (previous == Long.MIN_VALUE || previous == start) {
+                    break;
+                }
+                head = previous;
+            }
+
+            LongArrayList belts = new LongArrayList();
+            long belt = head;
+            do {
+                belts.add(belt);
+                unassigned.remove(belt);
+                belt = getSuccessor(belt);
+            } while (belt != Long.MIN_VALUE && unassigned.contains(belt));
+
+            Direction[] beltFacings = new Direction[belts.size()];
+            for (int i = 0; i < beltFacings.length; i++) {
+                beltFacings[i] = Direction.from3DDataValue(facings.get(belts.getLong(i)));
+            }
+            ConveyorLine line = new ConveyorLine(nextLineId++, belts, beltFacings);
+            line.wakeTicks = WAKE_TICKS;
+            line.contentsChanged = true;
+            lines.add(line);
+            for (int i = 0; i < belts.size(); i++) {
+                long pos = belts.getLong(i);
+                lineByBelt.put(pos, line);
+                unpark(line, i);
+            }
+            for (long chunk : line.getChunks()) {
+                linesByChunk.computeIfAbsent(chunk, key -> new ReferenceArrayList<>()).add(line);
+            }
+            sendToWatchers(line, () -> new ConveyorLinePacket(line));
+        }
+    }
+
+    private void unpark(ConveyorLine line, int index) {
+        List<ConveyorLine.BeltItem> items = parked.remove(line.getBelt(index));
+        if (items == null) {
+            return;
+        }
+        for (ConveyorLine.BeltItem item : items) {
+            ItemStack remainder = virtualItems ? line.insert(index, item) : item.stack();
+            if (!remainder.isEmpty()) {
+                int distance = (line.size() - index) * ConveyorLane.UNITS_PER_BELT - item.offset();
+                line.locate(item.lane(), distance, scratch);
+                spawnItem(remainder, scratch.x, scratch.y, scratch.z, 0, 0);
+            }
+        }
+    }
+
+    /**
+     * Gets the belt a belt feeds into, if the two belong on one line.
+     *
+     * @return Packed successor position, or {@link Long#MIN_VALUE} if the run ends here
+     */
+    private long getSuccessor(long belt) {
+        Direction facing = Direction.from3DDataValue(facings.get(belt));
+        long next = BlockPos.offset(belt, facing);
+        byte nextFacing = facings.get(next);
+        if (nextFacing < 0 || nextFacing == facing.getOpposite().get3DDataValue()) {
+            return Long.MIN_VALUE;
+        }
+        // A belt fed from several sides is a merge point and starts a new line
+        return countFeeders(next) == 1 ? next : Long.MIN_VALUE;
+    }
+
+    /**
+     * Gets the only unassigned belt feeding into a belt.
+     *
+     * @return Packed feeder position, or {@link Long#MIN_VALUE} if there is none or several
+     */
+    private long getFeeder(long belt) {
+        long feeder = Long.MIN_VALUE;
+        for (Direction direction : Direction.Plane.HORIZONTAL) {
+            long neighbor = BlockPos.offset(belt, direction);
+            if (facings.get(neighbor) == direction.getOpposite().get3DDataValue()) {
+                if (feeder != Long.MIN_VALUE) {
+                    return Long.MIN_VALUE;
+                }
+                feeder = neighbor;
+            }
+        }
+        return feeder != Long.MIN_VALUE && unassigned.contains(feeder) && getSuccessor(feeder) == belt
+            ? feeder : Long.MIN_VALUE;
+    }
+
+    private int countFeeders(long belt) {
+        int count = 0;
+        for (Direction direction : Direction.Plane.HORIZONTAL) {
+            if (facings.get(BlockPos.offset(belt, direction)) == direction.getOpposite().get3DDataValue()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void wake(@Nullable ConveyorLine line) {
+        if (line != null) {
+            line.wakeTicks = WAKE_TICKS;
+        }
+    }
+
+    private void wakeNear(int chunkX, int chunkZ) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                List<ConveyorLine> chunkLines = linesByChunk.get(ChunkPos.asLong(chunkX + dx, chunkZ + dz));
+                if (chunkLines != null) {
+                    for (ConveyorLine line : chunkLines) {
+                        wake(line);
+                    }
+                }
+            }
+        }
+    }
+
+    private void tick() {
+        if (!unassigned.isEmpty()) {
+            buildLines();
+        }
+        if (virtualItems) {
+            long gameTime = level.getGameTime();
+            for (ConveyorLine line : lines) {
+                tickVirtual(line, gameTime);
+            }
+        } else {
+            moved.clear();
+            for (ConveyorLine line : lines) {
+                if (line.isActive()) {
+                    tickEntities(line);
+                }
+            }
+        }
+    }
+
+    private void tickVirtual(ConveyorLine line, long gameTime) {
+        if (line.wakeTicks > 0) {
+            line.wakeTicks--;
+            absorbEntities(line);
+        }
+
+        int count = 0;
+        boolean advanced = false;
+        for (int lane = 0; lane < ConveyorLine.LANES; lane++) {
+            ConveyorLane contents = line.getLane(lane);
+            if (contents.isEmpty()) {
+                continue;
+            }
+            if (contents.isFrontReady()) {
+                ItemStack front = contents.peekFront();
+                ItemStack remainder = handOff(line, lane, front);
+                if (remainder.isEmpty()) {
+                    contents.pollFront();
+                    line.contentsChanged = true;
+                } else if (remainder.getCount() != front.getCount()) {
+                    contents.setFront(remainder);
+                    line.contentsChanged = true;
+                }
+            }
+            advanced |= contents.advance(ConveyorLane.SPEED) > 0;
+            count += contents.getItemCount();
+        }
+        line.itemCount = count;
+
+        if (advanced || line.contentsChanged) {
+            // Item positions are saved per belt, so every chunk of a moving line is out of date
+            for (long chunk : line.getChunks()) {
+                LevelChunk levelChunk = level.getChunkSource().getChunkNow(ChunkPos.getX(chunk), ChunkPos.getZ(chunk));
+                if (levelChunk != null) {
+                    levelChunk.setUnsaved(true);
+                }
+            }
+        }
+        if (line.contentsChanged || (count > 0 && (gameTime + line.getId()) % RESYNC_INTERVAL == 0)) {
+            line.contentsChanged = false;
+            sendToWatchers(line, () -> new ConveyorLanePacket(line));
+        }
+    }
+
+    private void absorbEntities(ConveyorLine line) {
+        for (ItemEntity item : level.getEntitiesOfClass(ItemEntity.class, line.getBounds())) {
+            if (!item.isAlive()) {
+                continue;
+            }
+            int index = line.indexOf(BlockPos.asLong(Mth.floor(item.getX()), Mth.floor(item.getY()),
+                Mth.floor(item.getZ())));
+            if (index < 0) {
+                continue;
+            }
+            int lane = line.laneAt(index, item.getX(), item.getZ());
+            int distance = line.distanceAt(index, item.getX(), item.getZ());
+            ItemStack stack = item.getItem();
+            ItemStack remainder = line.getLane(lane).insert(stack, distance, false);
+            if (remainder.isEmpty()) {
+                item.discard();
+            } else if (remainder.getCount() != stack.getCount()) {
+                item.setItem(remainder);
+            } else {
+                continue;
+            }
+            line.contentsChanged = true;
+        }
+    }
+
+    /**
+     * Moves the front item of a lane off the end of its line.
+     *
+     * @return The part of the item that could not leave the line, empty if all of it left
+     */
+    private ItemStack handOff(ConveyorLine line, int lane, ItemStack stack) {
+        long exit = line.getExit();
+        if (!isExitLoaded(exit)) {
+            // Never drop items into unloaded chunks
+            return stack;
+        }
+        if (facings.containsKey(exit)) {
+            ConveyorLine next = lineByBelt.get(exit);
+            if (next == null || next.indexOf(exit) != 0) {
+                // Not built yet or head-on: the lane backs up
+                return stack;
+            }
+            // Whatever the next line has no room for stays behind
+            ItemStack remainder = next.getLane(lane).insertAtEntrance(stack);
+            if (remainder.getCount() != stack.getCount()) {
+                next.contentsChanged = true;
+            }
+            return remainder;
+        }
+        IItemHandler handler = getExitHandler(line);
+        if (handler != null) {
+            // Whatever the inventory refuses stays at the end of the lane; handlers may keep the
+            // stack they are given, so never hand out the lane's own instance
+            return ItemHandlerHelper.insertItem(handler, stack.copy(), false);
+        }
+        // Nothing carries the item further, so it drops off the end as before
+        Direction facing = line.getFacing(line.size() - 1);
+        line.locate(lane, 0, scratch);
+        spawnItem(stack, scratch.x, scratch.y, scratch.z, facing.getStepX() * SPEED, facing.getStepZ() * SPEED);
+        return ItemStack.EMPTY;
+    }
+
+    private boolean isExitLoaded(long exit) {
+        return level.hasChunk(SectionPos.blockToSectionCoord(BlockPos.getX(exit)),
+            SectionPos.blockToSectionCoord(BlockPos.getZ(exit)));
+    }
+
+    /**
+     * Gets the inventory in front of the last belt of a line, caching the capability on the line.
+     *
+     * <p>Not every block entity invalidates its capabilities when it is removed, so the cache is
+     * only trusted while the same block entity still sits at the exit.</p>
+     *
+     * @return The item handler, or null if there is none or the exit is another belt
+     */
+    @Nullable
+    private IItemHandler getExitHandler(ConveyorLine line) {
+        BlockEntity blockEntity = level.getBlockEntity(BlockPos.of(line.getExit()));
+        if (blockEntity == null || blockEntity instanceof ConveyorBeltBlockEntity) {
+            line.exitBlockEntity = null;
+            line.exitHandler = LazyOptional.empty();
+            return null;
+        }
+        if (blockEntity != line.exitBlockEntity || !line.exitHandler.isPresent()) {
+            Direction facing = line.getFacing(line.size() - 1);
+            line.exitBlockEntity = blockEntity;
+            line.exitHandler = blockEntity.getCapability(ForgeCapabilities.ITEM_HANDLER, facing.getOpposite());
+        }
+        return line.exitHandler.orElse(null);
+    }
+
+    private void tickEntities(ConveyorLine line) {
+        if (line.wakeTicks > 0) {
+            line.wakeTicks--;
+        }
+        int count = 0;
+        boolean leaving = false;
+        segments.clear();
+        for (ItemEntity item : level.getEntitiesOfClass(ItemEntity.class, line.getBounds())) {
+            if (!item.isAlive() || moved.contains(item)) {
+                continue;
+            }
+            int index = line.indexOf(BlockPos.asLong(Mth.floor(item.getX()), Mth.floor(item.getY()),
+                Mth.floor(item.getZ())));
+            if (index < 0 || coalesce(line, index, item)) {
+                continue;
+            }
+            Direction facing = line.getFacing(index);
+            double motionX = facing.getStepX() * SPEED;
+            double motionZ = facing.getStepZ() * SPEED;
+            moved.add(item);
+            count++;
+            if (index == line.size() - 1) {
+                long belt = line.getBelt(index);
+                double along = (item.getX() - BlockPos.getX(belt) - 0.5) * facing.getStepX()
+                    + (item.getZ() - BlockPos.getZ(belt) - 0.5) * facing.getStepZ();
+                if (along + SPEED + ITEM_RADIUS >= 0.5 && insertAtExit(line, item)) {
+                    if (!item.isAlive()) {
+                        continue;
+                    }
+                    // The inventory is full: hold the item at the end of the belt
+                    motionX = 0;
+                    motionZ = 0;
+                }
+                leaving = true;
+            }
+            applyBeltMotion(item, motionX, motionZ);
+        }
+        line.itemCount = count;
+        if (leaving) {
+            // Items about to cross onto the next line are picked up there without waiting for an event
+            wake(lineByBelt.get(line.getExit()));
+        }
+    }
+
+    /**
+     * Merges an item entity into an identical one already seen this tick in the same lane segment.
+     *
+     * <p>A segment is one item spacing of one lane, so only items that overlap on the belt are
+     * merged, regardless of pickup delay or age. What does not fit stays in its own entity.</p>
+     *
+     * @return True if the item was merged away entirely
+     */
+    private boolean coalesce(ConveyorLine line, int index, ItemEntity item) {
+        int lane = line.laneAt(index, item.getX(), item.getZ());
+        int segment = line.distanceAt(index, item.getX(), item.getZ()) / ConveyorLane.ITEM_SPACING;
+        long key = (long) segment * ConveyorLine.LANES + lane;
+        ItemEntity target = segments.get(key);
+        if (target == null || !target.isAlive()) {
+            segments.put(key, item);
+            return false;
+        }
+        ItemStack into = target.getItem();
+        ItemStack from = item.getItem().copy();
+        if (!ItemStack.isSameItemSameTags(into, from) || into.getCount() >= into.getMaxStackSize()) {
+            return false;
+        }
+        target.setItem(ItemEntity.merge(into, from, into.getMaxStackSize()));
+        if (from.isEmpty()) {
+            item.discard();
+            return true;
+        }
+        item.setItem(from);
+        return false;
+    }
+
+    /**
+     * Restores the belt velocity of an item after its own friction has slowed it down.
+     *
+     * <p>The velocity is only pushed to clients (through {@link ItemEntity#hasImpulse}) when it turns,
+     * stops or starts, or when the item moved noticeably differently from the velocity it had, e.g.
+     * because it was pushed or blocked. Otherwise clients keep extrapolating it on their own.</p>
+     */
+    private void applyBeltMotion(ItemEntity item, double motionX, double motionZ) {
+        Vec3 motion = item.getDeltaMovement();
+        // Friction only scales the velocity, so the direction tells what the client is extrapolating
+        boolean wasMoving = motion.x * motion.x + motion.z * motion.z > 1.0E-7;
+        boolean moving = motionX != 0 || motionZ != 0;
+        boolean turned = wasMoving && moving && (motion.x * motionX + motion.z * motionZ <= 0.0
+            || Math.abs(motion.x * motionZ - motion.z * motionX) > 1.0E-4);
+        double driftX = item.getX() - item.xo - motionX;
+        double driftZ = item.getZ() - item.zo - motionZ;
+        boolean drifted = driftX * driftX + driftZ * driftZ > DRIFT_THRESHOLD_SQR;
+
+        item.setDeltaMovement(motionX, motion.y, motionZ);
+        if (wasMoving != moving || turned || (moving && drifted)) {
+            item.hasImpulse = true;
+        }
+    }
+
+    /**
+     * Hands an item entity leaving the end of a line to the inventory in front of it.
+     *
+     * @return True if the item was consumed or has to wait at the end of the line; a consumed item
+     *         is discarded
+     */
+    private boolean insertAtExit(ConveyorLine line, ItemEntity item) {
+        long exit = line.getExit();
+        if (!isExitLoaded(exit) || facings.containsKey(exit)) {
+            return false;
+        }
+        IItemHandler handler = getExitHandler(line);
+        if (handler == null) {
+            return false;
+        }
+        // Handlers may keep the stack they are given, so never hand out the entity's own instance
+        ItemStack remainder = ItemHandlerHelper.insertItem(handler, item.getItem().copy(), false);
+        if (remainder.isEmpty()) {
+            item.discard();
+        } else {
+            item.setItem(remainder);
+        }
+        return true;
+    }
+
+    private void spawnItem(ItemStack stack, double x, double y, double z, double motionX, double motionZ) {
+        ItemEntity entity = new ItemEntity(level, x, y, z, stack.copy(), motionX, 0, motionZ);
+        level.addFreshEntity(entity);
+    }
+
+    private void sendToWatchers(ConveyorLine line, Supplier<Object> message) {
+        if (!virtualItems) {
+            return;
+        }
+        ReferenceOpenHashSet<ServerPlayer> players = new ReferenceOpenHashSet<>();
+        for (long chunk : line.getChunks()) {
+            players.addAll(level.getChunkSource().chunkMap.getPlayers(new ChunkPos(chunk), false));
+        }
+        if (!players.isEmpty()) {
+            ModNetwork.sendTo(message.get(), players);
+        }
+    }
+
+    private void onWatch(ServerPlayer player, ChunkPos pos) {
+        List<ConveyorLine> chunkLines = linesByChunk.get(pos.toLong());
+        if (chunkLines == null) {
+            return;
+        }
+        for (ConveyorLine line : chunkLines) {
+            ModNetwork.sendTo(new ConveyorLinePacket(line), player);
+            ModNetwork.sendTo(new ConveyorLanePacket(line), player);
+        }
+    }
+
+    private void onUnwatch(ServerPlayer player, ChunkPos pos) {
+        List<ConveyorLine> chunkLines = linesByChunk.get(pos.toLong());
+        if (chunkLines == null) {
+            return;
+        }
+        for (ConveyorLine line : chunkLines) {
+            if (!isWatching(player, line, pos.toLong())) {
+                ModNetwork.sendTo(ConveyorLinePacket.removal(line.getId()), player);
+            }
+        }
+    }
+
+    private boolean isWatching(ServerPlayer player, ConveyorLine line, long ignoredChunk) {
+        for (long chunk : line.getChunks()) {
+            if (chunk != ignoredChunk
+                && level.getChunkSource().chunkMap.getPlayers(new ChunkPos(chunk), false).contains(player)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && event.level instanceof ServerLevel serverLevel) {
+            ConveyorLineManager manager = MANAGERS.get(serverLevel);
+            if (manager != null) {
+                manager.tick();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getEntity() instanceof ItemEntity item && event.getLevel() instanceof ServerLevel serverLevel) {
+            ConveyorLineManager manager = MANAGERS.get(serverLevel);
+            if (manager != null) {
+                manager.wakeNear(SectionPos.blockToSectionCoord(item.getBlockX()),
+                    SectionPos.blockToSectionCoord(item.getBlockZ()));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkWatch(ChunkWatchEvent.Watch event) {
+        ConveyorLineManager manager = MANAGERS.get(event.getLevel());
+        if (manager != null && manager.virtualItems) {
+            manager.onWatch(event.getPlayer(), event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnwatch(ChunkWatchEvent.UnWatch event) {
+        ConveyorLineManager manager = MANAGERS.get(event.getLevel());
+        if (manager != null && manager.virtualItems) {
+            manager.onUnwatch(event.getPlayer(), event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        MANAGERS.remove(event.getLevel());
+    }
+}
@@ -0,0 +1,78 @@
+package org.exampl.untitledaii.industrial.conveyor;
+
+import net.minecraft.core.Direction;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Server to client: the belts of a {@link ConveyorLine}, or its removal.
+ *
+ * <p>Sent when a line is built or dissolved and when a player starts watching one of its chunks.
+ * Lane contents follow separately in {@link ConveyorLanePacket}s.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ConveyorLinePacket {
+
+    private final int id;
+    private final long[] belts;
+    private final Direction[] facings;
+
+    public ConveyorLinePacket(ConveyorLine line) {
+        this.id = line.getId();
+        this.belts = new long[line.size()];
+        this.facings = new Direction[line.size()];
+        for (int i = 0; i < belts.length; i++) {
+            belts[i] = line.getBelt(i);
+            facings[i] = line.getFacing(i);
+        }
+    }
+
+    /**
+     * Creates a packet removing a line from the client.
+     *
+     * @param id Line id
+     * @return The packet
+     */
+    public static ConveyorLinePacket removal(int id) {
+        return new ConveyorLinePacket(id, new long[0], new Direction[0]);
+    }
+
+    private ConveyorLinePacket(int id, long[] belts, Direction[] facings) {
+        this.id = id;
+        this.belts = belts;
+        this.facings = facings;
+    }
+
+    public ConveyorLinePacket(FriendlyByteBuf buf) {
+        this.id = buf.readVarInt();
+        this.belts = buf.readLongArray();
+        this.facings = new Direction[belts.length];
+        for (int i = 0; i < facings.length; i++) {
+            facings[i] = Direction.from3DDataValue(buf.readByte());
+        }
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(id);
+        buf.writeLongArray(belts);
+        for (Direction facing : facings) {
+            buf.writeByte(facing.get3DDataValue());
+        }
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
+            if (belts.length == 0) {
+                ConveyorClientLines.remove(id);
+            } else {
+                ConveyorClientLines.setLine(id, belts, facings);
+            }
+        });
+    }
+}
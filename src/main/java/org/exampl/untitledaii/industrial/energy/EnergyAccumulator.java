@@ -0,0 +1,104 @@
+package org.exampl.untitledaii.industrial.energy;
+
+/**
+ * Spreads the energy of one craft over its ticks without losing the remainder.
+ *
+ * <p>The per-tick cost is kept as a fixed-point number whose fraction is in units of
+ * {@code 1/ticks}: a whole part plus a remainder. Each tick adds the remainder to a carry and
+ * charges one extra FE whenever the carry overflows, so a craft of {@code ticks} ticks draws
+ * exactly {@code energy} FE (500 FE over 150 ticks costs 3 or 4 FE per tick, 500 in total).</p>
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>The only division happens in {@link #configure(int, int)}, when the recipe or upgrades
+ *       change; {@link #peek()} and {@link #advance()} only add and compare</li>
+ *   <li>Reconfiguring with the same cost keeps the carry, so it is cheap to call every tick</li>
+ * </ul>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class EnergyAccumulator {
+
+    private int energy = -1;
+    private int ticks;
+    private int whole;
+    private int remainder;
+    private int carry;
+
+    /**
+     * Sets the cost of a craft. Does nothing if the cost is unchanged.
+     *
+     * @param energy Total energy of one craft (FE)
+     * @param ticks Duration of one craft, at least 1
+     */
+    public void configure(int energy, int ticks) {
+        if (energy == this.energy && ticks == this.ticks) {
+            return;
+        }
+        this.energy = energy;
+        this.ticks = Math.max(1, ticks);
+        this.whole = energy / this.ticks;
+        this.remainder = energy % this.ticks;
+        this.carry = 0;
+    }
+
+    /**
+     * Forgets the cost, e.g. when the machine has no recipe.
+     */
+    public void clear() {
+        energy = -1;
+        ticks = 0;
+        whole = 0;
+        remainder = 0;
+        carry = 0;
+    }
+
+    /**
+     * Starts a new craft with no carried remainder.
+     */
+    public void reset() {
+        carry = 0;
+    }
+
+    public boolean isConfigured() {
+        return energy >= 0;
+    }
+
+    /**
+     * Gets the energy owed for the current tick without advancing.
+     *
+     * @return Energy in FE
+     */
+    public int peek() {
+        return carry + remainder >= ticks ? whole + 1 : whole;
+    }
+
+    /**
+     * Advances past the current tick after its energy was paid.
+     */
+    public void advance() {
+        carry += remainder;
+        if (carry >= ticks) {
+            carry -= ticks;
+        }
+    }
+
+    /**
+     * Gets the total energy of one craft.
+     *
+     * @return Energy in FE, or -1 if not configured
+     */
+    public int getEnergy() {
+        return energy;
+    }
+
+    /**
+     * Gets the duration of one craft.
+     *
+     * @return Ticks, or 0 if not configured
+     */
+    public int getTicks() {
+        return ticks;
+    }
+}
@@ -1,66 +1,80 @@
 package org.exampl.untitledaii.industrial.energy;
 
 import net.minecraft.core.BlockPos;
-import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.EntityBlock;
-import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.block.state.properties.IntegerProperty;
-import net.minecraft.world.level.block.state.properties.BlockStateProperties;
-import net.minecraft.world.level.block.state.StateDefinition;
-import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import org.exampl.untitledaii.industrial.pipe.ConduitBlock;
+import org.exampl.untitledaii.industrial.pipe.IPipe;
+import org.exampl.untitledaii.industrial.pipe.PipeConnections;
+import org.exampl.untitledaii.industrial.transport.NetworkGraph;
+import org.exampl.untitledaii.industrial.transport.NetworkManager;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Energy cable block for transmitting Forge Energy (FE).
  *
  * <p>Features:</p>
  * <ul>
- *   <li>Transfers energy between machines</li>
+ *   <li>Transfers energy between machines through a pooled {@link EnergyNetwork}</li>
  *   <li>Supports multiple cables connecting</li>
- *   <li>Visual connection rendering</li>
+ *   <li>Connected sides stored in the block state, with a precomputed shape per connection mask</li>
+ *   <li>No block entity: cables only register with the level's energy graph, see {@link ConduitBlock}</li>
  * </ul>
  *
  * @author AVA Industrial Team
  * @since 1.0.0
  */
-public class EnergyCableBlock extends Block implements EntityBlock {
+public class EnergyCableBlock extends ConduitBlock {
 
-    public static final IntegerProperty ENERGY_LEVEL = BlockStateProperties.POWER;
+    public static final int TRANSFER_RATE = 1000; // FE per tick per endpoint
+    public static final int CAPACITY = 10000; // FE buffered per cable
+
+    private static final VoxelShape[] SHAPES = PipeConnections.createShapes(6, 10);
+
+    static {
+        NetworkManager.registerType(IPipe.PipeType.ENERGY, EnergyNetwork::new,
+            state -> state.getBlock() instanceof EnergyCableBlock);
+    }
 
     public EnergyCableBlock() {
         super(BlockBehaviour.Properties.of()
             .strength(3.0f, 6.0f)
             .noOcclusion()
-            .isRedstoneConductor((state, level, pos) -> false));
+            .isRedstoneConductor((state, level, pos) -> false), SHAPES);
     }
 
-    @Override
-    protected void createBlockStateDefinition(StateDefinition.Builder<Block, BlockState> builder) {
-        builder.add(ENERGY_LEVEL);
+    /**
+     * Gets the energy cable graph of a level.
+     *
+     * @param level The level
+     * @return The graph
+     */
+    public static NetworkGraph<EnergyNetwork> getGraph(ServerLevel level) {
+        return NetworkManager.get(level).getGraph(IPipe.PipeType.ENERGY);
     }
 
-    @Override
-    public BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
-        return new EnergyCableBlockEntity(pos, state);
+    /**
+     * Gets the network of the cable at a position, e.g. for generators that push into cables.
+     *
+     * @param level The level
+     * @param pos Cable position
+     * @return The network, or null if there is no cable
+     */
+    @Nullable
+    public static EnergyNetwork getNetwork(ServerLevel level, BlockPos pos) {
+        return getGraph(level).getNetwork(pos);
     }
 
     @Override
-    public void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean isMoving) {
-        super.onPlace(state, level, pos, oldState, isMoving);
-        if (!level.isClientSide) {
-            level.updateNeighborsAt(pos, this);
-        }
+    public IPipe.PipeType getPipeType() {
+        return IPipe.PipeType.ENERGY;
     }
 
     @Override
-    public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
-        if (!state.is(newState.getBlock())) {
-            BlockEntity blockEntity = level.getBlockEntity(pos);
-            if (blockEntity instanceof EnergyCableBlockEntity) {
-                ((EnergyCableBlockEntity) blockEntity).invalidateCaps();
-            }
-        }
-        super.onRemove(state, level, pos, newState, isMoving);
+    protected Capability<?> getEndpointCapability() {
+        return ForgeCapabilities.ENERGY;
     }
 }
@@ -0,0 +1,185 @@
+package org.exampl.untitledaii.industrial.energy;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.energy.IEnergyStorage;
+import org.exampl.untitledaii.industrial.pipe.IPipe;
+import org.exampl.untitledaii.industrial.transport.TransportNetwork;
+
+/**
+ * A connected segment of energy cables sharing one pooled energy buffer.
+ *
+ * <p>Once per tick the pool first pulls from attached extract-only storages (generators), then is
+ * distributed to all attached receivers, each limited to {@link EnergyCableBlock#TRANSFER_RATE}
+ * FE/tick; under shortage every receiver gets a share proportional to its demand.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class EnergyNetwork extends TransportNetwork {
+
+    private long energy;
+
+    public EnergyNetwork() {
+        this.energy = 0;
+    }
+
+    @Override
+    public IPipe.PipeType getType() {
+        return IPipe.PipeType.ENERGY;
+    }
+
+    @Override
+    protected Capability<?> getEndpointCapability() {
+        return ForgeCapabilities.ENERGY;
+    }
+
+    @Override
+    protected long getMemberCapacity(BlockState state) {
+        return state.getBlock() instanceof EnergyCableBlock ? EnergyCableBlock.CAPACITY : 0;
+    }
+
+    @Override
+    protected void onCapacityChanged() {
+        energy = Math.min(energy, getCapacity());
+    }
+
+    @Override
+    protected void saveContents(CompoundTag tag) {
+        tag.putLong("Energy", energy);
+    }
+
+    @Override
+    protected void loadContents(CompoundTag tag) {
+        energy = Math.min(tag.getLong("Energy"), getCapacity());
+    }
+
+    @Override
+    protected void absorbContents(TransportNetwork other) {
+        if (other instanceof EnergyNetwork energyNetwork) {
+            insert(energyNetwork.energy, false);
+            energyNetwork.energy = 0;
+        }
+    }
+
+    @Override
+    protected void moveContents(TransportNetwork target, long movedCapacity, long capacityBefore) {
+        if (target instanceof EnergyNetwork energyNetwork) {
+            long moved = scale(energy, movedCapacity, capacityBefore);
+            energy -= moved;
+            energyNetwork.insert(moved, false);
+        }
+    }
+
+    @Override
+    protected void dropContents(long removedCapacity, long capacityBefore) {
+        energy -= scale(energy, removedCapacity, capacityBefore);
+    }
+
+    @Override
+    public void tick(ServerLevel level) {
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        long before = energy;
+        distribute(level);
+        if (energy != before) {
+            markChanged();
+        }
+    }
+
+    private void distribute(ServerLevel level) {
+        // Pass 0: pull from storages that only give energy
+        for (Endpoint endpoint : endpoints) {
+            long room = getCapacity() - energy;
+            if (room <= 0) {
+                break;
+            }
+            IEnergyStorage storage = endpoint.getHandler(level, ForgeCapabilities.ENERGY);
+            if (storage != null && storage.canExtract() && !storage.canReceive()) {
+                energy += storage.extractEnergy((int) Math.min(room, EnergyCableBlock.TRANSFER_RATE), false);
+            }
+        }
+        if (energy <= 0) {
+            return;
+        }
+
+        // Pass 1: collect demand
+        long totalDemand = 0;
+        int offer = (int) Math.min(energy, EnergyCableBlock.TRANSFER_RATE);
+        for (Endpoint endpoint : endpoints) {
+            IEnergyStorage storage = endpoint.getHandler(level, ForgeCapabilities.ENERGY);
+            endpoint.demand = storage == null || !storage.canReceive() ? 0 : storage.receiveEnergy(offer, true);
+            totalDemand += endpoint.demand;
+        }
+        if (totalDemand == 0) {
+            return;
+        }
+
+        // Pass 2: satisfy demand fully, or proportionally when the pool is short
+        long available = energy;
+        boolean shortage = totalDemand > available;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.demand <= 0 || energy <= 0) {
+                continue;
+            }
+            long share = shortage ? scale(available, endpoint.demand, totalDemand) : endpoint.demand;
+            if (share <= 0) {
+                continue;
+            }
+            IEnergyStorage storage = endpoint.getHandler(level, ForgeCapabilities.ENERGY);
+            if (storage != null) {
+                energy -= storage.receiveEnergy((int) Math.min(share, energy), false);
+            }
+        }
+    }
+
+    /**
+     * Inserts energy into the pool.
+     *
+     * @param amount Energy in FE
+     * @param simulate If true, the pool is not changed
+     * @return Energy accepted
+     */
+    public long insert(long amount, boolean simulate) {
+        long accepted = Math.max(0, Math.min(amount, getCapacity() - energy));
+        if (!simulate && accepted > 0) {
+            energy += accepted;
+            markChanged();
+        }
+        return accepted;
+    }
+
+    /**
+     * Extracts energy from the pool.
+     *
+     * @param amount Energy in FE
+     * @param simulate If true, the pool is not changed
+     * @return Energy extracted
+     */
+    public long extract(long amount, boolean simulate) {
+        long extracted = Math.max(0, Math.min(amount, energy));
+        if (!simulate && extracted > 0) {
+            energy -= extracted;
+            markChanged();
+        }
+        return extracted;
+    }
+
+    public long getEnergy() {
+        return energy;
+    }
+
+    /**
+     * Gets the part of the pooled energy attributable to a cable of the given capacity.
+     *
+     * @param cableCapacity Capacity of the cable
+     * @return Energy in FE
+     */
+    public long getShare(long cableCapacity) {
+        return scale(energy, cableCapacity, getCapacity());
+    }
+}
@@ -108,6 +108,26 @@ public class MachineEnergyStorage extends EnergyStorage implements ICapabilityPr
         return super.getMaxEnergyStored();
     }
 
+    /**
+     * Changes the limits, e.g. when a multiblock grows or shrinks. Energy above the new capacity
+     * is lost.
+     *
+     * @param capacity Maximum energy storage capacity (FE)
+     * @param maxReceive Maximum energy that can be received per tick (FE/tick)
+     * @param maxExtract Maximum energy that can be extracted per tick (FE/tick)
+     */
+    public void setLimits(int capacity, int maxReceive, int maxExtract) {
+        this.capacity = capacity;
+        this.maxReceive = maxReceive;
+        this.maxExtract = maxExtract;
+        if (energy > capacity) {
+            energy = capacity;
+            if (onEnergyChanged != null) {
+                onEnergyChanged.run();
+            }
+        }
+    }
+
     /**
      * Checks if energy storage is full.
      *
@@ -0,0 +1,26 @@
+package org.exampl.untitledaii.industrial.gas;
+
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+
+/**
+ * Gas capability registration.
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID, bus = Mod.EventBusSubscriber.Bus.MOD)
+public class GasCapabilities {
+
+    public static final Capability<IGasHandler> GAS = CapabilityManager.get(new CapabilityToken<>() {});
+
+    @SubscribeEvent
+    public static void onRegisterCapabilities(RegisterCapabilitiesEvent event) {
+        event.register(IGasHandler.class);
+    }
+}
@@ -0,0 +1,134 @@
+package org.exampl.untitledaii.industrial.gas;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Single-gas tank with {@code long} storage.
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class GasTank implements IGasHandler {
+
+    private final Runnable onContentsChanged;
+    private long capacity;
+    private int gasId;
+    private long amount;
+
+    public GasTank(long capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Creates a gas tank with a change callback.
+     *
+     * @param capacity Capacity in mB
+     * @param onContentsChanged Callback invoked when contents change, may be null
+     */
+    public GasTank(long capacity, Runnable onContentsChanged) {
+        this.capacity = capacity;
+        this.onContentsChanged = onContentsChanged;
+        this.gasId = GasType.EMPTY_ID;
+        this.amount = 0;
+    }
+
+    @Override
+    public int getGasId() {
+        return gasId;
+    }
+
+    @Override
+    public long getGasAmount() {
+        return amount;
+    }
+
+    @Override
+    public long getGasCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(long capacity) {
+        this.capacity = capacity;
+        if (amount > capacity) {
+            amount = capacity;
+        }
+    }
+
+    public boolean isEmpty() {
+        return amount <= 0;
+    }
+
+    @Override
+    public long insertGas(int gasId, long amount, boolean simulate) {
+        if (gasId == GasType.EMPTY_ID || amount <= 0) {
+            return 0;
+        }
+        // Mixing check is a single int compare
+        if (this.amount > 0 && this.gasId != gasId) {
+            return 0;
+        }
+        long accepted = Math.min(amount, capacity - this.amount);
+        if (!simulate && accepted > 0) {
+            this.gasId = gasId;
+            this.amount += accepted;
+            changed();
+        }
+        return accepted;
+    }
+
+    @Override
+    public long extractGas(int gasId, long amount, boolean simulate) {
+        if (this.amount <= 0 || this.gasId != gasId || amount <= 0) {
+            return 0;
+        }
+        long extracted = Math.min(amount, this.amount);
+        if (!simulate) {
+            this.amount -= extracted;
+            if (this.amount == 0) {
+                this.gasId = GasType.EMPTY_ID;
+            }
+            changed();
+        }
+        return extracted;
+    }
+
+    /**
+     * Replaces the contents of the tank.
+     *
+     * @param gasId Interned gas id
+     * @param amount Amount in mB
+     */
+    public void setGas(int gasId, long amount) {
+        this.gasId = amount > 0 ? gasId : GasType.EMPTY_ID;
+        this.amount = Math.max(0, amount);
+        changed();
+    }
+
+    private void changed() {
+        if (onContentsChanged != null) {
+            onContentsChanged.run();
+        }
+    }
+
+    public CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        if (amount > 0) {
+            // Save by name, interned ids are not stable across sessions
+            tag.putString("Gas", GasType.byId(gasId).getName().toString());
+            tag.putLong("Amount", amount);
+        }
+        return tag;
+    }
+
+    public void load(CompoundTag tag) {
+        GasType type = tag.contains("Gas") ? GasType.byName(new ResourceLocation(tag.getString("Gas"))) : null;
+        if (type == null || type.isEmpty()) {
+            gasId = GasType.EMPTY_ID;
+            amount = 0;
+        } else {
+            gasId = type.getId();
+            amount = Math.min(tag.getLong("Amount"), capacity);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.exampl.untitledaii.industrial.gas;
+
+import net.minecraft.resources.ResourceLocation;
+import org.exampl.untitledaii.Untitledaii;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interned gas type registry.
+ *
+ * <p>Every gas gets a small integer id at registration, so storage and mixing checks compare ints
+ * instead of resource locations. Id {@link #EMPTY_ID} means "no gas".</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public final class GasType {
+
+    public static final int EMPTY_ID = 0;
+
+    private static final List<GasType> BY_ID = new ArrayList<>();
+    private static final Map<ResourceLocation, GasType> BY_NAME = new HashMap<>();
+
+    public static final GasType EMPTY = register(new ResourceLocation(Untitledaii.MODID, "empty"));
+    public static final GasType HYDROGEN = register(new ResourceLocation(Untitledaii.MODID, "hydrogen"));
+    public static final GasType OXYGEN = register(new ResourceLocation(Untitledaii.MODID, "oxygen"));
+    public static final GasType STEAM = register(new ResourceLocation(Untitledaii.MODID, "steam"));
+
+    private final ResourceLocation name;
+    private final int id;
+
+    private GasType(ResourceLocation name, int id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    /**
+     * Registers a gas type, or returns the existing one with the same name.
+     *
+     * @param name Gas name
+     * @return The interned gas type
+     */
+    public static synchronized GasType register(ResourceLocation name) {
+        GasType existing = BY_NAME.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        GasType type = new GasType(name, BY_ID.size());
+        BY_ID.add(type);
+        BY_NAME.put(name, type);
+        return type;
+    }
+
+    /**
+     * Gets a gas type by its interned id.
+     *
+     * @param id Interned id
+     * @return The gas type, or {@link #EMPTY} if unknown
+     */
+    public static GasType byId(int id) {
+        return id > 0 && id < BY_ID.size() ? BY_ID.get(id) : EMPTY;
+    }
+
+    /**
+     * Gets a gas type by name.
+     *
+     * @param name Gas name
+     * @return The gas type, or null if not registered
+     */
+    @Nullable
+    public static GasType byName(ResourceLocation name) {
+        return BY_NAME.get(name);
+    }
+
+    public static List<GasType> values() {
+        return Collections.unmodifiableList(BY_ID);
+    }
+
+    public ResourceLocation getName() {
+        return name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public boolean isEmpty() {
+        return id == EMPTY_ID;
+    }
+
+    @Override
+    public String toString() {
+        return name.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package org.exampl.untitledaii.industrial.gas;
+
+/**
+ * Capability interface for blocks that store or transport gas.
+ *
+ * <p>Gas is identified by its interned {@link GasType} id and measured in {@code long} mB.
+ * A handler holds a single gas type at a time.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public interface IGasHandler {
+
+    /**
+     * Gets the interned id of the stored gas.
+     *
+     * @return Gas id, or {@link GasType#EMPTY_ID} when empty
+     */
+    int getGasId();
+
+    /**
+     * Gets the stored amount.
+     *
+     * @return Amount in mB
+     */
+    long getGasAmount();
+
+    /**
+     * Gets the storage capacity.
+     *
+     * @return Capacity in mB
+     */
+    long getGasCapacity();
+
+    /**
+     * Inserts gas.
+     *
+     * @param gasId Interned gas id
+     * @param amount Maximum amount to insert
+     * @param simulate If true, the insertion is only simulated
+     * @return Amount accepted
+     */
+    long insertGas(int gasId, long amount, boolean simulate);
+
+    /**
+     * Extracts gas.
+     *
+     * @param gasId Interned gas id to extract
+     * @param amount Maximum amount to extract
+     * @param simulate If true, the extraction is only simulated
+     * @return Amount extracted
+     */
+    long extractGas(int gasId, long amount, boolean simulate);
+}
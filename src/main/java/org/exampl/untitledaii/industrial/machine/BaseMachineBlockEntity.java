@@ -2,6 +2,7 @@ package org.exampl.untitledaii.industrial.machine;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -14,6 +15,10 @@ import net.minecraftforge.energy.EnergyStorage;
 import net.minecraftforge.energy.IEnergyStorage;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.ItemStackHandler;
+import org.exampl.untitledaii.industrial.energy.EnergyAccumulator;
+import org.exampl.untitledaii.industrial.gas.GasCapabilities;
+import org.exampl.untitledaii.industrial.gas.GasTank;
+import org.exampl.untitledaii.industrial.gas.IGasHandler;
 import org.exampl.untitledaii.industrial.machine.upgrades.MachineUpgrade;
 import org.exampl.untitledaii.industrial.machine.upgrades.MachineUpgrade.UpgradeType;
 import org.jetbrains.annotations.NotNull;
@@ -29,6 +34,9 @@ import org.jetbrains.annotations.Nullable;
  *   <li>Recipe processing</li>
  *   <li>Progress tracking</li>
  *   <li>Upgrade system</li>
+ *   <li>Exact per-craft energy cost (see {@link #applyRecipeCost(int, int)})</li>
+ *   <li>Optional auto-eject of outputs to adjacent inventories (see {@link MachineAutoEject})</li>
+ *   <li>Optional gas tank (see {@link #createGasTank(long)})</li>
  * </ul>
  *
  * @author AVA Industrial Team
@@ -42,6 +50,14 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
     protected int maxProcessTime;
     protected boolean isProcessing;
     protected final int upgradeSlot;
+    protected final EnergyAccumulator energyCost = new EnergyAccumulator();
+    protected final MachineAutoEject autoEject = new MachineAutoEject();
+    private boolean upgradesChanged = true;
+    private int energyRecipe = -1;
+    private int timeRecipe = -1;
+    @Nullable
+    protected GasTank gasTank;
+    private LazyOptional<IGasHandler> gasHandlerCap = LazyOptional.empty();
 
     public BaseMachineBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state,
                                   int energyCapacity, int maxEnergyReceive, int maxEnergyExtract,
@@ -49,7 +65,15 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
         super(type, pos, state);
         this.energyStorage = new MachineEnergyStorage(energyCapacity, maxEnergyReceive, maxEnergyExtract,
             this::onEnergyChanged);
-        this.inventory = new ItemStackHandler(inventorySize);
+        this.inventory = new ItemStackHandler(inventorySize) {
+            @Override
+            protected void onContentsChanged(int slot) {
+                if (slot == upgradeSlot) {
+                    upgradesChanged = true;
+                }
+                setChanged();
+            }
+        };
         this.upgradeSlot = upgradeSlotIndex;
         this.processTime = 0;
         this.maxProcessTime = 0;
@@ -69,6 +93,23 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
         } else {
             resetProgress();
         }
+
+        if (autoEject.isEnabled()) {
+            autoEject.tick(level, worldPosition, inventory, getOutputSlots(), !hasOutputSpace());
+        }
+    }
+
+    public MachineAutoEject getAutoEject() {
+        return autoEject;
+    }
+
+    /**
+     * Called by the machine block when an adjacent block changed.
+     *
+     * @param neighborPos Position of the changed block
+     */
+    public void onNeighborChanged(BlockPos neighborPos) {
+        autoEject.onNeighborChanged(worldPosition, neighborPos);
     }
 
     protected void updateProcessingState() {
@@ -97,6 +138,7 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
         }
 
         energyStorage.extractEnergy(energyPerTick, false);
+        energyCost.advance();
 
         // Advance progress
         if (maxProcessTime > 0) {
@@ -130,6 +172,7 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
     protected void resetProgress() {
         processTime = 0;
         maxProcessTime = 0;
+        energyCost.reset();
     }
 
     @Override
@@ -153,12 +196,39 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
     }
 
     /**
-     * Gets energy consumed per tick.
+     * Gets energy consumed this tick.
      *
      * @return Energy in FE/tick
      */
     protected int getEnergyPerTick() {
-        return 10;
+        return energyCost.isConfigured() ? energyCost.peek() : 10;
+    }
+
+    /**
+     * Sets the cost of the current recipe, scaled by the installed upgrades.
+     * Call from {@link #findRecipe()}; it only recomputes when the recipe or upgrades changed.
+     *
+     * @param energyRequired Energy of one craft without upgrades (FE)
+     * @param recipeTime Duration of one craft without upgrades (ticks)
+     */
+    protected void applyRecipeCost(int energyRequired, int recipeTime) {
+        if (upgradesChanged || energyRecipe != energyRequired || timeRecipe != recipeTime) {
+            upgradesChanged = false;
+            energyRecipe = energyRequired;
+            timeRecipe = recipeTime;
+            energyCost.configure(scaleEnergy(energyRequired, getEnergyModifier()),
+                scaleTicks(recipeTime, getSpeedModifier()));
+        }
+        maxProcessTime = energyCost.getTicks();
+    }
+
+    /**
+     * Drops the recipe cost, e.g. when no recipe matches.
+     */
+    protected void clearRecipeCost() {
+        energyCost.clear();
+        energyRecipe = -1;
+        timeRecipe = -1;
     }
 
     /**
@@ -218,14 +288,67 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
         setChanged();
     }
 
+    /**
+     * Gives this machine a gas tank, exposed through {@link GasCapabilities#GAS}.
+     * Call from the subclass constructor; gas pipes push into it without the machine polling.
+     *
+     * @param capacity Tank capacity in mB
+     * @return The created tank
+     */
+    protected GasTank createGasTank(long capacity) {
+        this.gasTank = new GasTank(capacity, this::setChanged);
+        this.gasHandlerCap = LazyOptional.of(() -> gasTank);
+        return gasTank;
+    }
+
+    /**
+     * Gets the cost of the current craft, with upgrades applied.
+     *
+     * @return Energy accumulator, not configured while there is no recipe
+     */
+    public EnergyAccumulator getEnergyCost() {
+        return energyCost;
+    }
+
+    /**
+     * Gets the duration of a craft under a speed modifier.
+     *
+     * @param recipeTime Duration without upgrades (ticks)
+     * @param speedModifier Speed multiplier
+     * @return Duration in ticks, at least 1
+     */
+    public static int scaleTicks(int recipeTime, float speedModifier) {
+        return Math.max(1, Math.round(recipeTime / speedModifier));
+    }
+
+    /**
+     * Gets the energy of a craft under an energy modifier.
+     *
+     * @param energyRequired Energy without upgrades (FE)
+     * @param energyModifier Energy multiplier
+     * @return Energy in FE, at least 0
+     */
+    public static int scaleEnergy(int energyRequired, float energyModifier) {
+        return Math.max(0, Math.round(energyRequired * energyModifier));
+    }
+
     /**
      * Gets speed modifier from upgrades.
      *
      * @return Speed multiplier (1.0 = normal)
      */
-    protected float getSpeedModifier() {
+    public float getSpeedModifier() {
+        return getSpeedModifier(inventory.getStackInSlot(upgradeSlot));
+    }
+
+    /**
+     * Gets the speed modifier of an upgrade slot's contents.
+     *
+     * @param upgradeStack Upgrade slot contents
+     * @return Speed multiplier (1.0 = normal)
+     */
+    public static float getSpeedModifier(ItemStack upgradeStack) {
         float modifier = 1.0f;
-        ItemStack upgradeStack = inventory.getStackInSlot(upgradeSlot);
         if (!upgradeStack.isEmpty() && upgradeStack.getItem() instanceof MachineUpgrade) {
             MachineUpgrade.UpgradeType type = ((MachineUpgrade) upgradeStack.getItem()).getType();
             if (type == MachineUpgrade.UpgradeType.SPEED_UPGRADE) {
@@ -240,9 +363,18 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
      *
      * @return Energy modifier (1.0 = normal, <1.0 = more efficient)
      */
-    protected float getEnergyModifier() {
+    public float getEnergyModifier() {
+        return getEnergyModifier(inventory.getStackInSlot(upgradeSlot));
+    }
+
+    /**
+     * Gets the energy modifier of an upgrade slot's contents.
+     *
+     * @param upgradeStack Upgrade slot contents
+     * @return Energy modifier (1.0 = normal, <1.0 = more efficient)
+     */
+    public static float getEnergyModifier(ItemStack upgradeStack) {
         float modifier = 1.0f;
-        ItemStack upgradeStack = inventory.getStackInSlot(upgradeSlot);
         if (!upgradeStack.isEmpty() && upgradeStack.getItem() instanceof MachineUpgrade) {
             MachineUpgrade.UpgradeType type = ((MachineUpgrade) upgradeStack.getItem()).getType();
             if (type == MachineUpgrade.UpgradeType.ENERGY_UPGRADE) {
@@ -252,7 +384,17 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
         return modifier;
     }
 
+    @Override
+    protected void saveAdditional(CompoundTag tag) {
+        super.saveAdditional(tag);
+        tag.put("AutoEject", autoEject.save());
+    }
 
+    @Override
+    public void load(CompoundTag tag) {
+        super.load(tag);
+        autoEject.load(tag.getCompound("AutoEject"));
+    }
 
     @NotNull
     @Override
@@ -263,12 +405,16 @@ public abstract class BaseMachineBlockEntity extends BlockEntity implements IMac
         if (cap == ForgeCapabilities.ITEMS) {
             return LazyOptional.of(() -> inventory).cast();
         }
+        if (cap == GasCapabilities.GAS && gasTank != null) {
+            return gasHandlerCap.cast();
+        }
         return super.getCapability(cap, side);
     }
 
     @Override
     public void invalidateCaps() {
         energyStorage.invalidate();
+        gasHandlerCap.invalidate();
         super.invalidateCaps();
     }
 }
@@ -2,6 +2,7 @@ package org.exampl.untitledaii.industrial.machine;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelReader;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -48,6 +49,15 @@ public class CrusherBlock extends Block {
         return new CrusherBlockEntity(pos, state);
     }
 
+    @Override
+    public void neighborChanged(BlockState state, Level level, BlockPos pos, Block block, BlockPos fromPos,
+                                boolean isMoving) {
+        super.neighborChanged(state, level, pos, block, fromPos, isMoving);
+        if (level.getBlockEntity(pos) instanceof BaseMachineBlockEntity machine) {
+            machine.onNeighborChanged(fromPos);
+        }
+    }
+
     @Override
     public VoxelShape getShape(BlockState state, BlockGetter level, BlockPos pos, CollisionContext context) {
         return Shapes.box(0, 0, 0, 16, 16, 16);
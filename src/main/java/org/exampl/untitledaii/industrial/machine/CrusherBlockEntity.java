@@ -16,7 +16,7 @@ import org.exampl.untitledaii.industrial.machine.recipes.MachineRecipeType;
  *   <li>Input slot 0: Ore to crush</li>
  *   <li>Output slot 1: Crushed ingots (2x output)</li>
  *   <li>Process time: 100 ticks (5 seconds)</li>
- *   <li>Energy: 20 FE/tick</li>
+ *   <li>Energy: per recipe, spread exactly over the process time</li>
  * </ul>
  *
  * @author AVA Industrial Team
@@ -28,7 +28,8 @@ public class CrusherBlockEntity extends BaseMachineBlockEntity {
     private static final int MAX_ENERGY_RECEIVE = 100;
     private static final int MAX_ENERGY_EXTRACT = 0; // Machines don't output energy
     private static final int PROCESS_TIME = 100;
-    private static final int ENERGY_PER_TICK = 20;
+    private static final int[] INPUT_SLOTS = {0};
+    private static final int[] OUTPUT_SLOTS = {1};
 
     private MachineRecipe currentRecipe;
 
@@ -42,11 +43,13 @@ public class CrusherBlockEntity extends BaseMachineBlockEntity {
     }
 
     @Override
-    protected int getEnergyPerTick() {
-        if (currentRecipe != null) {
-            return currentRecipe.getEnergyRequired() / currentRecipe.getProcessTime();
-        }
-        return ENERGY_PER_TICK;
+    public int[] getInputSlots() {
+        return INPUT_SLOTS;
+    }
+
+    @Override
+    public int[] getOutputSlots() {
+        return OUTPUT_SLOTS;
     }
 
     @Override
@@ -54,17 +57,25 @@ public class CrusherBlockEntity extends BaseMachineBlockEntity {
         ItemStack input = inventory.getStackInSlot(0);
         if (input.isEmpty()) {
             currentRecipe = null;
+            clearRecipeCost();
             return false;
         }
 
         if (level == null) {
             currentRecipe = null;
+            clearRecipeCost();
             return false;
         }
 
         currentRecipe = MachineRecipeType.findRecipe(level, input);
+        if (currentRecipe != null && input.getCount() < currentRecipe.getInputCount(0)) {
+            // Not enough items for one operation yet
+            currentRecipe = null;
+        }
         if (currentRecipe != null) {
-            maxProcessTime = currentRecipe.getProcessTime();
+            applyRecipeCost(currentRecipe.getEnergyRequired(), currentRecipe.getProcessTime());
+        } else {
+            clearRecipeCost();
         }
 
         return currentRecipe != null;
@@ -90,8 +101,11 @@ public class CrusherBlockEntity extends BaseMachineBlockEntity {
 
     @Override
     protected void consumeInputs() {
+        if (currentRecipe == null) {
+            return;
+        }
         ItemStack input = inventory.getStackInSlot(0);
-        input.shrink(1);
+        input.shrink(currentRecipe.getInputCount(0));
     }
 
     @Override
@@ -53,6 +53,20 @@ public interface IMachine {
      */
     IItemHandler getItemHandler();
 
+    /**
+     * Gets the slots of the item handler that take recipe inputs.
+     *
+     * @return Slot indices in {@link #getItemHandler()}
+     */
+    int[] getInputSlots();
+
+    /**
+     * Gets the slots of the item handler that hold finished outputs.
+     *
+     * @return Slot indices in {@link #getItemHandler()}
+     */
+    int[] getOutputSlots();
+
     /**
      * Checks if the machine is currently processing a recipe.
      *
@@ -0,0 +1,216 @@
+package org.exampl.untitledaii.industrial.machine;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Pushes a machine's outputs into adjacent inventories.
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>Configurable output sides, served round-robin</li>
+ *   <li>Batching per {@link Mode}: whole stacks only, everything every N ticks, or only when the
+ *       output blocks the next craft</li>
+ *   <li>In every mode, outputs are pushed at once when they would block the next craft, so a
+ *       machine with room next to it never stalls</li>
+ *   <li>Neighbor item handlers are cached per side and dropped when the neighbor changes or its
+ *       capability is invalidated</li>
+ * </ul>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class MachineAutoEject {
+
+    public static final int DEFAULT_INTERVAL = 20;
+
+    private int sideMask;
+    private Mode mode = Mode.STACKS;
+    private int interval = DEFAULT_INTERVAL;
+    private int timer;
+    private int nextSide;
+    @SuppressWarnings("unchecked")
+    private final LazyOptional<IItemHandler>[] neighbors = new LazyOptional[6];
+
+    public boolean isEnabled() {
+        return sideMask != 0;
+    }
+
+    public boolean isSideEnabled(Direction side) {
+        return (sideMask & (1 << side.get3DDataValue())) != 0;
+    }
+
+    /**
+     * Configures ejection.
+     *
+     * @param sides Bit {@code 1 << direction.get3DDataValue()} set for each output side; 0 disables
+     * @param mode When to push
+     * @param interval Ticks between pushes in {@link Mode#INTERVAL}
+     */
+    public void configure(int sides, Mode mode, int interval) {
+        this.sideMask = sides & 0x3F;
+        this.mode = mode;
+        this.interval = Math.max(1, interval);
+        this.timer = 0;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Forgets the cached handler of the neighbor at a position.
+     *
+     * @param pos Machine position
+     * @param neighborPos Changed neighbor position
+     */
+    public void onNeighborChanged(BlockPos pos, BlockPos neighborPos) {
+        for (Direction side : Direction.values()) {
+            if (pos.relative(side).equals(neighborPos)) {
+                neighbors[side.get3DDataValue()] = null;
+            }
+        }
+    }
+
+    /**
+     * Runs one tick of ejection.
+     *
+     * @param level The level
+     * @param pos Machine position
+     * @param inventory Machine inventory
+     * @param outputSlots Output slots of the inventory
+     * @param blocked Whether the outputs block the next craft
+     */
+    public void tick(Level level, BlockPos pos, IItemHandler inventory, int[] outputSlots, boolean blocked) {
+        if (sideMask == 0) {
+            return;
+        }
+        boolean due = blocked;
+        if (mode == Mode.INTERVAL && ++timer >= interval) {
+            timer = 0;
+            due = true;
+        }
+        for (int slot : outputSlots) {
+            ItemStack stack = inventory.getStackInSlot(slot);
+            if (stack.isEmpty()) {
+                continue;
+            }
+            if (due || (mode == Mode.STACKS && stack.getCount() >= stack.getMaxStackSize())) {
+                push(level, pos, inventory, slot);
+            }
+        }
+    }
+
+    private void push(Level level, BlockPos pos, IItemHandler inventory, int slot) {
+        for (int i = 0; i < 6; i++) {
+            int index = (nextSide + i) % 6;
+            if ((sideMask & (1 << index)) == 0) {
+                continue;
+            }
+            IItemHandler target = getNeighbor(level, pos, Direction.from3DDataValue(index));
+            if (target == null) {
+                continue;
+            }
+            ItemStack offered = inventory.extractItem(slot, Integer.MAX_VALUE, true);
+            if (offered.isEmpty()) {
+                return;
+            }
+            ItemStack remainder = ItemHandlerHelper.insertItemStacked(target, offered, false);
+            int moved = offered.getCount() - remainder.getCount();
+            if (moved > 0) {
+                inventory.extractItem(slot, moved, false);
+                nextSide = (index + 1) % 6;
+            }
+        }
+    }
+
+    @Nullable
+    private IItemHandler getNeighbor(Level level, BlockPos pos, Direction side) {
+        int index = side.get3DDataValue();
+        LazyOptional<IItemHandler> cached = neighbors[index];
+        if (cached == null) {
+            BlockPos neighborPos = pos.relative(side);
+            if (!level.isLoaded(neighborPos)) {
+                return null;
+            }
+            BlockEntity neighbor = level.getBlockEntity(neighborPos);
+            cached = neighbor == null ? LazyOptional.empty()
+                : neighbor.getCapability(ForgeCapabilities.ITEM_HANDLER, side.getOpposite());
+            if (cached.isPresent()) {
+                LazyOptional<IItemHandler> handler = cached;
+                cached.addListener(invalidated -> {
+                    if (neighbors[index] == handler) {
+                        neighbors[index] = null;
+                    }
+                });
+            }
+            neighbors[index] = cached;
+        }
+        return cached.orElse(null);
+    }
+
+    public CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        tag.putByte("Sides", (byte) sideMask);
+        tag.putString("Mode", mode.getId());
+        tag.putInt("Interval", interval);
+        return tag;
+    }
+
+    public void load(CompoundTag tag) {
+        configure(tag.getByte("Sides"), Mode.byId(tag.getString("Mode")),
+            tag.contains("Interval") ? tag.getInt("Interval") : DEFAULT_INTERVAL);
+    }
+
+    /**
+     * When outputs are pushed, besides whenever they block the next craft.
+     */
+    public enum Mode {
+        /**
+         * Push output slots holding a whole stack.
+         */
+        STACKS("stacks"),
+
+        /**
+         * Push all outputs every {@link MachineAutoEject#getInterval()} ticks.
+         */
+        INTERVAL("interval"),
+
+        /**
+         * Push only when the outputs block the next craft.
+         */
+        BLOCKED("blocked");
+
+        private final String id;
+
+        Mode(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public static Mode byId(String id) {
+            for (Mode mode : values()) {
+                if (mode.id.equals(id)) {
+                    return mode;
+                }
+            }
+            return STACKS;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.exampl.untitledaii.industrial.machine;
 
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
@@ -8,23 +9,33 @@ import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.registries.RegistryObject;
 import org.exampl.untitledaii.Untitledaii;
 import org.exampl.untitledaii.industrial.ModBlocks;
+import org.exampl.untitledaii.industrial.machine.pipeline.ProcessingChain;
+import org.exampl.untitledaii.industrial.machine.pipeline.ProcessingChainLoader;
 import org.exampl.untitledaii.industrial.machine.recipes.MachineRecipe;
 
+import java.util.List;
+
 /**
  * Multi-stage ore processing chain configuration.
  *
  * <p>Processing stages:</p>
  * <ol>
- *   <li>Ore → Crusher (2x output)</li>
- *   <li>Ingot → Furnace (2x output)</li>
+ *   <li>Ore → Crusher → crushed ore (2x output)</li>
+ *   <li>Crushed ore → Furnace → ingot (2x output)</li>
  *   <li>Total: 1 ore → 4 ingots</li>
  * </ol>
  *
+ * <p>The stages are defined by the {@link #DEFAULT_CHAIN} processing chain in data packs, which
+ * {@link org.exampl.untitledaii.industrial.machine.pipeline.ProcessingPipeline} binds to machines;
+ * the built-in stages below are only used while no such chain is loaded.</p>
+ *
  * @author AVA Industrial Team
  * @since 1.0.0
  */
 public class OreProcessingChain {
 
+    public static final ResourceLocation DEFAULT_CHAIN = new ResourceLocation(Untitledaii.MODID, "ore_processing");
+
     private static final RegistryObject<Item> CRUSHED_IRON_INGOT =
         RegistryObject.create("crushed_iron_ingot", () -> Items.IRON_INGOT);
     private static final RegistryObject<Item> CRUSHED_GOLD_INGOT =
@@ -45,10 +56,14 @@ public class OreProcessingChain {
      *
      * <p>Standard chain: 1 ore → 4 ingots (4x multiplier)</p>
      *
-     * @return Yield multiplier (4.0)
+     * @return Product of the stage output multipliers
      */
     public static float getYieldMultiplier() {
-        return 4.0f;
+        float yield = 1.0f;
+        for (ProcessingStage stage : createDefaultChain()) {
+            yield *= stage.getOutputMultiplier();
+        }
+        return yield;
     }
 
     /**
@@ -67,14 +82,25 @@ public class OreProcessingChain {
      *
      * <p>Standard chain:</p>
      * <ul>
-     *   <li>1 Iron Ore → Crusher → 2 Iron Ingots</li>
-     *   <li>1 Gold Ore → Crusher → 2 Gold Ingots</li>
-     *   <li>1 Copper Ore → Crusher → 2 Copper Ingots</li>
+     *   <li>1 Iron Ore → Crusher → 2 Crushed Iron → Furnace → 4 Iron Ingots</li>
+     *   <li>1 Gold Ore → Crusher → 2 Crushed Gold → Furnace → 4 Gold Ingots</li>
+     *   <li>1 Copper Ore → Crusher → 2 Crushed Copper → Furnace → 4 Copper Ingots</li>
      * </ul>
      *
      * @return Processing chain configuration
      */
     public static ProcessingStage[] createDefaultChain() {
+        ProcessingChain chain = ProcessingChainLoader.getChain(DEFAULT_CHAIN);
+        if (chain != null) {
+            List<ProcessingChain.Stage> stages = chain.getStages();
+            ProcessingStage[] result = new ProcessingStage[stages.size()];
+            for (int i = 0; i < result.length; i++) {
+                ProcessingChain.Stage stage = stages.get(i);
+                result[i] = new ProcessingStage(stage.name(), stage.processTime(), stage.energyRequired(),
+                    stage.outputMultiplier());
+            }
+            return result;
+        }
         return new ProcessingStage[] {
             new ProcessingStage("Crusher", 100, 500, 2),
             new ProcessingStage("Furnace", 200, 1000, 2)
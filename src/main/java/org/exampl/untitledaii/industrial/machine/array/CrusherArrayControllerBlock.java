@@ -0,0 +1,53 @@
+package org.exampl.untitledaii.industrial.machine.array;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.EntityBlock;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityTicker;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Controller of a crusher array: the only block of the multiblock that ticks.
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class CrusherArrayControllerBlock extends Block implements EntityBlock {
+
+    public CrusherArrayControllerBlock() {
+        super(BlockBehaviour.Properties.of()
+            .strength(3.5f, 6.0f)
+            .requiresCorrectToolForDrops());
+    }
+
+    @Override
+    public BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return new CrusherArrayControllerBlockEntity(pos, state);
+    }
+
+    @Override
+    public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
+        if (!state.is(newState.getBlock()) && level instanceof ServerLevel serverLevel
+            && level.getBlockEntity(pos) instanceof CrusherArrayControllerBlockEntity controller) {
+            controller.dropContents(serverLevel);
+        }
+        super.onRemove(state, level, pos, newState, isMoving);
+    }
+
+    @Override
+    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
+        if (level.isClientSide) {
+            return null;
+        }
+        return (lvl, pos, st, blockEntity) -> {
+            if (blockEntity instanceof CrusherArrayControllerBlockEntity controller) {
+                controller.tick();
+            }
+        };
+    }
+}
@@ -0,0 +1,616 @@
+package org.exampl.untitledaii.industrial.machine.array;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.Containers;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.energy.IEnergyStorage;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+import net.minecraftforge.items.ItemStackHandler;
+import org.exampl.untitledaii.industrial.ModBlockEntities;
+import org.exampl.untitledaii.industrial.energy.MachineEnergyStorage;
+import org.exampl.untitledaii.industrial.machine.array.CrusherArrayPartBlock.PartType;
+import org.exampl.untitledaii.industrial.machine.recipes.MachineRecipe;
+import org.exampl.untitledaii.industrial.machine.recipes.MachineRecipes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Controller of a crusher array: runs one crusher lane per casing from a single tick.
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>Lanes are plain arrays (recipe, progress, energy carry) walked in one loop; idle lanes
+ *       look for input only while the input buffer has changed since the last failed search</li>
+ *   <li>One shared input buffer, output buffer and energy buffer, exposed through input, output
+ *       and energy ports; capacity and receive rate grow with the lane count</li>
+ *   <li>Energy of all lanes is summed and extracted once per tick, spread over each craft exactly
+ *       as {@link org.exampl.untitledaii.industrial.energy.EnergyAccumulator} does</li>
+ *   <li>Recipe lookups are cached per input item until machine recipes reload</li>
+ *   <li>The structure is validated once and then updated from block changes inside its bounds,
+ *       see {@link CrusherArrayStructure}</li>
+ * </ul>
+ *
+ * <p>Crafts in lanes that are lost when the structure shrinks or breaks are refunded: finished
+ * outputs and unfinished inputs go back into the buffers, or are dropped if they do not fit.
+ * Breaking the controller refunds every lane and drops both buffers. Recipes with more than one
+ * input are not run by the array.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class CrusherArrayControllerBlockEntity extends BlockEntity {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final int INPUT_SLOTS = 9;
+    public static final int OUTPUT_SLOTS = 9;
+    public static final int ENERGY_PER_LANE = 10000;
+    public static final int RECEIVE_PER_LANE = 100;
+
+    /**
+     * Ticks between rescans while parts of the structure may lie in unloaded chunks.
+     */
+    private static final int RESCAN_INTERVAL = 100;
+
+    private final CrusherArrayStructure structure = new CrusherArrayStructure();
+    private final ItemStackHandler input = new ItemStackHandler(INPUT_SLOTS) {
+        @Override
+        protected void onContentsChanged(int slot) {
+            inputIdle = false;
+            setChanged();
+        }
+    };
+    private final ItemStackHandler output = new ItemStackHandler(OUTPUT_SLOTS) {
+        @Override
+        protected void onContentsChanged(int slot) {
+            outputBlocked = false;
+            setChanged();
+        }
+    };
+    private final MachineEnergyStorage energy = new MachineEnergyStorage(0, 0, Integer.MAX_VALUE, this::setChanged);
+    private LazyOptional<IItemHandler> inputPort = LazyOptional.empty();
+    private LazyOptional<IItemHandler> outputPort = LazyOptional.empty();
+    private LazyOptional<IEnergyStorage> energyPort = LazyOptional.empty();
+
+    private int lanes;
+    private MachineRecipe[] laneRecipe = new MachineRecipe[0];
+    private int[] laneTicks = new int[0];
+    private int[] laneWhole = new int[0];
+    private int[] laneRemainder = new int[0];
+    private int[] progress = new int[0];
+    private int[] carry = new int[0];
+    @Nullable
+    private ListTag savedLanes;
+
+    private boolean inputIdle;
+    private boolean outputBlocked;
+    private int inputCursor;
+    private final Reference2ObjectOpenHashMap<Item, MachineRecipe> recipeCache = new Reference2ObjectOpenHashMap<>();
+    @Nullable
+    private List<MachineRecipe> cachedRecipes;
+
+    private final LongOpenHashSet claimedPorts = new LongOpenHashSet();
+    @Nullable
+    private BoundingBox watched;
+    private LongList trackedChunks = LongList.of();
+
+    public CrusherArrayControllerBlockEntity(BlockPos pos, BlockState state) {
+        super(ModBlockEntities.CRUSHER_ARRAY_CONTROLLER.get(), pos, state);
+    }
+
+    public void tick() {
+        if (!(level instanceof ServerLevel serverLevel)) {
+            return;
+        }
+        if (!structure.needsUpdate() && structure.isIncomplete()
+            && serverLevel.getGameTime() % RESCAN_INTERVAL == 0) {
+            structure.invalidate();
+        }
+        if (structure.needsUpdate() && structure.update(serverLevel, worldPosition)) {
+            onStructureChanged(serverLevel);
+        }
+        if (lanes == 0) {
+            return;
+        }
+
+        List<MachineRecipe> recipes = MachineRecipes.get(serverLevel).recipes();
+        if (recipes != cachedRecipes) {
+            cachedRecipes = recipes;
+            recipeCache.clear();
+            inputIdle = false;
+        }
+
+        int available = energy.getEnergyStored();
+        int spent = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            if (laneRecipe[lane] == null && (inputIdle || !startLane(serverLevel, lane))) {
+                continue;
+            }
+            int ticks = laneTicks[lane];
+            if (progress[lane] < ticks) {
+                int next = carry[lane] + laneRemainder[lane];
+                int cost = laneWhole[lane];
+                if (next >= ticks) {
+                    next -= ticks;
+                    cost++;
+                }
+                if (available - spent < cost) {
+                    continue;
+                }
+                spent += cost;
+                carry[lane] = next;
+                progress[lane]++;
+            }
+            if (progress[lane] >= ticks && !outputBlocked && !finishLane(lane)) {
+                outputBlocked = true;
+            }
+        }
+        if (spent > 0) {
+            energy.extractEnergy(spent, false);
+        }
+    }
+
+    private boolean startLane(ServerLevel level, int lane) {
+        for (int i = 0; i < INPUT_SLOTS; i++) {
+            int slot = (inputCursor + i) % INPUT_SLOTS;
+            ItemStack stack = input.getStackInSlot(slot);
+            if (stack.isEmpty()) {
+                continue;
+            }
+            MachineRecipe recipe = findRecipe(level, stack);
+            // Lanes draw from one slot, so recipes with several inputs are left to single machines
+            if (recipe == null || recipe.getInputs().size() > 1 || stack.getCount() < recipe.getInputCount(0)) {
+                continue;
+            }
+            input.extractItem(slot, recipe.getInputCount(0), false);
+            inputCursor = slot;
+            assignLane(lane, recipe, 0, 0);
+            return true;
+        }
+        inputIdle = true;
+        return false;
+    }
+
+    @Nullable
+    private MachineRecipe findRecipe(ServerLevel level, ItemStack stack) {
+        if (stack.hasTag()) {
+            return MachineRecipes.get(level).find(stack);
+        }
+        Item item = stack.getItem();
+        if (recipeCache.containsKey(item)) {
+            return recipeCache.get(item);
+        }
+        MachineRecipe recipe = MachineRecipes.get(level).find(stack);
+        recipeCache.put(item, recipe);
+        return recipe;
+    }
+
+    private void assignLane(int lane, MachineRecipe recipe, int laneProgress, int laneCarry) {
+        int ticks = Math.max(1, recipe.getProcessTime());
+        laneRecipe[lane] = recipe;
+        laneTicks[lane] = ticks;
+        laneWhole[lane] = recipe.getEnergyRequired() / ticks;
+        laneRemainder[lane] = recipe.getEnergyRequired() % ticks;
+        progress[lane] = Math.min(laneProgress, ticks);
+        carry[lane] = Math.min(laneCarry, ticks - 1);
+    }
+
+    private void clearLane(int lane) {
+        laneRecipe[lane] = null;
+        progress[lane] = 0;
+        carry[lane] = 0;
+    }
+
+    /**
+     * Moves a finished craft's outputs into the output buffer if they all fit.
+     */
+    private boolean finishLane(int lane) {
+        List<ItemStack> outputs = laneRecipe[lane].getOutputs();
+        for (ItemStack stack : outputs) {
+            if (!ItemHandlerHelper.insertItemStacked(output, stack.copy(), true).isEmpty()) {
+                return false;
+            }
+        }
+        for (ItemStack stack : outputs) {
+            ItemHandlerHelper.insertItemStacked(output, stack.copy(), false);
+        }
+        clearLane(lane);
+        return true;
+    }
+
+    /**
+     * Returns a lane's craft to the buffers, dropping what does not fit.
+     */
+    private void refundLane(int lane) {
+        MachineRecipe recipe = laneRecipe[lane];
+        if (recipe != null) {
+            refundCraft(recipe, progress[lane] >= laneTicks[lane]);
+            clearLane(lane);
+        }
+    }
+
+    private void refundCraft(MachineRecipe recipe, boolean finished) {
+        if (finished) {
+            for (ItemStack stack : recipe.getOutputs()) {
+                refund(output, stack.copy());
+            }
+        } else {
+            ItemStack[] items = recipe.getInputs().get(0).getItems();
+            if (items.length > 0) {
+                refund(input, ItemHandlerHelper.copyStackWithSize(items[0], recipe.getInputCount(0)));
+            }
+        }
+    }
+
+    private void refund(IItemHandler handler, ItemStack stack) {
+        ItemStack remainder = ItemHandlerHelper.insertItemStacked(handler, stack, false);
+        if (!remainder.isEmpty() && level != null) {
+            Containers.dropItemStack(level, worldPosition.getX() + 0.5, worldPosition.getY() + 1.0,
+                worldPosition.getZ() + 0.5, remainder);
+        }
+    }
+
+    private void onStructureChanged(ServerLevel level) {
+        int newLanes = structure.isFormed() ? structure.getCount(PartType.CASING) : 0;
+        resizeLanes(newLanes);
+        if (newLanes > 0) {
+            energy.setLimits(newLanes * ENERGY_PER_LANE, newLanes * RECEIVE_PER_LANE, Integer.MAX_VALUE);
+        }
+        restoreSavedLanes(level);
+
+        inputPort.invalidate();
+        outputPort.invalidate();
+        energyPort.invalidate();
+        if (structure.isFormed()) {
+            inputPort = LazyOptional.of(() -> new PortItemHandler(input, true, false));
+            outputPort = LazyOptional.of(() -> new PortItemHandler(output, false, true));
+            energyPort = LazyOptional.of(() -> new PortEnergyStorage(energy));
+        } else {
+            inputPort = LazyOptional.empty();
+            outputPort = LazyOptional.empty();
+            energyPort = LazyOptional.empty();
+        }
+
+        LongOpenHashSet ports = new LongOpenHashSet();
+        if (structure.isFormed()) {
+            for (Long2ObjectMap.Entry<PartType> entry : structure.getMembers().long2ObjectEntrySet()) {
+                if (entry.getValue().isPort()) {
+                    ports.add(entry.getLongKey());
+                }
+            }
+        }
+        for (long key : claimedPorts) {
+            if (!ports.contains(key)) {
+                setPortController(level, BlockPos.of(key), null);
+            }
+        }
+        for (long key : ports) {
+            setPortController(level, BlockPos.of(key), worldPosition);
+        }
+        claimedPorts.clear();
+        claimedPorts.addAll(ports);
+
+        BoundingBox bounds = structure.getBounds();
+        BoundingBox grown = new BoundingBox(bounds.minX() - 1, bounds.minY() - 1, bounds.minZ() - 1,
+            bounds.maxX() + 1, bounds.maxY() + 1, bounds.maxZ() + 1);
+        CrusherArrayTracker tracker = CrusherArrayTracker.get(level);
+        tracker.untrack(this, trackedChunks);
+        trackedChunks = tracker.track(this, grown);
+        watched = grown;
+        inputIdle = false;
+        outputBlocked = false;
+        setChanged();
+    }
+
+    private void setPortController(ServerLevel level, BlockPos pos, @Nullable BlockPos controller) {
+        if (!level.isLoaded(pos)) {
+            return;
+        }
+        if (level.getBlockEntity(pos) instanceof CrusherArrayPortBlockEntity port) {
+            if (controller == null && !worldPosition.equals(port.getControllerPos())) {
+                return;
+            }
+            port.setController(controller);
+            level.updateNeighborsAt(pos, port.getBlockState().getBlock());
+        }
+    }
+
+    private void resizeLanes(int newLanes) {
+        for (int lane = newLanes; lane < lanes; lane++) {
+            refundLane(lane);
+        }
+        laneRecipe = Arrays.copyOf(laneRecipe, newLanes);
+        laneTicks = Arrays.copyOf(laneTicks, newLanes);
+        laneWhole = Arrays.copyOf(laneWhole, newLanes);
+        laneRemainder = Arrays.copyOf(laneRemainder, newLanes);
+        progress = Arrays.copyOf(progress, newLanes);
+        carry = Arrays.copyOf(carry, newLanes);
+        lanes = newLanes;
+    }
+
+    /**
+     * Puts the lanes read from NBT back once the structure is formed again after loading.
+     */
+    private void restoreSavedLanes(ServerLevel level) {
+        if (savedLanes == null || !structure.isFormed()) {
+            return;
+        }
+        MachineRecipes.Snapshot recipes = MachineRecipes.get(level);
+        int lane = 0;
+        for (int i = 0; i < savedLanes.size(); i++) {
+            CompoundTag laneTag = savedLanes.getCompound(i);
+            ResourceLocation id = ResourceLocation.tryParse(laneTag.getString("Recipe"));
+            MachineRecipe recipe = id == null ? null : recipes.get(id);
+            if (recipe == null) {
+                LOGGER.warn("Crusher array at {} dropped a craft of unknown recipe {}",
+                    worldPosition, laneTag.getString("Recipe"));
+            } else if (lane < lanes) {
+                assignLane(lane++, recipe, laneTag.getInt("Progress"), laneTag.getInt("Carry"));
+            } else {
+                refundCraft(recipe, laneTag.getInt("Progress") >= Math.max(1, recipe.getProcessTime()));
+            }
+        }
+        savedLanes = null;
+    }
+
+    /**
+     * Refunds every lane and drops both buffers, for when the controller block is broken.
+     *
+     * <p>Not called when the chunk unloads; the lanes and buffers are saved then instead.</p>
+     *
+     * @param level The server level
+     */
+    public void dropContents(ServerLevel level) {
+        for (int lane = 0; lane < lanes; lane++) {
+            refundLane(lane);
+        }
+        if (savedLanes != null) {
+            MachineRecipes.Snapshot recipes = MachineRecipes.get(level);
+            for (int i = 0; i < savedLanes.size(); i++) {
+                CompoundTag laneTag = savedLanes.getCompound(i);
+                ResourceLocation id = ResourceLocation.tryParse(laneTag.getString("Recipe"));
+                MachineRecipe recipe = id == null ? null : recipes.get(id);
+                if (recipe != null) {
+                    refundCraft(recipe, laneTag.getInt("Progress") >= Math.max(1, recipe.getProcessTime()));
+                }
+            }
+            savedLanes = null;
+        }
+        dropBuffer(level, input);
+        dropBuffer(level, output);
+    }
+
+    private void dropBuffer(ServerLevel level, ItemStackHandler buffer) {
+        for (int slot = 0; slot < buffer.getSlots(); slot++) {
+            ItemStack stack = buffer.getStackInSlot(slot);
+            if (!stack.isEmpty()) {
+                Containers.dropItemStack(level, worldPosition.getX() + 0.5, worldPosition.getY() + 0.5,
+                    worldPosition.getZ() + 0.5, stack.copy());
+                buffer.setStackInSlot(slot, ItemStack.EMPTY);
+            }
+        }
+    }
+
+    /**
+     * Called by {@link CrusherArrayTracker} when a block in a watched chunk changed.
+     *
+     * @param pos Changed position
+     */
+    void onBlockChanged(BlockPos pos) {
+        if (watched != null && watched.isInside(pos)) {
+            structure.markChanged(pos);
+        }
+    }
+
+    /**
+     * Gets the capability a port of this array exposes.
+     *
+     * @param type Port type
+     * @param pos Port position
+     * @param cap Requested capability
+     * @return The shared port capability, or empty if the port is not part of the formed array
+     */
+    <T> LazyOptional<T> getPortCapability(PartType type, BlockPos pos, Capability<T> cap) {
+        if (!structure.isFormed() || structure.getType(pos) != type) {
+            return LazyOptional.empty();
+        }
+        return switch (type) {
+            case INPUT_PORT -> cap == ForgeCapabilities.ITEM_HANDLER ? inputPort.cast() : LazyOptional.empty();
+            case OUTPUT_PORT -> cap == ForgeCapabilities.ITEM_HANDLER ? outputPort.cast() : LazyOptional.empty();
+            case ENERGY_PORT -> cap == ForgeCapabilities.ENERGY ? energyPort.cast() : LazyOptional.empty();
+            default -> LazyOptional.empty();
+        };
+    }
+
+    public boolean isFormed() {
+        return structure.isFormed();
+    }
+
+    /**
+     * Gets why the array is not running.
+     *
+     * @return Problem description, or null if formed
+     */
+    @Nullable
+    public String getProblem() {
+        return structure.getProblem();
+    }
+
+    public int getLaneCount() {
+        return lanes;
+    }
+
+    /**
+     * Counts lanes holding a craft, finished or not.
+     *
+     * @return Busy lanes
+     */
+    public int getBusyLanes() {
+        int busy = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            if (laneRecipe[lane] != null) {
+                busy++;
+            }
+        }
+        return busy;
+    }
+
+    public MachineEnergyStorage getEnergyStorage() {
+        return energy;
+    }
+
+    @Override
+    protected void saveAdditional(CompoundTag tag) {
+        super.saveAdditional(tag);
+        tag.put("Input", input.serializeNBT());
+        tag.put("Output", output.serializeNBT());
+        tag.put("Energy", energy.serializeNBT());
+        ListTag lanesTag = new ListTag();
+        if (savedLanes != null) {
+            lanesTag.addAll(savedLanes);
+        }
+        for (int lane = 0; lane < lanes; lane++) {
+            if (laneRecipe[lane] != null) {
+                CompoundTag laneTag = new CompoundTag();
+                laneTag.putString("Recipe", laneRecipe[lane].getId().toString());
+                laneTag.putInt("Progress", progress[lane]);
+                laneTag.putInt("Carry", carry[lane]);
+                lanesTag.add(laneTag);
+            }
+        }
+        tag.put("Lanes", lanesTag);
+    }
+
+    @Override
+    public void load(CompoundTag tag) {
+        super.load(tag);
+        input.deserializeNBT(tag.getCompound("Input"));
+        output.deserializeNBT(tag.getCompound("Output"));
+        if (tag.contains("Energy")) {
+            energy.deserializeNBT(tag.get("Energy"));
+        }
+        ListTag lanesTag = tag.getList("Lanes", Tag.TAG_COMPOUND);
+        savedLanes = lanesTag.isEmpty() ? null : lanesTag;
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (level instanceof ServerLevel serverLevel) {
+            CrusherArrayTracker.get(serverLevel).untrack(this, trackedChunks);
+        }
+        trackedChunks = LongList.of();
+        watched = null;
+    }
+
+    @Override
+    public void clearRemoved() {
+        super.clearRemoved();
+        structure.invalidate();
+    }
+
+    @Override
+    public void invalidateCaps() {
+        inputPort.invalidate();
+        outputPort.invalidate();
+        energyPort.invalidate();
+        super.invalidateCaps();
+    }
+
+    /**
+     * Item handler of an input or output port: the shared buffer, restricted to one direction.
+     */
+    private record PortItemHandler(IItemHandler handler, boolean insert, boolean extract) implements IItemHandler {
+
+        @Override
+        public int getSlots() {
+            return handler.getSlots();
+        }
+
+        @NotNull
+        @Override
+        public ItemStack getStackInSlot(int slot) {
+            return handler.getStackInSlot(slot);
+        }
+
+        @NotNull
+        @Override
+        public ItemStack insertItem(int slot, @NotNull ItemStack stack, boolean simulate) {
+            return insert ? handler.insertItem(slot, stack, simulate) : stack;
+        }
+
+        @NotNull
+        @Override
+        public ItemStack extractItem(int slot, int amount, boolean simulate) {
+            return extract ? handler.extractItem(slot, amount, simulate) : ItemStack.EMPTY;
+        }
+
+        @Override
+        public int getSlotLimit(int slot) {
+            return handler.getSlotLimit(slot);
+        }
+
+        @Override
+        public boolean isItemValid(int slot, @NotNull ItemStack stack) {
+            return insert && handler.isItemValid(slot, stack);
+        }
+    }
+
+    /**
+     * Energy storage of an energy port: the shared buffer, receive only.
+     */
+    private record PortEnergyStorage(IEnergyStorage storage) implements IEnergyStorage {
+
+        @Override
+        public int receiveEnergy(int maxReceive, boolean simulate) {
+            return storage.receiveEnergy(maxReceive, simulate);
+        }
+
+        @Override
+        public int extractEnergy(int maxExtract, boolean simulate) {
+            return 0;
+        }
+
+        @Override
+        public int getEnergyStored() {
+            return storage.getEnergyStored();
+        }
+
+        @Override
+        public int getMaxEnergyStored() {
+            return storage.getMaxEnergyStored();
+        }
+
+        @Override
+        public boolean canExtract() {
+            return false;
+        }
+
+        @Override
+        public boolean canReceive() {
+            return storage.canReceive();
+        }
+    }
+}
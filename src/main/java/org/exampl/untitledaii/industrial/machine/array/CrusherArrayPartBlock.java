@@ -0,0 +1,55 @@
+package org.exampl.untitledaii.industrial.machine.array;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.EntityBlock;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A non-controller block of a crusher array.
+ *
+ * <p>Casings add a lane each; ports expose the controller's inventories and energy buffer to
+ * pipes and cables. Parts never tick: the controller finds them when it scans its structure and
+ * is told when blocks inside its bounds change.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class CrusherArrayPartBlock extends Block implements EntityBlock {
+
+    private final PartType type;
+
+    public CrusherArrayPartBlock(PartType type) {
+        super(BlockBehaviour.Properties.of()
+            .strength(3.5f, 6.0f)
+            .requiresCorrectToolForDrops());
+        this.type = type;
+    }
+
+    public PartType getType() {
+        return type;
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return type.isPort() ? new CrusherArrayPortBlockEntity(pos, state) : null;
+    }
+
+    /**
+     * Role of a part within the array.
+     */
+    public enum PartType {
+        CASING,
+        INPUT_PORT,
+        OUTPUT_PORT,
+        ENERGY_PORT;
+
+        public boolean isPort() {
+            return this != CASING;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.exampl.untitledaii.industrial.machine.array;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.LazyOptional;
+import org.exampl.untitledaii.industrial.ModBlockEntities;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Block entity of a crusher array port.
+ *
+ * <p>Holds no items or energy of its own: capabilities are answered by the controller that claimed
+ * the port during its last structure scan, which hands out one shared {@link LazyOptional} per
+ * port type and invalidates it when the structure breaks.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class CrusherArrayPortBlockEntity extends BlockEntity {
+
+    @Nullable
+    private BlockPos controllerPos;
+
+    public CrusherArrayPortBlockEntity(BlockPos pos, BlockState state) {
+        super(ModBlockEntities.CRUSHER_ARRAY_PORT.get(), pos, state);
+    }
+
+    /**
+     * Called by a controller when its scan includes or releases this port.
+     *
+     * @param controllerPos Controller position, or null when released
+     */
+    void setController(@Nullable BlockPos controllerPos) {
+        if (!Objects.equals(this.controllerPos, controllerPos)) {
+            this.controllerPos = controllerPos;
+            setChanged();
+        }
+    }
+
+    @Nullable
+    public BlockPos getControllerPos() {
+        return controllerPos;
+    }
+
+    @Nullable
+    private CrusherArrayControllerBlockEntity getController() {
+        if (controllerPos == null || level == null || !level.isLoaded(controllerPos)) {
+            return null;
+        }
+        return level.getBlockEntity(controllerPos) instanceof CrusherArrayControllerBlockEntity controller
+            ? controller : null;
+    }
+
+    @NotNull
+    @Override
+    public <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side) {
+        CrusherArrayControllerBlockEntity controller = getController();
+        if (controller != null && getBlockState().getBlock() instanceof CrusherArrayPartBlock part) {
+            LazyOptional<T> port = controller.getPortCapability(part.getType(), worldPosition, cap);
+            if (port.isPresent()) {
+                return port;
+            }
+        }
+        return super.getCapability(cap, side);
+    }
+
+    @Override
+    protected void saveAdditional(CompoundTag tag) {
+        super.saveAdditional(tag);
+        if (controllerPos != null) {
+            tag.put("Controller", NbtUtils.writeBlockPos(controllerPos));
+        }
+    }
+
+    @Override
+    public void load(CompoundTag tag) {
+        super.load(tag);
+        controllerPos = tag.contains("Controller") ? NbtUtils.readBlockPos(tag.getCompound("Controller")) : null;
+    }
+}
@@ -0,0 +1,264 @@
+package org.exampl.untitledaii.industrial.machine.array;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import org.exampl.untitledaii.industrial.machine.array.CrusherArrayPartBlock.PartType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Cached shape of one crusher array: the part blocks connected to its controller.
+ *
+ * <p>The structure is scanned once and then kept up to date from block changes inside its bounds,
+ * which the controller receives through {@link CrusherArrayTracker}:</p>
+ * <ul>
+ *   <li>A part placed next to the structure is flood-filled onto the cached set, along with any
+ *       parts it connects</li>
+ *   <li>A member removed or replaced, or a second controller touching the structure, causes a full
+ *       rescan, since the remaining parts may have split</li>
+ *   <li>Changes to unrelated blocks inside the bounds cost one map lookup</li>
+ * </ul>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+final class CrusherArrayStructure {
+
+    /**
+     * Most parts one controller accepts.
+     */
+    static final int MAX_PARTS = 512;
+
+    /**
+     * Longest side of the structure's bounding box, controller included.
+     */
+    static final int MAX_EXTENT = 16;
+
+    private static final PartType[] TYPES = PartType.values();
+
+    private final Long2ObjectOpenHashMap<PartType> members = new Long2ObjectOpenHashMap<>();
+    private final int[] counts = new int[TYPES.length];
+    private final LongArrayList pending = new LongArrayList();
+    private boolean rescan = true;
+    private boolean incomplete;
+    @Nullable
+    private String fault;
+    @Nullable
+    private String problem = "Not scanned yet";
+    private int minX;
+    private int minY;
+    private int minZ;
+    private int maxX;
+    private int maxY;
+    private int maxZ;
+
+    /**
+     * Records a block change inside the bounds, handled on the next {@link #update}.
+     *
+     * @param pos Changed position
+     */
+    void markChanged(BlockPos pos) {
+        pending.add(pos.asLong());
+    }
+
+    /**
+     * Forces a full rescan on the next {@link #update}.
+     */
+    void invalidate() {
+        rescan = true;
+    }
+
+    boolean needsUpdate() {
+        return rescan || !pending.isEmpty();
+    }
+
+    /**
+     * Applies the recorded changes.
+     *
+     * @param level The level
+     * @param controller Controller position
+     * @return Whether the set of members changed
+     */
+    boolean update(Level level, BlockPos controller) {
+        if (rescan) {
+            scan(level, controller);
+            return true;
+        }
+        boolean changed = false;
+        long controllerKey = controller.asLong();
+        for (int i = 0; i < pending.size(); i++) {
+            long key = pending.getLong(i);
+            if (key == controllerKey) {
+                continue;
+            }
+            BlockPos pos = BlockPos.of(key);
+            Block block = level.getBlockState(pos).getBlock();
+            PartType now = block instanceof CrusherArrayPartBlock part ? part.getType() : null;
+            PartType old = members.get(key);
+            if (old != null) {
+                if (old != now) {
+                    scan(level, controller);
+                    return true;
+                }
+            } else if (isAdjacent(pos, controller)) {
+                if (block instanceof CrusherArrayControllerBlock) {
+                    scan(level, controller);
+                    return true;
+                }
+                if (now != null) {
+                    fill(level, controller, pos);
+                    changed = true;
+                }
+            }
+        }
+        pending.clear();
+        if (changed) {
+            validate();
+        }
+        return changed;
+    }
+
+    private void scan(Level level, BlockPos controller) {
+        rescan = false;
+        pending.clear();
+        members.clear();
+        Arrays.fill(counts, 0);
+        incomplete = false;
+        fault = null;
+        minX = maxX = controller.getX();
+        minY = maxY = controller.getY();
+        minZ = maxZ = controller.getZ();
+        for (Direction direction : Direction.values()) {
+            fill(level, controller, controller.relative(direction));
+        }
+        validate();
+    }
+
+    /**
+     * Adds the parts connected to a position, skipping those already cached.
+     */
+    private void fill(Level level, BlockPos controller, BlockPos start) {
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        queue.enqueue(start.asLong());
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        while (!queue.isEmpty()) {
+            long key = queue.dequeueLong();
+            if (members.containsKey(key) || key == controller.asLong()) {
+                continue;
+            }
+            pos.set(key);
+            if (!level.isLoaded(pos)) {
+                incomplete = true;
+                continue;
+            }
+            Block block = level.getBlockState(pos).getBlock();
+            if (block instanceof CrusherArrayControllerBlock) {
+                fault = "Touches another controller at " + pos.toShortString();
+                continue;
+            }
+            if (!(block instanceof CrusherArrayPartBlock part)) {
+                continue;
+            }
+            if (members.size() >= MAX_PARTS) {
+                fault = "More than " + MAX_PARTS + " parts";
+                return;
+            }
+            members.put(key, part.getType());
+            counts[part.getType().ordinal()]++;
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxY = Math.max(maxY, pos.getY());
+            maxZ = Math.max(maxZ, pos.getZ());
+            for (Direction direction : Direction.values()) {
+                long next = BlockPos.offset(key, direction);
+                if (!members.containsKey(next)) {
+                    queue.enqueue(next);
+                }
+            }
+        }
+    }
+
+    private void validate() {
+        problem = fault;
+        if (problem != null) {
+            return;
+        }
+        if (Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ)) >= MAX_EXTENT) {
+            problem = "Larger than " + MAX_EXTENT + " blocks";
+        } else if (getCount(PartType.CASING) == 0) {
+            problem = "Missing a casing";
+        } else if (getCount(PartType.INPUT_PORT) == 0) {
+            problem = "Missing an input port";
+        } else if (getCount(PartType.OUTPUT_PORT) == 0) {
+            problem = "Missing an output port";
+        } else if (getCount(PartType.ENERGY_PORT) == 0) {
+            problem = "Missing an energy port";
+        }
+    }
+
+    private boolean isAdjacent(BlockPos pos, BlockPos controller) {
+        long key = pos.asLong();
+        for (Direction direction : Direction.values()) {
+            long neighbor = BlockPos.offset(key, direction);
+            if (neighbor == controller.asLong() || members.containsKey(neighbor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isFormed() {
+        return problem == null;
+    }
+
+    /**
+     * Gets why the structure is not formed.
+     *
+     * @return Problem description, or null if formed
+     */
+    @Nullable
+    String getProblem() {
+        return problem;
+    }
+
+    /**
+     * Whether the last scan stopped at unloaded chunks, so parts may be missing.
+     *
+     * @return true if incomplete
+     */
+    boolean isIncomplete() {
+        return incomplete;
+    }
+
+    int getCount(PartType type) {
+        return counts[type.ordinal()];
+    }
+
+    @Nullable
+    PartType getType(BlockPos pos) {
+        return members.get(pos.asLong());
+    }
+
+    Long2ObjectMap<PartType> getMembers() {
+        return members;
+    }
+
+    /**
+     * Gets the bounds of the controller and all members.
+     *
+     * @return Bounding box
+     */
+    BoundingBox getBounds() {
+        return new BoundingBox(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+}
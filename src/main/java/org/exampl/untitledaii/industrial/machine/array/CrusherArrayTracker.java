@@ -0,0 +1,111 @@
+package org.exampl.untitledaii.industrial.machine.array;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-level index of crusher array controllers by the chunks their structures cover.
+ *
+ * <p>Block changes are forwarded only to the controllers whose bounds (grown by one block, so
+ * that parts placed against the structure are seen) contain the changed position. A level without
+ * arrays costs one map lookup per block change.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public class CrusherArrayTracker {
+
+    private static final Map<LevelAccessor, CrusherArrayTracker> TRACKERS = new WeakHashMap<>();
+
+    private final Long2ObjectOpenHashMap<List<CrusherArrayControllerBlockEntity>> byChunk =
+        new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Gets the tracker for a level.
+     *
+     * @param level The server level
+     * @return The level's tracker
+     */
+    public static CrusherArrayTracker get(ServerLevel level) {
+        return TRACKERS.computeIfAbsent(level, key -> new CrusherArrayTracker());
+    }
+
+    /**
+     * Registers a controller for the chunks its watched bounds cover.
+     *
+     * @param controller The controller
+     * @param watched Bounds to watch
+     * @return Chunk keys registered, to be passed to {@link #untrack} later
+     */
+    LongList track(CrusherArrayControllerBlockEntity controller, BoundingBox watched) {
+        LongList chunks = new LongArrayList();
+        for (int x = watched.minX() >> 4; x <= watched.maxX() >> 4; x++) {
+            for (int z = watched.minZ() >> 4; z <= watched.maxZ() >> 4; z++) {
+                long key = ChunkPos.asLong(x, z);
+                byChunk.computeIfAbsent(key, k -> new ArrayList<>(1)).add(controller);
+                chunks.add(key);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Removes a controller from the given chunks.
+     *
+     * @param controller The controller
+     * @param chunks Chunk keys returned by {@link #track}
+     */
+    void untrack(CrusherArrayControllerBlockEntity controller, LongList chunks) {
+        for (int i = 0; i < chunks.size(); i++) {
+            long key = chunks.getLong(i);
+            List<CrusherArrayControllerBlockEntity> controllers = byChunk.get(key);
+            if (controllers != null) {
+                controllers.remove(controller);
+                if (controllers.isEmpty()) {
+                    byChunk.remove(key);
+                }
+            }
+        }
+    }
+
+    private void onBlockChanged(BlockPos pos) {
+        List<CrusherArrayControllerBlockEntity> controllers =
+            byChunk.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (controllers == null) {
+            return;
+        }
+        for (int i = 0; i < controllers.size(); i++) {
+            controllers.get(i).onBlockChanged(pos);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        CrusherArrayTracker tracker = TRACKERS.get(event.getLevel());
+        if (tracker != null) {
+            tracker.onBlockChanged(event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        TRACKERS.remove(event.getLevel());
+    }
+}
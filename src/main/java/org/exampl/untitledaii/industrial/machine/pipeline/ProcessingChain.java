@@ -0,0 +1,185 @@
+package org.exampl.untitledaii.industrial.machine.pipeline;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.world.level.block.Block;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A data-driven multi-stage processing chain, loaded from
+ * {@code data/<namespace>/processing_chains/*.json}.
+ *
+ * <p>Each stage names the machine block that runs it. A {@link ProcessingPipeline} binds the
+ * connected machines of those blocks to the stages and moves items between them through in-memory
+ * buffers of {@code buffer} items.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * {
+ *   "stages": [
+ *     { "name": "crush", "machine": "untitledaii:crusher", "buffer": 64, "output_multiplier": 2 },
+ *     { "name": "smelt", "machine": "minecraft:furnace", "buffer": 64, "process_time": 200 }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * <p>{@code process_time}, {@code energy_required} and {@code output_multiplier} describe a stage
+ * whose machine has no machine recipes (such as a vanilla furnace); machines with recipes use
+ * those instead.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public final class ProcessingChain {
+
+    public static final int MAX_STAGES = 16;
+    public static final int DEFAULT_BUFFER = 64;
+
+    private final ResourceLocation id;
+    private final List<Stage> stages;
+
+    public ProcessingChain(ResourceLocation id, List<Stage> stages) {
+        this.id = id;
+        this.stages = List.copyOf(stages);
+    }
+
+    public ResourceLocation getId() {
+        return id;
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    /**
+     * Gets the stage run by a machine block.
+     *
+     * @param machine Machine block
+     * @return Index of the first stage using that block, or -1
+     */
+    public int getStageIndex(Block machine) {
+        for (int i = 0; i < stages.size(); i++) {
+            if (stages.get(i).machine() == machine) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the items one input item becomes after every stage.
+     *
+     * @return Product of the stage output multipliers
+     */
+    public float getYieldMultiplier() {
+        float yield = 1.0f;
+        for (Stage stage : stages) {
+            yield *= stage.outputMultiplier();
+        }
+        return yield;
+    }
+
+    /**
+     * Parses a chain.
+     *
+     * @param id Chain id
+     * @param json Chain JSON
+     * @param problems Receives a description of every problem found, as {@code field: reason}
+     * @return The chain, or null if any problem was found
+     */
+    @Nullable
+    public static ProcessingChain parse(ResourceLocation id, JsonObject json, List<String> problems) {
+        int problemCount = problems.size();
+        if (!json.has("stages") || !json.get("stages").isJsonArray()) {
+            problems.add("stages: missing or not an array");
+            return null;
+        }
+        var stagesArray = json.getAsJsonArray("stages");
+        if (stagesArray.isEmpty() || stagesArray.size() > MAX_STAGES) {
+            problems.add("stages: expected 1 to " + MAX_STAGES + " entries, got " + stagesArray.size());
+        }
+
+        List<Stage> stages = new ArrayList<>(stagesArray.size());
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < stagesArray.size(); i++) {
+            String field = "stages[" + i + "]";
+            JsonElement element = stagesArray.get(i);
+            if (!element.isJsonObject()) {
+                problems.add(field + ": expected an object");
+                continue;
+            }
+            JsonObject stageJson = element.getAsJsonObject();
+
+            String name = GsonHelper.getAsString(stageJson, "name", "stage_" + i);
+            if (!names.add(name)) {
+                problems.add(field + ".name: duplicate stage name '" + name + "'");
+            }
+
+            Block machine = null;
+            if (!GsonHelper.isStringValue(stageJson, "machine")) {
+                problems.add(field + ".machine: missing or not a string");
+            } else {
+                String machineId = stageJson.get("machine").getAsString();
+                ResourceLocation machineKey = ResourceLocation.tryParse(machineId);
+                if (machineKey == null || !ForgeRegistries.BLOCKS.containsKey(machineKey)) {
+                    problems.add(field + ".machine: unknown block '" + machineId + "'");
+                } else {
+                    machine = ForgeRegistries.BLOCKS.getValue(machineKey);
+                }
+            }
+
+            int buffer = readPositive(stageJson, "buffer", DEFAULT_BUFFER, field, problems);
+            int processTime = readPositive(stageJson, "process_time", 100, field, problems);
+            int energyRequired = readPositive(stageJson, "energy_required", 0, field, problems);
+            int outputMultiplier = readPositive(stageJson, "output_multiplier", 1, field, problems);
+            if (machine != null) {
+                stages.add(new Stage(name, machine, buffer, processTime, energyRequired, outputMultiplier));
+            }
+        }
+
+        if (problems.size() != problemCount) {
+            return null;
+        }
+        return new ProcessingChain(id, stages);
+    }
+
+    private static int readPositive(JsonObject json, String key, int fallback, String field,
+                                    List<String> problems) {
+        if (!json.has(key)) {
+            return fallback;
+        }
+        JsonElement value = json.get(key);
+        if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isNumber()) {
+            problems.add(field + "." + key + ": expected a number, got " + value);
+            return fallback;
+        }
+        int number = value.getAsInt();
+        if (number < 0 || (number == 0 && !key.equals("energy_required"))) {
+            problems.add(field + "." + key + ": must be positive, got " + number);
+            return fallback;
+        }
+        return number;
+    }
+
+    /**
+     * One stage of a chain.
+     *
+     * @param name Stage name, unique within the chain
+     * @param machine Block of the machines that run this stage
+     * @param buffer Items buffered in front of this stage
+     * @param processTime Ticks per operation, for machines without machine recipes
+     * @param energyRequired FE per operation, for machines without machine recipes
+     * @param outputMultiplier Items out per item in, for machines without machine recipes
+     */
+    public record Stage(String name, Block machine, int buffer, int processTime, int energyRequired,
+                        int outputMultiplier) {
+    }
+}
@@ -0,0 +1,134 @@
+package org.exampl.untitledaii.industrial.machine.pipeline;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Loads processing chains from {@code data/<namespace>/processing_chains/*.json}.
+ *
+ * <p>Like machine recipes, files are parsed on the reload executor and only load conditions are
+ * evaluated on the server thread. The loaded chains replace the previous set as one immutable map,
+ * which running pipelines pick up on their next tick.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public class ProcessingChainLoader extends SimplePreparableReloadListener<ProcessingChainLoader.Prepared> {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder().create();
+
+    public static final String DIRECTORY = "processing_chains";
+
+    private static volatile Map<ResourceLocation, ProcessingChain> chains = Map.of();
+
+    private final ICondition.IContext conditionContext;
+
+    public ProcessingChainLoader(ICondition.IContext conditionContext) {
+        this.conditionContext = conditionContext;
+    }
+
+    /**
+     * Gets every loaded chain. The map is replaced, never modified, on reload.
+     *
+     * @return Chains by id
+     */
+    public static Map<ResourceLocation, ProcessingChain> getChains() {
+        return chains;
+    }
+
+    @Nullable
+    public static ProcessingChain getChain(ResourceLocation id) {
+        return chains.get(id);
+    }
+
+    @Override
+    protected Prepared prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+        Map<ResourceLocation, JsonElement> files = new TreeMap<>();
+        SimpleJsonResourceReloadListener.scanDirectory(resourceManager, DIRECTORY, GSON, files);
+
+        List<Loaded> loaded = new ArrayList<>(files.size());
+        List<String> errors = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<ResourceLocation, JsonElement> file : files.entrySet()) {
+            ResourceLocation id = file.getKey();
+            if (!file.getValue().isJsonObject()) {
+                errors.add(id + ": expected a JSON object");
+                continue;
+            }
+            JsonObject json = file.getValue().getAsJsonObject();
+            problems.clear();
+            ProcessingChain chain;
+            try {
+                chain = ProcessingChain.parse(id, json, problems);
+            } catch (RuntimeException e) {
+                problems.add(e.toString());
+                chain = null;
+            }
+            if (chain == null) {
+                errors.add(id + ": " + String.join("; ", problems));
+            } else {
+                loaded.add(new Loaded(chain, json));
+            }
+        }
+        return new Prepared(loaded, errors);
+    }
+
+    @Override
+    protected void apply(Prepared prepared, ResourceManager resourceManager, ProfilerFiller profiler) {
+        Map<ResourceLocation, ProcessingChain> result = new LinkedHashMap<>();
+        for (Loaded loaded : prepared.chains()) {
+            if (CraftingHelper.processConditions(loaded.json(), "conditions", conditionContext)) {
+                result.put(loaded.chain().getId(), loaded.chain());
+            }
+        }
+        for (String error : prepared.errors()) {
+            LOGGER.error("Rejected processing chain {}", error);
+        }
+        LOGGER.info("Loaded {} processing chains ({} rejected)", result.size(), prepared.errors().size());
+        chains = Map.copyOf(result);
+    }
+
+    @SubscribeEvent
+    public static void onAddReloadListeners(AddReloadListenerEvent event) {
+        event.addListener(new ProcessingChainLoader(event.getConditionContext()));
+    }
+
+    /**
+     * A parsed chain with its JSON, kept for the condition check in the apply stage.
+     */
+    record Loaded(ProcessingChain chain, JsonObject json) {
+    }
+
+    /**
+     * Result of the prepare stage.
+     *
+     * @param chains Chains that parsed and validated
+     * @param errors One entry per rejected chain
+     */
+    record Prepared(List<Loaded> chains, List<String> errors) {
+    }
+}
@@ -0,0 +1,595 @@
+package org.exampl.untitledaii.industrial.machine.pipeline;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongPredicate;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.Containers;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.exampl.untitledaii.industrial.machine.IMachine;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * A {@link ProcessingChain} bound to a connected group of machines.
+ *
+ * <p>Every machine in the group is assigned to the stage its block runs. Instead of pipes or
+ * hoppers between the stages, the pipeline moves finished items out of each stage's machines into
+ * the {@link StageBuffer} of the next stage and from there into that stage's machines. The first
+ * stage is fed and the last stage drained by ordinary means (pipes, belts, players).</p>
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>One transfer pass every {@link #TRANSFER_INTERVAL} ticks for the whole group, last stage
+ *       first, so space freed downstream is usable upstream in the same pass</li>
+ *   <li>Back-pressure: a full buffer leaves items in the upstream machines, whose full output slots
+ *       stop them; buffered items are spread over a stage's machines
+ *       ({@link #INPUT_TARGET} items each) rather than piled into the first one</li>
+ *   <li>Per-stage counters of items taken in and passed on, and of passes spent blocked by a full
+ *       next buffer or starved by an empty own buffer</li>
+ *   <li>Machine inventories are resolved once and re-resolved only when the block entity is
+ *       replaced or its capability invalidated</li>
+ * </ul>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ProcessingPipeline {
+
+    /**
+     * Most machines one pipeline binds.
+     */
+    public static final int MAX_MEMBERS = 256;
+
+    /**
+     * Ticks between transfer passes.
+     */
+    public static final int TRANSFER_INTERVAL = 4;
+
+    /**
+     * Input slot fill a stage's machines are topped up to from its buffer.
+     */
+    public static final int INPUT_TARGET = 8;
+
+    /**
+     * Ticks over which the throughput rate is measured.
+     */
+    public static final int RATE_WINDOW = 1200;
+
+    private final ResourceLocation chainId;
+    private final BlockPos origin;
+    @Nullable
+    private ProcessingChain chain;
+    private Stage[] stages;
+    private long ticks;
+
+    private ProcessingPipeline(ResourceLocation chainId, BlockPos origin, Stage[] stages) {
+        this.chainId = chainId;
+        this.origin = origin;
+        this.stages = stages;
+    }
+
+    /**
+     * Binds a chain to the machines connected to a position.
+     *
+     * @param level The level
+     * @param chain Chain to bind
+     * @param origin A machine of the group
+     * @param taken Matches packed positions of machines that already belong to a pipeline
+     * @param problems Receives the reason if binding fails
+     * @return The pipeline, or null if binding failed
+     */
+    @Nullable
+    public static ProcessingPipeline bind(ServerLevel level, ProcessingChain chain, BlockPos origin,
+                                          LongPredicate taken, List<String> problems) {
+        Stage[] stages = createStages(chain);
+        if (!collectMembers(level, chain, origin, stages, taken, problems)) {
+            return null;
+        }
+        ProcessingPipeline pipeline = new ProcessingPipeline(chain.getId(), origin.immutable(), stages);
+        pipeline.chain = chain;
+        return pipeline;
+    }
+
+    private static Stage[] createStages(ProcessingChain chain) {
+        List<ProcessingChain.Stage> definitions = chain.getStages();
+        Stage[] stages = new Stage[definitions.size()];
+        for (int i = 0; i < stages.length; i++) {
+            ProcessingChain.Stage definition = definitions.get(i);
+            stages[i] = new Stage(definition.name(), definition.machine(), definition.buffer());
+        }
+        return stages;
+    }
+
+    private static boolean collectMembers(ServerLevel level, ProcessingChain chain, BlockPos origin,
+                                          Stage[] stages, LongPredicate taken, List<String> problems) {
+        if (chain.getStageIndex(level.getBlockState(origin).getBlock()) < 0) {
+            problems.add("no machine of chain " + chain.getId() + " at " + origin.toShortString());
+            return false;
+        }
+
+        LongOpenHashSet visited = new LongOpenHashSet();
+        ArrayDeque<BlockPos> queue = new ArrayDeque<>();
+        queue.add(origin.immutable());
+        visited.add(origin.asLong());
+        int members = 0;
+        while (!queue.isEmpty()) {
+            BlockPos pos = queue.poll();
+            int stage = chain.getStageIndex(level.getBlockState(pos).getBlock());
+            if (stage < 0 || taken.test(pos.asLong())) {
+                continue;
+            }
+            if (++members > MAX_MEMBERS) {
+                problems.add("more than " + MAX_MEMBERS + " connected machines");
+                return false;
+            }
+            stages[stage].members.add(new Member(pos));
+            for (Direction direction : Direction.values()) {
+                BlockPos neighbor = pos.relative(direction);
+                if (level.isLoaded(neighbor) && visited.add(neighbor.asLong())) {
+                    queue.add(neighbor);
+                }
+            }
+        }
+
+        for (Stage stage : stages) {
+            if (stage.members.isEmpty()) {
+                problems.add("stage '" + stage.name + "' has no connected "
+                    + ForgeRegistries.BLOCKS.getKey(stage.machine));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public ResourceLocation getChainId() {
+        return chainId;
+    }
+
+    public BlockPos getOrigin() {
+        return origin;
+    }
+
+    @Nullable
+    public ProcessingChain getChain() {
+        return chain;
+    }
+
+    public List<Stage> getStages() {
+        return List.of(stages);
+    }
+
+    /**
+     * Visits the packed position of every machine in the pipeline.
+     *
+     * @param consumer Receives packed positions
+     */
+    public void forEachMember(LongConsumer consumer) {
+        for (Stage stage : stages) {
+            for (Member member : stage.members) {
+                consumer.accept(member.pos.asLong());
+            }
+        }
+    }
+
+    /**
+     * Switches to a reloaded definition of the chain. Buffers and counters are kept when the stages
+     * are unchanged; otherwise the machines are bound again from the origin and buffers of stages
+     * that no longer exist are dropped at the origin.
+     *
+     * @param level The level
+     * @param updated Reloaded chain
+     * @param taken Matches packed positions of machines bound by other pipelines
+     * @param problems Receives the reason if binding again fails
+     * @return false if the pipeline could not be bound again
+     */
+    boolean adopt(ServerLevel level, ProcessingChain updated, LongPredicate taken, List<String> problems) {
+        List<ProcessingChain.Stage> definitions = updated.getStages();
+        boolean same = definitions.size() == stages.length;
+        for (int i = 0; same && i < stages.length; i++) {
+            same = definitions.get(i).name().equals(stages[i].name)
+                && definitions.get(i).machine() == stages[i].machine;
+        }
+        if (same) {
+            for (int i = 0; i < stages.length; i++) {
+                stages[i].buffer.setCapacity(definitions.get(i).buffer());
+            }
+            chain = updated;
+            return true;
+        }
+
+        Stage[] rebound = createStages(updated);
+        if (!collectMembers(level, updated, origin, rebound, taken, problems)) {
+            return false;
+        }
+        Map<String, Stage> previous = new HashMap<>();
+        for (Stage stage : stages) {
+            previous.put(stage.name, stage);
+        }
+        for (Stage stage : rebound) {
+            Stage old = previous.remove(stage.name);
+            if (old != null) {
+                old.buffer.drain(stack -> {
+                    int accepted = stage.buffer.offer(stack);
+                    if (accepted < stack.getCount()) {
+                        drop(level, stack.copyWithCount(stack.getCount() - accepted));
+                    }
+                });
+            }
+        }
+        for (Stage old : previous.values()) {
+            dropBuffer(level, old);
+        }
+        stages = rebound;
+        chain = updated;
+        return true;
+    }
+
+    /**
+     * Stops the pipeline until its chain is adopted again, e.g. when the chain was removed.
+     */
+    void detach() {
+        chain = null;
+    }
+
+    /**
+     * Drops the contents of every buffer at the origin, e.g. when the pipeline is unbound.
+     *
+     * @param level The level
+     */
+    void dropBuffers(Level level) {
+        for (Stage stage : stages) {
+            dropBuffer(level, stage);
+        }
+    }
+
+    private void dropBuffer(Level level, Stage stage) {
+        stage.buffer.drain(stack -> drop(level, stack));
+    }
+
+    private void drop(Level level, ItemStack stack) {
+        Containers.dropItemStack(level, origin.getX() + 0.5, origin.getY() + 1.0, origin.getZ() + 0.5, stack);
+    }
+
+    /**
+     * Runs one tick of the pipeline.
+     *
+     * @param level The level
+     * @param removed Receives the packed position of every machine that was broken or replaced
+     * @return true if buffers, counters or machines changed and the pipeline needs saving
+     */
+    boolean tick(ServerLevel level, LongConsumer removed) {
+        ticks++;
+        if (chain == null || ticks % TRANSFER_INTERVAL != 0) {
+            return false;
+        }
+
+        boolean changed = false;
+        for (int s = stages.length - 1; s >= 0; s--) {
+            Stage stage = stages[s];
+            // Buffers only change through transfers, which are all counted
+            long moved = stage.itemsIn + stage.itemsOut;
+            StageBuffer next = s + 1 < stages.length ? stages[s + 1].buffer : null;
+            boolean blocked = false;
+            for (int m = stage.members.size() - 1; m >= 0; m--) {
+                Member member = stage.members.get(m);
+                int state = member.resolve(level, stage.machine);
+                if (state == Member.GONE) {
+                    stage.members.remove(m);
+                    removed.accept(member.pos.asLong());
+                    changed = true;
+                    continue;
+                }
+                if (state == Member.UNAVAILABLE) {
+                    continue;
+                }
+                if (next != null && moveOutputs(member, next, stage)) {
+                    blocked = true;
+                }
+                if (s > 0 && !stage.buffer.isEmpty()) {
+                    feed(member, stage);
+                }
+            }
+            if (blocked) {
+                stage.blockedPasses++;
+            }
+            if (s > 0 && stage.buffer.isEmpty()) {
+                stage.starvedPasses++;
+            }
+            stage.passes++;
+            changed |= stage.itemsIn + stage.itemsOut != moved;
+        }
+
+        if (ticks % RATE_WINDOW == 0) {
+            for (Stage stage : stages) {
+                stage.lastWindowOut = stage.itemsOut - stage.windowStartOut;
+                stage.windowStartOut = stage.itemsOut;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Moves the finished items of a machine into the next stage's buffer.
+     *
+     * @return true if items had to stay in the machine because the buffer is full
+     */
+    private static boolean moveOutputs(Member member, StageBuffer next, Stage stage) {
+        IItemHandler output = member.output;
+        for (int slot : member.outputSlots) {
+            int available = output.getStackInSlot(slot).getCount();
+            if (available == 0) {
+                continue;
+            }
+            int space = next.getSpace();
+            if (space <= 0) {
+                return true;
+            }
+            ItemStack extracted = output.extractItem(slot, Math.min(available, space), false);
+            int accepted = next.offer(extracted);
+            stage.itemsOut += accepted;
+            if (accepted < available) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void feed(Member member, Stage stage) {
+        IItemHandler input = member.input;
+        for (int slot : member.inputSlots) {
+            ItemStack head = stage.buffer.peek();
+            if (head.isEmpty()) {
+                return;
+            }
+            int room = INPUT_TARGET - input.getStackInSlot(slot).getCount();
+            if (room <= 0) {
+                continue;
+            }
+            ItemStack offered = head.copyWithCount(Math.min(head.getCount(), room));
+            int inserted = offered.getCount() - input.insertItem(slot, offered, false).getCount();
+            stage.buffer.take(inserted);
+            stage.itemsIn += inserted;
+        }
+    }
+
+    public CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        tag.putString("Chain", chainId.toString());
+        tag.putLong("Origin", origin.asLong());
+        ListTag stageList = new ListTag();
+        for (Stage stage : stages) {
+            CompoundTag stageTag = new CompoundTag();
+            stageTag.putString("Name", stage.name);
+            stageTag.putString("Machine", String.valueOf(ForgeRegistries.BLOCKS.getKey(stage.machine)));
+            stageTag.putInt("Capacity", stage.buffer.getCapacity());
+            stageTag.put("Buffer", stage.buffer.save());
+            long[] members = new long[stage.members.size()];
+            for (int i = 0; i < members.length; i++) {
+                members[i] = stage.members.get(i).pos.asLong();
+            }
+            stageTag.putLongArray("Members", members);
+            stageTag.putLong("In", stage.itemsIn);
+            stageTag.putLong("Out", stage.itemsOut);
+            stageList.add(stageTag);
+        }
+        tag.put("Stages", stageList);
+        return tag;
+    }
+
+    /**
+     * Restores a saved pipeline. The chain itself is resolved on the first tick through
+     * {@link #adopt}, once chains are loaded.
+     *
+     * @param tag Saved pipeline
+     * @return The pipeline, or null if the saved data is unusable
+     */
+    @Nullable
+    public static ProcessingPipeline load(CompoundTag tag) {
+        ResourceLocation chainId = ResourceLocation.tryParse(tag.getString("Chain"));
+        ListTag stageList = tag.getList("Stages", Tag.TAG_COMPOUND);
+        if (chainId == null || stageList.isEmpty()) {
+            return null;
+        }
+        Stage[] stages = new Stage[stageList.size()];
+        for (int i = 0; i < stages.length; i++) {
+            CompoundTag stageTag = stageList.getCompound(i);
+            ResourceLocation machineId = ResourceLocation.tryParse(stageTag.getString("Machine"));
+            Block machine = machineId != null ? ForgeRegistries.BLOCKS.getValue(machineId) : null;
+            if (machine == null) {
+                return null;
+            }
+            Stage stage = new Stage(stageTag.getString("Name"), machine, stageTag.getInt("Capacity"));
+            stage.buffer.load(stageTag.getList("Buffer", Tag.TAG_COMPOUND));
+            for (long member : stageTag.getLongArray("Members")) {
+                stage.members.add(new Member(BlockPos.of(member)));
+            }
+            stage.itemsIn = stageTag.getLong("In");
+            stage.itemsOut = stageTag.getLong("Out");
+            stage.windowStartOut = stage.itemsOut;
+            stages[i] = stage;
+        }
+        return new ProcessingPipeline(chainId, BlockPos.of(tag.getLong("Origin")), stages);
+    }
+
+    /**
+     * Runtime state of one stage.
+     */
+    public static final class Stage {
+        private final String name;
+        private final Block machine;
+        private final StageBuffer buffer;
+        private final List<Member> members = new ArrayList<>();
+        private long itemsIn;
+        private long itemsOut;
+        private long passes;
+        private long blockedPasses;
+        private long starvedPasses;
+        private long windowStartOut;
+        private long lastWindowOut = -1;
+
+        Stage(String name, Block machine, int capacity) {
+            this.name = name;
+            this.machine = machine;
+            this.buffer = new StageBuffer(capacity);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Block getMachine() {
+            return machine;
+        }
+
+        public StageBuffer getBuffer() {
+            return buffer;
+        }
+
+        public int getMachineCount() {
+            return members.size();
+        }
+
+        /**
+         * Visits the position of every machine of this stage.
+         *
+         * @param consumer Receives machine positions
+         */
+        public void forEachMachine(Consumer<BlockPos> consumer) {
+            for (Member member : members) {
+                consumer.accept(member.pos);
+            }
+        }
+
+        /**
+         * Gets the items moved from the buffer into this stage's machines.
+         *
+         * @return Total items
+         */
+        public long getItemsIn() {
+            return itemsIn;
+        }
+
+        /**
+         * Gets the items moved from this stage's machines into the next buffer.
+         *
+         * @return Total items
+         */
+        public long getItemsOut() {
+            return itemsOut;
+        }
+
+        /**
+         * Gets the items this stage passed on during the last complete {@link #RATE_WINDOW}.
+         *
+         * @return Items per window, or -1 before the first window completed
+         */
+        public long getLastWindowOut() {
+            return lastWindowOut;
+        }
+
+        /**
+         * Gets the share of transfer passes in which the next buffer was full.
+         *
+         * @return Fraction from 0 to 1
+         */
+        public float getBlockedFraction() {
+            return passes == 0 ? 0.0f : (float) blockedPasses / passes;
+        }
+
+        /**
+         * Gets the share of transfer passes in which this stage's buffer was empty.
+         *
+         * @return Fraction from 0 to 1
+         */
+        public float getStarvedFraction() {
+            return passes == 0 ? 0.0f : (float) starvedPasses / passes;
+        }
+    }
+
+    /**
+     * A machine of a stage with its resolved inventory.
+     */
+    static final class Member {
+        static final int READY = 0;
+        static final int UNAVAILABLE = 1;
+        static final int GONE = 2;
+
+        final BlockPos pos;
+        @Nullable
+        private BlockEntity blockEntity;
+        private IItemHandler input;
+        private IItemHandler output;
+        private int[] inputSlots;
+        private int[] outputSlots;
+
+        Member(BlockPos pos) {
+            this.pos = pos;
+        }
+
+        int resolve(Level level, Block machine) {
+            if (blockEntity != null && !blockEntity.isRemoved()) {
+                return READY;
+            }
+            blockEntity = null;
+            if (!level.isLoaded(pos)) {
+                return UNAVAILABLE;
+            }
+            if (level.getBlockState(pos).getBlock() != machine) {
+                return GONE;
+            }
+            BlockEntity be = level.getBlockEntity(pos);
+            if (be == null) {
+                return UNAVAILABLE;
+            }
+            if (be instanceof IMachine machineEntity) {
+                input = machineEntity.getItemHandler();
+                output = input;
+                inputSlots = machineEntity.getInputSlots();
+                outputSlots = machineEntity.getOutputSlots();
+            } else {
+                // Other blocks (e.g. furnaces) take inputs from above and give outputs below
+                LazyOptional<IItemHandler> inputCap = be.getCapability(ForgeCapabilities.ITEM_HANDLER, Direction.UP);
+                LazyOptional<IItemHandler> outputCap = be.getCapability(ForgeCapabilities.ITEM_HANDLER, Direction.DOWN);
+                if (!inputCap.isPresent() || !outputCap.isPresent()) {
+                    return UNAVAILABLE;
+                }
+                input = inputCap.orElseThrow(IllegalStateException::new);
+                output = outputCap.orElseThrow(IllegalStateException::new);
+                inputSlots = allSlots(input);
+                outputSlots = allSlots(output);
+                inputCap.addListener(cap -> blockEntity = null);
+                outputCap.addListener(cap -> blockEntity = null);
+            }
+            blockEntity = be;
+            return READY;
+        }
+
+        private static int[] allSlots(IItemHandler handler) {
+            int[] slots = new int[handler.getSlots()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = i;
+            }
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package org.exampl.untitledaii.industrial.machine.pipeline;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-level registry of {@link ProcessingPipeline}s.
+ *
+ * <p>All pipelines of a level are ticked once per level tick. Each machine belongs to at most one
+ * pipeline; broken machines drop out of their pipeline as it ticks. After a reload, pipelines
+ * switch to the new definition of their chain, and pipelines whose chain was removed stay bound
+ * but idle until it comes back or they are unbound.</p>
+ *
+ * <p>Pipelines, including their buffered items, are persisted in the level's
+ * {@link ProcessingPipelineSavedData}, which is only created once a pipeline is bound and only
+ * saved when a pipeline changed. Levels without pipelines have no manager and cost nothing per
+ * tick.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public class ProcessingPipelineManager {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Map<LevelAccessor, ProcessingPipelineManager> MANAGERS = new WeakHashMap<>();
+
+    private final ServerLevel level;
+    private final List<ProcessingPipeline> pipelines;
+    private final Long2ObjectOpenHashMap<ProcessingPipeline> byMember;
+    @Nullable
+    private Map<ResourceLocation, ProcessingChain> seenChains;
+    private ProcessingPipelineSavedData data;
+
+    private ProcessingPipelineManager(ServerLevel level) {
+        this.level = level;
+        this.pipelines = new ArrayList<>();
+        this.byMember = new Long2ObjectOpenHashMap<>();
+    }
+
+    /**
+     * Gets the pipeline manager for a level, creating it and its saved data if needed.
+     *
+     * @param level The server level
+     * @return The level's pipeline manager
+     */
+    public static ProcessingPipelineManager get(ServerLevel level) {
+        return MANAGERS.computeIfAbsent(level, key -> {
+            ProcessingPipelineManager manager = new ProcessingPipelineManager(level);
+            manager.data = level.getDataStorage().computeIfAbsent(tag -> ProcessingPipelineSavedData.load(manager, tag),
+                () -> new ProcessingPipelineSavedData(manager), ProcessingPipelineSavedData.NAME);
+            return manager;
+        });
+    }
+
+    public List<ProcessingPipeline> getPipelines() {
+        return pipelines;
+    }
+
+    /**
+     * Gets the pipeline a machine belongs to.
+     *
+     * @param pos Machine position
+     * @return The pipeline, or null
+     */
+    @Nullable
+    public ProcessingPipeline getPipeline(BlockPos pos) {
+        return byMember.get(pos.asLong());
+    }
+
+    /**
+     * Binds a chain to the machines connected to a position.
+     *
+     * @param chainId Chain to bind
+     * @param origin A machine of the group
+     * @param problems Receives the reason if binding fails
+     * @return The new pipeline, or null if binding failed
+     */
+    @Nullable
+    public ProcessingPipeline bind(ResourceLocation chainId, BlockPos origin, List<String> problems) {
+        ProcessingChain chain = ProcessingChainLoader.getChain(chainId);
+        if (chain == null) {
+            problems.add("unknown processing chain " + chainId);
+            return null;
+        }
+        if (byMember.containsKey(origin.asLong())) {
+            problems.add("the machine at " + origin.toShortString() + " already belongs to a pipeline");
+            return null;
+        }
+        ProcessingPipeline pipeline = ProcessingPipeline.bind(level, chain, origin, byMember::containsKey, problems);
+        if (pipeline != null) {
+            pipelines.add(pipeline);
+            register(pipeline);
+            data.setDirty();
+        }
+        return pipeline;
+    }
+
+    /**
+     * Unbinds the pipeline a machine belongs to, dropping its buffered items.
+     *
+     * @param pos Position of any machine of the pipeline
+     * @return true if a pipeline was unbound
+     */
+    public boolean unbind(BlockPos pos) {
+        ProcessingPipeline pipeline = byMember.get(pos.asLong());
+        if (pipeline == null) {
+            return false;
+        }
+        unregister(pipeline);
+        pipelines.remove(pipeline);
+        pipeline.dropBuffers(level);
+        data.setDirty();
+        return true;
+    }
+
+    private void register(ProcessingPipeline pipeline) {
+        pipeline.forEachMember(member -> byMember.put(member, pipeline));
+    }
+
+    private void unregister(ProcessingPipeline pipeline) {
+        pipeline.forEachMember(member -> byMember.remove(member, pipeline));
+    }
+
+    private void tick() {
+        Map<ResourceLocation, ProcessingChain> chains = ProcessingChainLoader.getChains();
+        boolean reloaded = chains != seenChains;
+        seenChains = chains;
+
+        List<String> problems = new ArrayList<>();
+        boolean changed = false;
+        for (Iterator<ProcessingPipeline> it = pipelines.iterator(); it.hasNext(); ) {
+            ProcessingPipeline pipeline = it.next();
+            if (reloaded) {
+                ProcessingChain chain = chains.get(pipeline.getChainId());
+                if (chain == null) {
+                    LOGGER.warn("Pipeline at {} is idle: processing chain {} is not loaded",
+                        pipeline.getOrigin().toShortString(), pipeline.getChainId());
+                    pipeline.detach();
+                } else if (chain != pipeline.getChain()) {
+                    problems.clear();
+                    changed = true;
+                    unregister(pipeline);
+                    if (pipeline.adopt(level, chain, byMember::containsKey, problems)) {
+                        register(pipeline);
+                    } else {
+                        LOGGER.warn("Unbound pipeline at {}: {}", pipeline.getOrigin().toShortString(),
+                            String.join("; ", problems));
+                        pipeline.dropBuffers(level);
+                        it.remove();
+                        continue;
+                    }
+                }
+            }
+            changed |= pipeline.tick(level, member -> byMember.remove(member, pipeline));
+        }
+        if (changed) {
+            data.setDirty();
+        }
+    }
+
+    void restore(CompoundTag tag) {
+        ListTag list = tag.getList("Pipelines", Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            ProcessingPipeline pipeline = ProcessingPipeline.load(list.getCompound(i));
+            if (pipeline == null) {
+                LOGGER.warn("Discarding unreadable processing pipeline {}", list.getCompound(i).getString("Chain"));
+                continue;
+            }
+            pipelines.add(pipeline);
+            register(pipeline);
+        }
+    }
+
+    void save(CompoundTag tag) {
+        ListTag list = new ListTag();
+        for (ProcessingPipeline pipeline : pipelines) {
+            list.add(pipeline.save());
+        }
+        tag.put("Pipelines", list);
+    }
+
+    @SubscribeEvent
+    public static void onLevelLoad(LevelEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            // Only levels that saved pipelines get a manager up front
+            ProcessingPipelineManager manager = new ProcessingPipelineManager(serverLevel);
+            manager.data = serverLevel.getDataStorage().get(tag -> ProcessingPipelineSavedData.load(manager, tag),
+                ProcessingPipelineSavedData.NAME);
+            if (manager.data != null) {
+                MANAGERS.put(serverLevel, manager);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && event.level instanceof ServerLevel serverLevel) {
+            ProcessingPipelineManager manager = MANAGERS.get(serverLevel);
+            if (manager != null) {
+                manager.tick();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        MANAGERS.remove(event.getLevel());
+    }
+}
@@ -0,0 +1,37 @@
+package org.exampl.untitledaii.industrial.machine.pipeline;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.exampl.untitledaii.Untitledaii;
+
+/**
+ * Per-dimension persistence of processing pipelines.
+ *
+ * <p>Each pipeline is stored as its chain id, the packed positions of its machines per stage and
+ * its buffered items, so pipelines come back on level load without walking the world. The
+ * manager marks it dirty whenever a pipeline is bound, unbound or moves items.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ProcessingPipelineSavedData extends SavedData {
+
+    public static final String NAME = Untitledaii.MODID + "_pipelines";
+
+    private final ProcessingPipelineManager manager;
+
+    ProcessingPipelineSavedData(ProcessingPipelineManager manager) {
+        this.manager = manager;
+    }
+
+    static ProcessingPipelineSavedData load(ProcessingPipelineManager manager, CompoundTag tag) {
+        manager.restore(tag);
+        return new ProcessingPipelineSavedData(manager);
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        manager.save(tag);
+        return tag;
+    }
+}
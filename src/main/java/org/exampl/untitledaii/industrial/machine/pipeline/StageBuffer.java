@@ -0,0 +1,144 @@
+package org.exampl.untitledaii.industrial.machine.pipeline;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Bounded first-in first-out item queue in front of a pipeline stage.
+ *
+ * <p>Identical items offered one after another are counted in a single entry, so a buffer holding
+ * a run of one ingot type is one stack object regardless of its size. Entries may exceed the stack
+ * size; {@link #peek()} hands out at most one stack at a time.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class StageBuffer {
+
+    private final ArrayDeque<ItemStack> entries = new ArrayDeque<>();
+    private int capacity;
+    private int count;
+
+    public StageBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getSpace() {
+        return Math.max(0, capacity - count);
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Adds items to the back of the buffer, as many as fit.
+     *
+     * @param stack Items to add; not modified
+     * @return Number of items accepted
+     */
+    public int offer(ItemStack stack) {
+        int accepted = Math.min(stack.getCount(), getSpace());
+        if (accepted <= 0) {
+            return 0;
+        }
+        ItemStack last = entries.peekLast();
+        if (last != null && ItemStack.isSameItemSameTags(last, stack)) {
+            last.grow(accepted);
+        } else {
+            entries.addLast(stack.copyWithCount(accepted));
+        }
+        count += accepted;
+        return accepted;
+    }
+
+    /**
+     * Gets the front of the buffer, at most one stack of it.
+     *
+     * @return A copy of the front items, or an empty stack
+     */
+    public ItemStack peek() {
+        ItemStack first = entries.peekFirst();
+        if (first == null) {
+            return ItemStack.EMPTY;
+        }
+        return first.copyWithCount(Math.min(first.getCount(), first.getMaxStackSize()));
+    }
+
+    /**
+     * Removes items from the front of the buffer.
+     *
+     * @param amount Items to remove, at most the count of {@link #peek()}
+     */
+    public void take(int amount) {
+        ItemStack first = entries.peekFirst();
+        if (first == null || amount <= 0) {
+            return;
+        }
+        first.shrink(amount);
+        count -= amount;
+        if (first.isEmpty()) {
+            entries.removeFirst();
+        }
+    }
+
+    /**
+     * Empties the buffer.
+     *
+     * @param sink Receives the buffered items, one stack at a time
+     */
+    public void drain(Consumer<ItemStack> sink) {
+        for (ItemStack entry : entries) {
+            int left = entry.getCount();
+            while (left > 0) {
+                int size = Math.min(left, entry.getMaxStackSize());
+                sink.accept(entry.copyWithCount(size));
+                left -= size;
+            }
+        }
+        entries.clear();
+        count = 0;
+    }
+
+    public ListTag save() {
+        ListTag list = new ListTag();
+        for (ItemStack entry : entries) {
+            // The vanilla count is a byte; store the real count next to a single item
+            CompoundTag tag = entry.copyWithCount(1).save(new CompoundTag());
+            tag.putInt("Total", entry.getCount());
+            list.add(tag);
+        }
+        return list;
+    }
+
+    public void load(ListTag list) {
+        entries.clear();
+        count = 0;
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag tag = list.getCompound(i);
+            ItemStack entry = ItemStack.of(tag);
+            if (!entry.isEmpty() && tag.contains("Total", Tag.TAG_INT)) {
+                entry.setCount(tag.getInt("Total"));
+                entries.addLast(entry);
+                count += entry.getCount();
+            }
+        }
+    }
+}
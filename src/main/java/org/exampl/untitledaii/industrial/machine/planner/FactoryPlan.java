@@ -0,0 +1,76 @@
+package org.exampl.untitledaii.industrial.machine.planner;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import org.exampl.untitledaii.industrial.pipe.PipeTier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Result of {@link ThroughputPlanner#plan}: the machines, energy and transport a production rate
+ * needs. Rates are in items per minute.
+ *
+ * @param target Item to produce
+ * @param rate Requested rate of the target
+ * @param steps One entry per recipe used, from the target back to the raw inputs
+ * @param rawInputs Items no recipe produces, with their required rate
+ * @param energyPerTick Average FE/t of all steps at the requested rate
+ * @param peakEnergyPerTick FE/t with every planned machine running
+ * @param cableFeeds Energy cable endpoints needed for the peak draw
+ * @param bottleneck The step that limits {@code maxRate}, or null if there are no steps
+ * @param maxRate Highest target rate the planned machines sustain
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public record FactoryPlan(Item target, double rate, List<Step> steps, List<RawInput> rawInputs,
+                          double energyPerTick, double peakEnergyPerTick, int cableFeeds,
+                          @Nullable Step bottleneck, double maxRate) {
+
+    /**
+     * One recipe of the plan and the machines that run it.
+     *
+     * @param stage Processing chain stage (or machine name) running the recipe
+     * @param recipe Recipe id
+     * @param output Item this step is planned for
+     * @param outputRate Rate of {@code output} leaving this step
+     * @param craftsPerMinute Crafts needed per minute
+     * @param ticksPerCraft Craft duration, upgrades applied
+     * @param energyPerCraft Energy of one craft, upgrades applied
+     * @param machines Machines needed, rounded up
+     * @param utilization Share of the machines' time spent crafting at the requested rate
+     * @param pipeTier Slowest item pipe tier that carries the output, or null if none does
+     * @param maxRate Highest target rate this step's machines sustain
+     */
+    public record Step(String stage, ResourceLocation recipe, Item output, double outputRate,
+                       double craftsPerMinute, int ticksPerCraft, int energyPerCraft, int machines,
+                       double utilization, @Nullable PipeTier pipeTier, double maxRate) {
+
+        /**
+         * Gets the average FE/t of this step at the requested rate.
+         *
+         * @return Energy per tick
+         */
+        public double getEnergyPerTick() {
+            return craftsPerMinute * energyPerCraft / ThroughputPlanner.TICKS_PER_MINUTE;
+        }
+
+        /**
+         * Gets the FE/t of this step with all of its machines running.
+         *
+         * @return Energy per tick
+         */
+        public double getPeakEnergyPerTick() {
+            return (double) machines * energyPerCraft / ticksPerCraft;
+        }
+    }
+
+    /**
+     * An item the plan consumes but cannot produce.
+     *
+     * @param item The item
+     * @param rate Required rate
+     */
+    public record RawInput(Item item, double rate) {
+    }
+}
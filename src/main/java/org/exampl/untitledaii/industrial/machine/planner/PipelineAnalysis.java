@@ -0,0 +1,37 @@
+package org.exampl.untitledaii.industrial.machine.planner;
+
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Result of {@link ThroughputPlanner#analyze}: how a running pipeline performs and where it loses
+ * throughput.
+ *
+ * @param chain Chain the pipeline runs
+ * @param stages One report per stage, in chain order
+ * @param findings Human-readable descriptions of throughput losses
+ * @param bottleneck The stage limiting the pipeline, or null if it has no stages
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public record PipelineAnalysis(ResourceLocation chain, List<StageReport> stages, List<String> findings,
+                               @Nullable StageReport bottleneck) {
+
+    /**
+     * Figures of one stage.
+     *
+     * @param name Stage name
+     * @param machines Machines bound to the stage
+     * @param active Machines currently crafting
+     * @param unpowered Machines with a recipe but not enough energy for the next tick
+     * @param capacity Crafts per minute the stage's machines can run
+     * @param observed Items passed on during the last minute, or -1 before the first minute
+     * @param blocked Share of transfer passes the next buffer was full
+     * @param starved Share of transfer passes the stage's buffer was empty
+     */
+    public record StageReport(String name, int machines, int active, int unpowered, double capacity,
+                              long observed, float blocked, float starved) {
+    }
+}
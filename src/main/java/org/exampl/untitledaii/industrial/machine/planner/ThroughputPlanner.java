@@ -0,0 +1,421 @@
+package org.exampl.untitledaii.industrial.machine.planner;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.AbstractCookingRecipe;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.BlockStateProperties;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.exampl.untitledaii.industrial.ModBlocks;
+import org.exampl.untitledaii.industrial.energy.EnergyAccumulator;
+import org.exampl.untitledaii.industrial.energy.EnergyCableBlock;
+import org.exampl.untitledaii.industrial.machine.BaseMachineBlockEntity;
+import org.exampl.untitledaii.industrial.machine.pipeline.ProcessingChain;
+import org.exampl.untitledaii.industrial.machine.pipeline.ProcessingChainLoader;
+import org.exampl.untitledaii.industrial.machine.pipeline.ProcessingPipeline;
+import org.exampl.untitledaii.industrial.machine.recipes.MachineRecipe;
+import org.exampl.untitledaii.industrial.machine.recipes.MachineRecipes;
+import org.exampl.untitledaii.industrial.pipe.PipeTier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plans machine counts, energy and transport for a production rate, and analyzes running
+ * pipelines.
+ *
+ * <p>Planning walks a producer graph built from the machine recipes and, for processing chain
+ * stages run by furnaces, blast furnaces or smokers, the matching vanilla cooking recipes. For each
+ * item it picks the first producer whose inputs are not already being planned, so self-feeding
+ * recipes do not loop; items without a producer become raw inputs.</p>
+ *
+ * <p>The graph is rebuilt only when the machine recipes, the processing chains or the server's
+ * recipe manager were replaced by a reload, and recent plans are cached until then.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public final class ThroughputPlanner {
+
+    public static final double TICKS_PER_MINUTE = 1200.0;
+
+    /**
+     * Longest chain of recipes followed from the target.
+     */
+    public static final int MAX_DEPTH = 16;
+
+    /**
+     * Fraction of transfer passes above which a stage counts as blocked or starved.
+     */
+    public static final float LOSS_THRESHOLD = 0.1f;
+
+    private static final int PLAN_CACHE_SIZE = 64;
+
+    @Nullable
+    private static Graph graph;
+    private static final Map<PlanKey, FactoryPlan> PLANS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PlanKey, FactoryPlan> eldest) {
+            return size() > PLAN_CACHE_SIZE;
+        }
+    };
+
+    private ThroughputPlanner() {
+    }
+
+    /**
+     * Plans the production of an item.
+     *
+     * @param server The server, for its recipes
+     * @param target Item to produce
+     * @param rate Items per minute
+     * @param upgrades Upgrades installed in every upgradable machine, or an empty stack
+     * @return The plan
+     */
+    public static synchronized FactoryPlan plan(MinecraftServer server, Item target, double rate, ItemStack upgrades) {
+        Graph current = getGraph(server);
+        PlanKey key = new PlanKey(target, rate, upgrades.getItem(), upgrades.getCount());
+        FactoryPlan plan = PLANS.get(key);
+        if (plan == null) {
+            plan = new Planning(current, BaseMachineBlockEntity.getSpeedModifier(upgrades),
+                BaseMachineBlockEntity.getEnergyModifier(upgrades)).run(target, rate);
+            PLANS.put(key, plan);
+        }
+        return plan;
+    }
+
+    private static Graph getGraph(MinecraftServer server) {
+        List<MachineRecipe> recipes = MachineRecipes.get(false).recipes();
+        Map<ResourceLocation, ProcessingChain> chains = ProcessingChainLoader.getChains();
+        RecipeManager recipeManager = server.getRecipeManager();
+        if (graph == null || graph.recipes != recipes || graph.chains != chains || graph.recipeManager != recipeManager) {
+            graph = Graph.build(recipes, chains, recipeManager, server);
+            PLANS.clear();
+        }
+        return graph;
+    }
+
+    /**
+     * Gets the slowest item pipe tier that carries a rate.
+     *
+     * @param rate Items per minute
+     * @return The tier, or null if even the fastest tier is too slow
+     */
+    @Nullable
+    public static PipeTier getPipeTier(double rate) {
+        for (PipeTier tier : PipeTier.values()) {
+            if (tier.getItemsPerOperation() * TICKS_PER_MINUTE / tier.getOperationInterval() >= rate) {
+                return tier;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reports where a running pipeline loses throughput.
+     *
+     * @param level The pipeline's level
+     * @param pipeline The pipeline
+     * @return Per-stage figures, findings and the bottleneck
+     */
+    public static PipelineAnalysis analyze(ServerLevel level, ProcessingPipeline pipeline) {
+        List<ProcessingPipeline.Stage> stages = pipeline.getStages();
+        ProcessingChain chain = pipeline.getChain();
+        List<PipelineAnalysis.StageReport> reports = new ArrayList<>(stages.size());
+        List<String> findings = new ArrayList<>();
+        PipelineAnalysis.StageReport bottleneck = null;
+        double bottleneckBusy = -1;
+
+        for (int s = 0; s < stages.size(); s++) {
+            ProcessingPipeline.Stage stage = stages.get(s);
+            int fallbackTicks = chain != null && s < chain.getStages().size()
+                ? chain.getStages().get(s).processTime() : 200;
+            MachineCensus census = new MachineCensus(level, fallbackTicks);
+            stage.forEachMachine(census::count);
+
+            PipelineAnalysis.StageReport report = new PipelineAnalysis.StageReport(stage.getName(),
+                stage.getMachineCount(), census.active, census.unpowered, census.craftsPerMinute,
+                stage.getLastWindowOut(), stage.getBlockedFraction(), stage.getStarvedFraction());
+            reports.add(report);
+
+            if (census.unpowered > 0) {
+                findings.add(stage.getName() + ": " + census.unpowered + " of " + stage.getMachineCount()
+                    + " machines lack energy");
+            }
+            if (report.blocked() >= LOSS_THRESHOLD && s + 1 < stages.size()) {
+                findings.add(String.format("%s: held back by %s %.0f%% of the time (buffer full)",
+                    stage.getName(), stages.get(s + 1).getName(), report.blocked() * 100));
+            }
+            int idle = stage.getMachineCount() - census.active - census.unpowered;
+            if (s > 0 && report.starved() >= LOSS_THRESHOLD && idle > 0) {
+                findings.add(String.format("%s: starved by %s %.0f%% of the time, %d idle machines",
+                    stage.getName(), stages.get(s - 1).getName(), report.starved() * 100, idle));
+            } else if (s == 0 && idle > 0) {
+                findings.add(stage.getName() + ": " + idle + " idle machines, the pipeline input is short");
+            }
+
+            // The limiting stage is the busiest one that is not itself waiting on the next
+            double busy = stage.getMachineCount() == 0 ? 0 : (double) census.active / stage.getMachineCount();
+            if (report.blocked() < LOSS_THRESHOLD && busy >= bottleneckBusy) {
+                bottleneck = report;
+                bottleneckBusy = busy;
+            }
+        }
+        return new PipelineAnalysis(pipeline.getChainId(), reports, findings, bottleneck);
+    }
+
+    private static final class MachineCensus {
+        private final ServerLevel level;
+        private final int fallbackTicks;
+        private int active;
+        private int unpowered;
+        private double craftsPerMinute;
+
+        MachineCensus(ServerLevel level, int fallbackTicks) {
+            this.level = level;
+            this.fallbackTicks = fallbackTicks;
+        }
+
+        void count(BlockPos pos) {
+            if (!level.isLoaded(pos)) {
+                return;
+            }
+            BlockEntity be = level.getBlockEntity(pos);
+            if (be instanceof BaseMachineBlockEntity machine) {
+                EnergyAccumulator cost = machine.getEnergyCost();
+                if (cost.isConfigured()) {
+                    craftsPerMinute += TICKS_PER_MINUTE / cost.getTicks();
+                    if (machine.getEnergyStorage().getEnergyStored() < cost.peek()) {
+                        unpowered++;
+                        return;
+                    }
+                }
+                if (machine.isProcessing()) {
+                    active++;
+                }
+            } else if (be != null) {
+                craftsPerMinute += TICKS_PER_MINUTE / fallbackTicks;
+                BlockState state = level.getBlockState(pos);
+                if (state.getOptionalValue(BlockStateProperties.LIT).orElse(false)) {
+                    active++;
+                }
+            }
+        }
+    }
+
+    /**
+     * One planning run.
+     */
+    private static final class Planning {
+        private final Graph graph;
+        private final float speedModifier;
+        private final float energyModifier;
+        private final Map<Producer, double[]> crafts = new LinkedHashMap<>();
+        private final Map<Item, Double> raw = new LinkedHashMap<>();
+        private final Set<Item> path = new HashSet<>();
+
+        Planning(Graph graph, float speedModifier, float energyModifier) {
+            this.graph = graph;
+            this.speedModifier = speedModifier;
+            this.energyModifier = energyModifier;
+        }
+
+        FactoryPlan run(Item target, double rate) {
+            expand(target, rate, 0);
+
+            List<FactoryPlan.Step> steps = new ArrayList<>(crafts.size());
+            double energy = 0;
+            double peak = 0;
+            FactoryPlan.Step bottleneck = null;
+            for (Map.Entry<Producer, double[]> entry : crafts.entrySet()) {
+                Producer producer = entry.getKey();
+                double craftsPerMinute = entry.getValue()[0];
+                double outputRate = entry.getValue()[1];
+                int ticks = producer.upgradable()
+                    ? BaseMachineBlockEntity.scaleTicks(producer.ticks(), speedModifier) : producer.ticks();
+                int energyPerCraft = producer.upgradable()
+                    ? BaseMachineBlockEntity.scaleEnergy(producer.energy(), energyModifier) : producer.energy();
+                double machinesExact = craftsPerMinute * ticks / TICKS_PER_MINUTE;
+                int machines = Math.max(1, (int) Math.ceil(machinesExact - 1e-9));
+                double utilization = machinesExact / machines;
+                FactoryPlan.Step step = new FactoryPlan.Step(producer.stage(), producer.id(), producer.output(),
+                    outputRate, craftsPerMinute, ticks, energyPerCraft, machines, utilization,
+                    getPipeTier(outputRate), utilization > 0 ? rate / utilization : Double.POSITIVE_INFINITY);
+                steps.add(step);
+                energy += step.getEnergyPerTick();
+                peak += step.getPeakEnergyPerTick();
+                if (bottleneck == null || step.maxRate() < bottleneck.maxRate()) {
+                    bottleneck = step;
+                }
+            }
+
+            List<FactoryPlan.RawInput> rawInputs = new ArrayList<>(raw.size());
+            for (Map.Entry<Item, Double> entry : raw.entrySet()) {
+                rawInputs.add(new FactoryPlan.RawInput(entry.getKey(), entry.getValue()));
+            }
+            int cableFeeds = (int) Math.ceil(peak / EnergyCableBlock.TRANSFER_RATE);
+            return new FactoryPlan(target, rate, steps, rawInputs, energy, peak, cableFeeds, bottleneck,
+                bottleneck != null ? bottleneck.maxRate() : Double.POSITIVE_INFINITY);
+        }
+
+        private void expand(Item item, double rate, int depth) {
+            Producer producer = depth < MAX_DEPTH ? choose(item) : null;
+            if (producer == null) {
+                raw.merge(item, rate, Double::sum);
+                return;
+            }
+            double craftsPerMinute = rate / producer.outputCount();
+            double[] totals = crafts.computeIfAbsent(producer, key -> new double[2]);
+            totals[0] += craftsPerMinute;
+            totals[1] += rate;
+
+            path.add(item);
+            for (Input input : producer.inputs()) {
+                expand(input.item(), craftsPerMinute * input.count(), depth + 1);
+            }
+            path.remove(item);
+        }
+
+        @Nullable
+        private Producer choose(Item item) {
+            candidates:
+            for (Producer producer : graph.producers.getOrDefault(item, List.of())) {
+                for (Input input : producer.inputs()) {
+                    if (input.item() == item || path.contains(input.item())) {
+                        continue candidates;
+                    }
+                }
+                return producer;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Producers of every item, built once per reload.
+     */
+    private static final class Graph {
+        private final List<MachineRecipe> recipes;
+        private final Map<ResourceLocation, ProcessingChain> chains;
+        private final RecipeManager recipeManager;
+        private final Map<Item, List<Producer>> producers = new HashMap<>();
+
+        private Graph(List<MachineRecipe> recipes, Map<ResourceLocation, ProcessingChain> chains,
+                      RecipeManager recipeManager) {
+            this.recipes = recipes;
+            this.chains = chains;
+            this.recipeManager = recipeManager;
+        }
+
+        static Graph build(List<MachineRecipe> recipes, Map<ResourceLocation, ProcessingChain> chains,
+                           RecipeManager recipeManager, MinecraftServer server) {
+            Graph graph = new Graph(recipes, chains, recipeManager);
+
+            // Machine recipes run in crushers; name them after the chain stage crushers run, if any
+            Block crusher = ModBlocks.CRUSHER.get();
+            String crusherStage = stageName(chains, crusher);
+            for (MachineRecipe recipe : recipes) {
+                List<Input> inputs = new ArrayList<>(recipe.getInputs().size());
+                for (int i = 0; i < recipe.getInputs().size(); i++) {
+                    Item item = firstItem(recipe.getInputs().get(i));
+                    if (item != null) {
+                        inputs.add(new Input(item, recipe.getInputCount(i)));
+                    }
+                }
+                Map<Item, Integer> outputs = new LinkedHashMap<>();
+                for (ItemStack output : recipe.getOutputs()) {
+                    outputs.merge(output.getItem(), output.getCount(), Integer::sum);
+                }
+                for (Map.Entry<Item, Integer> output : outputs.entrySet()) {
+                    graph.add(new Producer(recipe.getId(), crusherStage, List.copyOf(inputs), output.getKey(),
+                        output.getValue(), recipe.getProcessTime(), recipe.getEnergyRequired(), true));
+                }
+            }
+
+            // Chain stages run by cooking blocks use the vanilla recipes of that block
+            Set<Block> cookingBlocks = new HashSet<>();
+            for (ProcessingChain chain : chains.values()) {
+                for (ProcessingChain.Stage stage : chain.getStages()) {
+                    RecipeType<? extends AbstractCookingRecipe> type = cookingType(stage.machine());
+                    if (type == null || !cookingBlocks.add(stage.machine())) {
+                        continue;
+                    }
+                    for (AbstractCookingRecipe recipe : recipeManager.getAllRecipesFor(type)) {
+                        Item input = firstItem(recipe.getIngredients().get(0));
+                        ItemStack result = recipe.getResultItem(server.registryAccess());
+                        if (input == null || result.isEmpty()) {
+                            continue;
+                        }
+                        graph.add(new Producer(recipe.getId(), stage.name(), List.of(new Input(input, 1)),
+                            result.getItem(), result.getCount(), recipe.getCookingTime(),
+                            stage.energyRequired(), false));
+                    }
+                }
+            }
+            return graph;
+        }
+
+        private void add(Producer producer) {
+            producers.computeIfAbsent(producer.output(), key -> new ArrayList<>(1)).add(producer);
+        }
+
+        private static String stageName(Map<ResourceLocation, ProcessingChain> chains, Block machine) {
+            for (ProcessingChain chain : chains.values()) {
+                int index = chain.getStageIndex(machine);
+                if (index >= 0) {
+                    return chain.getStages().get(index).name();
+                }
+            }
+            return ForgeRegistries.BLOCKS.getKey(machine).getPath();
+        }
+
+        @Nullable
+        private static RecipeType<? extends AbstractCookingRecipe> cookingType(Block block) {
+            if (block == Blocks.FURNACE) {
+                return RecipeType.SMELTING;
+            }
+            if (block == Blocks.BLAST_FURNACE) {
+                return RecipeType.BLASTING;
+            }
+            if (block == Blocks.SMOKER) {
+                return RecipeType.SMOKING;
+            }
+            return null;
+        }
+
+        @Nullable
+        private static Item firstItem(Ingredient ingredient) {
+            ItemStack[] items = ingredient.getItems();
+            return items.length > 0 ? items[0].getItem() : null;
+        }
+    }
+
+    /**
+     * A recipe seen as a producer of one of its output items.
+     */
+    private record Producer(ResourceLocation id, String stage, List<Input> inputs, Item output, int outputCount,
+                            int ticks, int energy, boolean upgradable) {
+    }
+
+    private record Input(Item item, int count) {
+    }
+
+    private record PlanKey(Item target, double rate, Item upgrade, int upgradeCount) {
+    }
+}
@@ -0,0 +1,167 @@
+package org.exampl.untitledaii.industrial.machine.recipes;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+
+/**
+ * Precompiled form of an {@link Ingredient} for recipe matching.
+ *
+ * <p>Compiled forms:</p>
+ * <ul>
+ *   <li><b>Single item</b>: one item identity compare</li>
+ *   <li><b>Item set</b>: a bitset over item registry ids, used for tags and multi-item ingredients</li>
+ *   <li><b>Fallback</b>: delegates to {@link Ingredient#test(ItemStack)}, used for NBT-sensitive and
+ *       other non-simple ingredients</li>
+ * </ul>
+ *
+ * <p>The first two are constant time and allocate nothing per test. Tag contents are resolved at
+ * compile time, so compiled matchers go stale when tags reload; {@link #getCompileGeneration()}
+ * changes on every reload and owners recompile when it does.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public abstract class IngredientMatcher {
+
+    private static volatile int compileGeneration = 0;
+
+    /**
+     * Matches only empty stacks, like {@link Ingredient#EMPTY}.
+     */
+    public static final IngredientMatcher EMPTY = new IngredientMatcher() {
+        @Override
+        public boolean test(ItemStack stack) {
+            return stack.isEmpty();
+        }
+    };
+
+    /**
+     * Tests a stack against the ingredient.
+     *
+     * @param stack Stack to test
+     * @return true if the stack matches
+     */
+    public abstract boolean test(ItemStack stack);
+
+    /**
+     * Gets the registry ids of every item this matcher accepts, for building recipe indexes.
+     *
+     * @return Item registry ids, or null if the accepted items cannot be enumerated
+     */
+    @Nullable
+    public int[] getItemIds() {
+        return null;
+    }
+
+    /**
+     * Compiles an ingredient using the current tag contents.
+     *
+     * @param ingredient Ingredient to compile
+     * @return Compiled matcher
+     */
+    public static IngredientMatcher compile(Ingredient ingredient) {
+        if (ingredient.isEmpty()) {
+            return EMPTY;
+        }
+        if (!ingredient.isSimple()) {
+            return new Fallback(ingredient);
+        }
+
+        ItemStack[] items = ingredient.getItems();
+        Item single = null;
+        BitSet bits = null;
+        for (ItemStack stack : items) {
+            Item item = stack.getItem();
+            if (single == null || single == item) {
+                single = item;
+                continue;
+            }
+            if (bits == null) {
+                bits = new BitSet(BuiltInRegistries.ITEM.size());
+                bits.set(BuiltInRegistries.ITEM.getId(single));
+            }
+            bits.set(BuiltInRegistries.ITEM.getId(item));
+        }
+        if (bits != null) {
+            return new ItemSet(bits);
+        }
+        return single != null ? new SingleItem(single) : new Fallback(ingredient);
+    }
+
+    /**
+     * Gets the generation of compiled matchers; changes whenever tags are reloaded.
+     *
+     * @return Current compile generation
+     */
+    public static int getCompileGeneration() {
+        return compileGeneration;
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        // Tag contents changed, every compiled matcher is stale
+        compileGeneration++;
+    }
+
+    private static final class SingleItem extends IngredientMatcher {
+
+        private final Item item;
+
+        private SingleItem(Item item) {
+            this.item = item;
+        }
+
+        @Override
+        public boolean test(ItemStack stack) {
+            return stack.getItem() == item && !stack.isEmpty();
+        }
+
+        @Override
+        public int[] getItemIds() {
+            return new int[] {BuiltInRegistries.ITEM.getId(item)};
+        }
+    }
+
+    private static final class ItemSet extends IngredientMatcher {
+
+        private final BitSet items;
+
+        private ItemSet(BitSet items) {
+            this.items = items;
+        }
+
+        @Override
+        public boolean test(ItemStack stack) {
+            return !stack.isEmpty() && items.get(BuiltInRegistries.ITEM.getId(stack.getItem()));
+        }
+
+        @Override
+        public int[] getItemIds() {
+            return items.stream().toArray();
+        }
+    }
+
+    private static final class Fallback extends IngredientMatcher {
+
+        private final Ingredient ingredient;
+
+        private Fallback(Ingredient ingredient) {
+            this.ingredient = ingredient;
+        }
+
+        @Override
+        public boolean test(ItemStack stack) {
+            return ingredient.test(stack);
+        }
+    }
+}
@@ -7,33 +7,55 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraftforge.common.crafting.conditions.ICondition;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Base class for machine recipes.
  *
  * <p>Recipe structure:</p>
  * <ul>
- *   <li>Input ingredients</li>
+ *   <li>Input ingredients, each with a required count</li>
  *   <li>Output items</li>
  *   <li>Process time (ticks)</li>
  *   <li>Energy required (FE)</li>
  * </ul>
  *
+ * <p>Inputs are matched through {@link IngredientMatcher}s compiled on first use and recompiled
+ * after tags reload. Multi-input machines can match inputs in any slot order with
+ * {@link #matchShapeless(List)}, which solves the input-to-slot assignment as a bipartite
+ * matching.</p>
+ *
  * @author AVA Industrial Team
  * @since 1.0.0
  */
 public class MachineRecipe {
 
     private final ResourceLocation id;
+    /**
+     * Maximum number of inputs a recipe may have.
+     */
+    public static final int MAX_INPUTS = 9;
+
     private final NonNullList<Ingredient> inputs;
+    private final int[] inputCounts;
     private final NonNullList<ItemStack> outputs;
     private final int processTime;
     private final int energyRequired;
+    private volatile CompiledInputs compiled;
 
     public MachineRecipe(ResourceLocation id, NonNullList<Ingredient> inputs,
                      NonNullList<ItemStack> outputs, int processTime, int energyRequired) {
+        this(id, inputs, filledCounts(inputs.size()), outputs, processTime, energyRequired);
+    }
+
+    public MachineRecipe(ResourceLocation id, NonNullList<Ingredient> inputs, int[] inputCounts,
+                     NonNullList<ItemStack> outputs, int processTime, int energyRequired) {
         this.id = id;
         this.inputs = inputs;
+        this.inputCounts = inputCounts;
         this.outputs = outputs;
         this.processTime = processTime;
         this.energyRequired = energyRequired;
@@ -50,8 +72,10 @@ public class MachineRecipe {
             return false;
         }
 
-        for (int i = 0; i < inputs.size(); i++) {
-            if (i >= stacks.size() || !inputs.get(i).test(stacks.get(i))) {
+        IngredientMatcher[] compiled = getMatchers();
+        for (int i = 0; i < compiled.length; i++) {
+            ItemStack stack = stacks.get(i);
+            if (!compiled[i].test(stack) || (!stack.isEmpty() && stack.getCount() < inputCounts[i])) {
                 return false;
             }
         }
@@ -62,11 +86,110 @@ public class MachineRecipe {
     /**
      * Checks if recipe matches given ItemStack.
      *
+     * <p>Only single-input recipes can match a single stack; recipes with more inputs need
+     * {@link #matchShapeless(List)}. The recipe index applies the same rule.</p>
+     *
      * @param stack Input item stack
      * @return true if recipe matches
      */
     public boolean matches(ItemStack stack) {
-        return !stack.isEmpty() && !inputs.isEmpty() && inputs.get(0).test(stack);
+        return !stack.isEmpty() && inputs.size() == 1 && getMatchers()[0].test(stack)
+            && stack.getCount() >= inputCounts[0];
+    }
+
+    /**
+     * Matches the recipe against input slots in any order.
+     *
+     * <p>Every input must be matched by a different slot holding at least the input's count, and
+     * every non-empty slot must be used by some input.</p>
+     *
+     * @param slots Input slot contents; at most 32 slots
+     * @return For each input, the index of the slot it is taken from, or null if the recipe does not
+     *         match
+     */
+    @Nullable
+    public int[] matchShapeless(List<ItemStack> slots) {
+        int inputCount = inputs.size();
+        if (inputCount == 0 || inputCount > MAX_INPUTS || slots.size() > Integer.SIZE) {
+            return null;
+        }
+
+        // Which slots each input could be taken from
+        IngredientMatcher[] compiled = getMatchers();
+        int[] candidates = new int[inputCount];
+        int occupied = 0;
+        for (int slot = 0; slot < slots.size(); slot++) {
+            ItemStack stack = slots.get(slot);
+            if (stack.isEmpty()) {
+                continue;
+            }
+            if (++occupied > inputCount) {
+                return null;
+            }
+            boolean usable = false;
+            for (int i = 0; i < inputCount; i++) {
+                if (stack.getCount() >= inputCounts[i] && compiled[i].test(stack)) {
+                    candidates[i] |= 1 << slot;
+                    usable = true;
+                }
+            }
+            if (!usable) {
+                return null;
+            }
+        }
+        if (occupied != inputCount) {
+            return null;
+        }
+
+        // Kuhn's augmenting paths; with at most 9 inputs this is a handful of bit operations
+        int[] owners = new int[slots.size()];
+        Arrays.fill(owners, -1);
+        for (int i = 0; i < inputCount; i++) {
+            if (!assign(i, candidates, owners, new int[1])) {
+                return null;
+            }
+        }
+        int[] assignment = new int[inputCount];
+        for (int slot = 0; slot < owners.length; slot++) {
+            if (owners[slot] >= 0) {
+                assignment[owners[slot]] = slot;
+            }
+        }
+        return assignment;
+    }
+
+    private static boolean assign(int input, int[] candidates, int[] owners, int[] visited) {
+        int options = candidates[input] & ~visited[0];
+        while (options != 0) {
+            int slot = Integer.numberOfTrailingZeros(options);
+            options &= options - 1;
+            visited[0] |= 1 << slot;
+            if (owners[slot] < 0 || assign(owners[slot], candidates, owners, visited)) {
+                owners[slot] = input;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the compiled input matchers, compiling them if tags changed since the last call.
+     *
+     * @return One matcher per input, in input order
+     */
+    public IngredientMatcher[] getMatchers() {
+        // Published as one object, so index builds on worker threads never see a torn pair
+        int generation = IngredientMatcher.getCompileGeneration();
+        CompiledInputs current = compiled;
+        if (current == null || current.generation() != generation) {
+            IngredientMatcher[] matchers = new IngredientMatcher[inputs.size()];
+            for (int i = 0; i < matchers.length; i++) {
+                matchers[i] = IngredientMatcher.compile(inputs.get(i));
+            }
+            current = new CompiledInputs(generation, matchers);
+            compiled = current;
+        }
+        return current.matchers();
     }
 
     public ResourceLocation getId() {
@@ -77,6 +200,16 @@ public class MachineRecipe {
         return inputs;
     }
 
+    /**
+     * Gets the number of items an input consumes.
+     *
+     * @param index Input index
+     * @return Required count, at least 1
+     */
+    public int getInputCount(int index) {
+        return inputCounts[index];
+    }
+
     public NonNullList<ItemStack> getOutputs() {
         return outputs;
     }
@@ -90,35 +223,27 @@ public class MachineRecipe {
     }
 
     /**
-     * Writes recipe to network buffer.
+     * Writes recipe to network buffer, without its id.
+     *
+     * @see MachineRecipeCodec
      */
     public void toNetwork(FriendlyByteBuf buffer) {
-        buffer.writeResourceLocation(id);
-        buffer.writeInt(inputs.size());
-        inputs.forEach(ingredient -> Ingredient.toNetwork(ingredient, buffer));
-        buffer.writeInt(outputs.size());
-        outputs.forEach(stack -> buffer.writeItem(stack));
-        buffer.writeInt(processTime);
-        buffer.writeInt(energyRequired);
+        MachineRecipeCodec.writeBody(buffer, this);
     }
 
     /**
      * Reads recipe from network buffer.
      */
-    public static MachineRecipe fromNetwork(FriendlyByteBuf buffer) {
-        ResourceLocation id = buffer.readResourceLocation();
-        int inputCount = buffer.readInt();
-        NonNullList<Ingredient> inputs = NonNullList.withSize(inputCount, Ingredient.EMPTY);
-        for (int i = 0; i < inputCount; i++) {
-            inputs.set(i, Ingredient.fromNetwork(buffer));
-        }
-        int outputCount = buffer.readInt();
-        NonNullList<ItemStack> outputs = NonNullList.withSize(outputCount, ItemStack.EMPTY);
-        for (int i = 0; i < outputCount; i++) {
-            outputs.set(i, buffer.readItem());
-        }
-        int processTime = buffer.readInt();
-        int energyRequired = buffer.readInt();
-        return new MachineRecipe(id, inputs, outputs, processTime, energyRequired);
+    public static MachineRecipe fromNetwork(ResourceLocation id, FriendlyByteBuf buffer) {
+        return MachineRecipeCodec.readBody(id, buffer);
+    }
+
+    private record CompiledInputs(int generation, IngredientMatcher[] matchers) {
+    }
+
+    private static int[] filledCounts(int size) {
+        int[] counts = new int[size];
+        Arrays.fill(counts, 1);
+        return counts;
     }
 }
@@ -0,0 +1,254 @@
+package org.exampl.untitledaii.industrial.machine.recipes;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import net.minecraft.core.NonNullList;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact network format for machine recipes.
+ *
+ * <p>Format (version {@value #VERSION}):</p>
+ * <ul>
+ *   <li>Every number is a varint, so typical counts, times and energies take one or two bytes</li>
+ *   <li>Recipe id namespaces are written once in a string table and referenced by index</li>
+ *   <li>Identical consecutive inputs or outputs of a recipe are written once with a repeat count</li>
+ *   <li>Simple ingredients are written as item registry ids; only NBT-sensitive ingredients use the
+ *       vanilla ingredient encoding</li>
+ * </ul>
+ *
+ * <p>The payload starts with the format version. A client that does not know the version rejects
+ * the payload instead of misreading it, so the format can change without breaking mixed setups
+ * silently.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public final class MachineRecipeCodec {
+
+    /**
+     * Current format version; bump on any change to the layout.
+     */
+    public static final int VERSION = 1;
+
+    private static final int INGREDIENT_ITEMS = 0;
+    private static final int INGREDIENT_VANILLA = 1;
+
+    private MachineRecipeCodec() {
+    }
+
+    /**
+     * Encodes a set of recipes.
+     *
+     * @param recipes Recipes to encode
+     * @return Encoded payload
+     */
+    public static byte[] encode(List<MachineRecipe> recipes) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(VERSION);
+
+        Object2IntLinkedOpenHashMap<String> namespaces = new Object2IntLinkedOpenHashMap<>();
+        for (MachineRecipe recipe : recipes) {
+            namespaces.putIfAbsent(recipe.getId().getNamespace(), namespaces.size());
+        }
+        buf.writeVarInt(namespaces.size());
+        for (String namespace : namespaces.keySet()) {
+            buf.writeUtf(namespace);
+        }
+
+        buf.writeVarInt(recipes.size());
+        for (MachineRecipe recipe : recipes) {
+            buf.writeVarInt(namespaces.getInt(recipe.getId().getNamespace()));
+            buf.writeUtf(recipe.getId().getPath());
+            writeBody(buf, recipe);
+        }
+
+        byte[] data = new byte[buf.readableBytes()];
+        buf.readBytes(data);
+        return data;
+    }
+
+    /**
+     * Decodes a payload written by {@link #encode(List)}.
+     *
+     * @param data Encoded payload
+     * @return The recipes
+     * @throws DecoderException if the payload has an unknown version or is malformed
+     */
+    public static List<MachineRecipe> decode(byte[] data) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(data));
+        int version = buf.readVarInt();
+        if (version != VERSION) {
+            throw new DecoderException("Unsupported machine recipe format " + version + ", expected " + VERSION);
+        }
+
+        String[] namespaces = new String[buf.readVarInt()];
+        for (int i = 0; i < namespaces.length; i++) {
+            namespaces[i] = buf.readUtf();
+        }
+
+        int count = buf.readVarInt();
+        List<MachineRecipe> recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int namespace = buf.readVarInt();
+            if (namespace < 0 || namespace >= namespaces.length) {
+                throw new DecoderException("Bad namespace index " + namespace);
+            }
+            ResourceLocation id = new ResourceLocation(namespaces[namespace], buf.readUtf());
+            recipes.add(readBody(id, buf));
+        }
+        return recipes;
+    }
+
+    /**
+     * Writes everything of a recipe except its id.
+     *
+     * @param buf Target buffer
+     * @param recipe The recipe
+     */
+    public static void writeBody(FriendlyByteBuf buf, MachineRecipe recipe) {
+        NonNullList<Ingredient> inputs = recipe.getInputs();
+        buf.writeVarInt(countRuns(inputs.size(), (a, b) -> recipe.getInputCount(a) == recipe.getInputCount(b)
+            && sameIngredient(inputs.get(a), inputs.get(b))));
+        for (int start = 0; start < inputs.size(); ) {
+            int end = start + 1;
+            while (end < inputs.size() && recipe.getInputCount(end) == recipe.getInputCount(start)
+                && sameIngredient(inputs.get(end), inputs.get(start))) {
+                end++;
+            }
+            buf.writeVarInt(end - start);
+            writeIngredient(buf, inputs.get(start));
+            buf.writeVarInt(recipe.getInputCount(start));
+            start = end;
+        }
+
+        NonNullList<ItemStack> outputs = recipe.getOutputs();
+        buf.writeVarInt(countRuns(outputs.size(), (a, b) -> ItemStack.matches(outputs.get(a), outputs.get(b))));
+        for (int start = 0; start < outputs.size(); ) {
+            int end = start + 1;
+            while (end < outputs.size() && ItemStack.matches(outputs.get(end), outputs.get(start))) {
+                end++;
+            }
+            buf.writeVarInt(end - start);
+            buf.writeItem(outputs.get(start));
+            start = end;
+        }
+
+        buf.writeVarInt(recipe.getProcessTime());
+        buf.writeVarInt(recipe.getEnergyRequired());
+    }
+
+    /**
+     * Reads a recipe written by {@link #writeBody(FriendlyByteBuf, MachineRecipe)}.
+     *
+     * @param id Recipe id
+     * @param buf Source buffer
+     * @return The recipe
+     */
+    public static MachineRecipe readBody(ResourceLocation id, FriendlyByteBuf buf) {
+        NonNullList<Ingredient> inputs = NonNullList.create();
+        List<Integer> counts = new ArrayList<>();
+        int inputRuns = buf.readVarInt();
+        for (int run = 0; run < inputRuns; run++) {
+            int repeat = buf.readVarInt();
+            Ingredient ingredient = readIngredient(buf);
+            int count = buf.readVarInt();
+            if (inputs.size() + repeat > MachineRecipe.MAX_INPUTS) {
+                throw new DecoderException("Too many inputs in machine recipe " + id);
+            }
+            for (int i = 0; i < repeat; i++) {
+                inputs.add(ingredient);
+                counts.add(count);
+            }
+        }
+
+        NonNullList<ItemStack> outputs = NonNullList.create();
+        int outputRuns = buf.readVarInt();
+        for (int run = 0; run < outputRuns; run++) {
+            int repeat = buf.readVarInt();
+            ItemStack output = buf.readItem();
+            for (int i = 0; i < repeat; i++) {
+                outputs.add(output.copy());
+            }
+        }
+
+        int processTime = buf.readVarInt();
+        int energyRequired = buf.readVarInt();
+        int[] inputCounts = counts.stream().mapToInt(Integer::intValue).toArray();
+        return new MachineRecipe(id, inputs, inputCounts, outputs, processTime, energyRequired);
+    }
+
+    private static void writeIngredient(FriendlyByteBuf buf, Ingredient ingredient) {
+        if (!ingredient.isSimple()) {
+            buf.writeVarInt(INGREDIENT_VANILLA);
+            ingredient.toNetwork(buf);
+            return;
+        }
+        ItemStack[] items = ingredient.getItems();
+        buf.writeVarInt(INGREDIENT_ITEMS);
+        buf.writeVarInt(items.length);
+        for (ItemStack stack : items) {
+            buf.writeVarInt(BuiltInRegistries.ITEM.getId(stack.getItem()));
+        }
+    }
+
+    private static Ingredient readIngredient(FriendlyByteBuf buf) {
+        int kind = buf.readVarInt();
+        if (kind == INGREDIENT_VANILLA) {
+            return Ingredient.fromNetwork(buf);
+        }
+        if (kind != INGREDIENT_ITEMS) {
+            throw new DecoderException("Unknown ingredient encoding " + kind);
+        }
+        ItemStack[] items = new ItemStack[buf.readVarInt()];
+        for (int i = 0; i < items.length; i++) {
+            Item item = BuiltInRegistries.ITEM.byId(buf.readVarInt());
+            items[i] = new ItemStack(item);
+        }
+        return Ingredient.of(items);
+    }
+
+    private static boolean sameIngredient(Ingredient a, Ingredient b) {
+        if (a == b) {
+            return true;
+        }
+        if (!a.isSimple() || !b.isSimple()) {
+            return false;
+        }
+        ItemStack[] itemsA = a.getItems();
+        ItemStack[] itemsB = b.getItems();
+        if (itemsA.length != itemsB.length) {
+            return false;
+        }
+        for (int i = 0; i < itemsA.length; i++) {
+            if (itemsA[i].getItem() != itemsB[i].getItem()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countRuns(int size, IndexPredicate same) {
+        int runs = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || !same.test(i - 1, i)) {
+                runs++;
+            }
+        }
+        return runs;
+    }
+
+    @FunctionalInterface
+    private interface IndexPredicate {
+        boolean test(int a, int b);
+    }
+}
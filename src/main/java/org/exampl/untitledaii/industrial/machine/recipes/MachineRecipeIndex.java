@@ -0,0 +1,176 @@
+package org.exampl.untitledaii.industrial.machine.recipes;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lookup index over machine recipes, keyed on the multiset of input items.
+ *
+ * <p>Each recipe is expanded into every combination of items its inputs accept; the sorted item
+ * registry ids of a combination form its key. A lookup sorts the ids of the non-empty input stacks
+ * and only tests the recipes under that key, so the cost does not grow with the number of recipes.
+ * Recipes that cannot be enumerated (NBT-sensitive inputs, or more than
+ * {@link #MAX_KEYS_PER_RECIPE} combinations) are kept aside and tested on every lookup.</p>
+ *
+ * <p>The index captures tag contents when built and must be rebuilt when
+ * {@link IngredientMatcher#getCompileGeneration()} changes.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public final class MachineRecipeIndex {
+
+    /**
+     * Maximum number of input combinations a recipe is expanded into.
+     */
+    public static final int MAX_KEYS_PER_RECIPE = 4096;
+
+    private final Object2ObjectOpenHashMap<IntArrayList, List<MachineRecipe>> byInputs;
+    private final List<MachineRecipe> unindexed;
+    private final int generation;
+
+    private MachineRecipeIndex(int generation) {
+        this.byInputs = new Object2ObjectOpenHashMap<>();
+        this.unindexed = new ArrayList<>();
+        this.generation = generation;
+    }
+
+    /**
+     * Builds an index over a set of recipes using the current tag contents.
+     *
+     * @param recipes Recipes to index
+     * @return The index
+     */
+    public static MachineRecipeIndex build(Collection<MachineRecipe> recipes) {
+        MachineRecipeIndex index = new MachineRecipeIndex(IngredientMatcher.getCompileGeneration());
+        for (MachineRecipe recipe : recipes) {
+            index.add(recipe);
+        }
+        return index;
+    }
+
+    private void add(MachineRecipe recipe) {
+        IngredientMatcher[] matchers = recipe.getMatchers();
+        int[][] options = new int[matchers.length][];
+        long combinations = 1;
+        for (int i = 0; i < matchers.length; i++) {
+            options[i] = matchers[i].getItemIds();
+            if (options[i] == null || options[i].length == 0) {
+                unindexed.add(recipe);
+                return;
+            }
+            combinations *= options[i].length;
+            if (combinations > MAX_KEYS_PER_RECIPE) {
+                unindexed.add(recipe);
+                return;
+            }
+        }
+        if (matchers.length == 0) {
+            unindexed.add(recipe);
+            return;
+        }
+
+        // Walk every combination like an odometer over the option lists
+        int[] choice = new int[matchers.length];
+        while (true) {
+            IntArrayList key = new IntArrayList(matchers.length);
+            for (int i = 0; i < matchers.length; i++) {
+                key.add(options[i][choice[i]]);
+            }
+            key.sort(null);
+            List<MachineRecipe> bucket = byInputs.computeIfAbsent(key, k -> new ArrayList<>(1));
+            if (bucket.isEmpty() || bucket.get(bucket.size() - 1) != recipe) {
+                bucket.add(recipe);
+            }
+
+            int digit = 0;
+            while (digit < choice.length && ++choice[digit] == options[digit].length) {
+                choice[digit++] = 0;
+            }
+            if (digit == choice.length) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the index was built against the current tag contents.
+     *
+     * @return true if the index is up to date
+     */
+    public boolean isCurrent() {
+        return generation == IngredientMatcher.getCompileGeneration();
+    }
+
+    /**
+     * Finds the single-input recipe for an input stack.
+     *
+     * @param stack Input stack
+     * @return Matching recipe or null
+     */
+    @Nullable
+    public MachineRecipe find(ItemStack stack) {
+        if (stack.isEmpty()) {
+            return null;
+        }
+        IntArrayList key = IntArrayList.of(BuiltInRegistries.ITEM.getId(stack.getItem()));
+        for (MachineRecipe recipe : byInputs.getOrDefault(key, List.of())) {
+            if (recipe.matches(stack)) {
+                return recipe;
+            }
+        }
+        for (MachineRecipe recipe : unindexed) {
+            if (recipe.matches(stack)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the recipe whose inputs match the given slots in any order.
+     *
+     * @param slots Input slot contents
+     * @return Matching recipe or null; use {@link MachineRecipe#matchShapeless(List)} for the slot
+     *         assignment
+     */
+    @Nullable
+    public MachineRecipe findShapeless(List<ItemStack> slots) {
+        IntArrayList key = new IntArrayList(slots.size());
+        for (ItemStack stack : slots) {
+            if (!stack.isEmpty()) {
+                key.add(BuiltInRegistries.ITEM.getId(stack.getItem()));
+            }
+        }
+        if (key.isEmpty()) {
+            return null;
+        }
+        key.sort(null);
+        for (MachineRecipe recipe : byInputs.getOrDefault(key, List.of())) {
+            if (recipe.matchShapeless(slots) != null) {
+                return recipe;
+            }
+        }
+        for (MachineRecipe recipe : unindexed) {
+            if (recipe.matchShapeless(slots) != null) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    public int getIndexedKeyCount() {
+        return byInputs.size();
+    }
+
+    public int getUnindexedCount() {
+        return unindexed.size();
+    }
+}
@@ -0,0 +1,121 @@
+package org.exampl.untitledaii.industrial.machine.recipes;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.common.crafting.CraftingHelper;
+import net.minecraftforge.common.crafting.conditions.ICondition;
+import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Loads machine recipes from {@code data/<namespace>/machine_recipes/*.json}.
+ *
+ * <p>Reading, parsing and validating every file happens in the prepare stage on the reload
+ * executor, so {@code /reload} does not stall the server thread on large packs. The apply stage on
+ * the server thread only evaluates load conditions (which may depend on tags that are not available
+ * earlier), reports problems and swaps the result into {@link MachineRecipes}, which then builds
+ * the lookup index in the background.</p>
+ *
+ * <p>A rejected recipe is reported once with every problem found in it, e.g.
+ * {@code untitledaii:crush_tin_ore: outputs[0].item: unknown item 'forge:tin_ingot'}.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public class MachineRecipeLoader extends SimplePreparableReloadListener<MachineRecipeLoader.Prepared> {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder().create();
+
+    public static final String DIRECTORY = "machine_recipes";
+
+    private final ICondition.IContext conditionContext;
+
+    public MachineRecipeLoader(ICondition.IContext conditionContext) {
+        this.conditionContext = conditionContext;
+    }
+
+    @Override
+    protected Prepared prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+        Map<ResourceLocation, JsonElement> files = new TreeMap<>();
+        SimpleJsonResourceReloadListener.scanDirectory(resourceManager, DIRECTORY, GSON, files);
+
+        List<Loaded> recipes = new ArrayList<>(files.size());
+        List<String> errors = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<ResourceLocation, JsonElement> file : files.entrySet()) {
+            ResourceLocation id = file.getKey();
+            if (!file.getValue().isJsonObject()) {
+                errors.add(id + ": expected a JSON object");
+                continue;
+            }
+            JsonObject json = file.getValue().getAsJsonObject();
+            problems.clear();
+            MachineRecipe recipe;
+            try {
+                recipe = MachineRecipeParser.parse(id, json, problems);
+            } catch (RuntimeException e) {
+                problems.add(e.toString());
+                recipe = null;
+            }
+            if (recipe == null) {
+                errors.add(id + ": " + String.join("; ", problems));
+            } else {
+                recipes.add(new Loaded(recipe, json));
+            }
+        }
+        return new Prepared(recipes, errors);
+    }
+
+    @Override
+    protected void apply(Prepared prepared, ResourceManager resourceManager, ProfilerFiller profiler) {
+        List<MachineRecipe> recipes = new ArrayList<>(prepared.recipes().size());
+        for (Loaded loaded : prepared.recipes()) {
+            if (CraftingHelper.processConditions(loaded.json(), "conditions", conditionContext)) {
+                recipes.add(loaded.recipe());
+            }
+        }
+        for (String error : prepared.errors()) {
+            LOGGER.error("Rejected machine recipe {}", error);
+        }
+        LOGGER.info("Loaded {} machine recipes ({} rejected)", recipes.size(), prepared.errors().size());
+        MachineRecipes.replace(false, recipes);
+    }
+
+    @SubscribeEvent
+    public static void onAddReloadListeners(AddReloadListenerEvent event) {
+        event.addListener(new MachineRecipeLoader(event.getConditionContext()));
+    }
+
+    /**
+     * A parsed recipe with its JSON, kept for the condition check in the apply stage.
+     */
+    record Loaded(MachineRecipe recipe, JsonObject json) {
+    }
+
+    /**
+     * Result of the prepare stage.
+     *
+     * @param recipes Recipes that parsed and validated
+     * @param errors One entry per rejected recipe
+     */
+    record Prepared(List<Loaded> recipes, List<String> errors) {
+    }
+}
@@ -0,0 +1,155 @@
+package org.exampl.untitledaii.industrial.machine.recipes;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.core.NonNullList;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Parses and validates machine recipe JSON.
+ *
+ * <p>Validation:</p>
+ * <ul>
+ *   <li>Between 1 and {@link MachineRecipe#MAX_INPUTS} inputs, each a valid ingredient</li>
+ *   <li>Input and output counts are positive and outputs fit in one stack</li>
+ *   <li>Output items exist in the item registry</li>
+ *   <li>{@code process_time} is positive and {@code energy_required} is not negative; the energy
+ *       need not divide evenly, machines spread the remainder over the ticks</li>
+ * </ul>
+ *
+ * <p>Every problem is reported as {@code field: reason}, e.g.
+ * {@code outputs[1].item: unknown item 'minecraft:iron_nugget2'}, and all problems of a recipe are
+ * collected rather than stopping at the first. Parsing only reads frozen registries, so it is safe
+ * to run on a worker thread.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public final class MachineRecipeParser {
+
+    public static final int DEFAULT_PROCESS_TIME = 100;
+    public static final int DEFAULT_ENERGY_REQUIRED = 500;
+
+    private MachineRecipeParser() {
+    }
+
+    /**
+     * Parses a recipe.
+     *
+     * @param id Recipe id
+     * @param json Recipe JSON
+     * @param problems Receives a description of every problem found
+     * @return The recipe, or null if any problem was found
+     */
+    @Nullable
+    public static MachineRecipe parse(ResourceLocation id, JsonObject json, List<String> problems) {
+        int problemCount = problems.size();
+
+        // Parse inputs
+        NonNullList<Ingredient> inputs = NonNullList.create();
+        int[] inputCounts = new int[0];
+        if (!json.has("inputs") || !json.get("inputs").isJsonArray()) {
+            problems.add("inputs: missing or not an array");
+        } else {
+            var inputsArray = json.getAsJsonArray("inputs");
+            if (inputsArray.isEmpty() || inputsArray.size() > MachineRecipe.MAX_INPUTS) {
+                problems.add("inputs: expected 1 to " + MachineRecipe.MAX_INPUTS + " entries, got "
+                    + inputsArray.size());
+            }
+            inputCounts = new int[inputsArray.size()];
+            for (int i = 0; i < inputsArray.size(); i++) {
+                String field = "inputs[" + i + "]";
+                JsonElement input = inputsArray.get(i);
+                try {
+                    inputs.add(Ingredient.fromJson(input));
+                } catch (RuntimeException e) {
+                    problems.add(field + ": " + e.getMessage());
+                    inputs.add(Ingredient.EMPTY);
+                }
+                inputCounts[i] = readCount(input, field, problems);
+            }
+        }
+
+        // Parse outputs
+        NonNullList<ItemStack> outputs = NonNullList.create();
+        if (!json.has("outputs") || !json.get("outputs").isJsonArray()) {
+            problems.add("outputs: missing or not an array");
+        } else {
+            var outputsArray = json.getAsJsonArray("outputs");
+            if (outputsArray.isEmpty()) {
+                problems.add("outputs: expected at least 1 entry");
+            }
+            for (int i = 0; i < outputsArray.size(); i++) {
+                String field = "outputs[" + i + "]";
+                JsonElement output = outputsArray.get(i);
+                if (!output.isJsonObject() || !GsonHelper.isStringValue(output.getAsJsonObject(), "item")) {
+                    problems.add(field + ".item: missing or not a string");
+                    continue;
+                }
+                String itemId = output.getAsJsonObject().get("item").getAsString();
+                ResourceLocation itemKey = ResourceLocation.tryParse(itemId);
+                Item item = itemKey != null ? ForgeRegistries.ITEMS.getValue(itemKey) : null;
+                if (item == null || !ForgeRegistries.ITEMS.containsKey(itemKey)) {
+                    problems.add(field + ".item: unknown item '" + itemId + "'");
+                    continue;
+                }
+                int count = readCount(output, field, problems);
+                if (count > item.getMaxStackSize()) {
+                    problems.add(field + ".count: " + count + " exceeds the stack size of " + itemId
+                        + " (" + item.getMaxStackSize() + ")");
+                }
+                outputs.add(new ItemStack(item, count));
+            }
+        }
+
+        // Parse process time and energy
+        int processTime = readInt(json, "process_time", DEFAULT_PROCESS_TIME, problems);
+        int energyRequired = readInt(json, "energy_required", DEFAULT_ENERGY_REQUIRED, problems);
+        if (processTime <= 0) {
+            problems.add("process_time: must be positive, got " + processTime);
+        }
+        if (energyRequired < 0) {
+            problems.add("energy_required: must not be negative, got " + energyRequired);
+        }
+
+        if (problems.size() != problemCount) {
+            return null;
+        }
+        return new MachineRecipe(id, inputs, inputCounts, outputs, processTime, energyRequired);
+    }
+
+    private static int readCount(JsonElement element, String field, List<String> problems) {
+        if (!element.isJsonObject() || !element.getAsJsonObject().has("count")) {
+            return 1;
+        }
+        int count = readInt(element.getAsJsonObject(), "count", 1, field + ".", problems);
+        if (count <= 0) {
+            problems.add(field + ".count: must be positive, got " + count);
+        }
+        return count;
+    }
+
+    private static int readInt(JsonObject json, String key, int fallback, List<String> problems) {
+        return readInt(json, key, fallback, "", problems);
+    }
+
+    private static int readInt(JsonObject json, String key, int fallback, String prefix, List<String> problems) {
+        if (!json.has(key)) {
+            return fallback;
+        }
+        JsonElement value = json.get(key);
+        if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isNumber()) {
+            problems.add(prefix + key + ": expected a number, got " + value);
+            return fallback;
+        }
+        return value.getAsInt();
+    }
+}
@@ -0,0 +1,86 @@
+package org.exampl.untitledaii.industrial.machine.recipes;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.OnDatapackSyncEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.network.NetworkEvent;
+import org.exampl.untitledaii.Untitledaii;
+import org.exampl.untitledaii.network.ModNetwork;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Server to client: every machine recipe, encoded with {@link MachineRecipeCodec}.
+ *
+ * <p>Sent on login and after {@code /reload}. The payload is encoded once per recipe snapshot and
+ * shared by every receiving player; its size is logged when encoded so the login cost of machine
+ * recipes can be tracked per recipe type.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public class MachineRecipeSyncPacket {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static List<MachineRecipe> encodedRecipes;
+    private static MachineRecipeSyncPacket encodedPacket;
+
+    private final byte[] payload;
+
+    public MachineRecipeSyncPacket(byte[] payload) {
+        this.payload = payload;
+    }
+
+    public MachineRecipeSyncPacket(FriendlyByteBuf buf) {
+        this.payload = buf.readByteArray();
+    }
+
+    /**
+     * Gets the packet for the server's current recipes, encoding it if the recipes changed.
+     *
+     * @return The sync packet
+     */
+    public static synchronized MachineRecipeSyncPacket forServerRecipes() {
+        List<MachineRecipe> recipes = MachineRecipes.get(false).recipes();
+        if (encodedPacket == null || encodedRecipes != recipes) {
+            byte[] payload = MachineRecipeCodec.encode(recipes);
+            encodedRecipes = recipes;
+            encodedPacket = new MachineRecipeSyncPacket(payload);
+            LOGGER.info("Recipe sync size for {}: {} recipes in {} bytes ({} bytes/recipe, format v{})",
+                MachineRecipeType.TYPE_ID, recipes.size(), payload.length,
+                recipes.isEmpty() ? 0 : payload.length / recipes.size(), MachineRecipeCodec.VERSION);
+        }
+        return encodedPacket;
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeByteArray(payload);
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        try {
+            MachineRecipes.replace(true, MachineRecipeCodec.decode(payload));
+        } catch (RuntimeException e) {
+            // Keep whatever recipes the client had rather than half of a misread set
+            LOGGER.error("Failed to read machine recipes from server", e);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        MachineRecipeSyncPacket packet = forServerRecipes();
+        ServerPlayer player = event.getPlayer();
+        if (player != null) {
+            ModNetwork.sendTo(packet, player);
+        } else {
+            ModNetwork.sendTo(packet, event.getPlayerList().getPlayers());
+        }
+    }
+}
@@ -6,9 +6,6 @@ import net.minecraft.core.NonNullList;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.crafting.Ingredient;
-import net.minecraft.world.item.crafting.Recipe;
-import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
@@ -19,9 +16,16 @@ import org.exampl.untitledaii.Untitledaii;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Recipe type for machine recipes.
  *
+ * <p>Machine recipes are loaded by {@link MachineRecipeLoader} from their own data directory rather
+ * than through the vanilla recipe manager, and looked up through {@link MachineRecipes}. The
+ * serializer methods remain for recipes that are nonetheless placed in {@code recipes/}.</p>
+ *
  * @author AVA Industrial Team
  * @since 1.0.0
  */
@@ -49,47 +53,18 @@ public class MachineRecipeType implements RecipeType<MachineRecipe>, RecipeSeria
     @Nullable
     @Override
     public MachineRecipe fromJson(ResourceLocation id, JsonObject json) {
-        try {
-            // Parse inputs
-            var inputsArray = json.getAsJsonArray("inputs");
-            NonNullList<Ingredient> inputs = NonNullList.withSize(inputsArray.size(), Ingredient.EMPTY);
-            for (int i = 0; i < inputsArray.size(); i++) {
-                inputs.set(i, Ingredient.fromJson(inputsArray.get(i)));
-            }
-
-            // Parse outputs
-            var outputsArray = json.getAsJsonArray("outputs");
-            NonNullList<ItemStack> outputs = NonNullList.withSize(outputsArray.size(), ItemStack.EMPTY);
-            for (int i = 0; i < outputsArray.size(); i++) {
-                JsonObject outputObj = outputsArray.get(i).getAsJsonObject();
-                String itemId = outputObj.get("item").getAsString();
-                int count = outputObj.has("count") ? outputObj.get("count").getAsInt() : 1;
-                outputs.set(i, new ItemStack(net.minecraftforge.registries.ForgeRegistries.ITEMS
-                    .getValue(ResourceLocation.parse(itemId)), count));
-            }
-
-            // Parse process time
-            int processTime = json.has("process_time")
-                ? json.get("process_time").getAsInt()
-                : 100;
-
-            // Parse energy required
-            int energyRequired = json.has("energy_required")
-                ? json.get("energy_required").getAsInt()
-                : 500;
-
-            return new MachineRecipe(id, inputs, outputs, processTime, energyRequired);
-
-        } catch (Exception e) {
-            LOGGER.error("Failed to load machine recipe {}: {}", id, e.getMessage());
-            return null;
+        List<String> problems = new ArrayList<>();
+        MachineRecipe recipe = MachineRecipeParser.parse(id, json, problems);
+        if (recipe == null) {
+            LOGGER.error("Rejected machine recipe {}: {}", id, String.join("; ", problems));
         }
+        return recipe;
     }
 
     @Nullable
     @Override
     public MachineRecipe fromNetwork(ResourceLocation id, FriendlyByteBuf buffer) {
-        return MachineRecipe.fromNetwork(buffer);
+        return MachineRecipe.fromNetwork(id, buffer);
     }
 
     @Override
@@ -106,12 +81,7 @@ public class MachineRecipeType implements RecipeType<MachineRecipe>, RecipeSeria
      */
     @Nullable
     public static MachineRecipe findRecipe(Level level, ItemStack input) {
-        RecipeManager recipeManager = level.getRecipeManager();
-        RecipeType<MachineRecipe> type = (RecipeType<MachineRecipe>) RECIPE_TYPE.get();
-        return recipeManager.getAllRecipesFor(type).stream()
-            .filter(recipe -> recipe.matches(input))
-            .findFirst()
-            .orElse(null);
+        return MachineRecipes.get(level).find(input);
     }
 
     /**
@@ -123,11 +93,21 @@ public class MachineRecipeType implements RecipeType<MachineRecipe>, RecipeSeria
      */
     @Nullable
     public static MachineRecipe findRecipe(Level level, NonNullList<ItemStack> inputs) {
-        RecipeManager recipeManager = level.getRecipeManager();
-        RecipeType<MachineRecipe> type = (RecipeType<MachineRecipe>) RECIPE_TYPE.get();
-        return recipeManager.getAllRecipesFor(type).stream()
+        return MachineRecipes.get(level).recipes().stream()
             .filter(recipe -> recipe.matches(inputs))
             .findFirst()
             .orElse(null);
     }
+
+    /**
+     * Finds a recipe whose inputs match the given slots in any order.
+     *
+     * @param level The level to search in
+     * @param slots The input slot contents
+     * @return Matching recipe or null
+     */
+    @Nullable
+    public static MachineRecipe findShapelessRecipe(Level level, List<ItemStack> slots) {
+        return MachineRecipes.get(level).findShapeless(slots);
+    }
 }
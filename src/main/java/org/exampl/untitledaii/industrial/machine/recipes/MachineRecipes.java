@@ -0,0 +1,167 @@
+package org.exampl.untitledaii.industrial.machine.recipes;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.Util;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The loaded machine recipes of the server and of the client.
+ *
+ * <p>Each side holds an immutable {@link Snapshot} that is replaced atomically: on the server by
+ * {@link MachineRecipeLoader} after a (re)load, on the client when recipes are synced. The
+ * {@link MachineRecipeIndex} of a snapshot needs bound tags, so it is built on the background
+ * executor once tags are available and swapped in when done; until then lookups fall back to
+ * testing every recipe, which is slower but always correct.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public final class MachineRecipes {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final AtomicReference<Snapshot> SERVER = new AtomicReference<>(Snapshot.EMPTY);
+    private static final AtomicReference<Snapshot> CLIENT = new AtomicReference<>(Snapshot.EMPTY);
+
+    private MachineRecipes() {
+    }
+
+    /**
+     * Gets the recipes of a level's side.
+     *
+     * @param level The level
+     * @return Current recipe snapshot
+     */
+    public static Snapshot get(Level level) {
+        return get(level.isClientSide);
+    }
+
+    public static Snapshot get(boolean clientSide) {
+        return (clientSide ? CLIENT : SERVER).get();
+    }
+
+    /**
+     * Replaces the recipes of a side and starts building their index.
+     *
+     * @param clientSide true to replace the client's recipes
+     * @param recipes The new recipes
+     */
+    public static void replace(boolean clientSide, Collection<MachineRecipe> recipes) {
+        Map<ResourceLocation, MachineRecipe> byId = new LinkedHashMap<>();
+        for (MachineRecipe recipe : recipes) {
+            byId.put(recipe.getId(), recipe);
+        }
+        AtomicReference<Snapshot> side = clientSide ? CLIENT : SERVER;
+        Snapshot snapshot = new Snapshot(List.copyOf(byId.values()), Map.copyOf(byId), null);
+        side.set(snapshot);
+        buildIndex(side);
+    }
+
+    private static void buildIndex(AtomicReference<Snapshot> side) {
+        Snapshot snapshot = side.get();
+        if (snapshot.recipes().isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        CompletableFuture.supplyAsync(() -> MachineRecipeIndex.build(snapshot.recipes()), Util.backgroundExecutor())
+            .thenAccept(index -> {
+                // Recipes may have been replaced meanwhile; only attach the index to the set it was built for
+                Snapshot updated = side.updateAndGet(current -> current.recipes() == snapshot.recipes()
+                    && (current.index() == null || !current.index().isCurrent())
+                    ? current.withIndex(index) : current);
+                if (updated.index() == index) {
+                    LOGGER.debug("Indexed {} machine recipes under {} keys ({} unindexed) in {} ms",
+                        snapshot.recipes().size(), index.getIndexedKeyCount(), index.getUnindexedCount(),
+                        (System.nanoTime() - start) / 1_000_000);
+                }
+            })
+            .exceptionally(e -> {
+                LOGGER.error("Failed to index machine recipes", e);
+                return null;
+            });
+    }
+
+    // After IngredientMatcher has bumped the compile generation
+    @SubscribeEvent(priority = EventPriority.LOW)
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        buildIndex(SERVER);
+        buildIndex(CLIENT);
+    }
+
+    /**
+     * An immutable set of machine recipes with an optional lookup index.
+     *
+     * @param recipes Recipes in load order
+     * @param byId Recipes by id
+     * @param index Lookup index, or null while it is being built
+     */
+    public record Snapshot(List<MachineRecipe> recipes, Map<ResourceLocation, MachineRecipe> byId,
+                           @Nullable MachineRecipeIndex index) {
+
+        public static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), null);
+
+        Snapshot withIndex(MachineRecipeIndex index) {
+            return new Snapshot(recipes, byId, index);
+        }
+
+        @Nullable
+        public MachineRecipe get(ResourceLocation id) {
+            return byId.get(id);
+        }
+
+        /**
+         * Finds the single-input recipe for an input stack, with or without the index.
+         *
+         * @param stack Input stack
+         * @return Matching recipe or null
+         */
+        @Nullable
+        public MachineRecipe find(ItemStack stack) {
+            if (index != null && index.isCurrent()) {
+                return index.find(stack);
+            }
+            for (MachineRecipe recipe : recipes) {
+                if (recipe.matches(stack)) {
+                    return recipe;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Finds the recipe whose inputs match the given slots in any order.
+         *
+         * @param slots Input slot contents
+         * @return Matching recipe or null
+         */
+        @Nullable
+        public MachineRecipe findShapeless(List<ItemStack> slots) {
+            if (index != null && index.isCurrent()) {
+                return index.findShapeless(slots);
+            }
+            for (MachineRecipe recipe : recipes) {
+                if (recipe.matchShapeless(slots) != null) {
+                    return recipe;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.context.BlockPlaceContext;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.StateDefinition;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import net.minecraftforge.common.capabilities.Capability;
+import org.exampl.untitledaii.industrial.transport.NetworkGraph;
+import org.exampl.untitledaii.industrial.transport.NetworkManager;
+
+/**
+ * Base block for pipes and cables that form a transport network.
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>Connects to conduits of the same {@link IPipe.PipeType} and to blocks exposing the
+ *       network's capability on the facing side</li>
+ *   <li>Connected sides stored as {@link PipeConnections} properties, kept current in
+ *       {@link #updateShape}, with a precomputed shape per connection mask</li>
+ *   <li>Registers with the level's graph for its type when placed and unregisters when broken;
+ *       neighbor changes only rescan the endpoints of this conduit</li>
+ * </ul>
+ *
+ * <p>Subclasses supply the network type and capability, and register that type with
+ * {@link NetworkManager#registerType} in a static initializer.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public abstract class ConduitBlock extends Block {
+
+    private final VoxelShape[] shapes;
+
+    /**
+     * Creates a conduit block.
+     *
+     * @param properties Block properties
+     * @param shapes Shapes indexed by connection mask, see {@link PipeConnections#createShapes}
+     */
+    protected ConduitBlock(Properties properties, VoxelShape[] shapes) {
+        super(properties);
+        this.shapes = shapes;
+        registerDefaultState(PipeConnections.disconnected(stateDefinition.any()));
+        PipeConnections.cacheMasks(stateDefinition);
+    }
+
+    /**
+     * Gets the type of network this conduit belongs to.
+     *
+     * @return Network type
+     */
+    public abstract IPipe.PipeType getPipeType();
+
+    /**
+     * Gets the capability of the blocks this conduit connects to.
+     *
+     * @return Endpoint capability
+     */
+    protected abstract Capability<?> getEndpointCapability();
+
+    @Override
+    protected void createBlockStateDefinition(StateDefinition.Builder<Block, BlockState> builder) {
+        PipeConnections.addProperties(builder);
+    }
+
+    @Override
+    public BlockState getStateForPlacement(BlockPlaceContext context) {
+        BlockState state = defaultBlockState();
+        for (Direction direction : Direction.values()) {
+            state = state.setValue(PipeConnections.getProperty(direction),
+                connectsTo(context.getLevel(), context.getClickedPos(), direction));
+        }
+        return state;
+    }
+
+    @Override
+    public BlockState updateShape(BlockState state, Direction direction, BlockState neighborState,
+                                  LevelAccessor level, BlockPos pos, BlockPos neighborPos) {
+        return state.setValue(PipeConnections.getProperty(direction), connectsTo(level, pos, direction));
+    }
+
+    /**
+     * Checks whether this conduit connects to its neighbor on a side.
+     *
+     * @param level The level
+     * @param pos Conduit position
+     * @param direction The side
+     * @return True for conduits of the same type and blocks exposing the matching capability on that side
+     */
+    protected boolean connectsTo(BlockGetter level, BlockPos pos, Direction direction) {
+        BlockPos neighborPos = pos.relative(direction);
+        if (level.getBlockState(neighborPos).getBlock() instanceof ConduitBlock conduit
+            && conduit.getPipeType() == getPipeType()) {
+            return true;
+        }
+        BlockEntity neighbor = level.getBlockEntity(neighborPos);
+        return neighbor != null
+            && neighbor.getCapability(getEndpointCapability(), direction.getOpposite()).isPresent();
+    }
+
+    @Override
+    public VoxelShape getShape(BlockState state, BlockGetter level, BlockPos pos, CollisionContext context) {
+        return shapes[PipeConnections.getMask(state)];
+    }
+
+    /**
+     * Adds a newly placed conduit to its graph.
+     *
+     * @param level The level
+     * @param pos Conduit position
+     */
+    protected void addNode(ServerLevel level, BlockPos pos) {
+        getNetworkGraph(level).addNode(level, pos);
+    }
+
+    private NetworkGraph<?> getNetworkGraph(ServerLevel level) {
+        return NetworkManager.get(level).getGraph(getPipeType());
+    }
+
+    @Override
+    public void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean isMoving) {
+        super.onPlace(state, level, pos, oldState, isMoving);
+        if (!(level instanceof ServerLevel serverLevel)) {
+            return;
+        }
+        if (!oldState.is(this)) {
+            addNode(serverLevel, pos);
+            level.updateNeighborsAt(pos, this);
+        } else if (PipeConnections.getMask(oldState) != PipeConnections.getMask(state)) {
+            // Shape updates run after neighbor updates, so rescan once the new mask is in place
+            getNetworkGraph(serverLevel).refreshEndpoints(serverLevel, pos);
+        }
+    }
+
+    @Override
+    public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
+        if (!state.is(newState.getBlock()) && level instanceof ServerLevel serverLevel) {
+            getNetworkGraph(serverLevel).removeNode(pos);
+        }
+        super.onRemove(state, level, pos, newState, isMoving);
+    }
+
+    @Override
+    public void neighborChanged(BlockState state, Level level, BlockPos pos, Block block, BlockPos fromPos, boolean isMoving) {
+        super.neighborChanged(state, level, pos, block, fromPos, isMoving);
+        // Conduits joining or leaving are handled by the graph; only attached blocks need a rescan
+        if (level instanceof ServerLevel serverLevel && !fromPos.equals(pos)) {
+            getNetworkGraph(serverLevel).refreshEndpoints(serverLevel, pos);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.fluids.capability.templates.FluidTank;
+import org.exampl.untitledaii.industrial.transport.TransportNetwork;
+import org.slf4j.Logger;
+
+/**
+ * A connected segment of fluid pipes sharing one pooled tank.
+ *
+ * <p>Flow solver (once per tick, O(endpoints)):</p>
+ * <ol>
+ *   <li>Pull from endpoints that give fluid but do not accept it back (pumps, drains)</li>
+ *   <li>Ask every endpoint how much it would accept, capped by the throughput of the pipe it is attached to</li>
+ *   <li>If the tank holds enough, every endpoint gets its full demand</li>
+ *   <li>Otherwise the stored fluid is split in proportion to demand</li>
+ * </ol>
+ *
+ * <p>No per-block fluid levels are simulated. When the network is split, each part keeps the fluid in
+ * proportion to its share of the capacity; merged networks pool their fluid.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class FluidPipeNetwork extends TransportNetwork {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private final FluidTank tank;
+
+    public FluidPipeNetwork() {
+        this.tank = new FluidTank(0) {
+            @Override
+            protected void onContentsChanged() {
+                markChanged();
+            }
+        };
+    }
+
+    @Override
+    public IPipe.PipeType getType() {
+        return IPipe.PipeType.FLUID;
+    }
+
+    @Override
+    protected Capability<?> getEndpointCapability() {
+        return ForgeCapabilities.FLUID_HANDLER;
+    }
+
+    @Override
+    protected long getMemberCapacity(BlockState state) {
+        return state.getBlock() instanceof FluidPipeBlock pipe ? pipe.getTier().getCapacity() : 0;
+    }
+
+    @Override
+    protected Endpoint createEndpoint(ServerLevel level, BlockPos memberPos, Direction side) {
+        int throughput = level.getBlockState(memberPos).getBlock() instanceof FluidPipeBlock pipe
+            ? pipe.getTier().getThroughput() : FluidPipeTier.BASIC.getThroughput();
+        return new FluidEndpoint(memberPos, side, throughput);
+    }
+
+    @Override
+    protected void saveEndpoint(Endpoint endpoint, CompoundTag tag) {
+        tag.putInt("Rate", ((FluidEndpoint) endpoint).throughput);
+    }
+
+    @Override
+    protected Endpoint loadEndpoint(long memberPos, Direction side, CompoundTag tag) {
+        return new FluidEndpoint(BlockPos.of(memberPos), side, tag.getInt("Rate"));
+    }
+
+    @Override
+    protected void saveContents(CompoundTag tag) {
+        tank.writeToNBT(tag);
+    }
+
+    @Override
+    protected void loadContents(CompoundTag tag) {
+        tank.readFromNBT(tag);
+    }
+
+    @Override
+    protected void onCapacityChanged() {
+        tank.setCapacity((int) Math.min(Integer.MAX_VALUE, getCapacity()));
+        if (tank.getFluidAmount() > tank.getCapacity()) {
+            tank.getFluid().setAmount(tank.getCapacity());
+        }
+    }
+
+    @Override
+    protected void absorbContents(TransportNetwork other) {
+        if (other instanceof FluidPipeNetwork fluidNetwork) {
+            absorb(fluidNetwork.tank.getFluid());
+            fluidNetwork.tank.setFluid(FluidStack.EMPTY);
+        }
+    }
+
+    @Override
+    protected void moveContents(TransportNetwork target, long movedCapacity, long capacityBefore) {
+        if (target instanceof FluidPipeNetwork fluidNetwork) {
+            FluidStack moved = shareFor(tank.getFluid(), movedCapacity, capacityBefore);
+            if (!moved.isEmpty()) {
+                tank.drain(moved.getAmount(), IFluidHandler.FluidAction.EXECUTE);
+                fluidNetwork.absorb(moved);
+            }
+        }
+    }
+
+    @Override
+    protected void dropContents(long removedCapacity, long capacityBefore) {
+        FluidStack lost = shareFor(tank.getFluid(), removedCapacity, capacityBefore);
+        if (!lost.isEmpty()) {
+            tank.drain(lost.getAmount(), IFluidHandler.FluidAction.EXECUTE);
+        }
+    }
+
+    private void absorb(FluidStack share) {
+        if (share.isEmpty()) {
+            return;
+        }
+        int filled = tank.fill(share, IFluidHandler.FluidAction.EXECUTE);
+        if (filled < share.getAmount()) {
+            LOGGER.debug("Fluid network dropped {} mB of {} while merging", share.getAmount() - filled,
+                share.getFluid());
+        }
+    }
+
+    @Override
+    public void tick(ServerLevel level) {
+        if (endpoints.isEmpty()) {
+            return;
+        }
+
+        // Pass 0: pull from sources
+        for (Endpoint endpoint : endpoints) {
+            if (tank.getSpace() <= 0) {
+                break;
+            }
+            IFluidHandler handler = endpoint.getHandler(level, ForgeCapabilities.FLUID_HANDLER);
+            if (handler != null) {
+                pull(handler, ((FluidEndpoint) endpoint).throughput);
+            }
+        }
+
+        FluidStack stored = tank.getFluid();
+        if (stored.isEmpty()) {
+            return;
+        }
+
+        // Pass 1: collect demand
+        long totalDemand = 0;
+        for (Endpoint endpoint : endpoints) {
+            IFluidHandler handler = endpoint.getHandler(level, ForgeCapabilities.FLUID_HANDLER);
+            int throughput = ((FluidEndpoint) endpoint).throughput;
+            endpoint.demand = handler == null ? 0
+                : handler.fill(new FluidStack(stored, Math.min(stored.getAmount(), throughput)),
+                    IFluidHandler.FluidAction.SIMULATE);
+            totalDemand += endpoint.demand;
+        }
+        if (totalDemand == 0) {
+            return;
+        }
+
+        // Pass 2: satisfy demand fully, or proportionally when the pool is short
+        int available = stored.getAmount();
+        boolean shortage = totalDemand > available;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.demand <= 0 || tank.isEmpty()) {
+                continue;
+            }
+            int share = (int) (shortage ? available * endpoint.demand / totalDemand : endpoint.demand);
+            if (share <= 0) {
+                continue;
+            }
+            IFluidHandler handler = endpoint.getHandler(level, ForgeCapabilities.FLUID_HANDLER);
+            if (handler != null) {
+                int filled = handler.fill(new FluidStack(tank.getFluid(), share), IFluidHandler.FluidAction.EXECUTE);
+                tank.drain(filled, IFluidHandler.FluidAction.EXECUTE);
+            }
+        }
+    }
+
+    private void pull(IFluidHandler source, int throughput) {
+        FluidStack offered = tank.isEmpty()
+            ? source.drain(Math.min(tank.getSpace(), throughput), IFluidHandler.FluidAction.SIMULATE)
+            : source.drain(new FluidStack(tank.getFluid(), Math.min(tank.getSpace(), throughput)),
+                IFluidHandler.FluidAction.SIMULATE);
+        // Handlers that would take the fluid back are consumers or storage, not sources
+        if (offered.isEmpty() || source.fill(offered, IFluidHandler.FluidAction.SIMULATE) > 0) {
+            return;
+        }
+        int accepted = tank.fill(offered, IFluidHandler.FluidAction.SIMULATE);
+        if (accepted > 0) {
+            tank.fill(source.drain(new FluidStack(offered, accepted), IFluidHandler.FluidAction.EXECUTE),
+                IFluidHandler.FluidAction.EXECUTE);
+        }
+    }
+
+    /**
+     * Gets the part of the pooled fluid attributable to a pipe of the given capacity.
+     *
+     * @param pipeCapacity Capacity of the pipe
+     * @return Fluid share
+     */
+    public FluidStack getShare(int pipeCapacity) {
+        return shareFor(tank.getFluid(), pipeCapacity, getCapacity());
+    }
+
+    private static FluidStack shareFor(FluidStack stored, long capacity, long totalCapacity) {
+        if (stored.isEmpty()) {
+            return FluidStack.EMPTY;
+        }
+        int amount = (int) scale(stored.getAmount(), capacity, totalCapacity);
+        return amount > 0 ? new FluidStack(stored, amount) : FluidStack.EMPTY;
+    }
+
+    /**
+     * Gets the pooled tank, for blocks that push into or drain from the network directly.
+     *
+     * @return The network tank
+     */
+    public IFluidHandler getTank() {
+        return tank;
+    }
+
+    public FluidStack getFluid() {
+        return tank.getFluid();
+    }
+
+    public int getTankCapacity() {
+        return tank.getCapacity();
+    }
+
+    /**
+     * A fluid handler attached to the network, limited by the throughput of its pipe.
+     */
+    public static class FluidEndpoint extends Endpoint {
+        private final int throughput;
+
+        public FluidEndpoint(BlockPos memberPos, Direction side, int throughput) {
+            super(memberPos.asLong(), side, memberPos.relative(side));
+            this.throughput = throughput;
+        }
+
+        public int getThroughput() {
+            return throughput;
+        }
+    }
+}
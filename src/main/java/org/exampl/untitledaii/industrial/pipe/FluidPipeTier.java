@@ -0,0 +1,59 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+/**
+ * Capacity and throughput tiers for fluid pipes.
+ *
+ * <p>Capacity is added to the network's pooled tank per pipe block; throughput limits how much
+ * fluid can leave the network per tick through a pipe of this tier.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public enum FluidPipeTier {
+    /**
+     * Basic fluid pipe - 1,000 mB per block, 100 mB/tick per endpoint.
+     */
+    BASIC("basic", 1000, 100),
+
+    /**
+     * Advanced fluid pipe - 4,000 mB per block, 500 mB/tick per endpoint.
+     */
+    ADVANCED("advanced", 4000, 500),
+
+    /**
+     * Elite fluid pipe - 16,000 mB per block, 2,000 mB/tick per endpoint.
+     */
+    ELITE("elite", 16000, 2000);
+
+    private final String id;
+    private final int capacity;
+    private final int throughput;
+
+    FluidPipeTier(String id, int capacity, int throughput) {
+        this.id = id;
+        this.capacity = capacity;
+        this.throughput = throughput;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the capacity this pipe adds to its network.
+     *
+     * @return Capacity in mB
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the maximum output per tick through an endpoint attached to this pipe.
+     *
+     * @return Throughput in mB/tick
+     */
+    public int getThroughput() {
+        return throughput;
+    }
+}
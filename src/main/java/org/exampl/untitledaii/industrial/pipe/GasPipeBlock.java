@@ -0,0 +1,78 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import net.minecraftforge.common.capabilities.Capability;
+import org.exampl.untitledaii.industrial.gas.GasCapabilities;
+import org.exampl.untitledaii.industrial.transport.NetworkGraph;
+import org.exampl.untitledaii.industrial.transport.NetworkManager;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Gas pipe block for transporting gases.
+ *
+ * <p>Gas pipes have no block entity and no ticker. All runtime state lives in their
+ * {@link GasPipeNetwork}, which is persisted with the level; the block registers itself with the
+ * level's gas pipe graph when placed and unregisters when broken. Connections are handled
+ * by {@link ConduitBlock}.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class GasPipeBlock extends ConduitBlock {
+
+    private static final VoxelShape[] SHAPES = PipeConnections.createShapes(5, 11);
+
+    static {
+        NetworkManager.registerType(IPipe.PipeType.GAS, GasPipeNetwork::new,
+            state -> state.getBlock() instanceof GasPipeBlock);
+    }
+
+    private final GasPipeTier tier;
+
+    public GasPipeBlock(GasPipeTier tier) {
+        super(BlockBehaviour.Properties.of()
+            .strength(0.5f, 0.5f)
+            .noOcclusion()
+            .isValidSpawn((state, level, pos, type) -> false), SHAPES);
+        this.tier = tier;
+    }
+
+    /**
+     * Gets the gas pipe graph of a level.
+     *
+     * @param level The level
+     * @return The graph
+     */
+    public static NetworkGraph<GasPipeNetwork> getGraph(ServerLevel level) {
+        return NetworkManager.get(level).getGraph(IPipe.PipeType.GAS);
+    }
+
+    /**
+     * Gets the network of the pipe at a position, e.g. for machines that push into pipes.
+     *
+     * @param level The level
+     * @param pos Pipe position
+     * @return The network, or null if there is no pipe
+     */
+    @Nullable
+    public static GasPipeNetwork getNetwork(ServerLevel level, BlockPos pos) {
+        return getGraph(level).getNetwork(pos);
+    }
+
+    public GasPipeTier getTier() {
+        return tier;
+    }
+
+    @Override
+    public IPipe.PipeType getPipeType() {
+        return IPipe.PipeType.GAS;
+    }
+
+    @Override
+    protected Capability<?> getEndpointCapability() {
+        return GasCapabilities.GAS;
+    }
+}
@@ -0,0 +1,195 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.capabilities.Capability;
+import org.exampl.untitledaii.industrial.gas.GasCapabilities;
+import org.exampl.untitledaii.industrial.gas.GasTank;
+import org.exampl.untitledaii.industrial.gas.GasType;
+import org.exampl.untitledaii.industrial.gas.IGasHandler;
+import org.exampl.untitledaii.industrial.transport.TransportNetwork;
+
+/**
+ * A connected segment of gas pipes sharing one pooled {@code long} gas tank.
+ *
+ * <p>Uses the same endpoint-only tick model as {@link FluidPipeNetwork}: sources are pulled from,
+ * then demand is collected from every endpoint and satisfied fully or in proportion, once per tick.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class GasPipeNetwork extends TransportNetwork {
+
+    private final GasTank tank;
+
+    public GasPipeNetwork() {
+        this.tank = new GasTank(0, this::markChanged);
+    }
+
+    @Override
+    public IPipe.PipeType getType() {
+        return IPipe.PipeType.GAS;
+    }
+
+    @Override
+    protected Capability<?> getEndpointCapability() {
+        return GasCapabilities.GAS;
+    }
+
+    @Override
+    protected long getMemberCapacity(BlockState state) {
+        return state.getBlock() instanceof GasPipeBlock pipe ? pipe.getTier().getCapacity() : 0;
+    }
+
+    @Override
+    protected Endpoint createEndpoint(ServerLevel level, BlockPos memberPos, Direction side) {
+        long throughput = level.getBlockState(memberPos).getBlock() instanceof GasPipeBlock pipe
+            ? pipe.getTier().getThroughput() : GasPipeTier.BASIC.getThroughput();
+        return new GasEndpoint(memberPos, side, throughput);
+    }
+
+    @Override
+    protected void saveEndpoint(Endpoint endpoint, CompoundTag tag) {
+        tag.putLong("Rate", ((GasEndpoint) endpoint).throughput);
+    }
+
+    @Override
+    protected Endpoint loadEndpoint(long memberPos, Direction side, CompoundTag tag) {
+        return new GasEndpoint(BlockPos.of(memberPos), side, tag.getLong("Rate"));
+    }
+
+    @Override
+    protected void saveContents(CompoundTag tag) {
+        tag.put("Tank", tank.save());
+    }
+
+    @Override
+    protected void loadContents(CompoundTag tag) {
+        tank.load(tag.getCompound("Tank"));
+    }
+
+    @Override
+    protected void onCapacityChanged() {
+        tank.setCapacity(getCapacity());
+    }
+
+    @Override
+    protected void absorbContents(TransportNetwork other) {
+        if (other instanceof GasPipeNetwork gasNetwork) {
+            tank.insertGas(gasNetwork.tank.getGasId(), gasNetwork.tank.getGasAmount(), false);
+            gasNetwork.tank.setGas(GasType.EMPTY_ID, 0);
+        }
+    }
+
+    @Override
+    protected void moveContents(TransportNetwork target, long movedCapacity, long capacityBefore) {
+        if (target instanceof GasPipeNetwork gasNetwork) {
+            int gasId = tank.getGasId();
+            long moved = tank.extractGas(gasId, scale(tank.getGasAmount(), movedCapacity, capacityBefore), false);
+            gasNetwork.tank.insertGas(gasId, moved, false);
+        }
+    }
+
+    @Override
+    protected void dropContents(long removedCapacity, long capacityBefore) {
+        tank.extractGas(tank.getGasId(), scale(tank.getGasAmount(), removedCapacity, capacityBefore), false);
+    }
+
+    @Override
+    public void tick(ServerLevel level) {
+        if (endpoints.isEmpty()) {
+            return;
+        }
+
+        // Pass 0: pull from endpoints that give gas but do not accept it back
+        for (Endpoint endpoint : endpoints) {
+            long room = tank.getGasCapacity() - tank.getGasAmount();
+            if (room <= 0) {
+                break;
+            }
+            IGasHandler handler = endpoint.getHandler(level, GasCapabilities.GAS);
+            if (handler == null || handler.getGasAmount() <= 0) {
+                continue;
+            }
+            int sourceGas = handler.getGasId();
+            if ((!tank.isEmpty() && sourceGas != tank.getGasId()) || handler.insertGas(sourceGas, 1, true) > 0) {
+                continue;
+            }
+            long pulled = handler.extractGas(sourceGas, Math.min(room, ((GasEndpoint) endpoint).throughput), false);
+            tank.insertGas(sourceGas, pulled, false);
+        }
+
+        int gasId = tank.getGasId();
+        long stored = tank.getGasAmount();
+        if (stored <= 0) {
+            return;
+        }
+
+        // Pass 1: collect demand
+        long totalDemand = 0;
+        for (Endpoint endpoint : endpoints) {
+            IGasHandler handler = endpoint.getHandler(level, GasCapabilities.GAS);
+            long throughput = ((GasEndpoint) endpoint).throughput;
+            endpoint.demand = handler == null ? 0 : handler.insertGas(gasId, Math.min(stored, throughput), true);
+            totalDemand += endpoint.demand;
+        }
+        if (totalDemand == 0) {
+            return;
+        }
+
+        // Pass 2: satisfy demand fully, or proportionally when the pool is short
+        boolean shortage = totalDemand > stored;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.demand <= 0 || tank.isEmpty()) {
+                continue;
+            }
+            long share = shortage ? scale(stored, endpoint.demand, totalDemand) : endpoint.demand;
+            if (share <= 0) {
+                continue;
+            }
+            IGasHandler handler = endpoint.getHandler(level, GasCapabilities.GAS);
+            if (handler != null) {
+                long inserted = handler.insertGas(gasId, Math.min(share, tank.getGasAmount()), false);
+                tank.extractGas(gasId, inserted, false);
+            }
+        }
+    }
+
+    /**
+     * Gets the part of the pooled gas attributable to a pipe of the given capacity.
+     *
+     * @param pipeCapacity Capacity of the pipe
+     * @return Amount in mB
+     */
+    public long getShare(long pipeCapacity) {
+        return tank.isEmpty() ? 0 : scale(tank.getGasAmount(), pipeCapacity, getCapacity());
+    }
+
+    /**
+     * Gets the pooled tank, for blocks that push into or drain from the network directly.
+     *
+     * @return The network tank
+     */
+    public IGasHandler getTank() {
+        return tank;
+    }
+
+    /**
+     * A gas handler attached to the network, limited by the throughput of its pipe.
+     */
+    public static class GasEndpoint extends Endpoint {
+        private final long throughput;
+
+        public GasEndpoint(BlockPos memberPos, Direction side, long throughput) {
+            super(memberPos.asLong(), side, memberPos.relative(side));
+            this.throughput = throughput;
+        }
+
+        public long getThroughput() {
+            return throughput;
+        }
+    }
+}
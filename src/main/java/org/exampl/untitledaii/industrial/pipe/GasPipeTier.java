@@ -0,0 +1,56 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+/**
+ * Capacity and throughput tiers for gas pipes.
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public enum GasPipeTier {
+    /**
+     * Basic gas pipe - 4,000 mB per block, 400 mB/tick per endpoint.
+     */
+    BASIC("basic", 4000L, 400L),
+
+    /**
+     * Advanced gas pipe - 32,000 mB per block, 4,000 mB/tick per endpoint.
+     */
+    ADVANCED("advanced", 32000L, 4000L),
+
+    /**
+     * Elite gas pipe - 256,000 mB per block, 32,000 mB/tick per endpoint.
+     */
+    ELITE("elite", 256000L, 32000L);
+
+    private final String id;
+    private final long capacity;
+    private final long throughput;
+
+    GasPipeTier(String id, long capacity, long throughput) {
+        this.id = id;
+        this.capacity = capacity;
+        this.throughput = throughput;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the capacity this pipe adds to its network.
+     *
+     * @return Capacity in mB
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the maximum output per tick through an endpoint attached to this pipe.
+     *
+     * @return Throughput in mB/tick
+     */
+    public long getThroughput() {
+        return throughput;
+    }
+}
@@ -0,0 +1,254 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.world.Containers;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedules item extraction from the inventories adjacent to an extraction pipe.
+ *
+ * <p>Scheduling:</p>
+ * <ul>
+ *   <li>Round-robin across sources, one source per operation</li>
+ *   <li>Sticky per-source cursor at the last non-empty slot, so empty slots are not rescanned</li>
+ *   <li>Exponential back-off (up to {@link #MAX_BACKOFF} operations) for sources that are empty</li>
+ * </ul>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ItemExtractionScheduler {
+
+    public static final int MAX_BACKOFF = 32;
+
+    private final List<Source> sources = new ArrayList<>();
+    private LongSet sourcePositions = LongSets.EMPTY_SET;
+    private int nextSource;
+
+    /**
+     * Rescans the six sides of the extractor for inventories, keeping cursors of sources that remain.
+     *
+     * @param level The level
+     * @param extractorPos Position of the extraction pipe
+     */
+    public void refreshSources(Level level, BlockPos extractorPos) {
+        List<Source> previous = new ArrayList<>(sources);
+        sources.clear();
+        for (Direction direction : Direction.values()) {
+            BlockPos neighborPos = extractorPos.relative(direction);
+            if (!level.isLoaded(neighborPos)) {
+                // Keep sources across an unloaded chunk border as they were
+                for (Source old : previous) {
+                    if (old.pos.equals(neighborPos)) {
+                        sources.add(old);
+                    }
+                }
+                continue;
+            }
+            BlockEntity neighbor = level.getBlockEntity(neighborPos);
+            if (neighbor == null || neighbor instanceof ItemPipeBlockEntity) {
+                continue;
+            }
+            if (!neighbor.getCapability(ForgeCapabilities.ITEM_HANDLER, direction.getOpposite()).isPresent()) {
+                continue;
+            }
+
+            Source source = null;
+            for (Source old : previous) {
+                if (old.pos.equals(neighborPos)) {
+                    source = old;
+                    break;
+                }
+            }
+            sources.add(source != null ? source : new Source(neighborPos, direction.getOpposite()));
+        }
+        if (nextSource >= sources.size()) {
+            nextSource = 0;
+        }
+        updateSourcePositions();
+    }
+
+    /**
+     * Runs one extraction operation.
+     *
+     * @param level The level
+     * @param network The network whose buffer receives extracted items
+     * @param extractorPos Position of the extraction pipe
+     * @param maxCount Maximum items to move in this operation
+     * @return Number of items moved
+     */
+    public int extract(Level level, ItemPipeNetwork network, BlockPos extractorPos, int maxCount) {
+        int count = sources.size();
+        for (int i = 0; i < count; i++) {
+            int index = (nextSource + i) % count;
+            Source source = sources.get(index);
+
+            // Back-off: this source is skipped for a number of operations after coming up empty
+            if (source.cooldown > 0) {
+                source.cooldown--;
+                continue;
+            }
+
+            nextSource = (index + 1) % count;
+            // Never route items back into any of the inventories we pull from
+            int moved = source.extract(level, network, extractorPos.asLong(), sourcePositions, maxCount);
+            if (moved > 0) {
+                source.backoff = 0;
+                return moved;
+            }
+            source.backoff = Math.min(MAX_BACKOFF, Math.max(1, source.backoff * 2));
+            source.cooldown = source.backoff;
+        }
+        return 0;
+    }
+
+    private void updateSourcePositions() {
+        // A new set each time: buffered items keep excluding the sources they were pulled from
+        LongOpenHashSet positions = new LongOpenHashSet();
+        for (Source source : sources) {
+            positions.add(source.pos.asLong());
+        }
+        sourcePositions = LongSets.unmodifiable(positions);
+    }
+
+    public int getSourceCount() {
+        return sources.size();
+    }
+
+    /**
+     * Saves per-source cursors and back-off state.
+     *
+     * @return Serialized scheduler state
+     */
+    public ListTag save() {
+        ListTag list = new ListTag();
+        for (Source source : sources) {
+            CompoundTag tag = new CompoundTag();
+            tag.putLong("Pos", source.pos.asLong());
+            tag.putByte("Side", (byte) source.side.get3DDataValue());
+            tag.putInt("Cursor", source.cursor);
+            tag.putInt("Backoff", source.backoff);
+            list.add(tag);
+        }
+        return list;
+    }
+
+    /**
+     * Loads per-source cursors and back-off state.
+     *
+     * @param list Serialized scheduler state
+     */
+    public void load(ListTag list) {
+        sources.clear();
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag tag = list.getCompound(i);
+            Source source = new Source(BlockPos.of(tag.getLong("Pos")), Direction.from3DDataValue(tag.getByte("Side")));
+            source.cursor = tag.getInt("Cursor");
+            source.backoff = tag.getInt("Backoff");
+            sources.add(source);
+        }
+        nextSource = 0;
+        updateSourcePositions();
+    }
+
+    /**
+     * An inventory the extractor pulls from.
+     */
+    private static class Source {
+        private final BlockPos pos;
+        private final Direction side;
+        private LazyOptional<IItemHandler> cachedHandler = LazyOptional.empty();
+        private int cursor;
+        private int backoff;
+        private int cooldown;
+
+        private Source(BlockPos pos, Direction side) {
+            this.pos = pos;
+            this.side = side;
+        }
+
+        @Nullable
+        private IItemHandler getHandler(Level level) {
+            if (!cachedHandler.isPresent()) {
+                if (!level.isLoaded(pos)) {
+                    return null;
+                }
+                BlockEntity blockEntity = level.getBlockEntity(pos);
+                if (blockEntity == null) {
+                    return null;
+                }
+                cachedHandler = blockEntity.getCapability(ForgeCapabilities.ITEM_HANDLER, side);
+            }
+            return cachedHandler.orElse(null);
+        }
+
+        private int extract(Level level, ItemPipeNetwork network, long origin, LongSet excluded, int maxCount) {
+            IItemHandler handler = getHandler(level);
+            if (handler == null || handler.getSlots() == 0) {
+                return 0;
+            }
+
+            int slots = handler.getSlots();
+            if (cursor >= slots) {
+                cursor = 0;
+            }
+
+            // Start at the last non-empty slot and wrap around once
+            for (int i = 0; i < slots; i++) {
+                int slot = (cursor + i) % slots;
+                ItemStack available = handler.extractItem(slot, maxCount, true);
+                if (available.isEmpty()) {
+                    continue;
+                }
+
+                cursor = slot;
+                ItemStack rejected = network.insert(level, available, origin, excluded, true);
+                int accepted = available.getCount() - rejected.getCount();
+                if (accepted <= 0) {
+                    // Network is full or has no destination for this item, try the next slot
+                    continue;
+                }
+
+                ItemStack extracted = handler.extractItem(slot, accepted, false);
+                ItemStack leftover = network.insert(level, extracted, origin, excluded, false);
+                int moved = extracted.getCount() - leftover.getCount();
+                if (!leftover.isEmpty()) {
+                    // The source handed out something other than it simulated, put it back
+                    putBack(level, handler, slot, leftover);
+                }
+                return moved;
+            }
+            return 0;
+        }
+
+        /**
+         * Returns items the network refused to the source, dropping whatever no longer fits there.
+         */
+        private void putBack(Level level, IItemHandler handler, int slot, ItemStack stack) {
+            ItemStack remainder = handler.insertItem(slot, stack, false);
+            if (!remainder.isEmpty()) {
+                // The slot filled up in the meantime, try the rest of the inventory
+                remainder = ItemHandlerHelper.insertItemStacked(handler, remainder, false);
+            }
+            if (!remainder.isEmpty()) {
+                Containers.dropItemStack(level, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, remainder);
+            }
+        }
+    }
+}
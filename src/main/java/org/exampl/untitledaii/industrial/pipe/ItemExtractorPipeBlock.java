@@ -0,0 +1,42 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityTicker;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Extraction pipe block that pulls items from adjacent inventories into the pipe network.
+ *
+ * <p>The only item pipe with a ticker, which runs its extraction schedule.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ItemExtractorPipeBlock extends ItemPipeBlock {
+
+    public ItemExtractorPipeBlock(PipeTier tier) {
+        super(tier);
+    }
+
+    @Override
+    public BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return new ItemExtractorPipeBlockEntity(pos, state);
+    }
+
+    @Nullable
+    @Override
+    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
+        if (level.isClientSide) {
+            return null;
+        }
+        return (lvl, pos, st, blockEntity) -> {
+            if (blockEntity instanceof ItemExtractorPipeBlockEntity extractor) {
+                extractor.tick();
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.level.block.state.BlockState;
+import org.exampl.untitledaii.industrial.ModBlockEntities;
+
+/**
+ * Extraction pipe block entity that pulls items out of adjacent inventories.
+ *
+ * <p>Every {@link PipeTier#getOperationInterval()} ticks it extracts up to
+ * {@link PipeTier#getItemsPerOperation()} items from one adjacent inventory, chosen by an
+ * {@link ItemExtractionScheduler}, into the network buffer, from where they are delivered to any
+ * destination other than its own sources. Extractors are the only item pipes that tick.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ItemExtractorPipeBlockEntity extends ItemPipeBlockEntity {
+
+    private final ItemExtractionScheduler scheduler;
+    private int extractCooldown;
+    private boolean sourcesDirty;
+
+    public ItemExtractorPipeBlockEntity(BlockPos pos, BlockState state) {
+        super(ModBlockEntities.ITEM_EXTRACTOR_PIPE.get(), pos, state);
+        this.scheduler = new ItemExtractionScheduler();
+        this.extractCooldown = 0;
+        this.sourcesDirty = true;
+    }
+
+    public void tick() {
+        if (level == null || level.isClientSide) {
+            return;
+        }
+
+        if (extractCooldown > 0) {
+            extractCooldown--;
+            return;
+        }
+        extractCooldown = getTier().getOperationInterval();
+
+        if (sourcesDirty) {
+            scheduler.refreshSources(level, getBlockPos());
+            sourcesDirty = false;
+        }
+
+        ItemPipeNetwork network = getNetwork();
+        if (network == null || scheduler.getSourceCount() == 0) {
+            return;
+        }
+
+        if (scheduler.extract(level, network, getBlockPos(), getTier().getItemsPerOperation()) > 0) {
+            setChanged();
+        }
+    }
+
+    @Override
+    public void refreshEndpoints() {
+        super.refreshEndpoints();
+        sourcesDirty = true;
+    }
+
+    @Override
+    protected void saveAdditional(CompoundTag tag) {
+        super.saveAdditional(tag);
+        tag.put("Sources", scheduler.save());
+    }
+
+    @Override
+    public void load(CompoundTag tag) {
+        super.load(tag);
+        scheduler.load(tag.getList("Sources", Tag.TAG_COMPOUND));
+    }
+}
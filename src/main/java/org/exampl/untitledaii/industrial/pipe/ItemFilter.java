@@ -0,0 +1,220 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Item filter for pipe sides.
+ *
+ * <p>Entries can be:</p>
+ * <ul>
+ *   <li>Item ids, e.g. {@code minecraft:iron_ingot}</li>
+ *   <li>Item tags, e.g. {@code #forge:ingots/iron}</li>
+ *   <li>Mod ids, e.g. {@code @minecraft}</li>
+ * </ul>
+ *
+ * <p>Filters are immutable; changing one means setting a new filter on the pipe side, which
+ * refreshes the network's endpoints and drops its cached routes.</p>
+ *
+ * <p>Entries are compiled into a bitset over item registry ids, so {@link #test(ItemStack)} is a single
+ * bit lookup regardless of the number of entries. The compiled set is rebuilt lazily after tags reload.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public class ItemFilter {
+
+    private static int compileGeneration = 0;
+
+    private final Set<String> entries;
+    private final boolean blacklist;
+    private BitSet compiled;
+    private int compiledGeneration = -1;
+
+    public ItemFilter(boolean blacklist) {
+        this(blacklist, Collections.emptySet());
+    }
+
+    public ItemFilter(boolean blacklist, Collection<String> entries) {
+        this.entries = Collections.unmodifiableSet(new LinkedHashSet<>(entries));
+        this.blacklist = blacklist;
+    }
+
+    /**
+     * Gets a filter with an item id, {@code #tag} or {@code @modid} entry added.
+     *
+     * @param entry Filter entry
+     * @return A filter with the entry, or this filter if it already has it
+     */
+    public ItemFilter withEntry(String entry) {
+        if (entries.contains(entry)) {
+            return this;
+        }
+        Set<String> changed = new LinkedHashSet<>(entries);
+        changed.add(entry);
+        return new ItemFilter(blacklist, changed);
+    }
+
+    /**
+     * Gets a filter with an entry removed.
+     *
+     * @param entry Filter entry
+     * @return A filter without the entry, or this filter if it does not have it
+     */
+    public ItemFilter withoutEntry(String entry) {
+        if (!entries.contains(entry)) {
+            return this;
+        }
+        Set<String> changed = new LinkedHashSet<>(entries);
+        changed.remove(entry);
+        return new ItemFilter(blacklist, changed);
+    }
+
+    /**
+     * Gets a filter with the same entries in the given mode.
+     *
+     * @param blacklist true to reject matching items, false to accept only them
+     * @return A filter in that mode, or this filter if it already is
+     */
+    public ItemFilter withBlacklist(boolean blacklist) {
+        return blacklist == this.blacklist ? this : new ItemFilter(blacklist, entries);
+    }
+
+    public Set<String> getEntries() {
+        return entries;
+    }
+
+    public boolean isBlacklist() {
+        return blacklist;
+    }
+
+    /**
+     * Tests a stack against this filter.
+     *
+     * @param stack Stack to test
+     * @return true if the stack passes the filter
+     */
+    public boolean test(ItemStack stack) {
+        return test(BuiltInRegistries.ITEM.getId(stack.getItem()));
+    }
+
+    /**
+     * Tests an item registry id against this filter.
+     *
+     * @param itemId Item registry id
+     * @return true if the item passes the filter
+     */
+    public boolean test(int itemId) {
+        return getCompiled().get(itemId) != blacklist;
+    }
+
+    /**
+     * Checks if the filter's entries contain the item, ignoring whitelist/blacklist mode.
+     *
+     * @param itemId Item registry id
+     * @return true if an entry matches the item
+     */
+    public boolean matches(int itemId) {
+        return getCompiled().get(itemId);
+    }
+
+    /**
+     * Gets the generation of compiled filters; changes whenever tags are reloaded.
+     *
+     * @return Current compile generation
+     */
+    public static int getCompileGeneration() {
+        return compileGeneration;
+    }
+
+    private BitSet getCompiled() {
+        if (compiled == null || compiledGeneration != compileGeneration) {
+            compiled = compile();
+            compiledGeneration = compileGeneration;
+        }
+        return compiled;
+    }
+
+    private BitSet compile() {
+        BitSet bits = new BitSet(BuiltInRegistries.ITEM.size());
+        Set<String> modIds = new LinkedHashSet<>();
+
+        for (String entry : entries) {
+            if (entry.startsWith("#")) {
+                ResourceLocation tagId = ResourceLocation.tryParse(entry.substring(1));
+                if (tagId == null) {
+                    continue;
+                }
+                TagKey<Item> tag = TagKey.create(Registries.ITEM, tagId);
+                for (Holder<Item> holder : BuiltInRegistries.ITEM.getTagOrEmpty(tag)) {
+                    bits.set(BuiltInRegistries.ITEM.getId(holder.value()));
+                }
+            } else if (entry.startsWith("@")) {
+                modIds.add(entry.substring(1));
+            } else {
+                ResourceLocation itemId = ResourceLocation.tryParse(entry);
+                if (itemId != null && BuiltInRegistries.ITEM.containsKey(itemId)) {
+                    bits.set(BuiltInRegistries.ITEM.getId(BuiltInRegistries.ITEM.get(itemId)));
+                }
+            }
+        }
+
+        // Mod id entries need one pass over the registry
+        if (!modIds.isEmpty()) {
+            for (Item item : BuiltInRegistries.ITEM) {
+                if (modIds.contains(BuiltInRegistries.ITEM.getKey(item).getNamespace())) {
+                    bits.set(BuiltInRegistries.ITEM.getId(item));
+                }
+            }
+        }
+        return bits;
+    }
+
+    public CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        tag.putBoolean("Blacklist", blacklist);
+        ListTag list = new ListTag();
+        for (String entry : entries) {
+            list.add(StringTag.valueOf(entry));
+        }
+        tag.put("Entries", list);
+        return tag;
+    }
+
+    public static ItemFilter load(CompoundTag tag) {
+        ListTag list = tag.getList("Entries", Tag.TAG_STRING);
+        List<String> entries = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            entries.add(list.getString(i));
+        }
+        return new ItemFilter(tag.getBoolean("Blacklist"), entries);
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        // Tag contents changed, every compiled filter is stale
+        compileGeneration++;
+    }
+}
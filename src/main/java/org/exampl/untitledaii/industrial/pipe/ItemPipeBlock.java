@@ -1,51 +1,69 @@
 package org.exampl.untitledaii.industrial.pipe;
 
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
-import net.minecraft.world.level.BlockGetter;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.EntityBlock;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.block.state.properties.DirectionProperty;
 import net.minecraft.world.level.block.state.StateDefinition;
-import net.minecraft.world.phys.shapes.BooleanOp;
-import net.minecraft.world.phys.shapes.CollisionContext;
-import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraft.world.level.block.state.properties.DirectionProperty;
 import net.minecraft.world.phys.shapes.VoxelShape;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import org.exampl.untitledaii.industrial.transport.NetworkManager;
 
 /**
  * Item pipe block for transporting items.
  *
+ * <p>Each pipe block has a {@link PipeTier} that controls its transfer rate and buffer size.
+ * Pipes do not tick; their {@link ItemPipeNetwork} is ticked once per level tick instead.
+ * Connections are handled by {@link ConduitBlock}; unlike the other conduits, item pipes have a
+ * block entity, which registers them with the graph when it loads.</p>
+ *
  * @author AVA Industrial Team
  * @since 1.0.0
  */
-public class ItemPipeBlock extends Block implements EntityBlock {
+public class ItemPipeBlock extends ConduitBlock implements EntityBlock {
 
     public static final DirectionProperty FACING = DirectionProperty.create("facing");
 
-    private static final VoxelShape CORE = Shapes.box(6, 6, 6, 10, 10, 10);
-    private static final VoxelShape NORTH_ARM = Shapes.box(6, 6, 0, 10, 10, 6);
-    private static final VoxelShape SOUTH_ARM = Shapes.box(6, 6, 10, 10, 10, 16);
-    private static final VoxelShape EAST_ARM = Shapes.box(10, 6, 6, 16, 10, 10);
-    private static final VoxelShape WEST_ARM = Shapes.box(0, 6, 6, 6, 10, 10);
-    private static final VoxelShape UP_ARM = Shapes.box(6, 10, 6, 10, 16, 10);
-    private static final VoxelShape DOWN_ARM = Shapes.box(6, 0, 6, 10, 6, 10);
-    private static final VoxelShape FULL_SHAPE = Shapes.or(
-        CORE, NORTH_ARM, SOUTH_ARM, EAST_ARM, WEST_ARM, UP_ARM, DOWN_ARM
-    );
+    private static final VoxelShape[] SHAPES = PipeConnections.createShapes(6, 10);
+
+    static {
+        NetworkManager.registerType(IPipe.PipeType.ITEM, ItemPipeNetwork::new,
+            state -> state.getBlock() instanceof ItemPipeBlock);
+    }
+
+    private final PipeTier tier;
 
     public ItemPipeBlock() {
+        this(PipeTier.BASIC);
+    }
+
+    public ItemPipeBlock(PipeTier tier) {
         super(BlockBehaviour.Properties.of()
             .strength(0.5f, 0.5f)
             .noOcclusion()
-            .isValidSpawn((state, level, pos, type) -> false));
+            .isValidSpawn((state, level, pos, type) -> false), SHAPES);
+        this.tier = tier;
+    }
+
+    /**
+     * Gets the transfer tier of this pipe.
+     *
+     * @return Pipe tier
+     */
+    public PipeTier getTier() {
+        return tier;
     }
 
     @Override
     protected void createBlockStateDefinition(StateDefinition.Builder<Block, BlockState> builder) {
+        super.createBlockStateDefinition(builder);
         builder.add(FACING);
     }
 
@@ -55,24 +73,33 @@ public class ItemPipeBlock extends Block implements EntityBlock {
     }
 
     @Override
-    public VoxelShape getShape(BlockState state, BlockGetter level, BlockPos pos, CollisionContext context) {
-        return FULL_SHAPE;
+    public BlockState getStateForPlacement(BlockPlaceContext context) {
+        return super.getStateForPlacement(context).setValue(FACING, context.getNearestLookingDirection());
     }
 
     @Override
-    public void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean isMoving) {
-        super.onPlace(state, level, pos, oldState, isMoving);
-        if (!level.isClientSide) {
-            level.updateNeighborsAt(pos, this);
-        }
+    public IPipe.PipeType getPipeType() {
+        return IPipe.PipeType.ITEM;
+    }
+
+    @Override
+    protected Capability<?> getEndpointCapability() {
+        return ForgeCapabilities.ITEM_HANDLER;
+    }
+
+    @Override
+    protected void addNode(ServerLevel level, BlockPos pos) {
+        // The block entity registers the pipe when it loads, see ItemPipeBlockEntity#onLoad
     }
 
     @Override
     public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
-        if (!state.is(newState.getBlock())) {
-            BlockEntity blockEntity = level.getBlockEntity(pos);
-            if (blockEntity instanceof ItemPipeBlockEntity) {
-                ((ItemPipeBlockEntity) blockEntity).invalidateCaps();
+        if (!state.is(newState.getBlock()) && level.getBlockEntity(pos) instanceof ItemPipeBlockEntity pipe) {
+            pipe.invalidateCaps();
+            ItemPipeNetwork network = pipe.getNetwork();
+            if (network != null) {
+                // The network shrinks by this pipe's share of the buffer
+                network.spill(level, pos, tier.getBufferSlots());
             }
         }
         super.onRemove(state, level, pos, newState, isMoving);
@@ -1,11 +1,14 @@
 package org.exampl.untitledaii.industrial.pipe;
 
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ForgeCapabilities;
@@ -13,127 +16,294 @@ import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.ItemStackHandler;
 import org.exampl.untitledaii.industrial.ModBlockEntities;
+import org.exampl.untitledaii.industrial.transport.NetworkGraph;
+import org.exampl.untitledaii.industrial.transport.NetworkManager;
+import org.exampl.untitledaii.industrial.transport.NetworkNode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Item pipe block entity for transporting items.
  *
+ * <p>Pipes hold no items and do not tick; items live in the buffer of their
+ * {@link ItemPipeNetwork}, which delivers them. The block entity keeps what is specific to one
+ * pipe:</p>
+ * <ul>
+ *   <li>Optional {@link ItemFilter} per side, applied to whatever is attached on that side</li>
+ *   <li>One item handler per side that inserts into the network buffer; items are never routed back
+ *       to the side they came from</li>
+ *   <li>Insertion is refused while the buffer is full or nothing in the network takes the item, so
+ *       sources back off instead of filling the buffer</li>
+ * </ul>
+ *
  * @author AVA Industrial Team
  * @since 1.0.0
  */
-public class ItemPipeBlockEntity extends BlockEntity implements IPipe {
+public class ItemPipeBlockEntity extends BlockEntity implements IPipe, NetworkNode {
 
-    private static final int TRANSFER_COOLDOWN = 20;
-    private final ItemStackHandler itemHandler;
-    private final LazyOptional<IItemHandler> itemHandlerCap;
-    private int transferCooldown;
+    private final PipeTier tier;
+    private final ItemFilter[] filters;
+    @SuppressWarnings("unchecked")
+    private final LazyOptional<IItemHandler>[] handlers = new LazyOptional[Direction.values().length + 1];
+    private final List<ItemStack> legacyBuffer;
+    private boolean unloading;
 
     public ItemPipeBlockEntity(BlockPos pos, BlockState state) {
-        super(ModBlockEntities.ITEM_PIPE.get(), pos, state);
-        this.itemHandler = new ItemStackHandler(1);
-        this.itemHandlerCap = LazyOptional.of(() -> itemHandler);
-        this.transferCooldown = 0;
+        this(ModBlockEntities.ITEM_PIPE.get(), pos, state);
     }
 
-    public void tick() {
-        if (level == null || level.isClientSide) {
+    protected ItemPipeBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state) {
+        super(type, pos, state);
+        this.tier = state.getBlock() instanceof ItemPipeBlock pipe ? pipe.getTier() : PipeTier.BASIC;
+        this.filters = new ItemFilter[Direction.values().length];
+        this.legacyBuffer = new ArrayList<>();
+    }
+
+    /**
+     * Gets the transfer tier of this pipe.
+     *
+     * @return Pipe tier
+     */
+    public PipeTier getTier() {
+        return tier;
+    }
+
+    /**
+     * Gets the filter on the given side.
+     *
+     * @param side Pipe side
+     * @return The filter, or null if the side accepts everything
+     */
+    @Nullable
+    public ItemFilter getFilter(Direction side) {
+        return filters[side.get3DDataValue()];
+    }
+
+    /**
+     * Sets the filter on the given side and recomputes the network's routes.
+     *
+     * <p>The network's endpoint on that side shares the filter instance; filters are immutable,
+     * so this is the only way a side's filtering changes.</p>
+     *
+     * @param side Pipe side
+     * @param filter The filter, or null to accept everything
+     */
+    public void setFilter(Direction side, @Nullable ItemFilter filter) {
+        if (filters[side.get3DDataValue()] == filter) {
             return;
         }
+        filters[side.get3DDataValue()] = filter;
+        refreshEndpoints();
+        setChanged();
+    }
 
-        if (transferCooldown > 0) {
-            transferCooldown--;
-            return;
+    /**
+     * Gets the item pipe graph of a level.
+     *
+     * @param level The level
+     * @return The graph
+     */
+    public static NetworkGraph<ItemPipeNetwork> getGraph(ServerLevel level) {
+        return NetworkManager.get(level).getGraph(PipeType.ITEM);
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level instanceof ServerLevel serverLevel) {
+            getGraph(serverLevel).addNode(serverLevel, getBlockPos());
         }
+    }
 
-        ItemStack stack = itemHandler.getStackInSlot(0);
-        if (stack.isEmpty()) {
-            return;
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        unloading = true;
+    }
+
+    @Override
+    public void setRemoved() {
+        // Unloading detaches the node but keeps it in its network
+        if (!unloading && level instanceof ServerLevel serverLevel) {
+            getGraph(serverLevel).removeNode(getBlockPos());
         }
+        super.setRemoved();
+    }
 
-        // Try to transfer to connected blocks
-        Direction facing = getBlockState().getValue(ItemPipeBlock.FACING);
-        BlockPos targetPos = getBlockPos().relative(facing);
-        
-        BlockEntity targetBE = level.getBlockEntity(targetPos);
-        if (targetBE != null) {
-            targetBE.getCapability(ForgeCapabilities.ITEM_HANDLER, facing.getOpposite())
-                .ifPresent(targetHandler -> {
-                    int count = Math.min(stack.getCount(), 64);
-                    ItemStack transferred = transfer(stack, targetHandler, count);
-                    
-                    if (!transferred.isEmpty()) {
-                        stack.shrink(transferred.getCount());
-                        if (stack.isEmpty()) {
-                            itemHandler.setStackInSlot(0, ItemStack.EMPTY);
-                        }
-                        transferCooldown = TRANSFER_COOLDOWN;
-                    }
-                });
-        }
-    }
-
-    private ItemStack transfer(ItemStack stack, IItemHandler targetHandler, int maxCount) {
-        ItemStack toTransfer = stack.copy();
-        toTransfer.setCount(Math.min(toTransfer.getCount(), maxCount));
-        
-        ItemStack remaining = targetHandler.insertItem(0, toTransfer, false);
-        return ItemStack.EMPTY;
+    /**
+     * Gets the network this pipe belongs to.
+     *
+     * @return The pipe network, or null on the client
+     */
+    @Nullable
+    @Override
+    public ItemPipeNetwork getNetwork() {
+        return level instanceof ServerLevel serverLevel ? getGraph(serverLevel).getNetwork(getBlockPos()) : null;
+    }
+
+    /**
+     * Rescans the inventories attached to this pipe, e.g. after a neighbor or a filter changed.
+     */
+    public void refreshEndpoints() {
+        if (level instanceof ServerLevel serverLevel) {
+            getGraph(serverLevel).refreshEndpoints(serverLevel, getBlockPos());
+        }
+    }
+
+    /**
+     * Takes the items this pipe buffered itself before item networks pooled them.
+     *
+     * @return Items from an old save, empty once taken
+     */
+    List<ItemStack> takeLegacyBuffer() {
+        if (legacyBuffer.isEmpty()) {
+            return List.of();
+        }
+        List<ItemStack> taken = new ArrayList<>(legacyBuffer);
+        legacyBuffer.clear();
+        setChanged();
+        return taken;
     }
 
     @NotNull
     @Override
     public <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side) {
         if (cap == ForgeCapabilities.ITEM_HANDLER) {
-            return itemHandlerCap.cast();
+            int index = side == null ? handlers.length - 1 : side.get3DDataValue();
+            if (handlers[index] == null) {
+                handlers[index] = LazyOptional.of(() -> new PipeInputHandler(side));
+            }
+            return handlers[index].cast();
         }
         return super.getCapability(cap, side);
     }
 
     @Override
     public void invalidateCaps() {
-        itemHandlerCap.invalidate();
+        for (int i = 0; i < handlers.length; i++) {
+            if (handlers[i] != null) {
+                handlers[i].invalidate();
+                handlers[i] = null;
+            }
+        }
         super.invalidateCaps();
     }
 
-    public PipeType getPipeType() {
+    @Override
+    protected void saveAdditional(CompoundTag tag) {
+        super.saveAdditional(tag);
+        CompoundTag filterTag = new CompoundTag();
+        for (Direction direction : Direction.values()) {
+            ItemFilter filter = filters[direction.get3DDataValue()];
+            if (filter != null) {
+                filterTag.put(direction.getName(), filter.save());
+            }
+        }
+        tag.put("Filters", filterTag);
+    }
+
+    @Override
+    public void load(CompoundTag tag) {
+        super.load(tag);
+        legacyBuffer.clear();
+        if (tag.contains("Buffer")) {
+            // Saved before item networks pooled pipe contents; handed to the network on load
+            ItemStackHandler buffer = new ItemStackHandler();
+            buffer.deserializeNBT(tag.getCompound("Buffer"));
+            for (int slot = 0; slot < buffer.getSlots(); slot++) {
+                if (!buffer.getStackInSlot(slot).isEmpty()) {
+                    legacyBuffer.add(buffer.getStackInSlot(slot));
+                }
+            }
+        }
+
+        CompoundTag filterTag = tag.getCompound("Filters");
+        for (Direction direction : Direction.values()) {
+            filters[direction.get3DDataValue()] = filterTag.contains(direction.getName())
+                ? ItemFilter.load(filterTag.getCompound(direction.getName()))
+                : null;
+        }
+    }
+
+    @Override
+    public PipeType getType() {
         return PipeType.ITEM;
     }
 
     @Override
     public int insert(Object resource, Direction side) {
-        if (resource instanceof ItemStack) {
-            ItemStack stack = (ItemStack) resource;
-            ItemStack current = itemHandler.getStackInSlot(0);
-            if (current.isEmpty()) {
-                itemHandler.setStackInSlot(0, stack.copy());
-                return stack.getCount();
-            } else if (ItemStack.isSameItemSameTags(current, stack)) {
-                int maxInsert = Math.min(stack.getCount(), 64 - current.getCount());
-                current.grow(maxInsert);
-                return maxInsert;
-            }
+        ItemPipeNetwork network = getNetwork();
+        if (resource instanceof ItemStack stack && network != null) {
+            ItemStack remaining = network.insert(level, stack, getBlockPos().asLong(), excludedFrom(side), false);
+            return stack.getCount() - remaining.getCount();
         }
         return 0;
     }
 
+    /**
+     * Items live in the network buffer, not in single pipes, so nothing can be extracted here.
+     */
     @Override
     public Object extract(Direction side, int amount) {
-        ItemStack stack = itemHandler.getStackInSlot(0);
-        if (!stack.isEmpty()) {
-            int toExtract = Math.min(stack.getCount(), amount);
-            ItemStack extracted = stack.split(toExtract);
-            if (stack.isEmpty()) {
-                itemHandler.setStackInSlot(0, ItemStack.EMPTY);
-            }
-            return extracted;
-        }
         return ItemStack.EMPTY;
     }
 
     @Override
     public boolean canAccept(Direction side) {
-        ItemStack stack = itemHandler.getStackInSlot(0);
-        return stack.isEmpty() || stack.getCount() < 64;
+        ItemPipeNetwork network = getNetwork();
+        return network != null && network.hasSpace();
+    }
+
+    private LongSet excludedFrom(@Nullable Direction side) {
+        return side == null ? LongSets.EMPTY_SET : LongSets.singleton(getBlockPos().relative(side).asLong());
+    }
+
+    /**
+     * Item handler exposed to neighbors on one side, inserting into the network buffer.
+     */
+    private class PipeInputHandler implements IItemHandler {
+
+        private final LongSet excluded;
+
+        private PipeInputHandler(@Nullable Direction side) {
+            this.excluded = excludedFrom(side);
+        }
+
+        @Override
+        public int getSlots() {
+            return 1;
+        }
+
+        @NotNull
+        @Override
+        public ItemStack getStackInSlot(int slot) {
+            return ItemStack.EMPTY;
+        }
+
+        @NotNull
+        @Override
+        public ItemStack insertItem(int slot, @NotNull ItemStack stack, boolean simulate) {
+            ItemPipeNetwork network = getNetwork();
+            return network == null ? stack : network.insert(level, stack, getBlockPos().asLong(), excluded, simulate);
+        }
+
+        @NotNull
+        @Override
+        public ItemStack extractItem(int slot, int amount, boolean simulate) {
+            return ItemStack.EMPTY;
+        }
+
+        @Override
+        public int getSlotLimit(int slot) {
+            return 64;
+        }
+
+        @Override
+        public boolean isItemValid(int slot, @NotNull ItemStack stack) {
+            return true;
+        }
     }
 }
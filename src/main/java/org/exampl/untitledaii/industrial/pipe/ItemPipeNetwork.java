@@ -0,0 +1,511 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.Containers;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+import org.exampl.untitledaii.industrial.transport.TransportNetwork;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A connected group of item pipes and the inventories attached to it, sharing one item buffer.
+ *
+ * <p>Routing:</p>
+ * <ul>
+ *   <li>Destinations are all non-pipe inventories adjacent to a pipe in the network</li>
+ *   <li>A destination may have an {@link ItemFilter} taken from the pipe side it is attached to</li>
+ *   <li>Destinations whose whitelist matches an item are preferred over unfiltered ones,
+ *       so sorting endpoints win over catch-all chests</li>
+ *   <li>Items are offered to destinations round-robin, starting after the last one that accepted</li>
+ *   <li>Callers can exclude positions, e.g. the inventories an extractor pulls from</li>
+ * </ul>
+ *
+ * <p>The candidate destinations for an item are computed once per item id and cached until the
+ * destinations change or tags reload, so routing cost does not depend on filter size.</p>
+ *
+ * <p>Pipes hold no items and do not tick. Items inserted into any pipe go into the network's
+ * buffer, which holds {@link PipeTier#getBufferSlots()} stacks per member, and the network delivers
+ * them once per tick. The buffer is split and merged with the network, in proportion to
+ * capacity.</p>
+ *
+ * <p>Delivery is limited by the slowest pipe tier on the route: a destination receives at most
+ * {@link PipeTier#getItemsPerOperation()} items every {@link PipeTier#getOperationInterval()} ticks
+ * of the highest tier that still connects the pipe the items entered at with the pipe the
+ * destination is attached to. The members of each tier and above are labelled by connected
+ * component, once per topology change, so finding that tier costs one lookup per tier.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ItemPipeNetwork extends TransportNetwork {
+
+    private static final PipeTier[] TIERS = PipeTier.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Int2ObjectOpenHashMap<Route> routes;
+    private final List<Transit> buffer;
+    private final Long2IntOpenHashMap[] tierComponents;
+    private int routeGeneration;
+
+    public ItemPipeNetwork() {
+        this.routes = new Int2ObjectOpenHashMap<>();
+        this.buffer = new ArrayList<>();
+        this.tierComponents = new Long2IntOpenHashMap[TIERS.length];
+        this.routeGeneration = ItemFilter.getCompileGeneration();
+    }
+
+    @Override
+    public IPipe.PipeType getType() {
+        return IPipe.PipeType.ITEM;
+    }
+
+    @Override
+    protected Capability<?> getEndpointCapability() {
+        return ForgeCapabilities.ITEM_HANDLER;
+    }
+
+    @Override
+    protected long getMemberCapacity(BlockState state) {
+        return state.getBlock() instanceof ItemPipeBlock pipe ? pipe.getTier().getBufferSlots() : 0;
+    }
+
+    @Override
+    public void tick(ServerLevel level) {
+        if (buffer.isEmpty() || endpoints.isEmpty()) {
+            return;
+        }
+        long gameTime = level.getGameTime();
+        Iterator<Transit> iterator = buffer.iterator();
+        while (iterator.hasNext()) {
+            Transit transit = iterator.next();
+            ItemStack remaining = route(level, transit.stack, transit.source, transit.excluded, false, gameTime);
+            if (remaining.getCount() == transit.stack.getCount()) {
+                continue;
+            }
+            if (remaining.isEmpty()) {
+                iterator.remove();
+            } else {
+                transit.stack = remaining;
+            }
+            markChanged();
+        }
+    }
+
+    /**
+     * Inserts items into the network's buffer, to be delivered on the following ticks.
+     *
+     * <p>Only as many items are accepted as fit in the buffer and have a destination right now,
+     * so items nobody takes never clog the network.</p>
+     *
+     * @param level The level
+     * @param stack Items to insert; not modified
+     * @param source Position of the pipe the items enter at
+     * @param excluded Positions that must not receive the items (e.g. the inventory they came from)
+     * @param simulate If true, the buffer is not changed
+     * @return The items that were not accepted
+     */
+    public ItemStack insert(Level level, ItemStack stack, long source, LongSet excluded, boolean simulate) {
+        if (stack.isEmpty()) {
+            return stack;
+        }
+        int routable = stack.getCount() - route(level, stack, source, excluded, true, 0).getCount();
+        int accepted = 0;
+        if (routable > 0 && !buffer.isEmpty()) {
+            // Repeated inserts of one item, e.g. from a hopper, top up the newest stack
+            Transit last = buffer.get(buffer.size() - 1);
+            if (last.canMerge(stack, source, excluded)) {
+                accepted = Math.min(routable, last.stack.getMaxStackSize() - last.stack.getCount());
+                if (!simulate && accepted > 0) {
+                    last.stack.grow(accepted);
+                }
+            }
+        }
+        long free = getCapacity() - buffer.size();
+        while (accepted < routable && free > 0) {
+            int size = Math.min(routable - accepted, stack.getMaxStackSize());
+            if (!simulate) {
+                buffer.add(new Transit(ItemHandlerHelper.copyStackWithSize(stack, size), source, excluded));
+            }
+            accepted += size;
+            free--;
+        }
+        if (!simulate && accepted > 0) {
+            markChanged();
+        }
+        return accepted == stack.getCount() ? ItemStack.EMPTY
+            : ItemHandlerHelper.copyStackWithSize(stack, stack.getCount() - accepted);
+    }
+
+    /**
+     * Checks whether the buffer has room for another stack.
+     *
+     * @return true if not full
+     */
+    public boolean hasSpace() {
+        return buffer.size() < getCapacity();
+    }
+
+    /**
+     * Drops the buffered stacks that no longer fit once a member is removed, at that member.
+     *
+     * @param level The level
+     * @param pos Position of the member about to be removed
+     * @param removedCapacity Capacity of that member
+     */
+    public void spill(Level level, BlockPos pos, long removedCapacity) {
+        long kept = Math.max(0, getCapacity() - removedCapacity);
+        while (buffer.size() > kept) {
+            ItemStack stack = buffer.remove(buffer.size() - 1).stack;
+            Containers.dropItemStack(level, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, stack);
+            markChanged();
+        }
+    }
+
+    /**
+     * Gets the number of stacks in the buffer.
+     *
+     * @return Buffered stacks
+     */
+    public int getBufferedStacks() {
+        return buffer.size();
+    }
+
+    @Override
+    protected void absorbMember(BlockEntity node) {
+        if (node instanceof ItemPipeBlockEntity pipe) {
+            for (ItemStack stack : pipe.takeLegacyBuffer()) {
+                buffer.add(new Transit(stack, pipe.getBlockPos().asLong(), LongSets.EMPTY_SET));
+                markChanged();
+            }
+        }
+    }
+
+    @Override
+    protected void discardMember(BlockEntity node) {
+        // Pipes never saved a copy of the network buffer, only what they buffered before it existed
+        absorbMember(node);
+    }
+
+    @Override
+    protected void absorbContents(TransportNetwork other) {
+        if (other instanceof ItemPipeNetwork itemNetwork) {
+            buffer.addAll(itemNetwork.buffer);
+            itemNetwork.buffer.clear();
+        }
+    }
+
+    @Override
+    protected void moveContents(TransportNetwork target, long movedCapacity, long capacityBefore) {
+        if (target instanceof ItemPipeNetwork itemNetwork) {
+            int moved = (int) scale(buffer.size(), movedCapacity, capacityBefore);
+            for (int i = 0; i < moved; i++) {
+                itemNetwork.buffer.add(buffer.remove(buffer.size() - 1));
+            }
+        }
+    }
+
+    @Override
+    protected void dropContents(long removedCapacity, long capacityBefore) {
+        // Removed pipes spill their share first, see spill(); the rest stays buffered
+    }
+
+    @Override
+    protected void saveContents(CompoundTag tag) {
+        ListTag list = new ListTag();
+        for (Transit transit : buffer) {
+            CompoundTag entry = transit.stack.save(new CompoundTag());
+            entry.putLong("Source", transit.source);
+            if (!transit.excluded.isEmpty()) {
+                entry.putLongArray("Excluded", transit.excluded.toLongArray());
+            }
+            list.add(entry);
+        }
+        tag.put("Items", list);
+    }
+
+    @Override
+    protected void loadContents(CompoundTag tag) {
+        buffer.clear();
+        ListTag list = tag.getList("Items", Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag entry = list.getCompound(i);
+            ItemStack stack = ItemStack.of(entry);
+            if (stack.isEmpty()) {
+                continue;
+            }
+            long[] excluded = entry.getLongArray("Excluded");
+            buffer.add(new Transit(stack, entry.getLong("Source"), excluded.length == 0 ? LongSets.EMPTY_SET
+                : LongSets.unmodifiable(new LongOpenHashSet(excluded))));
+        }
+    }
+
+    @Override
+    protected void saveEndpoint(Endpoint endpoint, CompoundTag tag) {
+        ItemFilter filter = ((ItemEndpoint) endpoint).filter;
+        if (filter != null) {
+            tag.put("Filter", filter.save());
+        }
+    }
+
+    @Override
+    protected Endpoint loadEndpoint(long memberPos, Direction side, CompoundTag tag) {
+        // Routes with the saved copy until the pipe loads and rescans, which shares its own filter
+        ItemFilter filter = tag.contains("Filter") ? ItemFilter.load(tag.getCompound("Filter")) : null;
+        return new ItemEndpoint(BlockPos.of(memberPos), side, filter);
+    }
+
+    @Override
+    protected Endpoint createEndpoint(ServerLevel level, BlockPos memberPos, Direction side) {
+        ItemFilter filter = level.getBlockEntity(memberPos) instanceof ItemPipeBlockEntity pipe
+            ? pipe.getFilter(side) : null;
+        return new ItemEndpoint(memberPos, side, filter);
+    }
+
+    @Override
+    protected void onEndpointsChanged() {
+        routes.clear();
+    }
+
+    @Override
+    protected void onCapacityChanged() {
+        // Called for every member added, removed, merged or split off
+        Arrays.fill(tierComponents, null);
+    }
+
+    /**
+     * Gets the slowest tier items pass on the fastest path between two members.
+     *
+     * @param from Packed position of the first member
+     * @param to Packed position of the second member
+     * @return The highest tier whose pipes, and faster ones, connect the two members
+     */
+    private PipeTier getBottleneck(long from, long to) {
+        if (!members.containsKey(from) || !members.containsKey(to)) {
+            return TIERS[0];
+        }
+        for (int tier = TIERS.length - 1; tier > 0; tier--) {
+            Long2IntOpenHashMap components = getComponents(tier);
+            int component = components.get(from);
+            if (component >= 0 && component == components.get(to)) {
+                return TIERS[tier];
+            }
+        }
+        return TIERS[0];
+    }
+
+    /**
+     * Labels the connected components of the members of a tier and above.
+     */
+    private Long2IntOpenHashMap getComponents(int minTier) {
+        Long2IntOpenHashMap components = tierComponents[minTier];
+        if (components != null) {
+            return components;
+        }
+        components = new Long2IntOpenHashMap();
+        components.defaultReturnValue(-1);
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        int label = 0;
+        for (Long2LongMap.Entry entry : members.long2LongEntrySet()) {
+            long start = entry.getLongKey();
+            if (tierOf(entry.getLongValue()) < minTier || components.containsKey(start)) {
+                continue;
+            }
+            components.put(start, label);
+            queue.enqueue(start);
+            while (!queue.isEmpty()) {
+                long current = queue.dequeueLong();
+                for (Direction direction : DIRECTIONS) {
+                    long neighbor = BlockPos.offset(current, direction);
+                    if (members.containsKey(neighbor) && !components.containsKey(neighbor)
+                        && tierOf(members.get(neighbor)) >= minTier) {
+                        components.put(neighbor, label);
+                        queue.enqueue(neighbor);
+                    }
+                }
+            }
+            label++;
+        }
+        tierComponents[minTier] = components;
+        return components;
+    }
+
+    /**
+     * Gets the tier ordinal of a member from its capacity, which is distinct per tier.
+     */
+    private static int tierOf(long memberCapacity) {
+        for (PipeTier tier : TIERS) {
+            if (tier.getBufferSlots() == memberCapacity) {
+                return tier.ordinal();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Routes a stack to the network's destinations.
+     *
+     * @param level The level
+     * @param stack The stack to route
+     * @param source Position of the pipe the stack entered at
+     * @param excluded Positions that must not receive the stack
+     * @param simulate If true, the insertion is only simulated and destinations are not rate limited
+     * @param gameTime Current game time, for the per-destination rate limit
+     * @return The remainder that could not be routed
+     */
+    private ItemStack route(Level level, ItemStack stack, long source, LongSet excluded, boolean simulate,
+                            long gameTime) {
+        if (stack.isEmpty() || endpoints.isEmpty()) {
+            return stack;
+        }
+
+        Route route = getRoute(BuiltInRegistries.ITEM.getId(stack.getItem()));
+        ItemStack remaining = route.preferred.offer(this, level, stack, source, excluded, simulate, gameTime);
+        if (!remaining.isEmpty()) {
+            remaining = route.fallback.offer(this, level, remaining, source, excluded, simulate, gameTime);
+        }
+        return remaining;
+    }
+
+    private Route getRoute(int itemId) {
+        if (routeGeneration != ItemFilter.getCompileGeneration()) {
+            routes.clear();
+            routeGeneration = ItemFilter.getCompileGeneration();
+        }
+
+        Route route = routes.get(itemId);
+        if (route == null) {
+            IntArrayList preferred = new IntArrayList();
+            IntArrayList fallback = new IntArrayList();
+            for (int i = 0; i < endpoints.size(); i++) {
+                ItemFilter filter = ((ItemEndpoint) endpoints.get(i)).filter;
+                if (filter == null) {
+                    fallback.add(i);
+                } else if (filter.test(itemId)) {
+                    (filter.isBlacklist() ? fallback : preferred).add(i);
+                }
+            }
+            route = new Route(new Candidates(preferred.toIntArray()), new Candidates(fallback.toIntArray()));
+            routes.put(itemId, route);
+        }
+        return route;
+    }
+
+    /**
+     * Cached destinations for one item id.
+     */
+    private record Route(Candidates preferred, Candidates fallback) {
+    }
+
+    /**
+     * A set of destination indices with its own round-robin cursor.
+     */
+    private static class Candidates {
+        private final int[] indices;
+        private int next;
+
+        private Candidates(int[] indices) {
+            this.indices = indices;
+        }
+
+        private ItemStack offer(ItemPipeNetwork network, Level level, ItemStack stack, long source,
+                                LongSet excluded, boolean simulate, long gameTime) {
+            ItemStack remaining = stack;
+            int count = indices.length;
+            for (int i = 0; i < count && !remaining.isEmpty(); i++) {
+                int slot = (next + i) % count;
+                ItemEndpoint endpoint = (ItemEndpoint) network.endpoints.get(indices[slot]);
+                if (excluded.contains(endpoint.getTargetPos().asLong())) {
+                    continue;
+                }
+                if (!simulate && gameTime < endpoint.readyAt) {
+                    continue;
+                }
+
+                IItemHandler handler = endpoint.getHandler(level, ForgeCapabilities.ITEM_HANDLER);
+                if (handler == null) {
+                    continue;
+                }
+
+                // Handlers may keep the stack they are given, so always hand out a copy
+                PipeTier tier = simulate ? null : network.getBottleneck(source, endpoint.getMemberPos().asLong());
+                int batch = simulate ? remaining.getCount()
+                    : Math.min(remaining.getCount(), tier.getItemsPerOperation());
+                ItemStack rejected = ItemHandlerHelper.insertItemStacked(handler,
+                    ItemHandlerHelper.copyStackWithSize(remaining, batch), simulate);
+                int accepted = batch - rejected.getCount();
+                if (accepted > 0) {
+                    remaining = ItemHandlerHelper.copyStackWithSize(remaining, remaining.getCount() - accepted);
+                    if (!simulate) {
+                        endpoint.readyAt = gameTime + tier.getOperationInterval();
+                        next = (slot + 1) % count;
+                    }
+                }
+            }
+            return remaining;
+        }
+    }
+
+    /**
+     * A buffered stack waiting for a destination, with the pipe it entered at.
+     */
+    private static class Transit {
+        private ItemStack stack;
+        private final long source;
+        private final LongSet excluded;
+
+        private Transit(ItemStack stack, long source, LongSet excluded) {
+            this.stack = stack;
+            this.source = source;
+            this.excluded = excluded;
+        }
+
+        private boolean canMerge(ItemStack other, long otherSource, LongSet otherExcluded) {
+            return source == otherSource && ItemHandlerHelper.canItemStacksStack(stack, other)
+                && excluded.equals(otherExcluded);
+        }
+    }
+
+    /**
+     * An inventory attached to the network, with the filter of the pipe side it is attached to.
+     */
+    public static class ItemEndpoint extends Endpoint {
+        @Nullable
+        private final ItemFilter filter;
+        private long readyAt;
+
+        public ItemEndpoint(BlockPos memberPos, Direction side, @Nullable ItemFilter filter) {
+            super(memberPos.asLong(), side, memberPos.relative(side));
+            this.filter = filter;
+        }
+
+        @Nullable
+        public ItemFilter getFilter() {
+            return filter;
+        }
+    }
+}
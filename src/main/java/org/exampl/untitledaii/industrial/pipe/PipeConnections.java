@@ -0,0 +1,176 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.PipeBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.StateDefinition;
+import net.minecraft.world.level.block.state.properties.BooleanProperty;
+import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+/**
+ * Connection properties and shape tables shared by pipes and cables.
+ *
+ * <p>Each connected side is a boolean block state property. The six properties pack into a
+ * 6-bit mask (bit {@code 1 << direction.get3DDataValue()}) that indexes a precomputed table of
+ * 64 shapes, so shape and collision queries never build a shape at runtime and network code can
+ * read connectivity straight from the block state.</p>
+ *
+ * <p>Blocks pass their state definition to {@link #cacheMasks} when they are constructed, so
+ * {@link #getMask} is a single identity map lookup for their states. The cache is only written
+ * during block registration and is read-only afterwards.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public final class PipeConnections {
+
+    public static final int ALL_SIDES = 0b111111;
+
+    private static final BooleanProperty[] PROPERTIES = new BooleanProperty[6];
+    private static final Reference2IntOpenHashMap<BlockState> MASKS = new Reference2IntOpenHashMap<>();
+
+    static {
+        for (Direction direction : Direction.values()) {
+            PROPERTIES[direction.get3DDataValue()] = PipeBlock.PROPERTY_BY_DIRECTION.get(direction);
+        }
+        MASKS.defaultReturnValue(-1);
+    }
+
+    private PipeConnections() {
+    }
+
+    /**
+     * Gets the connection property of a side.
+     *
+     * @param direction The side
+     * @return The property
+     */
+    public static BooleanProperty getProperty(Direction direction) {
+        return PROPERTIES[direction.get3DDataValue()];
+    }
+
+    /**
+     * Adds all six connection properties to a block state definition.
+     *
+     * @param builder State definition builder
+     */
+    public static void addProperties(StateDefinition.Builder<Block, BlockState> builder) {
+        builder.add(PROPERTIES);
+    }
+
+    /**
+     * Sets every connection property of a state to false.
+     *
+     * @param state The state
+     * @return The disconnected state
+     */
+    public static BlockState disconnected(BlockState state) {
+        return withMask(state, 0);
+    }
+
+    /**
+     * Precomputes the connection masks of every state of a block. Called from block constructors.
+     *
+     * @param definition The block's state definition
+     */
+    public static synchronized void cacheMasks(StateDefinition<Block, BlockState> definition) {
+        for (BlockState state : definition.getPossibleStates()) {
+            MASKS.put(state, computeMask(state));
+        }
+    }
+
+    /**
+     * Gets the connection mask of a state.
+     *
+     * <p>States without connection properties are treated as connected on all sides.</p>
+     *
+     * @param state The state
+     * @return 6-bit mask of connected sides
+     */
+    public static int getMask(BlockState state) {
+        int mask = MASKS.getInt(state);
+        return mask >= 0 ? mask : computeMask(state);
+    }
+
+    private static int computeMask(BlockState state) {
+        if (!state.hasProperty(PROPERTIES[0])) {
+            return ALL_SIDES;
+        }
+        int mask = 0;
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            if (state.getValue(PROPERTIES[i])) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Applies a connection mask to a state.
+     *
+     * @param state The state
+     * @param mask 6-bit mask of connected sides
+     * @return The updated state
+     */
+    public static BlockState withMask(BlockState state, int mask) {
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            state = state.setValue(PROPERTIES[i], (mask & (1 << i)) != 0);
+        }
+        return state;
+    }
+
+    /**
+     * Checks whether a state is connected on a side.
+     *
+     * @param state The state
+     * @param direction The side
+     * @return True if connected
+     */
+    public static boolean isConnected(BlockState state, Direction direction) {
+        return (getMask(state) & (1 << direction.get3DDataValue())) != 0;
+    }
+
+    /**
+     * Builds the 64-entry shape table for a pipe with a square cross-section.
+     *
+     * @param min Lower edge of the core in pixels
+     * @param max Upper edge of the core in pixels
+     * @return Shapes indexed by connection mask
+     */
+    public static VoxelShape[] createShapes(double min, double max) {
+        VoxelShape core = Block.box(min, min, min, max, max, max);
+        VoxelShape[] arms = new VoxelShape[6];
+        for (Direction direction : Direction.values()) {
+            arms[direction.get3DDataValue()] = Block.box(
+                armMin(direction.getStepX(), min, max),
+                armMin(direction.getStepY(), min, max),
+                armMin(direction.getStepZ(), min, max),
+                armMax(direction.getStepX(), min, max),
+                armMax(direction.getStepY(), min, max),
+                armMax(direction.getStepZ(), min, max));
+        }
+
+        VoxelShape[] shapes = new VoxelShape[ALL_SIDES + 1];
+        for (int mask = 0; mask <= ALL_SIDES; mask++) {
+            VoxelShape shape = core;
+            for (int i = 0; i < arms.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    shape = Shapes.or(shape, arms[i]);
+                }
+            }
+            shapes[mask] = shape.optimize();
+        }
+        return shapes;
+    }
+
+    private static double armMin(int step, double min, double max) {
+        return step < 0 ? 0 : step > 0 ? max : min;
+    }
+
+    private static double armMax(int step, double min, double max) {
+        return step < 0 ? min : step > 0 ? 16 : max;
+    }
+}
@@ -0,0 +1,87 @@
+package org.exampl.untitledaii.industrial.pipe;
+
+/**
+ * Transfer tiers for item pipes.
+ *
+ * <p>Each tier defines:</p>
+ * <ul>
+ *   <li>Items moved per transfer operation</li>
+ *   <li>Ticks between transfer operations</li>
+ *   <li>Stacks each pipe adds to its network's buffer</li>
+ * </ul>
+ *
+ * <p>Items per operation and operation interval can be overridden in the common config.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public enum PipeTier {
+    /**
+     * Basic pipe - 16 items every 10 ticks (1,920 items/min).
+     */
+    BASIC("basic", 16, 10, 1),
+
+    /**
+     * Advanced pipe - 32 items every 5 ticks (7,680 items/min).
+     */
+    ADVANCED("advanced", 32, 5, 4),
+
+    /**
+     * Elite pipe - 64 items every 2 ticks (38,400 items/min).
+     */
+    ELITE("elite", 64, 2, 9);
+
+    private final String id;
+    private final int bufferSlots;
+    private int itemsPerOperation;
+    private int operationInterval;
+
+    PipeTier(String id, int itemsPerOperation, int operationInterval, int bufferSlots) {
+        this.id = id;
+        this.itemsPerOperation = itemsPerOperation;
+        this.operationInterval = operationInterval;
+        this.bufferSlots = bufferSlots;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the maximum number of items moved in one transfer operation.
+     *
+     * @return Items per operation
+     */
+    public int getItemsPerOperation() {
+        return itemsPerOperation;
+    }
+
+    /**
+     * Gets the number of ticks between transfer operations.
+     *
+     * @return Operation interval in ticks
+     */
+    public int getOperationInterval() {
+        return operationInterval;
+    }
+
+    /**
+     * Gets the number of stacks a pipe of this tier adds to its network's buffer.
+     *
+     * @return Buffer slot count
+     */
+    public int getBufferSlots() {
+        return bufferSlots;
+    }
+
+    /**
+     * Applies config overrides for this tier.
+     *
+     * @param itemsPerOperation Items moved per operation
+     * @param operationInterval Ticks between operations
+     */
+    public void configure(int itemsPerOperation, int operationInterval) {
+        this.itemsPerOperation = Math.max(1, itemsPerOperation);
+        this.operationInterval = Math.max(1, operationInterval);
+    }
+}
@@ -0,0 +1,267 @@
+package org.exampl.untitledaii.industrial.storage;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Item storage that keeps one {@code long} count per item type instead of stacks.
+ *
+ * <p>Counts live in dense arrays of the stored types, indexed through an {@link ItemKey} hash map,
+ * so a type that runs out is swapped with the last one and the arrays never hold empty
+ * entries.</p>
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>Inserting is one hash lookup and one add, however much is stored</li>
+ *   <li>Exposed as an {@link IItemHandler} with one virtual slot per stored type, plus one empty
+ *       slot while there is room for another type; any slot accepts any item, so callers that
+ *       try slot 0 first insert in one call</li>
+ *   <li>Extraction walks only stored types; each slot hands out at most one stack per call</li>
+ *   <li>Saved as a list of key/count pairs, one entry per type</li>
+ * </ul>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class CountedItemStorage implements IItemHandler {
+
+    private final long capacity;
+    private final int maxTypes;
+    @Nullable
+    private final Runnable onChanged;
+    private final Object2IntOpenHashMap<ItemKey> slotOf = new Object2IntOpenHashMap<>();
+    private ItemKey[] keys = new ItemKey[8];
+    private long[] counts = new long[8];
+    private int types;
+    private long stored;
+
+    /**
+     * Creates an empty storage.
+     *
+     * @param capacity Most items stored in total
+     * @param maxTypes Most item types stored
+     * @param onChanged Callback invoked when the contents change
+     */
+    public CountedItemStorage(long capacity, int maxTypes, @Nullable Runnable onChanged) {
+        this.capacity = capacity;
+        this.maxTypes = maxTypes;
+        this.onChanged = onChanged;
+        this.slotOf.defaultReturnValue(-1);
+    }
+
+    /**
+     * Inserts items.
+     *
+     * @param stack Items to insert; not modified
+     * @param simulate If true, the storage is not changed
+     * @return The items that did not fit
+     */
+    public ItemStack insert(ItemStack stack, boolean simulate) {
+        if (stack.isEmpty()) {
+            return ItemStack.EMPTY;
+        }
+        int accepted = (int) Math.min(stack.getCount(), capacity - stored);
+        if (accepted <= 0) {
+            return stack;
+        }
+        ItemKey probe = ItemKey.probe(stack);
+        int slot = slotOf.getInt(probe);
+        if (slot < 0 && types >= maxTypes) {
+            return stack;
+        }
+        if (!simulate) {
+            if (slot < 0) {
+                slot = addType(probe.detach());
+            }
+            counts[slot] += accepted;
+            stored += accepted;
+            changed();
+        }
+        return accepted == stack.getCount() ? ItemStack.EMPTY
+            : ItemHandlerHelper.copyStackWithSize(stack, stack.getCount() - accepted);
+    }
+
+    /**
+     * Extracts items of one type.
+     *
+     * @param key Item type
+     * @param amount Most items to extract
+     * @param simulate If true, the storage is not changed
+     * @return Items extracted
+     */
+    public long extract(ItemKey key, long amount, boolean simulate) {
+        int slot = slotOf.getInt(key);
+        return slot < 0 ? 0 : extractFromSlot(slot, amount, simulate);
+    }
+
+    private long extractFromSlot(int slot, long amount, boolean simulate) {
+        long extracted = Math.min(amount, counts[slot]);
+        if (extracted <= 0 || simulate) {
+            return Math.max(0, extracted);
+        }
+        counts[slot] -= extracted;
+        stored -= extracted;
+        if (counts[slot] == 0) {
+            removeType(slot);
+        }
+        changed();
+        return extracted;
+    }
+
+    private int addType(ItemKey key) {
+        if (types == keys.length) {
+            keys = Arrays.copyOf(keys, types * 2);
+            counts = Arrays.copyOf(counts, types * 2);
+        }
+        keys[types] = key;
+        counts[types] = 0;
+        slotOf.put(key, types);
+        return types++;
+    }
+
+    private void removeType(int slot) {
+        slotOf.removeInt(keys[slot]);
+        int last = --types;
+        if (slot != last) {
+            keys[slot] = keys[last];
+            counts[slot] = counts[last];
+            slotOf.put(keys[slot], slot);
+        }
+        keys[last] = null;
+        counts[last] = 0;
+    }
+
+    private void changed() {
+        if (onChanged != null) {
+            onChanged.run();
+        }
+    }
+
+    /**
+     * Gets the stored amount of one type.
+     *
+     * @param key Item type
+     * @return Items stored
+     */
+    public long getCount(ItemKey key) {
+        int slot = slotOf.getInt(key);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    public long getStored() {
+        return stored;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public int getTypeCount() {
+        return types;
+    }
+
+    public int getMaxTypes() {
+        return maxTypes;
+    }
+
+    /**
+     * Visits every stored type with its count.
+     *
+     * @param consumer Receives each key and count
+     */
+    public void forEach(ObjLongConsumer<ItemKey> consumer) {
+        for (int i = 0; i < types; i++) {
+            consumer.accept(keys[i], counts[i]);
+        }
+    }
+
+    @Override
+    public int getSlots() {
+        return types < maxTypes ? types + 1 : types;
+    }
+
+    /**
+     * Gets the contents of a virtual slot, capped at {@link Integer#MAX_VALUE} items.
+     */
+    @NotNull
+    @Override
+    public ItemStack getStackInSlot(int slot) {
+        if (slot < 0 || slot >= types) {
+            return ItemStack.EMPTY;
+        }
+        return keys[slot].toStack((int) Math.min(counts[slot], Integer.MAX_VALUE));
+    }
+
+    /**
+     * Inserts into the storage; the slot is ignored.
+     */
+    @NotNull
+    @Override
+    public ItemStack insertItem(int slot, @NotNull ItemStack stack, boolean simulate) {
+        return insert(stack, simulate);
+    }
+
+    /**
+     * Extracts from a virtual slot, at most one stack of its item.
+     */
+    @NotNull
+    @Override
+    public ItemStack extractItem(int slot, int amount, boolean simulate) {
+        if (slot < 0 || slot >= types || amount <= 0) {
+            return ItemStack.EMPTY;
+        }
+        ItemKey key = keys[slot];
+        int extracted = (int) extractFromSlot(slot, Math.min(amount, key.getMaxStackSize()), simulate);
+        return extracted == 0 ? ItemStack.EMPTY : key.toStack(extracted);
+    }
+
+    @Override
+    public int getSlotLimit(int slot) {
+        return (int) Math.min(capacity, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isItemValid(int slot, @NotNull ItemStack stack) {
+        return true;
+    }
+
+    public ListTag save() {
+        ListTag list = new ListTag();
+        for (int i = 0; i < types; i++) {
+            CompoundTag entry = keys[i].save();
+            entry.putLong("Count", counts[i]);
+            list.add(entry);
+        }
+        return list;
+    }
+
+    public void load(ListTag list) {
+        slotOf.clear();
+        Arrays.fill(keys, null);
+        types = 0;
+        stored = 0;
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag entry = list.getCompound(i);
+            ItemKey key = ItemKey.load(entry);
+            long count = entry.getLong("Count");
+            if (key == null || count <= 0) {
+                continue;
+            }
+            int slot = slotOf.getInt(key);
+            if (slot < 0) {
+                slot = addType(key);
+            }
+            counts[slot] += count;
+            stored += count;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.exampl.untitledaii.industrial.storage;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * An item type independent of count: the item plus its NBT, as compared by
+ * {@link ItemStack#isSameItemSameTags}.
+ *
+ * <p>Keys made by {@link #probe(ItemStack)} share the stack's tag and are only meant for lookups;
+ * {@link #of(ItemStack)} copies the tag so the key can be stored.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public final class ItemKey {
+
+    private final Item item;
+    @Nullable
+    private final CompoundTag tag;
+    private final int hash;
+    private int maxStackSize;
+
+    private ItemKey(Item item, @Nullable CompoundTag tag) {
+        this.item = item;
+        this.tag = tag;
+        this.hash = 31 * item.hashCode() + Objects.hashCode(tag);
+    }
+
+    /**
+     * Creates a key that owns a copy of the stack's tag.
+     *
+     * @param stack The stack
+     * @return The key
+     */
+    public static ItemKey of(ItemStack stack) {
+        CompoundTag tag = stack.getTag();
+        return new ItemKey(stack.getItem(), tag == null ? null : tag.copy());
+    }
+
+    /**
+     * Creates a lookup key sharing the stack's tag, to be discarded after the lookup.
+     *
+     * @param stack The stack
+     * @return The key
+     */
+    static ItemKey probe(ItemStack stack) {
+        return new ItemKey(stack.getItem(), stack.getTag());
+    }
+
+    /**
+     * Gets a key that owns its tag, copying it if this key is a probe.
+     *
+     * @return A key safe to store
+     */
+    ItemKey detach() {
+        return tag == null ? this : new ItemKey(item, tag.copy());
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    @Nullable
+    public CompoundTag getTag() {
+        return tag;
+    }
+
+    /**
+     * Creates a stack of this item type.
+     *
+     * @param count Stack size
+     * @return A new stack
+     */
+    public ItemStack toStack(int count) {
+        ItemStack stack = new ItemStack(item, count);
+        if (tag != null) {
+            stack.setTag(tag.copy());
+        }
+        return stack;
+    }
+
+    public int getMaxStackSize() {
+        if (maxStackSize == 0) {
+            maxStackSize = toStack(1).getMaxStackSize();
+        }
+        return maxStackSize;
+    }
+
+    public CompoundTag save() {
+        CompoundTag nbt = new CompoundTag();
+        nbt.putString("Item", String.valueOf(ForgeRegistries.ITEMS.getKey(item)));
+        if (tag != null) {
+            nbt.put("Tag", tag.copy());
+        }
+        return nbt;
+    }
+
+    /**
+     * Reads a key written by {@link #save()}.
+     *
+     * @param nbt Saved key
+     * @return The key, or null if its item no longer exists
+     */
+    @Nullable
+    public static ItemKey load(CompoundTag nbt) {
+        ResourceLocation id = ResourceLocation.tryParse(nbt.getString("Item"));
+        Item item = id == null ? null : ForgeRegistries.ITEMS.getValue(id);
+        if (item == null || item == Items.AIR) {
+            return null;
+        }
+        return new ItemKey(item, nbt.contains("Tag") ? nbt.getCompound("Tag").copy() : null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof ItemKey other && item == other.item && hash == other.hash
+            && Objects.equals(tag, other.tag);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return tag == null ? String.valueOf(ForgeRegistries.ITEMS.getKey(item))
+            : ForgeRegistries.ITEMS.getKey(item) + tag.toString();
+    }
+}
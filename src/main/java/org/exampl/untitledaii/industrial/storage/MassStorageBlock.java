@@ -0,0 +1,55 @@
+package org.exampl.untitledaii.industrial.storage;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.Containers;
+import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.EntityBlock;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.level.block.state.BlockState;
+import org.exampl.untitledaii.industrial.ModBlockEntities;
+import org.exampl.untitledaii.industrial.ModItems;
+
+/**
+ * Mass storage block: holds large amounts of a limited number of item types.
+ *
+ * <p>The block never ticks; pipes, hoppers and machines insert into and extract from its
+ * {@link MassStorageBlockEntity}.</p>
+ *
+ * <p>Breaking a non-empty block drops it as an item that keeps the contents, restored when the
+ * item is placed again.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class MassStorageBlock extends Block implements EntityBlock {
+
+    public MassStorageBlock() {
+        super(BlockBehaviour.Properties.of()
+            .strength(3.5f, 6.0f)
+            .requiresCorrectToolForDrops());
+    }
+
+    @Override
+    public BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return new MassStorageBlockEntity(pos, state);
+    }
+
+    @Override
+    public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
+        if (!state.is(newState.getBlock()) && !level.isClientSide
+            && level.getBlockEntity(pos) instanceof MassStorageBlockEntity storage
+            && storage.getStorage().getStored() > 0) {
+            CompoundTag tag = new CompoundTag();
+            tag.put("Items", storage.getStorage().save());
+            ItemStack stack = new ItemStack(ModItems.MASS_STORAGE.get());
+            BlockItem.setBlockEntityData(stack, ModBlockEntities.MASS_STORAGE.get(), tag);
+            Containers.dropItemStack(level, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, stack);
+        }
+        super.onRemove(state, level, pos, newState, isMoving);
+    }
+}
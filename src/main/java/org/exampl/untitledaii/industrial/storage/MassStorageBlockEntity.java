@@ -0,0 +1,78 @@
+package org.exampl.untitledaii.industrial.storage;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.items.IItemHandler;
+import org.exampl.untitledaii.industrial.ModBlockEntities;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Block entity of a mass storage block.
+ *
+ * <p>Storage:</p>
+ * <ul>
+ *   <li>Capacity: {@value #CAPACITY} items in total</li>
+ *   <li>Up to {@value #MAX_TYPES} item types</li>
+ *   <li>Exposed on every side as a {@link CountedItemStorage}</li>
+ * </ul>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class MassStorageBlockEntity extends BlockEntity {
+
+    public static final long CAPACITY = 1L << 24;
+    public static final int MAX_TYPES = 64;
+
+    private final CountedItemStorage storage = new CountedItemStorage(CAPACITY, MAX_TYPES, this::setChanged);
+    private LazyOptional<IItemHandler> itemHandler = LazyOptional.of(() -> storage);
+
+    public MassStorageBlockEntity(BlockPos pos, BlockState state) {
+        super(ModBlockEntities.MASS_STORAGE.get(), pos, state);
+    }
+
+    public CountedItemStorage getStorage() {
+        return storage;
+    }
+
+    @Override
+    protected void saveAdditional(CompoundTag tag) {
+        super.saveAdditional(tag);
+        tag.put("Items", storage.save());
+    }
+
+    @Override
+    public void load(CompoundTag tag) {
+        super.load(tag);
+        storage.load(tag.getList("Items", Tag.TAG_COMPOUND));
+    }
+
+    @NotNull
+    @Override
+    public <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side) {
+        if (cap == ForgeCapabilities.ITEM_HANDLER) {
+            return itemHandler.cast();
+        }
+        return super.getCapability(cap, side);
+    }
+
+    @Override
+    public void invalidateCaps() {
+        itemHandler.invalidate();
+        super.invalidateCaps();
+    }
+
+    @Override
+    public void reviveCaps() {
+        super.reviveCaps();
+        itemHandler = LazyOptional.of(() -> storage);
+    }
+}
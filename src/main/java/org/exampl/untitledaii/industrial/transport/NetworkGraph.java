@@ -0,0 +1,693 @@
+package org.exampl.untitledaii.industrial.transport;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Incremental connectivity tracker for all networks of one type in a level.
+ *
+ * <p>Topology changes are handled locally instead of rebuilding from scratch:</p>
+ * <ul>
+ *   <li><b>Placement</b> - the new node joins the largest adjacent network and the (at most five) other
+ *       adjacent networks are merged into it. Cost is the size of the smaller networks.</li>
+ *   <li><b>Removal</b> - a bounded search runs in lock-step from every remaining neighbor of the removed
+ *       node. It stops as soon as all searches meet (still connected) or all but one are exhausted
+ *       (the exhausted ones split off), so the cost is proportional to the smaller side of the cut.</li>
+ *   <li><b>Huge networks</b> - if the split search exceeds {@link #SPLIT_SEARCH_BUDGET}, the network keeps
+ *       running as-is and a flood fill is amortized over the following ticks, at most
+ *       {@link #DEFERRED_BUDGET_PER_TICK} nodes per tick.</li>
+ * </ul>
+ *
+ * <p>Adjacency is read from the graph itself; the world is only touched to scan endpoints around the
+ * changed node, and never in unloaded chunks. Graphs are persisted by {@link NetworkSavedData} and
+ * restored without a world walk; restored nodes are verified lazily as their chunks load.</p>
+ *
+ * <p>Chunk unloads detach nodes instead of removing them: networks track how many of their members are
+ * loaded, and a fully unloaded network is kept but not ticked.</p>
+ *
+ * @param <N> Network type
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class NetworkGraph<N extends TransportNetwork> {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    /**
+     * Maximum nodes visited by a removal split search before falling back to a deferred flood fill.
+     */
+    public static final int SPLIT_SEARCH_BUDGET = 4096;
+
+    /**
+     * Maximum nodes visited per tick by deferred flood fills.
+     */
+    public static final int DEFERRED_BUDGET_PER_TICK = 8192;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Supplier<N> factory;
+    private final Predicate<BlockState> nodeBlocks;
+    private final Long2ObjectOpenHashMap<N> owners;
+    private final ReferenceLinkedOpenHashSet<N> networks;
+    private final Reference2ObjectLinkedOpenHashMap<N, DeferredRebuild> deferred;
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> nodesByChunk;
+    private final LongOpenHashSet activeChunks;
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> unverified;
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> borderWaits;
+    private LongArrayList loadedChunks;
+    private LongArrayList verifiableChunks;
+    private long work;
+    private boolean changed;
+
+    public NetworkGraph(Supplier<N> factory, Predicate<BlockState> nodeBlocks) {
+        this.factory = factory;
+        this.nodeBlocks = nodeBlocks;
+        this.owners = new Long2ObjectOpenHashMap<>();
+        this.networks = new ReferenceLinkedOpenHashSet<>();
+        this.deferred = new Reference2ObjectLinkedOpenHashMap<>();
+        this.nodesByChunk = new Long2ObjectOpenHashMap<>();
+        this.activeChunks = new LongOpenHashSet();
+        this.unverified = new Long2ObjectOpenHashMap<>();
+        this.borderWaits = new Long2ObjectOpenHashMap<>();
+        this.loadedChunks = new LongArrayList();
+        this.verifiableChunks = new LongArrayList();
+    }
+
+    /**
+     * Gets the network a node belongs to.
+     *
+     * @param pos Node position
+     * @return The network, or null if the position is not a node
+     */
+    @Nullable
+    public N getNetwork(BlockPos pos) {
+        return owners.get(pos.asLong());
+    }
+
+    public boolean contains(BlockPos pos) {
+        return owners.containsKey(pos.asLong());
+    }
+
+    /**
+     * Adds a node, joining and merging the networks adjacent to it.
+     *
+     * @param level The level
+     * @param pos Node position
+     */
+    public void addNode(ServerLevel level, BlockPos pos) {
+        long packed = pos.asLong();
+        // The block entity is loading, so its chunk is
+        markChunkLoaded(chunkOf(packed));
+
+        N owner = owners.get(packed);
+        if (owner != null) {
+            // Restored from saved data or coming back from an unloaded chunk: not a topology change
+            removeUnverified(packed);
+            trackBorder(packed, owner.reattachMember(level, pos));
+            return;
+        }
+
+        // Adjacent networks, largest first
+        List<N> adjacent = new ArrayList<>(DIRECTIONS.length);
+        for (Direction direction : DIRECTIONS) {
+            N neighbor = owners.get(BlockPos.offset(packed, direction));
+            if (neighbor != null && !adjacent.contains(neighbor)) {
+                adjacent.add(neighbor);
+            }
+        }
+
+        N target;
+        if (adjacent.isEmpty()) {
+            target = factory.get();
+            networks.add(target);
+        } else {
+            adjacent.sort((a, b) -> Integer.compare(b.size(), a.size()));
+            target = adjacent.get(0);
+            for (int i = 1; i < adjacent.size(); i++) {
+                merge(target, adjacent.get(i));
+            }
+        }
+
+        owners.put(packed, target);
+        indexNode(packed);
+        if (activeChunks.add(chunkOf(packed))) {
+            // First node of a chunk that was not active yet: count every node indexed there once,
+            // the new one included
+            for (long node : nodesByChunk.get(chunkOf(packed))) {
+                owners.get(node).adjustLoadedMembers(1);
+            }
+        } else {
+            target.adjustLoadedMembers(1);
+        }
+        trackBorder(packed, target.addMember(level, pos));
+        work++;
+        restartDeferred(target);
+    }
+
+    /**
+     * Removes a node, splitting its network if the node was a cut point.
+     *
+     * @param pos Node position
+     */
+    public void removeNode(BlockPos pos) {
+        long packed = pos.asLong();
+        N network = owners.remove(packed);
+        if (network == null) {
+            return;
+        }
+        removeUnverified(packed);
+        unindexNode(packed, network);
+        network.removeMember(pos);
+        work++;
+        // The network may be discarded below, taking its own changed flag with it
+        changed = true;
+
+        if (network.size() == 0) {
+            discard(network);
+            return;
+        }
+
+        long[] seeds = new long[DIRECTIONS.length];
+        int seedCount = 0;
+        for (Direction direction : DIRECTIONS) {
+            long neighbor = BlockPos.offset(packed, direction);
+            if (owners.get(neighbor) == network) {
+                seeds[seedCount++] = neighbor;
+            }
+        }
+        if (seedCount <= 1) {
+            // A leaf can never disconnect its network
+            return;
+        }
+        if (deferred.containsKey(network)) {
+            restartDeferred(network);
+            return;
+        }
+        if (!splitSearch(network, seeds, seedCount)) {
+            LOGGER.debug("Split search budget exceeded on {}, deferring flood fill", network);
+            deferred.put(network, new DeferredRebuild(network));
+        }
+    }
+
+    /**
+     * Rescans the endpoints of a node after a non-member neighbor changed.
+     *
+     * @param level The level
+     * @param pos Node position
+     */
+    public void refreshEndpoints(ServerLevel level, BlockPos pos) {
+        long packed = pos.asLong();
+        N network = owners.get(packed);
+        if (network != null) {
+            trackBorder(packed, network.scanEndpoints(level, pos));
+        }
+    }
+
+    /**
+     * Processes deferred flood fills and ticks every network.
+     *
+     * @param level The level
+     */
+    public void tick(ServerLevel level) {
+        processVerification(level);
+        processDeferred();
+        for (N network : networks) {
+            if (!network.isDetached()) {
+                network.tick(level);
+            }
+            if (network.takeChanged()) {
+                changed = true;
+            }
+        }
+    }
+
+    /**
+     * Takes whether any network changed since the last call and needs saving.
+     *
+     * @return true if topology, endpoints or pooled contents changed
+     */
+    public boolean drainChanged() {
+        boolean drained = changed;
+        changed = false;
+        return drained;
+    }
+
+    /**
+     * Takes the nodes visited or moved by topology updates since the last call.
+     *
+     * @return Rebuild work in nodes
+     */
+    public long drainWork() {
+        long drained = work;
+        work = 0;
+        return drained;
+    }
+
+    public int getNetworkCount() {
+        return networks.size();
+    }
+
+    public int getNodeCount() {
+        return owners.size();
+    }
+
+    public int getPendingRebuilds() {
+        return deferred.size();
+    }
+
+    /**
+     * Reattaches the nodes of a freshly loaded chunk and queues follow-up work for the next tick.
+     *
+     * <p>Restored members whose block entity registered itself are verified on the spot; whatever is
+     * still unverified a tick after the chunk loaded no longer exists and is removed. Nodes in other
+     * chunks that were waiting for this chunk rescan their endpoints.</p>
+     *
+     * @param chunkPos Packed chunk position
+     */
+    public void onChunkLoaded(long chunkPos) {
+        markChunkLoaded(chunkPos);
+        if (unverified.containsKey(chunkPos) || borderWaits.containsKey(chunkPos)) {
+            loadedChunks.add(chunkPos);
+        }
+    }
+
+    /**
+     * Detaches the nodes of an unloaded chunk.
+     *
+     * <p>Nodes stay in their networks; an unloaded segment is not a topology change. Networks with no
+     * loaded member are not ticked until one of their chunks loads again.</p>
+     *
+     * @param chunkPos Packed chunk position
+     */
+    public void onChunkUnloaded(long chunkPos) {
+        if (!activeChunks.remove(chunkPos)) {
+            return;
+        }
+        LongOpenHashSet nodes = nodesByChunk.get(chunkPos);
+        if (nodes != null) {
+            for (long node : nodes) {
+                owners.get(node).adjustLoadedMembers(-1);
+            }
+        }
+    }
+
+    private void markChunkLoaded(long chunkPos) {
+        LongOpenHashSet nodes = nodesByChunk.get(chunkPos);
+        if (nodes == null || !activeChunks.add(chunkPos)) {
+            return;
+        }
+        for (long node : nodes) {
+            owners.get(node).adjustLoadedMembers(1);
+        }
+    }
+
+    private void indexNode(long pos) {
+        nodesByChunk.computeIfAbsent(chunkOf(pos), key -> new LongOpenHashSet()).add(pos);
+    }
+
+    private void unindexNode(long pos, N network) {
+        long chunk = chunkOf(pos);
+        LongOpenHashSet nodes = nodesByChunk.get(chunk);
+        if (nodes == null || !nodes.remove(pos)) {
+            return;
+        }
+        if (activeChunks.contains(chunk)) {
+            network.adjustLoadedMembers(-1);
+        }
+        if (nodes.isEmpty()) {
+            nodesByChunk.remove(chunk);
+            activeChunks.remove(chunk);
+        }
+    }
+
+    /**
+     * Remembers a node whose endpoint scan skipped sides facing unloaded chunks.
+     */
+    private void trackBorder(long pos, int unloadedSides) {
+        if (unloadedSides == 0) {
+            return;
+        }
+        for (Direction direction : DIRECTIONS) {
+            if ((unloadedSides & (1 << direction.get3DDataValue())) != 0) {
+                long neighborChunk = chunkOf(BlockPos.offset(pos, direction));
+                borderWaits.computeIfAbsent(neighborChunk, key -> new LongOpenHashSet()).add(pos);
+            }
+        }
+    }
+
+    /**
+     * Queues verification for restored members in chunks that were loaded before the graph was.
+     *
+     * @param level The level
+     */
+    public void onRestored(ServerLevel level) {
+        for (long chunk : unverified.keySet().toLongArray()) {
+            if (level.hasChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk))) {
+                onChunkLoaded(chunk);
+            }
+        }
+    }
+
+    /**
+     * Writes every network of this graph.
+     *
+     * @return The saved networks
+     */
+    public ListTag save() {
+        ListTag list = new ListTag();
+        for (N network : networks) {
+            list.add(network.save());
+        }
+        return list;
+    }
+
+    /**
+     * Restores networks written by {@link #save()} without touching the world.
+     *
+     * @param list The saved networks
+     */
+    public void load(ListTag list) {
+        for (int i = 0; i < list.size(); i++) {
+            N network = factory.get();
+            network.load(list.getCompound(i));
+            if (network.size() == 0) {
+                continue;
+            }
+            for (long member : network.getMembers()) {
+                owners.put(member, network);
+                indexNode(member);
+                unverified.computeIfAbsent(chunkOf(member), key -> new LongOpenHashSet()).add(member);
+            }
+            networks.add(network);
+        }
+        LOGGER.debug("Restored {} networks with {} nodes", networks.size(), owners.size());
+    }
+
+    private boolean removeUnverified(long pos) {
+        if (unverified.isEmpty()) {
+            return false;
+        }
+        long chunk = chunkOf(pos);
+        LongOpenHashSet members = unverified.get(chunk);
+        if (members == null || !members.remove(pos)) {
+            return false;
+        }
+        if (members.isEmpty()) {
+            unverified.remove(chunk);
+        }
+        return true;
+    }
+
+    private void processVerification(ServerLevel level) {
+        if (!verifiableChunks.isEmpty()) {
+            for (long chunk : verifiableChunks) {
+                if (!level.hasChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk))) {
+                    continue;
+                }
+                LongOpenHashSet pending = unverified.get(chunk);
+                if (pending != null) {
+                    for (long packed : pending.toLongArray()) {
+                        BlockPos pos = BlockPos.of(packed);
+                        if (nodeBlocks.test(level.getBlockState(pos))) {
+                            // Block-entity-free nodes are verified by their block state
+                            removeUnverified(packed);
+                            trackBorder(packed, owners.get(packed).reattachMember(level, pos));
+                        } else {
+                            LOGGER.debug("Dropping stale network node at {}", pos);
+                            removeNode(pos);
+                        }
+                    }
+                }
+                LongOpenHashSet waiting = borderWaits.remove(chunk);
+                if (waiting != null) {
+                    for (long pos : waiting) {
+                        if (owners.containsKey(pos) && level.isLoaded(BlockPos.of(pos))) {
+                            refreshEndpoints(level, BlockPos.of(pos));
+                        }
+                    }
+                }
+            }
+            verifiableChunks.clear();
+        }
+        // Give block entities of chunks loaded this tick one tick to register
+        LongArrayList swap = verifiableChunks;
+        verifiableChunks = loadedChunks;
+        loadedChunks = swap;
+    }
+
+    private static long chunkOf(long pos) {
+        return ChunkPos.asLong(SectionPos.blockToSectionCoord(BlockPos.getX(pos)),
+            SectionPos.blockToSectionCoord(BlockPos.getZ(pos)));
+    }
+
+    private void merge(N target, N other) {
+        for (long member : other.getMembers()) {
+            owners.put(member, target);
+        }
+        work += other.size();
+        DeferredRebuild pending = deferred.remove(other);
+        target.mergeFrom(other);
+        networks.remove(other);
+        if (pending != null) {
+            // The merged network inherits a possibly disconnected member set
+            deferred.put(target, new DeferredRebuild(target));
+        }
+    }
+
+    private void discard(N network) {
+        network.invalidate();
+        networks.remove(network);
+        deferred.remove(network);
+    }
+
+    private void restartDeferred(N network) {
+        DeferredRebuild pending = deferred.get(network);
+        if (pending != null) {
+            pending.reset();
+        }
+    }
+
+    /**
+     * Searches outward from every seed in lock-step, joining searches that meet.
+     *
+     * @return false if the budget was exceeded before the outcome was known
+     */
+    private boolean splitSearch(N network, long[] seeds, int seedCount) {
+        Long2IntOpenHashMap labels = new Long2IntOpenHashMap();
+        labels.defaultReturnValue(-1);
+        LongArrayFIFOQueue[] queues = new LongArrayFIFOQueue[seedCount];
+        int[] parent = new int[seedCount];
+        for (int i = 0; i < seedCount; i++) {
+            queues[i] = new LongArrayFIFOQueue();
+            queues[i].enqueue(seeds[i]);
+            labels.put(seeds[i], i);
+            parent[i] = i;
+        }
+
+        int groups = seedCount;
+        while (true) {
+            boolean progressed = false;
+            for (int i = 0; i < seedCount; i++) {
+                if (queues[i].isEmpty()) {
+                    continue;
+                }
+                progressed = true;
+                long current = queues[i].dequeueLong();
+                for (Direction direction : DIRECTIONS) {
+                    long neighbor = BlockPos.offset(current, direction);
+                    if (owners.get(neighbor) != network) {
+                        continue;
+                    }
+                    int label = labels.get(neighbor);
+                    if (label < 0) {
+                        labels.put(neighbor, i);
+                        queues[i].enqueue(neighbor);
+                    } else {
+                        int a = find(parent, i);
+                        int b = find(parent, label);
+                        if (a != b) {
+                            parent[b] = a;
+                            groups--;
+                        }
+                    }
+                }
+            }
+            if (groups == 1) {
+                work += labels.size();
+                return true;
+            }
+
+            // A group is closed once all of its searches ran dry
+            int openGroups = 0;
+            boolean[] open = new boolean[seedCount];
+            for (int i = 0; i < seedCount; i++) {
+                if (!queues[i].isEmpty()) {
+                    int root = find(parent, i);
+                    if (!open[root]) {
+                        open[root] = true;
+                        openGroups++;
+                    }
+                }
+            }
+            if (openGroups <= 1 || !progressed) {
+                work += labels.size();
+                splitClosedGroups(network, labels, parent, open, seedCount);
+                return true;
+            }
+            if (labels.size() > SPLIT_SEARCH_BUDGET) {
+                work += labels.size();
+                return false;
+            }
+        }
+    }
+
+    private void splitClosedGroups(N network, Long2IntOpenHashMap labels, int[] parent, boolean[] open,
+                                   int seedCount) {
+        boolean keptOne = false;
+        for (int i = 0; i < seedCount; i++) {
+            if (open[i]) {
+                keptOne = true;
+            }
+        }
+        for (int root = 0; root < seedCount; root++) {
+            if (find(parent, root) != root || open[root]) {
+                continue;
+            }
+            if (!keptOne) {
+                // Every side closed: the first group keeps the original network
+                keptOne = true;
+                continue;
+            }
+            LongOpenHashSet component = new LongOpenHashSet();
+            for (Long2IntOpenHashMap.Entry entry : labels.long2IntEntrySet()) {
+                if (find(parent, entry.getIntValue()) == root) {
+                    component.add(entry.getLongKey());
+                }
+            }
+            splitOff(network, component);
+        }
+    }
+
+    private void splitOff(N network, LongOpenHashSet component) {
+        N split = factory.get();
+        network.splitTo(split, component);
+        int loaded = 0;
+        for (long member : component) {
+            owners.put(member, split);
+            if (activeChunks.contains(chunkOf(member))) {
+                loaded++;
+            }
+        }
+        network.adjustLoadedMembers(-loaded);
+        split.adjustLoadedMembers(loaded);
+        networks.add(split);
+        work += component.size();
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private void processDeferred() {
+        if (deferred.isEmpty()) {
+            return;
+        }
+        int budget = DEFERRED_BUDGET_PER_TICK;
+        Iterator<DeferredRebuild> iterator = deferred.values().iterator();
+        while (iterator.hasNext() && budget > 0) {
+            DeferredRebuild rebuild = iterator.next();
+            budget -= rebuild.step(budget);
+            if (rebuild.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Flood fill of one network, amortized over several ticks.
+     *
+     * <p>Each completed component smaller than the network is split off and the fill restarts on the
+     * remainder. Any topology change to the network restarts the fill.</p>
+     */
+    private class DeferredRebuild {
+        private final N network;
+        private final LongOpenHashSet visited;
+        private final LongArrayFIFOQueue queue;
+        private boolean done;
+
+        DeferredRebuild(N network) {
+            this.network = network;
+            this.visited = new LongOpenHashSet();
+            this.queue = new LongArrayFIFOQueue();
+        }
+
+        void reset() {
+            visited.clear();
+            queue.clear();
+        }
+
+        boolean isDone() {
+            return done;
+        }
+
+        int step(int budget) {
+            if (visited.isEmpty()) {
+                if (network.size() == 0) {
+                    done = true;
+                    return 0;
+                }
+                long seed = network.getMembers().iterator().nextLong();
+                visited.add(seed);
+                queue.enqueue(seed);
+            }
+
+            int steps = 0;
+            while (!queue.isEmpty() && steps < budget) {
+                long current = queue.dequeueLong();
+                steps++;
+                for (Direction direction : DIRECTIONS) {
+                    long neighbor = BlockPos.offset(current, direction);
+                    if (owners.get(neighbor) == network && visited.add(neighbor)) {
+                        queue.enqueue(neighbor);
+                    }
+                }
+            }
+            work += steps;
+
+            if (queue.isEmpty()) {
+                if (visited.size() >= network.size()) {
+                    done = true;
+                } else {
+                    splitOff(network, visited);
+                    visited.clear();
+                }
+            }
+            return steps;
+        }
+    }
+}
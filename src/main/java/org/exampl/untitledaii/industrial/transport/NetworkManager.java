@@ -0,0 +1,244 @@
+package org.exampl.untitledaii.industrial.transport;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.exampl.untitledaii.Untitledaii;
+import org.exampl.untitledaii.industrial.pipe.IPipe;
+import org.slf4j.Logger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-level registry holding one {@link NetworkGraph} per network type.
+ *
+ * <p>Member blocks do not tick on their own; every graph is ticked once per level tick, which
+ * processes deferred rebuild work and then ticks its networks.</p>
+ *
+ * <p>Network types are registered once with {@link #registerType}, by the block class of their
+ * members. The manager of a level is created when the level loads and builds a graph for every
+ * registered type right away, restoring saved networks from the level's {@link NetworkSavedData}
+ * before any chunk loads, so restored networks tick without their blocks being touched. The saved
+ * data is only marked dirty on ticks where a graph reports a change.</p>
+ *
+ * <p>Topology work (nodes visited or moved by merges, splits and deferred flood fills) is counted per
+ * tick so the cost of incremental updates can be compared against full rebuilds.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+@Mod.EventBusSubscriber(modid = Untitledaii.MODID)
+public class NetworkManager {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Map<LevelAccessor, NetworkManager> MANAGERS = new WeakHashMap<>();
+    private static final Map<IPipe.PipeType, GraphType<?>> TYPES = new EnumMap<>(IPipe.PipeType.class);
+
+    /**
+     * Rebuild work per tick above which a debug message is logged.
+     */
+    private static final long WORK_LOG_THRESHOLD = 10000;
+
+    private final ServerLevel level;
+    private final Map<IPipe.PipeType, NetworkGraph<?>> graphs;
+    private final CompoundTag restored;
+    private final NetworkSavedData data;
+    private long lastTickWork;
+    private long totalWork;
+
+    private NetworkManager(ServerLevel level) {
+        this.level = level;
+        this.graphs = new EnumMap<>(IPipe.PipeType.class);
+        this.restored = new CompoundTag();
+        this.data = level.getDataStorage().computeIfAbsent(tag -> NetworkSavedData.load(this, tag),
+            () -> new NetworkSavedData(this), NetworkSavedData.NAME);
+        for (IPipe.PipeType type : TYPES.keySet()) {
+            createGraph(type);
+        }
+    }
+
+    /**
+     * Registers a network type. Called once per type, before any level loads.
+     *
+     * @param type Network type
+     * @param factory Creates empty networks of that type
+     * @param nodeBlocks Matches the block states of that type's nodes
+     */
+    public static synchronized <N extends TransportNetwork> void registerType(IPipe.PipeType type, Supplier<N> factory,
+                                                                             Predicate<BlockState> nodeBlocks) {
+        TYPES.putIfAbsent(type, new GraphType<>(factory, nodeBlocks));
+    }
+
+    /**
+     * Gets the network manager for a level.
+     *
+     * @param level The server level
+     * @return The level's network manager
+     */
+    public static NetworkManager get(ServerLevel level) {
+        return MANAGERS.computeIfAbsent(level, key -> new NetworkManager(level));
+    }
+
+    /**
+     * Gets the graph for a network type.
+     *
+     * @param type Network type, registered with {@link #registerType}
+     * @return The graph
+     */
+    @SuppressWarnings("unchecked")
+    public <N extends TransportNetwork> NetworkGraph<N> getGraph(IPipe.PipeType type) {
+        NetworkGraph<?> graph = graphs.get(type);
+        if (graph == null) {
+            // Only for types registered after this level loaded
+            graph = createGraph(type);
+        }
+        return (NetworkGraph<N>) graph;
+    }
+
+    private NetworkGraph<?> createGraph(IPipe.PipeType type) {
+        GraphType<?> graphType = TYPES.get(type);
+        if (graphType == null) {
+            throw new IllegalStateException("No network type registered for " + type);
+        }
+        NetworkGraph<?> graph = graphType.create();
+        String name = type.name();
+        if (restored.contains(name)) {
+            graph.load(restored.getList(name, Tag.TAG_COMPOUND));
+            graph.onRestored(level);
+            restored.remove(name);
+        }
+        graphs.put(type, graph);
+        return graph;
+    }
+
+    void restore(CompoundTag tag) {
+        for (String name : tag.getAllKeys()) {
+            restored.put(name, tag.get(name));
+        }
+    }
+
+    void save(CompoundTag tag) {
+        for (String name : restored.getAllKeys()) {
+            tag.put(name, restored.get(name));
+        }
+        for (Map.Entry<IPipe.PipeType, NetworkGraph<?>> entry : graphs.entrySet()) {
+            tag.put(entry.getKey().name(), entry.getValue().save());
+        }
+    }
+
+    public int getNetworkCount() {
+        int count = 0;
+        for (NetworkGraph<?> graph : graphs.values()) {
+            count += graph.getNetworkCount();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the topology work done during the last tick.
+     *
+     * @return Nodes visited or moved
+     */
+    public long getLastTickWork() {
+        return lastTickWork;
+    }
+
+    /**
+     * Gets the topology work done since the level was loaded.
+     *
+     * @return Nodes visited or moved
+     */
+    public long getTotalWork() {
+        return totalWork;
+    }
+
+    private void tick() {
+        long work = 0;
+        boolean changed = false;
+        for (NetworkGraph<?> graph : graphs.values()) {
+            graph.tick(level);
+            // Includes work and changes done by block updates since the previous tick
+            work += graph.drainWork();
+            changed |= graph.drainChanged();
+        }
+        if (changed) {
+            data.setDirty();
+        }
+        lastTickWork = work;
+        totalWork += work;
+        if (work > WORK_LOG_THRESHOLD) {
+            LOGGER.debug("Network topology work in {}: {} nodes this tick", level.dimension().location(), work);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && event.level instanceof ServerLevel serverLevel) {
+            NetworkManager manager = MANAGERS.get(serverLevel);
+            if (manager != null) {
+                manager.tick();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel && event.getChunk() instanceof LevelChunk) {
+            NetworkManager manager = MANAGERS.get(serverLevel);
+            if (manager != null) {
+                long chunkPos = event.getChunk().getPos().toLong();
+                for (NetworkGraph<?> graph : manager.graphs.values()) {
+                    graph.onChunkLoaded(chunkPos);
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel && event.getChunk() instanceof LevelChunk) {
+            NetworkManager manager = MANAGERS.get(serverLevel);
+            if (manager != null) {
+                long chunkPos = event.getChunk().getPos().toLong();
+                for (NetworkGraph<?> graph : manager.graphs.values()) {
+                    graph.onChunkUnloaded(chunkPos);
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelLoad(LevelEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            get(serverLevel);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        MANAGERS.remove(event.getLevel());
+    }
+
+    /**
+     * How to build the graph of one network type.
+     */
+    private record GraphType<N extends TransportNetwork>(Supplier<N> factory, Predicate<BlockState> nodeBlocks) {
+
+        private NetworkGraph<N> create() {
+            return new NetworkGraph<>(factory, nodeBlocks);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.exampl.untitledaii.industrial.transport;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Interface for blocks entities that are members of a {@link TransportNetwork}.
+ *
+ * <p>Nodes register themselves with their level's {@link NetworkGraph} when loaded and unregister
+ * when removed; they never hold on to a network reference themselves, since merges and splits
+ * reassign networks without touching member block entities.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public interface NetworkNode {
+
+    /**
+     * Gets the network this node currently belongs to.
+     *
+     * @return The network, or null if the node is not registered
+     */
+    @Nullable
+    TransportNetwork getNetwork();
+}
@@ -0,0 +1,37 @@
+package org.exampl.untitledaii.industrial.transport;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.exampl.untitledaii.Untitledaii;
+
+/**
+ * Per-dimension persistence of all transport network graphs.
+ *
+ * <p>Each network is stored as packed member positions, its endpoints and its pooled contents, so
+ * graphs come back on level load without walking the world or loading neighbor chunks.
+ * {@link NetworkManager} marks it dirty when pooled contents or topology change.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class NetworkSavedData extends SavedData {
+
+    public static final String NAME = Untitledaii.MODID + "_networks";
+
+    private final NetworkManager manager;
+
+    NetworkSavedData(NetworkManager manager) {
+        this.manager = manager;
+    }
+
+    static NetworkSavedData load(NetworkManager manager, CompoundTag tag) {
+        manager.restore(tag);
+        return new NetworkSavedData(manager);
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        manager.save(tag);
+        return tag;
+    }
+}
@@ -0,0 +1,530 @@
+package org.exampl.untitledaii.industrial.transport;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.LazyOptional;
+import org.exampl.untitledaii.industrial.pipe.IPipe;
+import org.exampl.untitledaii.industrial.pipe.PipeConnections;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Base class for network-level transport subsystems (item, fluid, gas, energy).
+ *
+ * <p>A network owns the shared state of all its member blocks and is ticked once per level tick by its
+ * {@link NetworkGraph}. Tick cost should be proportional to the number of endpoints, not members.</p>
+ *
+ * <p>Members carry a capacity weight (e.g. mB of tank space). Pooled contents are always split and
+ * merged in proportion to that weight, so topology changes never need to walk the world.</p>
+ *
+ * <p>Subclasses call {@link #markChanged()} whenever their pooled contents change; together with
+ * member and endpoint changes this decides whether the level saves the network again.</p>
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public abstract class TransportNetwork {
+
+    protected final Long2LongOpenHashMap members;
+    protected final List<Endpoint> endpoints;
+    private long capacity;
+    private int loadedMembers;
+    private boolean valid;
+    private boolean changed;
+
+    protected TransportNetwork() {
+        this.members = new Long2LongOpenHashMap();
+        this.endpoints = new ArrayList<>();
+        this.capacity = 0;
+        this.valid = true;
+    }
+
+    /**
+     * Gets the pipe type whose blocks form this network.
+     *
+     * @return Pipe type
+     */
+    public abstract IPipe.PipeType getType();
+
+    /**
+     * Gets the capability endpoints of this network expose.
+     *
+     * @return Endpoint capability
+     */
+    protected abstract Capability<?> getEndpointCapability();
+
+    /**
+     * Ticks the network once.
+     *
+     * @param level The level the network lives in
+     */
+    public abstract void tick(ServerLevel level);
+
+    /**
+     * Gets the capacity weight a member block contributes.
+     *
+     * @param state The member block state
+     * @return Capacity weight
+     */
+    protected abstract long getMemberCapacity(BlockState state);
+
+    /**
+     * Pools whatever the member block was holding while it was not part of a network.
+     *
+     * @param node The member block entity
+     */
+    protected void absorbMember(BlockEntity node) {
+    }
+
+    /**
+     * Takes all pooled contents of another network (which is about to be discarded).
+     *
+     * @param other The merged network
+     */
+    protected abstract void absorbContents(TransportNetwork other);
+
+    /**
+     * Moves the share of pooled contents belonging to the given capacity into another network.
+     *
+     * @param target The network receiving the share
+     * @param movedCapacity Capacity weight moved
+     * @param capacityBefore Capacity weight of this network before the move
+     */
+    protected abstract void moveContents(TransportNetwork target, long movedCapacity, long capacityBefore);
+
+    /**
+     * Drops the share of pooled contents belonging to a removed member.
+     *
+     * @param removedCapacity Capacity weight removed
+     * @param capacityBefore Capacity weight of this network before the removal
+     */
+    protected abstract void dropContents(long removedCapacity, long capacityBefore);
+
+    /**
+     * Creates the endpoint for a neighbor exposing the endpoint capability.
+     *
+     * @param level The level
+     * @param memberPos Position of the member block
+     * @param side Side of the member block the endpoint is on
+     * @return The endpoint
+     */
+    protected Endpoint createEndpoint(ServerLevel level, BlockPos memberPos, Direction side) {
+        return new Endpoint(memberPos.asLong(), side, memberPos.relative(side));
+    }
+
+    /**
+     * Discards whatever a member block saved while its network was persisted separately.
+     *
+     * @param node The member block entity
+     */
+    protected void discardMember(BlockEntity node) {
+    }
+
+    /**
+     * Writes the pooled contents.
+     *
+     * @param tag Tag to write to
+     */
+    protected abstract void saveContents(CompoundTag tag);
+
+    /**
+     * Reads the pooled contents. Called after members were restored.
+     *
+     * @param tag Tag to read from
+     */
+    protected abstract void loadContents(CompoundTag tag);
+
+    /**
+     * Writes type-specific endpoint data.
+     *
+     * @param endpoint The endpoint
+     * @param tag Tag to write to
+     */
+    protected void saveEndpoint(Endpoint endpoint, CompoundTag tag) {
+    }
+
+    /**
+     * Restores an endpoint without touching the world.
+     *
+     * @param memberPos Position of the member block
+     * @param side Side of the member block the endpoint is on
+     * @param tag Type-specific endpoint data
+     * @return The endpoint
+     */
+    protected Endpoint loadEndpoint(long memberPos, Direction side, CompoundTag tag) {
+        return new Endpoint(memberPos, side, BlockPos.of(memberPos).relative(side));
+    }
+
+    /**
+     * Marks the network as changed since it was last saved.
+     */
+    protected void markChanged() {
+        changed = true;
+    }
+
+    /**
+     * Takes the changed flag set since the last call.
+     *
+     * @return true if members, endpoints or pooled contents changed
+     */
+    boolean takeChanged() {
+        boolean taken = changed;
+        changed = false;
+        return taken;
+    }
+
+    /**
+     * Called after the total capacity weight changed, before any contents are moved in.
+     */
+    protected void onCapacityChanged() {
+    }
+
+    /**
+     * Called whenever the endpoint list changed, e.g. to drop route caches.
+     */
+    protected void onEndpointsChanged() {
+    }
+
+    int addMember(ServerLevel level, BlockPos pos) {
+        long memberCapacity = getMemberCapacity(level.getBlockState(pos));
+        members.put(pos.asLong(), memberCapacity);
+        capacity += memberCapacity;
+        onCapacityChanged();
+        markChanged();
+        // Block-entity-free members keep all their state in the network
+        BlockEntity node = level.getBlockEntity(pos);
+        if (node != null) {
+            absorbMember(node);
+        }
+        return scanEndpoints(level, pos);
+    }
+
+    int reattachMember(ServerLevel level, BlockPos pos) {
+        BlockEntity node = level.getBlockEntity(pos);
+        if (node != null) {
+            // The pooled contents stayed in the network, the block's own copy is stale
+            discardMember(node);
+        }
+        return scanEndpoints(level, pos);
+    }
+
+    void removeMember(BlockPos pos) {
+        long packed = pos.asLong();
+        if (!members.containsKey(packed)) {
+            return;
+        }
+        long memberCapacity = members.remove(packed);
+        dropContents(memberCapacity, capacity);
+        capacity -= memberCapacity;
+        onCapacityChanged();
+        markChanged();
+
+        boolean changed = endpoints.removeIf(endpoint -> endpoint.memberPos == packed);
+        // Endpoints of neighbors that pointed at the removed block
+        changed |= endpoints.removeIf(endpoint -> endpoint.targetPos.asLong() == packed);
+        if (changed) {
+            onEndpointsChanged();
+        }
+    }
+
+    void mergeFrom(TransportNetwork other) {
+        members.putAll(other.members);
+        endpoints.addAll(other.endpoints);
+        capacity += other.capacity;
+        loadedMembers += other.loadedMembers;
+        onCapacityChanged();
+        absorbContents(other);
+        onEndpointsChanged();
+        markChanged();
+        other.members.clear();
+        other.endpoints.clear();
+        other.capacity = 0;
+        other.loadedMembers = 0;
+        other.valid = false;
+    }
+
+    void splitTo(TransportNetwork target, LongSet moved) {
+        long movedCapacity = 0;
+        for (long pos : moved) {
+            long memberCapacity = members.remove(pos);
+            target.members.put(pos, memberCapacity);
+            movedCapacity += memberCapacity;
+        }
+        target.capacity += movedCapacity;
+        target.onCapacityChanged();
+        moveContents(target, movedCapacity, capacity);
+        capacity -= movedCapacity;
+        onCapacityChanged();
+
+        Iterator<Endpoint> iterator = endpoints.iterator();
+        while (iterator.hasNext()) {
+            Endpoint endpoint = iterator.next();
+            if (moved.contains(endpoint.memberPos)) {
+                iterator.remove();
+                target.endpoints.add(endpoint);
+            }
+        }
+        onEndpointsChanged();
+        target.onEndpointsChanged();
+        markChanged();
+        target.markChanged();
+    }
+
+    /**
+     * Writes members as packed position and capacity arrays, endpoints and pooled contents.
+     *
+     * @return The saved network
+     */
+    public CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        long[] positions = new long[members.size()];
+        long[] capacities = new long[members.size()];
+        int index = 0;
+        for (Long2LongMap.Entry entry : members.long2LongEntrySet()) {
+            positions[index] = entry.getLongKey();
+            capacities[index++] = entry.getLongValue();
+        }
+        tag.putLongArray("Members", positions);
+        tag.putLongArray("Capacities", capacities);
+
+        ListTag endpointList = new ListTag();
+        for (Endpoint endpoint : endpoints) {
+            CompoundTag endpointTag = new CompoundTag();
+            endpointTag.putLong("Member", endpoint.memberPos);
+            endpointTag.putByte("Side", (byte) endpoint.side.get3DDataValue());
+            saveEndpoint(endpoint, endpointTag);
+            endpointList.add(endpointTag);
+        }
+        tag.put("Endpoints", endpointList);
+
+        CompoundTag contents = new CompoundTag();
+        saveContents(contents);
+        tag.put("Contents", contents);
+        return tag;
+    }
+
+    /**
+     * Restores a network saved by {@link #save()}.
+     *
+     * @param tag The saved network
+     */
+    public void load(CompoundTag tag) {
+        long[] positions = tag.getLongArray("Members");
+        long[] capacities = tag.getLongArray("Capacities");
+        for (int i = 0; i < positions.length; i++) {
+            long memberCapacity = i < capacities.length ? capacities[i] : 0;
+            members.put(positions[i], memberCapacity);
+            capacity += memberCapacity;
+        }
+        onCapacityChanged();
+
+        ListTag endpointList = tag.getList("Endpoints", Tag.TAG_COMPOUND);
+        for (int i = 0; i < endpointList.size(); i++) {
+            CompoundTag endpointTag = endpointList.getCompound(i);
+            Direction side = Direction.from3DDataValue(endpointTag.getByte("Side"));
+            endpoints.add(loadEndpoint(endpointTag.getLong("Member"), side, endpointTag));
+        }
+        onEndpointsChanged();
+
+        loadContents(tag.getCompound("Contents"));
+    }
+
+    /**
+     * Rescans the six sides of a member for endpoints.
+     *
+     * <p>Sides facing an unloaded chunk are never looked at; their previous endpoints are kept and
+     * the side is reported back so the scan can be repeated once that chunk loads.</p>
+     *
+     * @param level The level
+     * @param pos Position of the member
+     * @return Bit mask of {@link Direction#get3DDataValue()} sides that face unloaded chunks
+     */
+    public int scanEndpoints(ServerLevel level, BlockPos pos) {
+        long packed = pos.asLong();
+        int unloadedSides = 0;
+        for (Direction direction : Direction.values()) {
+            BlockPos neighborPos = pos.relative(direction);
+            if (!level.isLoaded(neighborPos)) {
+                unloadedSides |= 1 << direction.get3DDataValue();
+            }
+        }
+        int keptSides = unloadedSides;
+        endpoints.removeIf(endpoint -> endpoint.memberPos == packed
+            && (keptSides & (1 << endpoint.side.get3DDataValue())) == 0);
+
+        // Sides the block state marks as unconnected cannot hold an endpoint
+        int skippedSides = unloadedSides | ~PipeConnections.getMask(level.getBlockState(pos));
+        for (Direction direction : Direction.values()) {
+            if ((skippedSides & (1 << direction.get3DDataValue())) != 0) {
+                continue;
+            }
+            // Block-entity-free members of this type have no block entity and are skipped here
+            BlockEntity neighbor = level.getBlockEntity(pos.relative(direction));
+            if (neighbor == null) {
+                continue;
+            }
+            // Blocks of the same network type are members, not endpoints
+            if (neighbor instanceof IPipe pipe && pipe.getType() == getType()) {
+                continue;
+            }
+            if (neighbor.getCapability(getEndpointCapability(), direction.getOpposite()).isPresent()) {
+                endpoints.add(createEndpoint(level, pos, direction));
+            }
+        }
+        onEndpointsChanged();
+        markChanged();
+        return unloadedSides;
+    }
+
+    void adjustLoadedMembers(int delta) {
+        loadedMembers += delta;
+    }
+
+    /**
+     * Checks if every member of this network is in an unloaded chunk.
+     *
+     * <p>A detached network is kept as-is and skipped by the tick until one of its chunks loads again.</p>
+     *
+     * @return true if no member is loaded
+     */
+    public boolean isDetached() {
+        return loadedMembers <= 0;
+    }
+
+    public int getLoadedMembers() {
+        return loadedMembers;
+    }
+
+    void invalidate() {
+        valid = false;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public boolean contains(BlockPos pos) {
+        return members.containsKey(pos.asLong());
+    }
+
+    public LongSet getMembers() {
+        return members.keySet();
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Gets the total capacity weight of all members.
+     *
+     * @return Capacity weight
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the capacity weight of one member.
+     *
+     * @param pos Member position
+     * @return Capacity weight, 0 if not a member
+     */
+    public long getMemberCapacity(BlockPos pos) {
+        return members.get(pos.asLong());
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return Collections.unmodifiableList(endpoints);
+    }
+
+    /**
+     * Scales an amount by numerator / denominator without overflowing.
+     */
+    protected static long scale(long amount, long numerator, long denominator) {
+        if (denominator <= 0) {
+            return 0;
+        }
+        return (long) ((double) amount * numerator / denominator);
+    }
+
+    /**
+     * A capability handler adjacent to a member block.
+     */
+    public static class Endpoint {
+        protected final long memberPos;
+        protected final Direction side;
+        protected final BlockPos targetPos;
+        private final BlockPos memberBlockPos;
+        private LazyOptional<?> cachedHandler;
+        public long demand;
+
+        public Endpoint(long memberPos, Direction side, BlockPos targetPos) {
+            this.memberPos = memberPos;
+            this.side = side;
+            this.targetPos = targetPos;
+            this.memberBlockPos = BlockPos.of(memberPos);
+            this.cachedHandler = LazyOptional.empty();
+        }
+
+        public BlockPos getMemberPos() {
+            return memberBlockPos;
+        }
+
+        public Direction getSide() {
+            return side;
+        }
+
+        public BlockPos getTargetPos() {
+            return targetPos;
+        }
+
+        /**
+         * Gets the endpoint's handler, re-resolving it only when the cached capability was invalidated.
+         *
+         * @param level The level
+         * @param capability The capability to resolve
+         * @return The handler, or null if the block is gone or not loaded
+         */
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public <T> T getHandler(Level level, Capability<T> capability) {
+            // Endpoints of detached (unloaded) segments are out of reach
+            if (!level.isLoaded(memberBlockPos)) {
+                return null;
+            }
+            if (!cachedHandler.isPresent()) {
+                // Never load a chunk just to look at an endpoint
+                if (!level.isLoaded(targetPos)) {
+                    return null;
+                }
+                BlockEntity blockEntity = level.getBlockEntity(targetPos);
+                if (blockEntity == null) {
+                    return null;
+                }
+                cachedHandler = blockEntity.getCapability(capability, side.getOpposite());
+            }
+            return ((LazyOptional<T>) cachedHandler).orElse(null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getType() + " network [" + members.size() + " members, " + endpoints.size() + " endpoints]";
+    }
+}
@@ -0,0 +1,76 @@
+package org.exampl.untitledaii.network;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.simple.SimpleChannel;
+import org.exampl.untitledaii.Untitledaii;
+import org.exampl.untitledaii.industrial.conveyor.ConveyorLanePacket;
+import org.exampl.untitledaii.industrial.conveyor.ConveyorLinePacket;
+import org.exampl.untitledaii.industrial.machine.recipes.MachineRecipeSyncPacket;
+
+import java.util.Collection;
+
+/**
+ * Network channel for industrial mod packets.
+ *
+ * @author AVA Industrial Team
+ * @since 1.0.0
+ */
+public class ModNetwork {
+
+    private static final String PROTOCOL_VERSION = "1";
+
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+        new ResourceLocation(Untitledaii.MODID, "main"),
+        () -> PROTOCOL_VERSION,
+        PROTOCOL_VERSION::equals,
+        PROTOCOL_VERSION::equals
+    );
+
+    /**
+     * Registers all packets. Called once during common setup.
+     */
+    public static void register() {
+        int id = 0;
+        CHANNEL.messageBuilder(ConveyorLinePacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(ConveyorLinePacket::encode)
+            .decoder(ConveyorLinePacket::new)
+            .consumerMainThread(ConveyorLinePacket::handle)
+            .add();
+        CHANNEL.messageBuilder(ConveyorLanePacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(ConveyorLanePacket::encode)
+            .decoder(ConveyorLanePacket::new)
+            .consumerMainThread(ConveyorLanePacket::handle)
+            .add();
+        CHANNEL.messageBuilder(MachineRecipeSyncPacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(MachineRecipeSyncPacket::encode)
+            .decoder(MachineRecipeSyncPacket::new)
+            .consumerMainThread(MachineRecipeSyncPacket::handle)
+            .add();
+    }
+
+    /**
+     * Sends a packet to one player.
+     *
+     * @param message The packet
+     * @param player Receiving player
+     */
+    public static void sendTo(Object message, ServerPlayer player) {
+        CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), message);
+    }
+
+    /**
+     * Sends a packet to several players.
+     *
+     * @param message The packet
+     * @param players Receiving players
+     */
+    public static void sendTo(Object message, Collection<ServerPlayer> players) {
+        for (ServerPlayer player : players) {
+            sendTo(message, player);
+        }
+    }
+}